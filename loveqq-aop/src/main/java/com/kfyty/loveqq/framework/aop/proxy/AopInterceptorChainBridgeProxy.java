@@ -12,7 +12,10 @@ import lombok.RequiredArgsConstructor;
  * @author kfyty725
  * @date 2021/8/1 13:59
  * @email kfyty725@hotmail.com
+ * @deprecated 框架内不再使用，通知执行完毕后由父拦截链继续执行，
+ * 见 {@link MethodInterceptorChain#MethodInterceptorChain(Object, MethodInterceptorChainPoint[], MethodInterceptorChain)}
  */
+@Deprecated
 @RequiredArgsConstructor
 @Order(Integer.MAX_VALUE)
 public class AopInterceptorChainBridgeProxy implements MethodInterceptorChainPoint {
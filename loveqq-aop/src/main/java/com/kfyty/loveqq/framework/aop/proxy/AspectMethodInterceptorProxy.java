@@ -12,13 +12,12 @@ import com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChainPoint;
 import com.kfyty.loveqq.framework.core.proxy.MethodProxy;
 import com.kfyty.loveqq.framework.core.proxy.aop.AdviceMethodInterceptorChainPoint;
 import com.kfyty.loveqq.framework.core.proxy.aop.adapter.ExposeInvocationInterceptorProxy;
-import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.aopalliance.aop.Advice;
+import org.aspectj.lang.JoinPoint;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -39,7 +38,7 @@ import static com.kfyty.loveqq.framework.core.proxy.MethodInterceptorChain.METHO
 public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint, InternalPriority {
     private final List<Advisor> advisors;
     private final List<AdviceInterceptorPointAdapter> adapters;
-    private final Map<Method, List<MethodInterceptorChainPoint>> advisorPointCache;
+    private final Map<Method, MethodInterceptorChainPoint[]> advisorPointCache;
 
     public AspectMethodInterceptorProxy(List<Advisor> advisors, List<AdviceInterceptorPointAdapter> adapters) {
         this.advisors = advisors;
@@ -47,24 +46,35 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
         this.advisorPointCache = new ConcurrentHashMap<>();
     }
 
+    @Override
+    public boolean isApplicable(MethodProxy methodProxy) {
+        return this.findAdviceChainPoints(methodProxy).length > 0;
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
-        List<MethodInterceptorChainPoint> advices = this.findAdviceChainPoints(methodProxy);
-        if (CommonUtil.empty(advices)) {
+        MethodInterceptorChainPoint[] advices = this.findAdviceChainPoints(methodProxy);
+        if (advices.length == 0) {
             return chain.proceed(methodProxy);
         }
-        return this.buildMethodInvocationProceedingJoinPoint(methodProxy, chain, advices).proceed();
+        MethodInvocationProceedingJoinPoint joinPoint = this.buildMethodInvocationProceedingJoinPoint(methodProxy, chain, advices);
+        JoinPoint oldJoinPoint = ExposeInvocationInterceptorProxy.exposeJoinPoint(joinPoint);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ExposeInvocationInterceptorProxy.exposeJoinPoint(oldJoinPoint);
+        }
     }
 
-    protected MethodInvocationProceedingJoinPoint buildMethodInvocationProceedingJoinPoint(MethodProxy methodProxy, MethodInterceptorChain chain, List<MethodInterceptorChainPoint> advices) {
-        MethodInterceptorChain aopChain = new MethodInterceptorChain(chain.getTarget(), advices);
-        MethodInvocationProceedingJoinPoint joinPoint = new MethodInvocationProceedingJoinPoint(methodProxy, aopChain);
-        aopChain.addInterceptorPoint(0, new ExposeInvocationInterceptorProxy(joinPoint))
-                .addInterceptorPoint(advices.size() + 1, new com.kfyty.aop.proxy.AopInterceptorChainBridgeProxy(chain));
-        return joinPoint;
+    /**
+     * 构建连接点，通知执行完毕后通过父拦截链继续执行原拦截链
+     */
+    protected MethodInvocationProceedingJoinPoint buildMethodInvocationProceedingJoinPoint(MethodProxy methodProxy, MethodInterceptorChain chain, MethodInterceptorChainPoint[] advices) {
+        MethodInterceptorChain aopChain = new MethodInterceptorChain(chain.getTarget(), advices, chain);
+        return new MethodInvocationProceedingJoinPoint(methodProxy, aopChain);
     }
 
-    protected List<MethodInterceptorChainPoint> findAdviceChainPoints(MethodProxy methodProxy) {
+    protected MethodInterceptorChainPoint[] findAdviceChainPoints(MethodProxy methodProxy) {
         return this.advisorPointCache.computeIfAbsent(methodProxy.getMethod(), k -> {
             List<Advisor> advisors = this.findAdvisors(methodProxy);
             List<AdviceMethodInterceptorChainPoint> adviceChainPoint = new ArrayList<>(advisors.size() + 1);
@@ -81,7 +91,7 @@ public class AspectMethodInterceptorProxy implements MethodInterceptorChainPoint
                 throw new IllegalStateException("No suitable adapter for advice: " + advice);
             }
             adviceChainPoint.sort(this.getAdviceChainPointsComparator());
-            return Collections.unmodifiableList(new ArrayList<>(adviceChainPoint));                                     // 不可变，并释放多余的集合空间
+            return adviceChainPoint.toArray(new MethodInterceptorChainPoint[0]);
         });
     }
 
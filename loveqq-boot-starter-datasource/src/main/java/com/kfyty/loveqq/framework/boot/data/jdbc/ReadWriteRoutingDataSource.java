@@ -0,0 +1,204 @@
+package com.kfyty.loveqq.framework.boot.data.jdbc;
+
+import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 读写分离数据源
+ * 当前线程的只读提示 {@link TransactionHolder#currentReadOnly()} 为 true 时从从库获取连接，否则从主库获取连接
+ * 只读提示由以下位置设置:
+ * 1、只读事务开启时，由 {@link org.springframework.jdbc.datasource.DataSourceTransactionManager} 设置，整个事务使用同一从库连接
+ * 2、不存在事务时执行的 mapper 查询方法，由 data-jdbc 的 SqlSession 设置
+ * 读写事务中的查询与写入使用同一主库连接，因此写入后的查询总是读取主库
+ * <p>
+ * 从库获取连接失败达到阈值时摘除，摘除时间到期后重新尝试；所有从库均不可用时回退到主库
+ * 开启健康探测后，定时校验从库连接的有效性并更新延迟
+ *
+ * @author kfyty725
+ * @date 2024/7/20 10:40
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+@Getter
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DataSource, AutoCloseable {
+    /**
+     * 主库
+     */
+    private final DataSource primary;
+
+    /**
+     * 从库
+     */
+    private final List<ReplicaDataSource> replicas;
+
+    /**
+     * 负载均衡计数器
+     */
+    private final AtomicInteger counter;
+
+    /**
+     * 从库负载均衡策略
+     */
+    @Setter
+    private ReplicaLoadBalance loadBalance;
+
+    /**
+     * 连续失败多少次后摘除从库
+     */
+    @Setter
+    private int ejectThreshold;
+
+    /**
+     * 摘除时间，毫秒
+     */
+    @Setter
+    private long ejectDuration;
+
+    /**
+     * 健康探测时校验连接的超时时间，秒
+     */
+    @Setter
+    private int probeTimeout;
+
+    /**
+     * 健康探测线程
+     */
+    private volatile ScheduledExecutorService prober;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaDataSource> replicas) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.counter = new AtomicInteger();
+        this.loadBalance = ReplicaLoadBalance.ROUND_ROBIN;
+        this.ejectThreshold = 3;
+        this.ejectDuration = 30_000L;
+        this.probeTimeout = 3;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!this.isReadOnly()) {
+            return this.primary.getConnection();
+        }
+        ReplicaDataSource replica = this.selectReplica();
+        if (replica == null) {
+            log.warn("No replica DataSource is available, fallback to the primary DataSource.");
+            return this.primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection(this.loadBalance == ReplicaLoadBalance.LEAST_ACTIVE);
+            replica.onSuccess();
+            return connection;
+        } catch (SQLException e) {
+            this.onReplicaFailure(replica, e);
+            return this.primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return this.primary.getConnection(username, password);
+    }
+
+    /**
+     * 开启健康探测
+     *
+     * @param interval 探测间隔，毫秒
+     */
+    public synchronized void startProbe(long interval) {
+        if (this.prober != null || interval <= 0 || this.replicas.isEmpty()) {
+            return;
+        }
+        this.prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-data-source-prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.prober.scheduleWithFixedDelay(this::probe, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 探测所有从库
+     */
+    public void probe() {
+        for (ReplicaDataSource replica : this.replicas) {
+            long start = System.nanoTime();
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                if (!connection.isValid(this.probeTimeout)) {
+                    throw new SQLException("Connection is invalid: " + connection);
+                }
+                replica.recordLatency((System.nanoTime() - start) / 1_000_000D);
+                replica.onSuccess();
+            } catch (SQLException e) {
+                this.onReplicaFailure(replica, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (this.prober != null) {
+            this.prober.shutdownNow();
+        }
+        for (ReplicaDataSource replica : this.replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (this.primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * 是否从从库获取连接
+     *
+     * @return true if read only
+     */
+    protected boolean isReadOnly() {
+        return Boolean.TRUE.equals(TransactionHolder.currentReadOnly()) && !this.replicas.isEmpty();
+    }
+
+    /**
+     * 选择可用的从库
+     *
+     * @return 从库，不存在可用的从库时返回 null
+     */
+    protected ReplicaDataSource selectReplica() {
+        long now = System.currentTimeMillis();
+        List<ReplicaDataSource> available = this.replicas;
+        for (int i = 0; i < this.replicas.size(); i++) {
+            if (!this.replicas.get(i).isAvailable(now)) {
+                available = new ArrayList<>(this.replicas.size());
+                for (ReplicaDataSource replica : this.replicas) {
+                    if (replica.isAvailable(now)) {
+                        available.add(replica);
+                    }
+                }
+                break;
+            }
+        }
+        return available.isEmpty() ? null : this.loadBalance.select(available, this.counter);
+    }
+
+    protected void onReplicaFailure(ReplicaDataSource replica, SQLException e) {
+        if (replica.onFailure(this.ejectThreshold, this.ejectDuration)) {
+            log.error("Replica DataSource [{}] is ejected for {} ms: {}", replica.getName(), this.ejectDuration, e.getMessage());
+        } else {
+            log.warn("Replica DataSource [{}] failed: {}", replica.getName(), e.getMessage());
+        }
+    }
+}
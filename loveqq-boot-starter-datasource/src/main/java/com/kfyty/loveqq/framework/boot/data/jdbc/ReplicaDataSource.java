@@ -0,0 +1,152 @@
+package com.kfyty.loveqq.framework.boot.data.jdbc;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 从库数据源，维护活跃连接数、延迟及健康状态
+ *
+ * @author kfyty725
+ * @date 2024/7/20 10:10
+ * @email kfyty725@hotmail.com
+ * @see ReadWriteRoutingDataSource
+ */
+@Getter
+@ToString(of = {"name", "latency", "ejectedUntil"})
+public class ReplicaDataSource {
+    /**
+     * 延迟的指数加权平均系数
+     */
+    private static final double EWMA_ALPHA = 0.3D;
+
+    /**
+     * 名称
+     */
+    private final String name;
+
+    /**
+     * 数据源
+     */
+    private final DataSource dataSource;
+
+    /**
+     * 活跃连接数，仅在需要时统计
+     */
+    private final AtomicInteger active;
+
+    /**
+     * 连续失败次数
+     */
+    private final AtomicInteger failures;
+
+    /**
+     * 延迟的指数加权平均值，毫秒
+     */
+    private volatile double latency;
+
+    /**
+     * 摘除的截止时间，为 0 时表示未摘除
+     */
+    private volatile long ejectedUntil;
+
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.active = new AtomicInteger();
+        this.failures = new AtomicInteger();
+        this.latency = 1D;
+    }
+
+    /**
+     * 是否可用
+     *
+     * @param now 当前时间
+     * @return true if available
+     */
+    public boolean isAvailable(long now) {
+        return this.ejectedUntil == 0 || now >= this.ejectedUntil;
+    }
+
+    /**
+     * 获取连接
+     *
+     * @param trackActive 是否统计活跃连接数
+     * @return 连接
+     */
+    public Connection getConnection(boolean trackActive) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = this.dataSource.getConnection();
+        this.recordLatency((System.nanoTime() - start) / 1_000_000D);
+        return trackActive ? this.trackActive(connection) : connection;
+    }
+
+    /**
+     * 记录延迟
+     *
+     * @param latency 延迟，毫秒
+     */
+    public void recordLatency(double latency) {
+        this.latency = this.latency * (1D - EWMA_ALPHA) + Math.max(latency, 0.01D) * EWMA_ALPHA;
+    }
+
+    /**
+     * 成功时恢复
+     */
+    public void onSuccess() {
+        if (this.failures.get() != 0) {
+            this.failures.set(0);
+        }
+        if (this.ejectedUntil != 0) {
+            this.ejectedUntil = 0;
+        }
+    }
+
+    /**
+     * 失败时计数，达到阈值时摘除
+     *
+     * @param ejectThreshold 摘除阈值
+     * @param ejectDuration  摘除时间，毫秒
+     * @return 是否被摘除
+     */
+    public boolean onFailure(int ejectThreshold, long ejectDuration) {
+        if (this.failures.incrementAndGet() >= ejectThreshold) {
+            this.ejectedUntil = System.currentTimeMillis() + ejectDuration;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 代理连接，关闭时减少活跃连接数
+     */
+    protected Connection trackActive(Connection connection) {
+        this.active.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        this.active.decrementAndGet();
+                    }
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+}
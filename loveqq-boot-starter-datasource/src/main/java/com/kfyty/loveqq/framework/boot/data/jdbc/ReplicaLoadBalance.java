@@ -0,0 +1,73 @@
+package com.kfyty.loveqq.framework.boot.data.jdbc;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 从库负载均衡策略
+ *
+ * @author kfyty725
+ * @date 2024/7/20 10:25
+ * @email kfyty725@hotmail.com
+ */
+public enum ReplicaLoadBalance {
+    /**
+     * 轮询
+     */
+    ROUND_ROBIN {
+        @Override
+        public ReplicaDataSource select(List<ReplicaDataSource> replicas, AtomicInteger counter) {
+            return replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+        }
+    },
+
+    /**
+     * 最少活跃连接，活跃连接数相同时轮询
+     */
+    LEAST_ACTIVE {
+        @Override
+        public ReplicaDataSource select(List<ReplicaDataSource> replicas, AtomicInteger counter) {
+            int size = replicas.size();
+            int offset = Math.floorMod(counter.getAndIncrement(), size);
+            ReplicaDataSource selected = null;
+            for (int i = 0; i < size; i++) {
+                ReplicaDataSource replica = replicas.get((offset + i) % size);
+                if (selected == null || replica.getActive().get() < selected.getActive().get()) {
+                    selected = replica;
+                }
+            }
+            return selected;
+        }
+    },
+
+    /**
+     * 按延迟的倒数加权随机
+     */
+    LATENCY_WEIGHTED {
+        @Override
+        public ReplicaDataSource select(List<ReplicaDataSource> replicas, AtomicInteger counter) {
+            double total = 0D;
+            double[] weights = new double[replicas.size()];
+            for (int i = 0; i < weights.length; i++) {
+                total += weights[i] = 1D / replicas.get(i).getLatency();
+            }
+            double random = ThreadLocalRandom.current().nextDouble(total);
+            for (int i = 0; i < weights.length; i++) {
+                if ((random -= weights[i]) < 0) {
+                    return replicas.get(i);
+                }
+            }
+            return replicas.get(weights.length - 1);
+        }
+    };
+
+    /**
+     * 选择从库
+     *
+     * @param replicas 可用的从库，不为空
+     * @param counter  计数器
+     * @return 从库
+     */
+    public abstract ReplicaDataSource select(List<ReplicaDataSource> replicas, AtomicInteger counter);
+}
@@ -1,10 +1,13 @@
 package com.kfyty.loveqq.framework.boot.data.jdbc.autoconfig;
 
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReplicaLoadBalance;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.ConfigurationProperties;
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnProperty;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * 描述: 数据源自动配置类
  *
@@ -36,4 +39,54 @@ public class DataSourceProperties {
      * 驱动类全限定名
      */
     private String driverClassName;
+
+    /**
+     * 从库，配置后使用读写分离数据源
+     *
+     * @see com.kfyty.loveqq.framework.boot.data.jdbc.ReadWriteRoutingDataSource
+     */
+    private List<Replica> replicas;
+
+    /**
+     * 从库负载均衡策略
+     */
+    private ReplicaLoadBalance loadBalance = ReplicaLoadBalance.ROUND_ROBIN;
+
+    /**
+     * 从库健康探测间隔，毫秒，小于等于 0 时不探测
+     */
+    private long probeInterval = 10_000L;
+
+    /**
+     * 从库连续失败多少次后摘除
+     */
+    private int ejectThreshold = 3;
+
+    /**
+     * 从库摘除时间，毫秒
+     */
+    private long ejectDuration = 30_000L;
+
+    @Data
+    public static class Replica {
+        /**
+         * 名称，默认为 url
+         */
+        private String name;
+
+        /**
+         * 用户名，默认与主库相同
+         */
+        private String username;
+
+        /**
+         * 密码，默认与主库相同
+         */
+        private String password;
+
+        /**
+         * jdbc 连接 url
+         */
+        private String url;
+    }
 }
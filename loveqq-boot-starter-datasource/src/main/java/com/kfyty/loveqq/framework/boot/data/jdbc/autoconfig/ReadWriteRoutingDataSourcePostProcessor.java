@@ -0,0 +1,96 @@
+package com.kfyty.loveqq.framework.boot.data.jdbc.autoconfig;
+
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReadWriteRoutingDataSource;
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReplicaDataSource;
+import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
+import com.kfyty.loveqq.framework.core.autoconfig.BeanPostProcessor;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.ConfigurationProperties;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnBean;
+import com.kfyty.loveqq.framework.core.autoconfig.env.DataBinder;
+import com.kfyty.loveqq.framework.core.support.Instance;
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
+import com.kfyty.loveqq.framework.core.utils.AopUtil;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * 描述: 配置从库时，将自动配置的数据源包装为读写分离数据源
+ * 从库与主库使用相同的连接池类型及连接池配置，仅 url、用户名、密码不同
+ *
+ * @author kfyty725
+ * @date 2024/7/20 11:10
+ * @email kfyty725@hotmail.com
+ * @see ReadWriteRoutingDataSource
+ */
+@Slf4j
+@Component
+@ConditionalOnBean(DataSourceProperties.class)
+public class ReadWriteRoutingDataSourcePostProcessor implements BeanPostProcessor {
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private DataBinder dataBinder;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource) || bean instanceof ReadWriteRoutingDataSource || CommonUtil.empty(this.dataSourceProperties.getReplicas())) {
+            return bean;
+        }
+        Method beanMethod = this.applicationContext.getBeanDefinition(beanName).getBeanMethod();
+        if (beanMethod == null || beanMethod.getDeclaringClass().getDeclaringClass() != DataSourceAutoConfiguration.class) {
+            return bean;
+        }
+        List<ReplicaDataSource> replicas = new ArrayList<>(this.dataSourceProperties.getReplicas().size());
+        for (DataSourceProperties.Replica replica : this.dataSourceProperties.getReplicas()) {
+            DataSource dataSource = this.createReplica(AopUtil.getTargetClass(bean), beanMethod, replica);
+            replicas.add(new ReplicaDataSource(ofNullable(replica.getName()).orElse(replica.getUrl()), dataSource));
+        }
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource((DataSource) bean, replicas);
+        routingDataSource.setLoadBalance(this.dataSourceProperties.getLoadBalance());
+        routingDataSource.setEjectThreshold(this.dataSourceProperties.getEjectThreshold());
+        routingDataSource.setEjectDuration(this.dataSourceProperties.getEjectDuration());
+        routingDataSource.startProbe(this.dataSourceProperties.getProbeInterval());
+        log.info("Enable read-write routing DataSource with {} replicas, load balance: {}", replicas.size(), this.dataSourceProperties.getLoadBalance());
+        return routingDataSource;
+    }
+
+    protected DataSource createReplica(Class<?> dataSourceType, Method beanMethod, DataSourceProperties.Replica replica) {
+        DataSource dataSource = (DataSource) ReflectUtil.newInstance(dataSourceType);
+        ConfigurationProperties configurationProperties = AnnotationUtil.findAnnotation(beanMethod, ConfigurationProperties.class);
+        if (configurationProperties != null) {
+            this.dataBinder.bind(new Instance(dataSource), configurationProperties.value(), configurationProperties.ignoreInvalidFields(), configurationProperties.ignoreUnknownFields());
+        }
+        invokeSetter(dataSource, "setUsername", ofNullable(replica.getUsername()).orElse(this.dataSourceProperties.getUsername()));
+        invokeSetter(dataSource, "setPassword", ofNullable(replica.getPassword()).orElse(this.dataSourceProperties.getPassword()));
+        invokeSetter(dataSource, "setDriverClassName", this.dataSourceProperties.getDriverClassName());
+        if (!invokeSetter(dataSource, "setJdbcUrl", replica.getUrl())) {
+            invokeSetter(dataSource, "setUrl", replica.getUrl());
+        }
+        return dataSource;
+    }
+
+    protected static boolean invokeSetter(Object target, String methodName, String value) {
+        Method method = ReflectUtil.getMethod(target.getClass(), methodName, String.class);
+        if (method == null) {
+            return false;
+        }
+        if (value != null) {
+            ReflectUtil.invokeMethod(target, method, value);
+        }
+        return true;
+    }
+}
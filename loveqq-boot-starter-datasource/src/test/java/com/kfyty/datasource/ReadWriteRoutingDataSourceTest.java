@@ -0,0 +1,282 @@
+package com.kfyty.datasource;
+
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReadWriteRoutingDataSource;
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReplicaDataSource;
+import com.kfyty.loveqq.framework.boot.data.jdbc.ReplicaLoadBalance;
+import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 读写分离数据源测试
+ *
+ * @author kfyty725
+ * @date 2024/7/20 14:30
+ * @email kfyty725@hotmail.com
+ */
+public class ReadWriteRoutingDataSourceTest {
+    private final List<String> acquired = new ArrayList<>();
+
+    @After
+    public void clean() {
+        TransactionHolder.setCurrentReadOnly(null);
+    }
+
+    @Test
+    public void routeTest() throws Exception {
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("replica"));
+
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("primary", this.nameOf(connection));
+        }
+
+        TransactionHolder.setCurrentReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("replica", this.nameOf(connection));
+        }
+
+        TransactionHolder.setCurrentReadOnly(false);
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("primary", this.nameOf(connection));
+        }
+    }
+
+    @Test
+    public void transactionRouteTest() {
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("replica"));
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        template.setReadOnly(true);
+        Assert.assertEquals("replica", template.execute(status -> this.nameOf(DataSourceUtils.getConnection(dataSource))));
+
+        template.setReadOnly(false);
+        Assert.assertEquals("primary", template.execute(status -> this.nameOf(DataSourceUtils.getConnection(dataSource))));
+
+        Assert.assertEquals(Arrays.asList("replica", "primary"), this.acquired);
+        Assert.assertNull(TransactionHolder.currentReadOnly());
+    }
+
+    @Test
+    public void ejectTest() throws Exception {
+        boolean[] down = {true};
+        DataSource replica = this.createDataSource("replica", down);
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(replica);
+        dataSource.setEjectThreshold(2);
+        dataSource.setEjectDuration(60_000L);
+        ReplicaDataSource replicaDataSource = dataSource.getReplicas().get(0);
+
+        TransactionHolder.setCurrentReadOnly(true);
+        for (int i = 0; i < 3; i++) {
+            try (Connection connection = dataSource.getConnection()) {
+                Assert.assertEquals("primary", this.nameOf(connection));
+            }
+        }
+
+        // 第 3 次已摘除，不再尝试从库
+        Assert.assertEquals(Arrays.asList("replica", "primary", "replica", "primary", "primary"), this.acquired);
+        Assert.assertFalse(replicaDataSource.isAvailable(System.currentTimeMillis()));
+
+        // 探测成功后恢复
+        down[0] = false;
+        dataSource.probe();
+        Assert.assertTrue(replicaDataSource.isAvailable(System.currentTimeMillis()));
+        Assert.assertEquals(0, replicaDataSource.getFailures().get());
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("replica", this.nameOf(connection));
+        }
+    }
+
+    @Test
+    public void ejectExpireTest() throws Exception {
+        boolean[] down = {true};
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("replica", down));
+        dataSource.setEjectThreshold(1);
+        dataSource.setEjectDuration(0L);
+        ReplicaDataSource replicaDataSource = dataSource.getReplicas().get(0);
+
+        TransactionHolder.setCurrentReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("primary", this.nameOf(connection));
+        }
+        Assert.assertNotEquals(0L, replicaDataSource.getEjectedUntil());
+
+        // 摘除时间到期后重新尝试，成功时恢复
+        down[0] = false;
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("replica", this.nameOf(connection));
+        }
+        Assert.assertEquals(0L, replicaDataSource.getEjectedUntil());
+        Assert.assertEquals(0, replicaDataSource.getFailures().get());
+    }
+
+    @Test
+    public void fallbackTest() throws Exception {
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("r1"), this.createDataSource("r2"));
+        dataSource.setEjectThreshold(1);
+        dataSource.getReplicas().forEach(e -> e.onFailure(1, 60_000L));
+
+        TransactionHolder.setCurrentReadOnly(true);
+        try (Connection connection = dataSource.getConnection()) {
+            Assert.assertEquals("primary", this.nameOf(connection));
+        }
+        Assert.assertEquals(Arrays.asList("primary"), this.acquired);
+    }
+
+    @Test
+    public void roundRobinTest() throws Exception {
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("r1"), this.createDataSource("r2"), this.createDataSource("r3"));
+
+        TransactionHolder.setCurrentReadOnly(true);
+        for (int i = 0; i < 6; i++) {
+            dataSource.getConnection().close();
+        }
+        Assert.assertEquals(Arrays.asList("r1", "r2", "r3", "r1", "r2", "r3"), this.acquired);
+
+        // 跳过已摘除的从库
+        this.acquired.clear();
+        dataSource.getReplicas().get(1).onFailure(1, 60_000L);
+        for (int i = 0; i < 4; i++) {
+            dataSource.getConnection().close();
+        }
+        Assert.assertFalse(this.acquired.contains("r2"));
+        Assert.assertEquals(2, this.acquired.stream().filter("r1"::equals).count());
+        Assert.assertEquals(2, this.acquired.stream().filter("r3"::equals).count());
+    }
+
+    @Test
+    public void leastActiveTest() throws Exception {
+        ReadWriteRoutingDataSource dataSource = this.createRoutingDataSource(this.createDataSource("r1"), this.createDataSource("r2"));
+        dataSource.setLoadBalance(ReplicaLoadBalance.LEAST_ACTIVE);
+        ReplicaDataSource r1 = dataSource.getReplicas().get(0);
+        ReplicaDataSource r2 = dataSource.getReplicas().get(1);
+
+        TransactionHolder.setCurrentReadOnly(true);
+        Connection c1 = dataSource.getConnection();
+        Connection c2 = dataSource.getConnection();
+        Assert.assertEquals(1, r1.getActive().get());
+        Assert.assertEquals(1, r2.getActive().get());
+
+        // 关闭连接后活跃连接数减少，关闭多次仅减少一次
+        c1.close();
+        c1.close();
+        Assert.assertEquals(0, r1.getActive().get());
+        Assert.assertEquals("r1", this.nameOf(dataSource.getConnection()));
+        Assert.assertEquals(1, r1.getActive().get());
+
+        c2.close();
+        Assert.assertEquals(0, r2.getActive().get());
+        Assert.assertEquals("r2", this.nameOf(dataSource.getConnection()));
+        Assert.assertEquals(1, r2.getActive().get());
+    }
+
+    @Test
+    public void latencyWeightedTest() {
+        ReplicaDataSource fast = new ReplicaDataSource("fast", this.createDataSource("fast"));
+        ReplicaDataSource slow = new ReplicaDataSource("slow", this.createDataSource("slow"));
+        for (int i = 0; i < 50; i++) {
+            fast.recordLatency(1D);
+            slow.recordLatency(100D);
+        }
+
+        int fastCount = 0;
+        AtomicInteger counter = new AtomicInteger();
+        List<ReplicaDataSource> replicas = Arrays.asList(fast, slow);
+        for (int i = 0; i < 1000; i++) {
+            if (ReplicaLoadBalance.LATENCY_WEIGHTED.select(replicas, counter) == fast) {
+                fastCount++;
+            }
+        }
+        Assert.assertTrue(String.valueOf(fastCount), fastCount > 900);
+        Assert.assertSame(fast, ReplicaLoadBalance.LATENCY_WEIGHTED.select(Arrays.asList(fast), counter));
+    }
+
+    private ReadWriteRoutingDataSource createRoutingDataSource(DataSource... replicas) {
+        List<ReplicaDataSource> replicaDataSources = new ArrayList<>();
+        for (DataSource replica : replicas) {
+            replicaDataSources.add(new ReplicaDataSource(replica.toString(), replica));
+        }
+        return new ReadWriteRoutingDataSource(this.createDataSource("primary"), replicaDataSources);
+    }
+
+    private DataSource createDataSource(String name) {
+        return this.createDataSource(name, new boolean[]{false});
+    }
+
+    private DataSource createDataSource(String name, boolean[] down) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getConnection":
+                    this.acquired.add(name);
+                    if (down[0]) {
+                        throw new SQLException("Connection refused: " + name);
+                    }
+                    return this.createConnection(name);
+                case "toString":
+                    return name;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private Connection createConnection(String name) {
+        boolean[] state = {true, false}; // autoCommit, closed
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getCatalog":
+                    return name;
+                case "getAutoCommit":
+                    return state[0];
+                case "setAutoCommit":
+                    state[0] = (Boolean) args[0];
+                    return null;
+                case "isValid":
+                    return true;
+                case "isClosed":
+                    return state[1];
+                case "close":
+                    state[1] = true;
+                    return null;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return name;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private String nameOf(Connection connection) {
+        try {
+            return connection.getCatalog();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+}
@@ -5,6 +5,7 @@ import com.kfyty.loveqq.framework.core.jdbc.transaction.TransactionIsolationLeve
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.sql.DataSource;
@@ -35,6 +36,7 @@ public class ManagedJdbcTransaction extends JdbcTransaction {
         if (this.connection != null && !this.isConnectionTransactional && !this.autoCommit) {
             log.debug("Committing JDBC Connection [" + this.connection + "]");
             this.connection.commit();
+            this.invokeCommitCallbacks();
         }
     }
 
@@ -42,10 +44,37 @@ public class ManagedJdbcTransaction extends JdbcTransaction {
     public void rollback() throws SQLException {
         if (this.connection != null && !this.isConnectionTransactional && !this.autoCommit) {
             log.debug("Rolling back JDBC Connection [" + this.connection + "]");
+            this.commitCallbacks = null;
             this.connection.rollback();
         }
     }
 
+    @Override
+    public boolean isActive() throws SQLException {
+        return TransactionSynchronizationManager.isActualTransactionActive() || super.isActive();
+    }
+
+    /**
+     * 连接由 spring 事务管理时，注册为事务同步，由事务管理器提交后回调；否则由 {@link #commit()} 回调
+     */
+    @Override
+    public void afterCommit(Runnable callback) throws SQLException {
+        if (this.isConnectionTransactional && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    callback.run();
+                }
+            });
+            return;
+        }
+        if (this.connection != null && !this.connection.isClosed() && !this.isConnectionTransactional && !this.autoCommit) {
+            this.addCommitCallback(callback);
+            return;
+        }
+        callback.run();
+    }
+
     @Override
     public Integer getTimeout() {
         ConnectionHolder holder = (ConnectionHolder) TransactionSynchronizationManager.getResource(dataSource);
@@ -58,6 +87,7 @@ public class ManagedJdbcTransaction extends JdbcTransaction {
     @Override
     public void close() throws SQLException {
         DataSourceUtils.releaseConnection(this.connection, this.dataSource);
+        this.commitCallbacks = null;
     }
 
     @Override
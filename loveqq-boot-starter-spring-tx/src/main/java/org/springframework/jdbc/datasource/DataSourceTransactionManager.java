@@ -1,6 +1,7 @@
 package org.springframework.jdbc.datasource;
 
 import com.kfyty.loveqq.framework.core.autoconfig.InitializingBean;
+import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.CannotCreateTransactionException;
@@ -238,7 +239,15 @@ public class DataSourceTransactionManager extends AbstractPlatformTransactionMan
         try {
             if (!txObject.hasConnectionHolder() ||
                     txObject.getConnectionHolder().isSynchronizedWithTransaction()) {
-                Connection newCon = obtainDataSource().getConnection();
+                // Expose the read-only flag to routing data sources, so that read-only transactions may be routed to a replica.
+                Boolean previousReadOnly = TransactionHolder.setCurrentReadOnly(definition.isReadOnly());
+                Connection newCon;
+                try {
+                    newCon = obtainDataSource().getConnection();
+                }
+                finally {
+                    TransactionHolder.setCurrentReadOnly(previousReadOnly);
+                }
                 if (log.isDebugEnabled()) {
                     log.debug("Acquired Connection [" + newCon + "] for JDBC transaction");
                 }
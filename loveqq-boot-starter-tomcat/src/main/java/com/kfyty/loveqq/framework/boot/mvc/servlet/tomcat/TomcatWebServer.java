@@ -305,6 +305,7 @@ public class TomcatWebServer implements ServletWebServer {
             if (this.dispatcherServlet != null) {
                 ServletRegistration.Dynamic dynamic = context.addServlet("dispatcherServlet", this.dispatcherServlet);
                 dynamic.addMapping(this.tomcatConfig.getDispatcherMapping());
+                dynamic.setAsyncSupported(true);
                 dynamic.setMultipartConfig(this.tomcatConfig.getMultipartConfig());
             }
         }
@@ -1,6 +1,7 @@
 package com.kfyty.loveqq.framework.boot.context;
 
 import com.kfyty.loveqq.framework.boot.context.factory.AbstractAutowiredBeanFactory;
+import com.kfyty.loveqq.framework.boot.context.factory.BeanDependencyGraph;
 import com.kfyty.loveqq.framework.boot.processor.factory.internal.HardCodeBeanFactoryPostProcessor;
 import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.BeanFactoryPostProcessor;
@@ -15,6 +16,7 @@ import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinitionRegistry;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.ConditionBeanDefinitionRegistry;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredDescriptionResolver;
 import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
 import com.kfyty.loveqq.framework.core.event.ApplicationEventPublisher;
 import com.kfyty.loveqq.framework.core.event.ApplicationListener;
@@ -22,7 +24,10 @@ import com.kfyty.loveqq.framework.core.event.ContextRefreshedEvent;
 import com.kfyty.loveqq.framework.core.utils.CompletableFutureUtil;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
 import static com.kfyty.loveqq.framework.boot.autoconfig.ThreadPoolExecutorAutoConfig.DEFAULT_THREAD_POOL_EXECUTOR;
@@ -100,6 +105,11 @@ public abstract class AbstractApplicationContext extends AbstractAutowiredBeanFa
         this.applicationEventPublisher.registerEventListener(applicationListener);
     }
 
+    @Override
+    public void registerEventListener(ApplicationListener<?> applicationListener, Executor executor) {
+        this.applicationEventPublisher.registerEventListener(applicationListener, executor);
+    }
+
     @Override
     public void close() {
         super.close();
@@ -180,8 +190,10 @@ public abstract class AbstractApplicationContext extends AbstractAutowiredBeanFa
     }
 
     protected void finishBeanFactoryInitialization() {
-        // 读取全局配置
-        boolean concurrentInitialize = Boolean.parseBoolean(System.getProperty("k.concurrent-initialize", "false"));
+        // 读取全局配置，true: 并发提交，graph: 根据依赖图并发初始化
+        String concurrentInitializeMode = System.getProperty("k.concurrent-initialize", "false");
+        boolean graphInitialize = concurrentInitializeMode.equalsIgnoreCase("graph");
+        boolean concurrentInitialize = graphInitialize || Boolean.parseBoolean(concurrentInitializeMode);
 
         // 先实例化串行 bean
         Map<String, BeanDefinition> sortedBeanDefinition = this.getSortedBeanDefinition();
@@ -192,6 +204,12 @@ public abstract class AbstractApplicationContext extends AbstractAutowiredBeanFa
             }
         }
 
+        // 根据依赖图并发实例化剩余的单例 bean
+        if (graphInitialize) {
+            this.graphInitializeBeans(sortedBeanDefinition);
+            return;
+        }
+
         // 并发实例化剩余的单例 bean
         if (concurrentInitialize) {
             CompletableFutureUtil.consumer(this.executorService, sortedBeanDefinition.values(), bd -> {
@@ -202,6 +220,28 @@ public abstract class AbstractApplicationContext extends AbstractAutowiredBeanFa
         }
     }
 
+    /**
+     * 根据依赖图并发实例化单例 bean，并发期间每个 bean 使用独立的创建锁
+     * 依赖无法静态解析的 bean 可实现 {@link SerialInitialize} 以串行初始化
+     *
+     * @param sortedBeanDefinition 排序后的 bean 定义
+     */
+    protected void graphInitializeBeans(Map<String, BeanDefinition> sortedBeanDefinition) {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>(sortedBeanDefinition.size());
+        for (BeanDefinition value : sortedBeanDefinition.values()) {
+            if (value.isSingleton() && value.isAutowireCandidate() && !value.isLazyInit() && !this.contains(value.getBeanName())) {
+                beanDefinitions.add(value);
+            }
+        }
+        BeanDependencyGraph graph = new BeanDependencyGraph(this, this.getBean(AutowiredDescriptionResolver.class), beanDefinitions);
+        try {
+            this.setConcurrentCreation(true);
+            graph.initialize(this.executorService, this::registerBean);
+        } finally {
+            this.setConcurrentCreation(false);
+        }
+    }
+
     protected Map<String, BeanDefinition> getSortedBeanDefinition() {
         return this.getBeanDefinitions(e -> true);
     }
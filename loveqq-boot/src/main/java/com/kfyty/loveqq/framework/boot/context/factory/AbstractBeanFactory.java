@@ -12,25 +12,24 @@ import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.InstantiatedBeanDefinition;
 import com.kfyty.loveqq.framework.core.exception.BeansException;
-import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 
 import java.lang.annotation.Annotation;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition.BEAN_DEFINITION_COMPARATOR;
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.hasAnnotationElement;
-import static com.kfyty.loveqq.framework.core.utils.StreamUtil.throwMergeFunction;
 import static java.util.Collections.unmodifiableMap;
 import static java.util.Optional.ofNullable;
 
@@ -63,9 +62,19 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     protected final Map<String, BeanPostProcessor> beanPostProcessors;
 
     /**
-     * 同一类型的 bean 定义缓存
+     * bean 定义查询缓存，注册/移除 bean 定义时整体替换
      */
-    protected final Map<Class<?>, Map<String, BeanDefinition>> beanDefinitionsForType;
+    protected volatile BeanDefinitionCache beanDefinitionCache;
+
+    /**
+     * bean 创建锁，仅并发创建时使用
+     */
+    protected final Map<String, Object> beanCreationLocks;
+
+    /**
+     * 是否并发创建 bean，为 true 时每个 bean 使用独立的创建锁，否则使用 {@link #beanInstances} 作为全局锁
+     */
+    protected volatile boolean concurrentCreation;
 
     /**
      * 应用上下文
@@ -75,9 +84,10 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     public AbstractBeanFactory() {
         this.beanDefinitions = new ConcurrentHashMap<>();
         this.beanInstances = new ConcurrentHashMap<>();
+        this.beanCreationLocks = new ConcurrentHashMap<>();
         this.beanReference = new ConcurrentHashMap<>();
         this.beanPostProcessors = Collections.synchronizedMap(new LinkedHashMap<>());
-        this.beanDefinitionsForType = new WeakConcurrentHashMap<>();
+        this.beanDefinitionCache = new BeanDefinitionCache();
     }
 
     public Collection<BeanPostProcessor> getBeanPostProcessors() {
@@ -120,7 +130,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         if (exists != null) {
             throw new BeansException(CommonUtil.format("Conflicting bean definition: [{}:{}] -> [{}:{}]", beanDefinition.getBeanName(), beanDefinition.getBeanType(), exists.getBeanName(), exists.getBeanType()));
         }
-        this.beanDefinitionsForType.clear();
+        this.clearBeanDefinitionCache();
     }
 
     @Override
@@ -140,6 +150,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
     @Override
     public void removeBeanDefinition(String beanName) {
         this.beanDefinitions.remove(beanName);
+        this.clearBeanDefinitionCache();
     }
 
     @Override
@@ -170,16 +181,31 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(Class<?> beanType) {
-        return this.beanDefinitionsForType.computeIfAbsent(beanType, k -> this.getBeanDefinitions(e -> beanType.isAssignableFrom(e.getValue().getBeanType())));
+        Map<Class<?>, Map<String, BeanDefinition>> cache = this.beanDefinitionCache.beanDefinitionsForType;
+        Map<String, BeanDefinition> beanDefinitions = cache.get(beanType);
+        if (beanDefinitions != null) {
+            return beanDefinitions;
+        }
+        return cache.computeIfAbsent(beanType, k -> unmodifiableMap(this.getBeanDefinitions(e -> k.isAssignableFrom(e.getValue().getBeanType()))));
     }
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(Class<?> beanType, boolean isAutowireCandidate) {
-        Supplier<Map<String, BeanDefinition>> mapFactory = () -> new LinkedHashMap<>(2);
-        return this.getBeanDefinitions(beanType).entrySet()
-                .stream()
-                .filter(e -> e.getValue().isAutowireCandidate() == isAutowireCandidate)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, throwMergeFunction(), mapFactory));
+        BeanDefinitionCache beanDefinitionCache = this.beanDefinitionCache;
+        Map<Class<?>, Map<String, BeanDefinition>> cache = isAutowireCandidate ? beanDefinitionCache.autowireCandidatesForType : beanDefinitionCache.nonAutowireCandidatesForType;
+        Map<String, BeanDefinition> beanDefinitions = cache.get(beanType);
+        if (beanDefinitions != null) {
+            return beanDefinitions;
+        }
+        return cache.computeIfAbsent(beanType, k -> {
+            Map<String, BeanDefinition> candidates = new LinkedHashMap<>(2);
+            for (Map.Entry<String, BeanDefinition> entry : this.getBeanDefinitions(k).entrySet()) {
+                if (entry.getValue().isAutowireCandidate() == isAutowireCandidate) {
+                    candidates.put(entry.getKey(), entry.getValue());
+                }
+            }
+            return unmodifiableMap(candidates);
+        });
     }
 
     @Override
@@ -194,11 +220,13 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public Map<String, BeanDefinition> getBeanDefinitions(Predicate<Map.Entry<String, BeanDefinition>> beanDefinitionPredicate) {
-        return this.getBeanDefinitions().entrySet()
-                .stream()
-                .filter(beanDefinitionPredicate)
-                .sorted((b1, b2) -> BEAN_DEFINITION_COMPARATOR.compare(b1.getValue(), b2.getValue()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, throwMergeFunction(), LinkedHashMap::new));
+        Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
+        for (Map.Entry<String, BeanDefinition> entry : this.obtainSortedBeanDefinitions()) {
+            if (beanDefinitionPredicate.test(entry)) {
+                beanDefinitions.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return beanDefinitions;
     }
 
     @Override
@@ -295,7 +323,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         if (isLazyInit) {
             return new LazyProxyFactoryBean<>(beanDefinition).withBeanFactory(this).getObject();
         }
-        synchronized (this.beanInstances) {
+        synchronized (this.obtainCreationLock(beanName)) {
             if (this.contains(beanName)) {
                 return this.getBean(beanName);
             }
@@ -314,7 +342,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
 
     @Override
     public Object registerBean(String name, Object bean) {
-        synchronized (this.beanInstances) {
+        synchronized (this.obtainCreationLock(name)) {
             BeanDefinition beanDefinition = this.doRegisterBean(name, bean);
             bean = this.getExposedBean(beanDefinition, bean);
             this.autowiredBean(name, bean);
@@ -362,7 +390,8 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         this.beanDefinitions.clear();
         this.beanInstances.clear();
         this.beanReference.clear();
-        this.beanDefinitionsForType.clear();
+        this.beanCreationLocks.clear();
+        this.clearBeanDefinitionCache();
         this.applicationContext = null;
     }
 
@@ -395,7 +424,7 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
      * @return bean definition
      */
     protected BeanDefinition doRegisterBean(String name, Object bean) {
-        synchronized (this.beanInstances) {
+        synchronized (this.obtainCreationLock(name)) {
             BeanDefinition beanDefinition = this.beanDefinitions.get(name);
             if (beanDefinition == null) {
                 beanDefinition = InstantiatedBeanDefinition.from(name, bean.getClass());
@@ -415,6 +444,59 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         }
     }
 
+    /**
+     * 获取排序后的 bean 定义，排序结果在 bean 定义变更前复用
+     *
+     * @return 排序后的 bean 定义
+     */
+    protected List<Map.Entry<String, BeanDefinition>> obtainSortedBeanDefinitions() {
+        BeanDefinitionCache beanDefinitionCache = this.beanDefinitionCache;
+        List<Map.Entry<String, BeanDefinition>> sorted = beanDefinitionCache.sortedBeanDefinitions;
+        if (sorted == null) {
+            sorted = new ArrayList<>(this.beanDefinitions.size());
+            for (Map.Entry<String, BeanDefinition> entry : this.beanDefinitions.entrySet()) {
+                sorted.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+            sorted.sort((b1, b2) -> BEAN_DEFINITION_COMPARATOR.compare(b1.getValue(), b2.getValue()));
+            beanDefinitionCache.sortedBeanDefinitions = sorted = Collections.unmodifiableList(sorted);
+        }
+        return sorted;
+    }
+
+    /**
+     * 清除 bean 定义查询缓存
+     * 先更新 bean 定义再替换缓存，因此基于旧数据计算的结果只会写入被替换的缓存中
+     */
+    protected void clearBeanDefinitionCache() {
+        this.beanDefinitionCache = new BeanDefinitionCache();
+    }
+
+    /**
+     * 设置是否并发创建 bean
+     * 并发创建结束后，恢复使用全局锁
+     *
+     * @param concurrentCreation 是否并发创建
+     */
+    protected void setConcurrentCreation(boolean concurrentCreation) {
+        this.concurrentCreation = concurrentCreation;
+        if (!concurrentCreation) {
+            this.beanCreationLocks.clear();
+        }
+    }
+
+    /**
+     * 获取 bean 的创建锁
+     *
+     * @param beanName bean name
+     * @return 锁
+     */
+    protected Object obtainCreationLock(String beanName) {
+        if (!this.concurrentCreation) {
+            return this.beanInstances;
+        }
+        return this.beanCreationLocks.computeIfAbsent(beanName, k -> new Object());
+    }
+
     /**
      * 获取暴露的 bean，由于执行初始化方法，可能会修改 bean，因此需要根据 bean name 进行获取最新的
      *
@@ -503,4 +585,29 @@ public abstract class AbstractBeanFactory implements ApplicationContextAware, Be
         this.beanReference.remove(beanName);
         this.beanInstances.remove(beanName);
     }
+
+    /**
+     * bean 定义查询缓存
+     */
+    protected static class BeanDefinitionCache {
+        /**
+         * 排序后的 bean 定义
+         */
+        protected volatile List<Map.Entry<String, BeanDefinition>> sortedBeanDefinitions;
+
+        /**
+         * 同一类型的 bean 定义
+         */
+        protected final Map<Class<?>, Map<String, BeanDefinition>> beanDefinitionsForType = new ConcurrentHashMap<>();
+
+        /**
+         * 同一类型的可自动注入的 bean 定义
+         */
+        protected final Map<Class<?>, Map<String, BeanDefinition>> autowireCandidatesForType = new ConcurrentHashMap<>();
+
+        /**
+         * 同一类型的不可自动注入的 bean 定义
+         */
+        protected final Map<Class<?>, Map<String, BeanDefinition>> nonAutowireCandidatesForType = new ConcurrentHashMap<>();
+    }
 }
@@ -0,0 +1,311 @@
+package com.kfyty.loveqq.framework.boot.context.factory;
+
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.FactoryBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.MethodBeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredDescription;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredDescriptionResolver;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.property.PropertyValue;
+import com.kfyty.loveqq.framework.core.generic.ActualGeneric;
+import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.CompletableFutureUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * 描述: bean 依赖图
+ * 根据 bean 定义的构造器参数、Bean 方法参数、所在配置类、工厂 bean、属性引用以及自动注入的属性/方法构建依赖的有向无环图
+ * 不在图中的依赖(原型 bean 等)会被展开为其自身的依赖，无法解析依赖或处于循环依赖链上的 bean 将串行初始化
+ *
+ * @author kfyty725
+ * @date 2024/7/10 10:12
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class BeanDependencyGraph {
+    /**
+     * bean 工厂
+     */
+    private final BeanFactory beanFactory;
+
+    /**
+     * 自动注入描述符解析器
+     */
+    private final AutowiredDescriptionResolver resolver;
+
+    /**
+     * 需要初始化的 bean 定义
+     */
+    private final Map<String, BeanDefinition> beanDefinitions;
+
+    /**
+     * bean 定义的直接依赖缓存，包括不在图中的 bean 定义
+     */
+    private final Map<String, Set<String>> directDependencies;
+
+    /**
+     * 图中 bean 的依赖，仅包含图中的 bean
+     */
+    private final Map<String, Set<String>> dependencies;
+
+    /**
+     * 需要串行初始化的 bean
+     */
+    private final Set<String> serialBeans;
+
+    public BeanDependencyGraph(BeanFactory beanFactory, AutowiredDescriptionResolver resolver, Collection<BeanDefinition> beanDefinitions) {
+        this.beanFactory = beanFactory;
+        this.resolver = resolver;
+        this.beanDefinitions = new LinkedHashMap<>();
+        this.directDependencies = new HashMap<>();
+        this.dependencies = new HashMap<>();
+        this.serialBeans = new LinkedHashSet<>();
+        beanDefinitions.forEach(e -> this.beanDefinitions.put(e.getBeanName(), e));
+        this.buildGraph();
+    }
+
+    /**
+     * 按依赖关系初始化 bean
+     * 互不依赖的 bean 并发初始化，每个 bean 在其依赖全部初始化完成后才提交到线程池，因此不会占用线程等待依赖
+     * 串行 bean 在并发初始化完成后，按 bean 定义顺序在当前线程初始化
+     *
+     * @param executor 线程池
+     * @param creator  bean 创建器
+     */
+    public void initialize(Executor executor, Consumer<BeanDefinition> creator) {
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        for (String beanName : this.beanDefinitions.keySet()) {
+            if (!this.serialBeans.contains(beanName)) {
+                this.obtainFuture(beanName, executor, creator, futures);
+            }
+        }
+        CompletableFutureUtil.get(CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])));
+        for (String serialBean : this.serialBeans) {
+            creator.accept(this.beanDefinitions.get(serialBean));
+        }
+        log.info("concurrent initialized {} beans, serial initialized {} beans.", futures.size(), this.serialBeans.size());
+    }
+
+    private CompletableFuture<Void> obtainFuture(String beanName, Executor executor, Consumer<BeanDefinition> creator, Map<String, CompletableFuture<Void>> futures) {
+        CompletableFuture<Void> future = futures.get(beanName);
+        if (future != null) {
+            return future;
+        }
+        Set<String> dependencies = this.dependencies.get(beanName);
+        CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.size()];
+        int index = 0;
+        for (String dependency : dependencies) {
+            dependencyFutures[index++] = this.obtainFuture(dependency, executor, creator, futures);
+        }
+        BeanDefinition beanDefinition = this.beanDefinitions.get(beanName);
+        if (dependencyFutures.length == 0) {
+            future = CompletableFuture.runAsync(() -> creator.accept(beanDefinition), executor);
+        } else {
+            future = CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> creator.accept(beanDefinition), executor);
+        }
+        futures.put(beanName, future);
+        return future;
+    }
+
+    /**
+     * 构建依赖图，并标记处于循环依赖链上或依赖串行 bean 的 bean
+     */
+    private void buildGraph() {
+        for (BeanDefinition beanDefinition : this.beanDefinitions.values()) {
+            Set<String> dependencies = new LinkedHashSet<>();
+            if (!this.collectDependencies(beanDefinition.getBeanName(), dependencies, new HashSet<>())) {
+                this.serialBeans.add(beanDefinition.getBeanName());
+            }
+            dependencies.remove(beanDefinition.getBeanName());
+            this.dependencies.put(beanDefinition.getBeanName(), dependencies);
+        }
+
+        Map<String, Integer> states = new HashMap<>();
+        for (String beanName : this.beanDefinitions.keySet()) {
+            this.markSerial(beanName, states, new ArrayList<>());
+        }
+
+        // 保持 bean 定义顺序
+        List<String> sorted = new ArrayList<>(this.beanDefinitions.keySet());
+        sorted.retainAll(this.serialBeans);
+        this.serialBeans.clear();
+        this.serialBeans.addAll(sorted);
+    }
+
+    /**
+     * 深度优先遍历，处于环上的 bean 以及依赖串行 bean 的 bean 标记为串行
+     *
+     * @return 该 bean 是否串行
+     */
+    private boolean markSerial(String beanName, Map<String, Integer> states, List<String> path) {
+        Integer state = states.get(beanName);
+        if (state != null) {
+            if (state == 1) {
+                this.serialBeans.addAll(path.subList(path.indexOf(beanName), path.size()));
+                return true;
+            }
+            return this.serialBeans.contains(beanName);
+        }
+        states.put(beanName, 1);
+        path.add(beanName);
+        boolean serial = this.serialBeans.contains(beanName);
+        for (String dependency : this.dependencies.get(beanName)) {
+            serial |= this.markSerial(dependency, states, path);
+        }
+        if (serial) {
+            this.serialBeans.add(beanName);
+        }
+        path.remove(path.size() - 1);
+        states.put(beanName, 2);
+        return serial;
+    }
+
+    /**
+     * 收集图中 bean 的依赖，不在图中的依赖将展开为其自身的依赖
+     *
+     * @return 是否成功解析
+     */
+    private boolean collectDependencies(String beanName, Set<String> collected, Set<String> visited) {
+        if (!visited.add(beanName)) {
+            return true;
+        }
+        Set<String> directDependencies = this.obtainDirectDependencies(beanName);
+        if (directDependencies == null) {
+            return false;
+        }
+        for (String dependency : directDependencies) {
+            if (this.beanDefinitions.containsKey(dependency)) {
+                collected.add(dependency);
+                continue;
+            }
+            if (this.beanFactory.contains(dependency) || !this.beanFactory.containsBeanDefinition(dependency)) {
+                continue;
+            }
+            if (!this.collectDependencies(dependency, collected, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取 bean 定义的直接依赖
+     *
+     * @return 依赖的 bean name，无法解析时返回 null
+     */
+    private Set<String> obtainDirectDependencies(String beanName) {
+        if (this.directDependencies.containsKey(beanName)) {
+            return this.directDependencies.get(beanName);
+        }
+        Set<String> dependencies = null;
+        try {
+            dependencies = this.resolveDirectDependencies(this.beanFactory.getBeanDefinition(beanName));
+        } catch (Throwable e) {
+            log.warn("resolve bean dependencies failed, it will be serial initialized: {}, {}", beanName, e.getMessage());
+        }
+        this.directDependencies.put(beanName, dependencies);
+        return dependencies;
+    }
+
+    private Set<String> resolveDirectDependencies(BeanDefinition beanDefinition) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        Class<?> beanType = beanDefinition.getBeanType();
+        if (beanDefinition instanceof MethodBeanDefinition) {
+            MethodBeanDefinition methodBeanDefinition = (MethodBeanDefinition) beanDefinition;
+            dependencies.add(methodBeanDefinition.getParentDefinition().getBeanName());
+            Method beanMethod = methodBeanDefinition.getBeanMethod();
+            this.resolveParameterDependencies(beanMethod.getDeclaringClass(), beanMethod.getParameters(), this.resolver.resolve(beanMethod), dependencies);
+        } else if (beanDefinition instanceof FactoryBeanDefinition) {
+            dependencies.add(((FactoryBeanDefinition) beanDefinition).getFactoryBeanDefinition().getBeanName());
+            return dependencies;
+        } else {
+            Class<?>[] constructArgTypes = beanDefinition.getConstructArgTypes();
+            if (constructArgTypes.length > 0) {
+                Parameter[] parameters = ReflectUtil.searchSuitableConstructor(beanType, e -> Arrays.equals(e.getParameterTypes(), constructArgTypes)).getParameters();
+                this.resolveParameterDependencies(beanType, parameters, null, dependencies);
+            }
+        }
+
+        for (PropertyValue propertyValue : beanDefinition.getPropertyValues()) {
+            if (!propertyValue.isPropertyValue()) {
+                AutowiredDescription reference = propertyValue.getReference();
+                if (reference == null || !reference.lazied()) {
+                    this.resolveDependencies(reference == null ? null : reference.value(), propertyValue.getReferenceType(), dependencies);
+                }
+            }
+        }
+
+        if (beanDefinition instanceof MethodBeanDefinition) {
+            return dependencies;
+        }
+
+        for (Field field : ReflectUtil.getFieldMap(beanType).values()) {
+            AutowiredDescription description = this.resolver.resolve(field);
+            if (description != null && !description.lazied()) {
+                this.resolveDependencies(description.value(), ActualGeneric.from(beanType, field).getSimpleActualType(), dependencies);
+            }
+        }
+        for (Method method : ReflectUtil.getMethods(beanType)) {
+            AutowiredDescription description = this.resolver.resolve(method);
+            if (description != null && !description.lazied()) {
+                this.resolveParameterDependencies(beanType, method.getParameters(), description, dependencies);
+            }
+        }
+        return dependencies;
+    }
+
+    private void resolveParameterDependencies(Class<?> clazz, Parameter[] parameters, AutowiredDescription methodDescription, Set<String> dependencies) {
+        for (Parameter parameter : parameters) {
+            if (AnnotationUtil.hasAnnotation(parameter, Value.class)) {
+                continue;
+            }
+            AutowiredDescription description = this.resolver.resolve(parameter);
+            if (description == null) {
+                description = methodDescription;
+            }
+            if (description != null && description.lazied()) {
+                continue;
+            }
+            String name = description == null ? null : description.value();
+            this.resolveDependencies(name, ActualGeneric.from(clazz, parameter).getSimpleActualType(), dependencies);
+        }
+    }
+
+    private void resolveDependencies(String name, Class<?> type, Set<String> dependencies) {
+        if (CommonUtil.notEmpty(name) && this.beanFactory.containsBeanDefinition(name)) {
+            dependencies.add(name);
+            return;
+        }
+        if (type != null && type != Object.class) {
+            dependencies.addAll(this.beanFactory.getBeanDefinitionNames(type));
+        }
+    }
+
+    /**
+     * 获取需要串行初始化的 bean
+     */
+    public Set<String> getSerialBeans() {
+        return Collections.unmodifiableSet(this.serialBeans);
+    }
+}
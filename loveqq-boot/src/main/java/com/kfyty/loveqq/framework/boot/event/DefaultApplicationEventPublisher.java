@@ -12,20 +12,29 @@ import com.kfyty.loveqq.framework.core.event.GenericApplicationEvent;
 import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 /**
  * 描述: 事件发布器默认实现
+ * 监听器的监听类型仅在注册时解析一次，发布时根据事件类型(泛型事件还包括实际事件类型)从索引中获取监听器，索引包含事件的父类型
+ * 注册监听器时仅使索引失效，发布事件时按需重建，因此批量注册监听器时只重建一次索引；监听器的调用顺序与注册顺序一致
  *
  * @author kfyty725
  * @date 2021/6/21 16:56
  * @email kfyty725@hotmail.com
  */
+@Slf4j
 @Order(Order.HIGHEST_PRECEDENCE)
 @Component("applicationEventPublisher")
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -35,6 +44,11 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
      */
     private static final Predicate<Type> SUPER_GENERIC_FILTER = type -> type instanceof ParameterizedType && ((ParameterizedType) type).getRawType().equals(ApplicationListener.class);
 
+    /**
+     * 空监听器数组
+     */
+    private static final ListenerRegistration[] EMPTY_LISTENERS = new ListenerRegistration[0];
+
     /**
      * 上下文是否刷新完成
      */
@@ -46,9 +60,14 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
     private Queue<ApplicationEvent<?>> earlyPublishedEvent = new ConcurrentLinkedQueue<>();
 
     /**
-     * 注册的事件监听器
+     * 注册的事件监听器，由 this 保护
      */
-    private final Queue<ApplicationListener> applicationListeners = new ConcurrentLinkedQueue<>();
+    private final List<ListenerRegistration> registrations = new ArrayList<>();
+
+    /**
+     * 事件监听器索引，注册监听器后为 null，发布事件时重建
+     */
+    private volatile ListenerIndex listenerIndex;
 
     @Override
     public void onAfterRefreshed(ApplicationContext applicationContext) {
@@ -63,35 +82,168 @@ public class DefaultApplicationEventPublisher implements ContextAfterRefreshed,
         }
     }
 
-    /**
-     * 获取监听器的监听类型时，如果被 jdk 代理，则应使用原对象，否则无法获取泛型信息
-     */
     @Override
     public void publishEvent(ApplicationEvent<?> event) {
         if (!isRefreshed) {
             this.earlyPublishedEvent.add(event);
             return;
         }
-        for (ApplicationListener applicationListener : this.applicationListeners) {
-            Class<?> listenerType = null;
-            if (applicationListener instanceof EventListenerAnnotationListener) {
-                listenerType = ((EventListenerAnnotationListener) applicationListener).getListenerType();
-            } else {
-                Class<?> listenerClass = AopUtil.getTargetClass(applicationListener);
-                listenerType = ReflectUtil.getSuperGeneric(listenerClass, SUPER_GENERIC_FILTER);
+        for (ListenerRegistration registration : this.obtainListenerIndex().obtainEventListeners(event)) {
+            registration.onApplicationEvent(event);
+        }
+    }
+
+    @Override
+    public void registerEventListener(ApplicationListener<?> applicationListener) {
+        this.registerEventListener(applicationListener, null);
+    }
+
+    @Override
+    public synchronized void registerEventListener(ApplicationListener<?> applicationListener, Executor executor) {
+        this.registrations.add(new ListenerRegistration(applicationListener, resolveListenerType(applicationListener), executor));
+        this.listenerIndex = null;
+    }
+
+    /**
+     * 获取监听器索引，已失效时根据当前注册的监听器重建
+     *
+     * @return 监听器索引
+     */
+    protected ListenerIndex obtainListenerIndex() {
+        ListenerIndex listenerIndex = this.listenerIndex;
+        if (listenerIndex == null) {
+            synchronized (this) {
+                listenerIndex = this.listenerIndex;
+                if (listenerIndex == null) {
+                    this.listenerIndex = listenerIndex = new ListenerIndex(this.registrations.toArray(EMPTY_LISTENERS));
+                }
             }
-            if (event instanceof GenericApplicationEvent<?, ?> && listenerType.equals(((GenericApplicationEvent) event).getEventType())) {
-                applicationListener.onApplicationEvent(event);
-                continue;
+        }
+        return listenerIndex;
+    }
+
+    /**
+     * 获取监听器的监听类型时，如果被 jdk 代理，则应使用原对象，否则无法获取泛型信息
+     *
+     * @param applicationListener 监听器
+     * @return 监听类型
+     */
+    protected static Class<?> resolveListenerType(ApplicationListener<?> applicationListener) {
+        if (applicationListener instanceof EventListenerAnnotationListener) {
+            return ((EventListenerAnnotationListener) applicationListener).getListenerType();
+        }
+        Class<?> listenerClass = AopUtil.getTargetClass(applicationListener);
+        return ReflectUtil.getSuperGeneric(listenerClass, SUPER_GENERIC_FILTER);
+    }
+
+    /**
+     * 监听器索引
+     */
+    protected static class ListenerIndex {
+        /**
+         * 注册的事件监听器
+         */
+        private final ListenerRegistration[] registrations;
+
+        /**
+         * 事件类型 -> 监听器
+         */
+        private final Map<Class<?>, ListenerRegistration[]> eventListenerIndex;
+
+        /**
+         * 泛型事件类型 -> 实际事件类型 -> 监听器
+         */
+        private final Map<Class<?>, Map<Class<?>, ListenerRegistration[]>> genericEventListenerIndex;
+
+        private ListenerIndex(ListenerRegistration[] registrations) {
+            this.registrations = registrations;
+            this.eventListenerIndex = new ConcurrentHashMap<>();
+            this.genericEventListenerIndex = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * 获取事件对应的监听器
+         *
+         * @param event 事件
+         * @return 监听器
+         */
+        private ListenerRegistration[] obtainEventListeners(ApplicationEvent<?> event) {
+            Class<?> eventClass = event.getClass();
+            if (!(event instanceof GenericApplicationEvent<?, ?>)) {
+                return this.eventListenerIndex.computeIfAbsent(eventClass, k -> this.resolveEventListeners(k, null));
             }
-            if (listenerType.equals(ApplicationEvent.class) || listenerType.equals(event.getClass())) {
-                applicationListener.onApplicationEvent(event);
+            Class<?> eventType = ((GenericApplicationEvent<?, ?>) event).getEventType();
+            return this.genericEventListenerIndex
+                    .computeIfAbsent(eventClass, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(eventType, k -> this.resolveEventListeners(eventClass, k));
+        }
+
+        /**
+         * 解析事件对应的监听器
+         *
+         * @param eventClass 事件类型
+         * @param eventType  泛型事件的实际事件类型，非泛型事件时为 null
+         * @return 监听器
+         */
+        private ListenerRegistration[] resolveEventListeners(Class<?> eventClass, Class<?> eventType) {
+            List<ListenerRegistration> registrations = new ArrayList<>();
+            for (ListenerRegistration registration : this.registrations) {
+                if (registration.supports(eventClass, eventType)) {
+                    registrations.add(registration);
+                }
             }
+            return registrations.isEmpty() ? EMPTY_LISTENERS : registrations.toArray(EMPTY_LISTENERS);
         }
     }
 
-    @Override
-    public void registerEventListener(ApplicationListener<?> applicationListener) {
-        this.applicationListeners.add(applicationListener);
+    /**
+     * 已解析监听类型的监听器
+     */
+    protected static class ListenerRegistration {
+        /**
+         * 监听器
+         */
+        private final ApplicationListener listener;
+
+        /**
+         * 监听类型
+         */
+        private final Class<?> listenerType;
+
+        /**
+         * 异步执行的线程池，同步执行时为 null
+         */
+        private final Executor executor;
+
+        protected ListenerRegistration(ApplicationListener listener, Class<?> listenerType, Executor executor) {
+            this.listener = listener;
+            this.listenerType = listenerType;
+            this.executor = executor;
+        }
+
+        /**
+         * 是否支持该事件
+         * 泛型事件时，监听类型是实际事件类型的父类型即支持；否则监听类型需是事件类型的父类型
+         */
+        protected boolean supports(Class<?> eventClass, Class<?> eventType) {
+            if (eventType != null && this.listenerType.isAssignableFrom(eventType)) {
+                return true;
+            }
+            return ApplicationEvent.class.isAssignableFrom(this.listenerType) && this.listenerType.isAssignableFrom(eventClass);
+        }
+
+        protected void onApplicationEvent(ApplicationEvent<?> event) {
+            if (this.executor == null) {
+                this.listener.onApplicationEvent(event);
+                return;
+            }
+            this.executor.execute(() -> {
+                try {
+                    this.listener.onApplicationEvent(event);
+                } catch (Throwable e) {
+                    log.error("async event listener execute failed: {}, event: {}", this.listener, event, e);
+                }
+            });
+        }
     }
 }
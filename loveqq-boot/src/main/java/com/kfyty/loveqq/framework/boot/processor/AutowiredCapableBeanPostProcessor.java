@@ -13,20 +13,26 @@ import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredProce
 import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.property.PropertyValue;
 import com.kfyty.loveqq.framework.core.autoconfig.internal.InternalPriority;
 import com.kfyty.loveqq.framework.core.generic.ActualGeneric;
-import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import com.kfyty.loveqq.framework.core.utils.AopUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.hasAnnotation;
+import static java.util.Optional.ofNullable;
 
 /**
  * 功能描述: Autowired 注解处理器
@@ -50,10 +56,16 @@ public class AutowiredCapableBeanPostProcessor implements ApplicationContextAwar
      */
     private AutowiredProcessor autowiredProcessor;
 
+    /**
+     * 非单例 bean 的注入计划
+     */
+    private final Map<Class<?>, InjectionPlan> injectionPlans = new WeakConcurrentHashMap<>();
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
         this.autowiredProcessor = new AutowiredProcessor(applicationContext);
+        this.injectionPlans.clear();
         this.autowiredBean(null, applicationContext);
     }
 
@@ -71,6 +83,7 @@ public class AutowiredCapableBeanPostProcessor implements ApplicationContextAwar
         }
         if (bean instanceof AutowiredDescriptionResolver) {
             this.autowiredProcessor = new AutowiredProcessor(this.applicationContext, (AutowiredDescriptionResolver) bean);
+            this.injectionPlans.clear();
         }
     }
 
@@ -105,48 +118,130 @@ public class AutowiredCapableBeanPostProcessor implements ApplicationContextAwar
     }
 
     protected void processAutowired(String beanName, Object target, Object exposedBean) {
-        Class<?> targetClass = target.getClass();
-        this.autowiredField(targetClass, target, exposedBean);
-        this.autowiredMethod(targetClass, target, exposedBean);
+        InjectionPlan injectionPlan = this.obtainInjectionPlan(beanName, target.getClass());
+        this.autowiredField(injectionPlan, target, exposedBean);
+        this.autowiredMethod(injectionPlan, target, exposedBean);
+    }
+
+    protected void autowiredField(InjectionPlan injectionPlan, Object bean, Object exposedBean) {
+        for (FieldInjection fieldInjection : injectionPlan.getFields()) {
+            Field field = fieldInjection.getField();
+            Object autowired = this.autowiredProcessor.doAutowired(bean, field, fieldInjection.getDescription(), fieldInjection.getActualGeneric());
+            if (autowired != null && bean != exposedBean && AopUtil.isCglibProxy(exposedBean)) {
+                ReflectUtil.setFieldValue(exposedBean, field, autowired);
+            }
+        }
+    }
+
+    protected void autowiredMethod(InjectionPlan injectionPlan, Object bean, Object exposedBean) {
+        for (MethodInjection methodInjection : injectionPlan.getMethods()) {
+            Method method = methodInjection.getMethod();
+            Object[] parameters = this.autowiredProcessor.doAutowired(bean, method, methodInjection.getActualGenerics(), methodInjection.getDescriptions());
+            if (bean != exposedBean && AopUtil.isCglibProxy(exposedBean)) {
+                ReflectUtil.invokeMethod(exposedBean, method, parameters);
+            }
+        }
     }
 
-    protected void autowiredField(Class<?> clazz, Object bean, Object exposedBean) {
-        List<Pair<Field, AutowiredDescription>> laziedFields = new LinkedList<>();
+    /**
+     * 获取注入计划
+     * 非单例 bean 会重复创建，因此缓存其注入计划，之后的创建直接复用；单例 bean 仅创建一次，无需缓存
+     *
+     * @param beanName bean name
+     * @param clazz    bean 的实际类型
+     * @return 注入计划
+     */
+    protected InjectionPlan obtainInjectionPlan(String beanName, Class<?> clazz) {
+        InjectionPlan injectionPlan = this.injectionPlans.get(clazz);
+        if (injectionPlan != null) {
+            return injectionPlan;
+        }
+        injectionPlan = this.buildInjectionPlan(clazz);
+        if (beanName != null && this.applicationContext.containsBeanDefinition(beanName) && !this.applicationContext.getBeanDefinition(beanName).isSingleton()) {
+            this.injectionPlans.putIfAbsent(clazz, injectionPlan);
+        }
+        return injectionPlan;
+    }
+
+    /**
+     * 构建注入计划
+     * 其中与 {@link Bean} 方法返回值类型兼容的属性，将在其他属性之后注入
+     *
+     * @param clazz bean 的实际类型
+     * @return 注入计划
+     */
+    protected InjectionPlan buildInjectionPlan(Class<?> clazz) {
+        AutowiredDescriptionResolver resolver = this.autowiredProcessor.getResolver();
+        List<FieldInjection> fields = new ArrayList<>();
+        List<FieldInjection> laziedFields = new LinkedList<>();
         List<Method> beanMethods = ReflectUtil.getMethods(clazz).stream().filter(e -> hasAnnotation(e, Bean.class)).collect(Collectors.toList());
         for (Field field : ReflectUtil.getFieldMap(clazz).values()) {
-            AutowiredDescription description = this.autowiredProcessor.getResolver().resolve(field);
+            AutowiredDescription description = resolver.resolve(field);
             if (description == null) {
                 continue;
             }
             ActualGeneric actualGeneric = ActualGeneric.from(clazz, field);
             if (beanMethods.stream().anyMatch(e -> actualGeneric.getSimpleActualType().isAssignableFrom(e.getReturnType()))) {
-                laziedFields.add(new Pair<>(field, description));
+                laziedFields.add(new FieldInjection(field, description, actualGeneric));
                 continue;
             }
-            Object autowired = this.autowiredProcessor.doAutowired(bean, field, description);
-            if (autowired != null && bean != exposedBean && AopUtil.isCglibProxy(exposedBean)) {
-                ReflectUtil.setFieldValue(exposedBean, field, autowired);
-            }
+            fields.add(new FieldInjection(field, description, actualGeneric));
         }
+        fields.addAll(laziedFields);
 
-        // 注入临时忽略的属性
-        for (Pair<Field, AutowiredDescription> fieldPair : laziedFields) {
-            Object autowired = this.autowiredProcessor.doAutowired(bean, fieldPair.getKey(), fieldPair.getValue());
-            if (autowired != null && bean != exposedBean && AopUtil.isCglibProxy(exposedBean)) {
-                ReflectUtil.setFieldValue(exposedBean, fieldPair.getKey(), autowired);
-            }
-        }
-    }
-
-    protected void autowiredMethod(Class<?> clazz, Object bean, Object exposedBean) {
+        List<MethodInjection> methods = new ArrayList<>();
         for (Method method : ReflectUtil.getMethods(clazz)) {
-            AutowiredDescription description = this.autowiredProcessor.getResolver().resolve(method);
+            AutowiredDescription description = resolver.resolve(method);
             if (description != null) {
-                Object[] parameters = this.autowiredProcessor.doAutowired(bean, method, description, this.autowiredProcessor.getResolver()::resolve);
-                if (bean != exposedBean && AopUtil.isCglibProxy(exposedBean)) {
-                    ReflectUtil.invokeMethod(exposedBean, method, parameters);
+                Parameter[] parameters = method.getParameters();
+                ActualGeneric[] actualGenerics = new ActualGeneric[parameters.length];
+                AutowiredDescription[] descriptions = new AutowiredDescription[parameters.length];
+                for (int i = 0; i < parameters.length; i++) {
+                    actualGenerics[i] = ActualGeneric.from(clazz, parameters[i]);
+                    descriptions[i] = ofNullable(resolver.resolve(parameters[i])).orElse(description);
                 }
+                methods.add(new MethodInjection(method, actualGenerics, descriptions));
             }
         }
+        return new InjectionPlan(fields, methods);
+    }
+
+    /**
+     * 注入计划
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class InjectionPlan {
+        /**
+         * 属性注入点，按注入顺序排列
+         */
+        private final List<FieldInjection> fields;
+
+        /**
+         * 方法注入点
+         */
+        private final List<MethodInjection> methods;
+    }
+
+    /**
+     * 属性注入点
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class FieldInjection {
+        private final Field field;
+        private final AutowiredDescription description;
+        private final ActualGeneric actualGeneric;
+    }
+
+    /**
+     * 方法注入点
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class MethodInjection {
+        private final Method method;
+        private final ActualGeneric[] actualGenerics;
+        private final AutowiredDescription[] descriptions;
     }
 }
@@ -23,6 +23,9 @@ import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import static com.kfyty.loveqq.framework.boot.autoconfig.ThreadPoolExecutorAutoConfig.DEFAULT_THREAD_POOL_EXECUTOR;
 
 /**
  * 描述: EventListener 注解处理器
@@ -75,14 +78,15 @@ public class EventListenerAnnotationBeanPostProcessor implements BeanPostProcess
             eventTypes = (Class<? extends ApplicationEvent<?>>[]) listenerMethod.getParameterTypes();
         }
         Type[] parameterTypes = listenerMethod.getGenericParameterTypes();
+        Executor executor = !eventListener.async() ? null : this.context.getBean(CommonUtil.notEmpty(eventListener.executor()) ? eventListener.executor() : DEFAULT_THREAD_POOL_EXECUTOR);
         for (int i = 0; i < eventTypes.length; i++) {
             Class<?> eventType = eventTypes[i];
             if (GenericApplicationEvent.class.isAssignableFrom(eventType)) {
                 eventType = ReflectUtil.getActualGenericType("T", parameterTypes[i]);
             }
             ApplicationListener<?> annotationListener = this.eventListenerAnnotationListenerFactory.createEventListener(beanName, listenerMethod, eventType);
-            this.applicationEventPublisher.registerEventListener(annotationListener);
-            log.info("register annotation event listener: {}", annotationListener);
+            this.applicationEventPublisher.registerEventListener(annotationListener, executor);
+            log.info("register {}annotation event listener: {}", executor == null ? "" : "async ", annotationListener);
         }
     }
 }
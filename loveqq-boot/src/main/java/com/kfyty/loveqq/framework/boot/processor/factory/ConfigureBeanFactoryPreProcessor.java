@@ -11,9 +11,12 @@ import com.kfyty.loveqq.framework.core.autoconfig.annotation.Import;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.filter.ComponentFilterDescription;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnClass;
+import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnMissingClass;
 import com.kfyty.loveqq.framework.core.autoconfig.internal.InternalPriority;
 import com.kfyty.loveqq.framework.core.io.FactoriesLoader;
 import com.kfyty.loveqq.framework.core.support.AnnotationMetadata;
+import com.kfyty.loveqq.framework.core.support.asm.ClassMetadataReader;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.PackageUtil;
@@ -23,6 +26,8 @@ import java.lang.annotation.Annotation;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -67,16 +72,48 @@ public class ConfigureBeanFactoryPreProcessor implements BeanFactoryPreProcessor
 
     protected void prepareScanAutoConfigFactories() {
         Set<String> factories = FactoriesLoader.loadFactories(EnableAutoConfiguration.class);
+        ClassMetadataReader metadataReader = new ClassMetadataReader();
         for (String className : factories) {
-            if (!this.excludeQualifierAutoConfigNames.contains(className)) {
+            if (!this.excludeQualifierAutoConfigNames.contains(className) && this.isClassConditionMatched(metadataReader, className)) {
                 Optional.ofNullable(ReflectUtil.load(className, false, false)).ifPresent(e -> this.processScanBean(e, true));
             }
         }
     }
 
+    /**
+     * 加载自动配置类之前，基于 class 文件预先校验类及其父类、父接口上声明的 {@link ConditionalOnClass}/{@link ConditionalOnMissingClass}
+     * 不匹配时无需加载该类；其余条件仍在加载后由条件匹配器校验
+     *
+     * @param metadataReader 本次扫描的类元数据读取器
+     * @param className      自动配置类
+     * @return true if matched
+     */
+    protected boolean isClassConditionMatched(ClassMetadataReader metadataReader, String className) {
+        if (metadataReader.read(className) == null) {
+            return true;
+        }
+        Map<String, Object> onClass = metadataReader.findAnnotation(className, ConditionalOnClass.class.getName());
+        if (onClass != null && !this.allExists(onClass.get("value"))) {
+            return false;
+        }
+        Map<String, Object> onMissingClass = metadataReader.findAnnotation(className, ConditionalOnMissingClass.class.getName());
+        return onMissingClass == null || !this.allExists(onMissingClass.get("value"));
+    }
+
+    protected boolean allExists(Object classNames) {
+        if (classNames instanceof List<?>) {
+            for (Object className : (List<?>) classNames) {
+                if (!ClassMetadataReader.exists(className.toString())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     protected void prepareScanBean(Set<String> basePackages) {
         for (String basePackage : basePackages) {
-            PackageUtil.scanClass(basePackage).forEach(e -> this.processScanBean(e, false));
+            PackageUtil.scanComponentClass(basePackage).forEach(e -> this.processScanBean(e, false));
         }
     }
 
@@ -44,6 +44,11 @@ public class AsyncMethodInterceptorProxy implements MethodInterceptorChainPoint,
         this.context = context;
     }
 
+    @Override
+    public boolean isApplicable(MethodProxy methodProxy) {
+        return this.findAsyncAnnotation(methodProxy) != null;
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
         Async annotation = this.findAsyncAnnotation(methodProxy);
@@ -0,0 +1,178 @@
+package com.kfyty.event;
+
+import com.kfyty.loveqq.framework.boot.event.DefaultApplicationEventPublisher;
+import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
+import com.kfyty.loveqq.framework.core.event.ApplicationEvent;
+import com.kfyty.loveqq.framework.core.event.ApplicationListener;
+import com.kfyty.loveqq.framework.core.event.EventListenerAnnotationListener;
+import com.kfyty.loveqq.framework.core.event.GenericApplicationEvent;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 描述: 事件发布器测试
+ *
+ * @author kfyty725
+ * @date 2024/7/10 16:20
+ * @email kfyty725@hotmail.com
+ */
+public class EventPublisherTest {
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    private DefaultApplicationEventPublisher publisher;
+
+    @Before
+    public void prepare() {
+        this.publisher = new DefaultApplicationEventPublisher();
+    }
+
+    @Test
+    public void hierarchyTest() {
+        this.publisher.registerEventListener(new ParentListener());
+        this.publisher.registerEventListener(new ChildListener());
+        this.publisher.registerEventListener(new AnyListener());
+        this.refresh();
+
+        this.publisher.publishEvent(new ChildEvent("child"));
+        Assert.assertEquals(Arrays.asList("parent:child", "child:child", "any:child"), this.received);
+
+        this.received.clear();
+        this.publisher.publishEvent(new ParentEvent("parent"));
+        Assert.assertEquals(Arrays.asList("parent:parent", "any:parent"), this.received);
+
+        this.received.clear();
+        this.publisher.registerEventListener(new ChildListener());
+        this.publisher.publishEvent(new ChildEvent("again"));
+        Assert.assertEquals(Arrays.asList("parent:again", "child:again", "any:again", "child:again"), this.received);
+    }
+
+    @Test
+    public void genericEventTest() {
+        this.publisher.registerEventListener(new PayloadListener(CharSequence.class));
+        this.refresh();
+
+        this.publisher.publishEvent(new GenericApplicationEvent<>("payload", "source"));
+        this.publisher.publishEvent(new GenericApplicationEvent<>(1, "source"));
+        Assert.assertEquals(Collections.singletonList("payload:source"), this.received);
+    }
+
+    @Test
+    public void earlyEventTest() {
+        this.publisher.registerEventListener(new ParentListener());
+        this.publisher.publishEvent(new ParentEvent("early"));
+        Assert.assertTrue(this.received.isEmpty());
+
+        this.refresh();
+        Assert.assertEquals(Collections.singletonList("parent:early"), this.received);
+    }
+
+    @Test
+    public void asyncTest() throws Exception {
+        CountDownLatch latch = new CountDownLatch(2);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AsyncListener asyncListener = new AsyncListener(latch);
+            this.publisher.registerEventListener(asyncListener, executor);
+            this.publisher.registerEventListener(new ParentListener());
+            this.refresh();
+
+            this.publisher.publishEvent(new ParentEvent("first"));
+            this.publisher.publishEvent(new ParentEvent("second"));
+            Assert.assertEquals(Arrays.asList("parent:first", "parent:second"), this.received);
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(Collections.singleton(false), asyncListener.onCaller);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void refresh() {
+        ApplicationContext applicationContext = (ApplicationContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ApplicationContext.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getBeanOfType")) {
+                return Collections.emptyMap();
+            }
+            return null;
+        });
+        this.publisher.onAfterRefreshed(applicationContext);
+    }
+
+    static class ParentEvent extends ApplicationEvent<String> {
+
+        ParentEvent(String source) {
+            super(source);
+        }
+    }
+
+    static class ChildEvent extends ParentEvent {
+
+        ChildEvent(String source) {
+            super(source);
+        }
+    }
+
+    class ParentListener implements ApplicationListener<ParentEvent> {
+
+        @Override
+        public void onApplicationEvent(ParentEvent event) {
+            received.add("parent:" + event.getSource());
+        }
+    }
+
+    class ChildListener implements ApplicationListener<ChildEvent> {
+
+        @Override
+        public void onApplicationEvent(ChildEvent event) {
+            received.add("child:" + event.getSource());
+        }
+    }
+
+    class AnyListener implements ApplicationListener<ApplicationEvent<?>> {
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent<?> event) {
+            received.add("any:" + event.getSource());
+        }
+    }
+
+    static class AsyncListener implements ApplicationListener<ParentEvent> {
+        private final Thread caller = Thread.currentThread();
+        private final Set<Boolean> onCaller = ConcurrentHashMap.newKeySet();
+        private final CountDownLatch latch;
+
+        AsyncListener(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onApplicationEvent(ParentEvent event) {
+            this.onCaller.add(Thread.currentThread() == this.caller);
+            this.latch.countDown();
+            throw new IllegalStateException("async listener failed");
+        }
+    }
+
+    class PayloadListener extends EventListenerAnnotationListener {
+
+        PayloadListener(Class<?> listenerType) {
+            super(null, null, listenerType, null);
+        }
+
+        @Override
+        public void onApplicationEvent(ApplicationEvent<Object> event) {
+            received.add("payload:" + event.getSource());
+        }
+    }
+}
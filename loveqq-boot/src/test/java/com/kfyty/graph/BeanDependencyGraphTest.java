@@ -0,0 +1,79 @@
+package com.kfyty.graph;
+
+import com.kfyty.loveqq.framework.boot.context.DefaultConfigurableApplicationContext;
+import com.kfyty.loveqq.framework.boot.context.factory.BeanDependencyGraph;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.DefaultAutowiredDescriptionResolver;
+import com.kfyty.loveqq.framework.core.autoconfig.beans.builder.BeanDefinitionBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 描述: 依赖图测试
+ *
+ * @author kfyty725
+ * @date 2024/7/10 10:12
+ * @email kfyty725@hotmail.com
+ */
+public class BeanDependencyGraphTest {
+
+    @Test
+    public void propertyReferenceTest() {
+        DefaultConfigurableApplicationContext context = new DefaultConfigurableApplicationContext();
+        BeanDefinition repository = BeanDefinitionBuilder.genericBeanDefinition("repository", Repository.class).getBeanDefinition();
+        BeanDefinition service = BeanDefinitionBuilder.genericBeanDefinition("service", Service.class)
+                .addPropertyValue("repository", "repository", Repository.class)
+                .getBeanDefinition();
+        BeanDefinition controller = BeanDefinitionBuilder.genericBeanDefinition("controller", Controller.class)
+                .addPropertyValue("service", Service.class)
+                .getBeanDefinition();
+        BeanDefinition independent = BeanDefinitionBuilder.genericBeanDefinition("independent", Repository.class).getBeanDefinition();
+        List<BeanDefinition> beanDefinitions = Arrays.asList(controller, service, independent, repository);
+        beanDefinitions.forEach(e -> context.registerBeanDefinition(e.getBeanName(), e));
+
+        BeanDependencyGraph graph = new BeanDependencyGraph(context, new DefaultAutowiredDescriptionResolver(), beanDefinitions);
+        Assert.assertTrue(graph.getSerialBeans().isEmpty());
+
+        List<String> initialized = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            graph.initialize(executor, bd -> {
+                if (bd == repository) {
+                    sleep();
+                }
+                initialized.add(bd.getBeanName());
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        Assert.assertEquals(4, initialized.size());
+        Assert.assertTrue(initialized.indexOf("repository") < initialized.indexOf("service"));
+        Assert.assertTrue(initialized.indexOf("service") < initialized.indexOf("controller"));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static class Repository {}
+
+    static class Service {
+        private Repository repository;
+    }
+
+    static class Controller {
+        private Service service;
+    }
+}
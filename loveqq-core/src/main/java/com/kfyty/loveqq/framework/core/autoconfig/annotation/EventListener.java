@@ -23,4 +23,14 @@ public @interface EventListener {
      * 要监听的事件
      */
     Class<? extends ApplicationEvent<?>>[] value() default {};
+
+    /**
+     * 是否异步执行
+     */
+    boolean async() default false;
+
+    /**
+     * 异步执行时的线程池的 bean name，必须是 {@link java.util.concurrent.Executor} 的子类，默认为默认线程池
+     */
+    String executor() default "";
 }
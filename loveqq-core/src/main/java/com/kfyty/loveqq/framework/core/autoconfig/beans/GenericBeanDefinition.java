@@ -21,10 +21,13 @@ import com.kfyty.loveqq.framework.core.utils.LogUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.core.utils.ScopeUtil;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
@@ -109,6 +112,27 @@ public class GenericBeanDefinition implements BeanDefinition {
      */
     protected String destroyMethod;
 
+    /**
+     * 构造器参数解析计划，非单例 bean 首次创建时生成，之后的创建直接复用
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    protected volatile ParameterPlan[] constructorPlan;
+
+    /**
+     * 已解析的初始化方法，key 为 bean 的实际类型
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    protected volatile Pair<Class<?>, Method> resolvedInitMethod;
+
+    /**
+     * 已解析的销毁方法，key 为 bean 的实际类型
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    protected volatile Pair<Class<?>, Method> resolvedDestroyMethod;
+
     /**
      * 自动注入处理器，所有实例共享，以处理循环依赖
      */
@@ -241,7 +265,11 @@ public class GenericBeanDefinition implements BeanDefinition {
         if (this.initMethod == null) {
             return null;
         }
-        return ReflectUtil.getMethod(bean.getClass(), this.initMethod);
+        Pair<Class<?>, Method> resolved = this.resolvedInitMethod;
+        if (resolved == null || resolved.getKey() != bean.getClass()) {
+            this.resolvedInitMethod = resolved = new Pair<>(bean.getClass(), ReflectUtil.getMethod(bean.getClass(), this.initMethod));
+        }
+        return resolved.getValue();
     }
 
     @Override
@@ -249,17 +277,23 @@ public class GenericBeanDefinition implements BeanDefinition {
         if (this.destroyMethod == null) {
             return null;
         }
-        return ReflectUtil.getMethod(bean.getClass(), this.destroyMethod);
+        Pair<Class<?>, Method> resolved = this.resolvedDestroyMethod;
+        if (resolved == null || resolved.getKey() != bean.getClass()) {
+            this.resolvedDestroyMethod = resolved = new Pair<>(bean.getClass(), ReflectUtil.getMethod(bean.getClass(), this.destroyMethod));
+        }
+        return resolved.getValue();
     }
 
     @Override
     public void setInitMethod(String initMethod) {
         this.initMethod = initMethod;
+        this.resolvedInitMethod = null;
     }
 
     @Override
     public void setDestroyMethod(String destroyMethod) {
         this.destroyMethod = destroyMethod;
+        this.resolvedDestroyMethod = null;
     }
 
     @Override
@@ -273,6 +307,7 @@ public class GenericBeanDefinition implements BeanDefinition {
             this.defaultConstructorArgs = new LinkedList<>();
         }
         this.defaultConstructorArgs.add(new Pair<>(argType, arg));
+        this.constructorPlan = null;
         return this;
     }
 
@@ -317,7 +352,10 @@ public class GenericBeanDefinition implements BeanDefinition {
             return context.getBean(this.getBeanName());
         }
         this.ensureAutowiredProcessor(context);
-        Object bean = ReflectUtil.newInstance(this.beanType, this.getConstructArgs());
+        List<Pair<Class<?>, Object>> constructorArgs = this.getConstructArgs();
+        this.ensureConstructor();
+        Object[] constructorArgValues = constructorArgs.isEmpty() ? CommonUtil.EMPTY_OBJECT_ARRAY : constructorArgs.stream().map(Pair::getValue).toArray();
+        Object bean = ReflectUtil.newInstance(this.constructor, constructorArgValues);
         return LogUtil.logIfDebugEnabled(log, log -> log.debug("instantiate bean: {}", bean), bean);
     }
 
@@ -343,21 +381,55 @@ public class GenericBeanDefinition implements BeanDefinition {
         if (this.constructor.getParameterCount() == 0) {
             return Collections.emptyList();
         }
-        Parameter[] parameters = this.constructor.getParameters();
-        AutowiredDescription constructorDescription = autowiredProcessor.getResolver().resolve(this.constructor);
         List<Pair<Class<?>, Object>> constructorArgs = ofNullable(this.defaultConstructorArgs).map(LinkedList::new).orElseGet(LinkedList::new);
-        for (int i = constructorArgs.size(); i < parameters.length; i++) {
+        ParameterPlan[] constructorPlan = this.constructorPlan;
+        if (constructorPlan == null) {
+            constructorPlan = this.buildParameterPlan(this.constructor, constructorArgs.size());
+            if (!this.isSingleton()) {
+                this.constructorPlan = constructorPlan;
+            }
+        }
+        for (int i = constructorArgs.size(); i < constructorPlan.length; i++) {
+            constructorArgs.add(new Pair<>(constructorPlan[i].getType(), this.resolveParameter(constructorPlan[i])));
+        }
+        return constructorArgs;
+    }
+
+    /**
+     * 构建方法/构造器参数的解析计划
+     *
+     * @param executable 方法/构造器
+     * @param fromIndex  开始解析的参数索引，之前的参数计划为 null
+     * @return 参数解析计划
+     */
+    protected ParameterPlan[] buildParameterPlan(Executable executable, int fromIndex) {
+        Parameter[] parameters = executable.getParameters();
+        ParameterPlan[] plan = new ParameterPlan[parameters.length];
+        AutowiredDescription executableDescription = autowiredProcessor.getResolver().resolve(executable);
+        for (int i = fromIndex; i < parameters.length; i++) {
             Parameter parameter = parameters[i];
             Value value = findAnnotation(parameter, Value.class);
             if (value != null) {
-                constructorArgs.add(new Pair<>(parameter.getType(), this.resolvePlaceholderValue(value.value(), parameter.getParameterizedType())));
+                plan[i] = new ParameterPlan(parameter.getType(), value.value(), parameter.getParameterizedType(), null, null);
                 continue;
             }
-            AutowiredDescription description = ofNullable(autowiredProcessor.getResolver().resolve(parameter)).orElse(constructorDescription);
-            Object resolveBean = autowiredProcessor.doResolveBean(ActualGeneric.from(this.beanType, parameter), description, parameter.getType());
-            constructorArgs.add(new Pair<>(parameter.getType(), resolveBean));
+            AutowiredDescription description = ofNullable(autowiredProcessor.getResolver().resolve(parameter)).orElse(executableDescription);
+            plan[i] = new ParameterPlan(parameter.getType(), null, null, ActualGeneric.from(this.beanType, parameter), description);
         }
-        return constructorArgs;
+        return plan;
+    }
+
+    /**
+     * 根据参数解析计划解析参数值
+     *
+     * @param plan 参数解析计划
+     * @return 参数值
+     */
+    protected Object resolveParameter(ParameterPlan plan) {
+        if (plan.getValue() != null) {
+            return this.resolvePlaceholderValue(plan.getValue(), plan.getParameterizedType());
+        }
+        return autowiredProcessor.doResolveBean(plan.getActualGeneric(), plan.getDescription(), plan.getType());
     }
 
     protected Object resolvePlaceholderValue(String value, Type targetType) {
@@ -377,4 +449,36 @@ public class GenericBeanDefinition implements BeanDefinition {
             propertyContext.removeProperty(tempKey);
         }
     }
+
+    /**
+     * 参数解析计划
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class ParameterPlan {
+        /**
+         * 参数类型
+         */
+        private final Class<?> type;
+
+        /**
+         * {@link Value} 注解值，不为空时解析占位符
+         */
+        private final String value;
+
+        /**
+         * 参数泛型类型，解析占位符时使用
+         */
+        private final Type parameterizedType;
+
+        /**
+         * 参数实际泛型，自动注入时使用
+         */
+        private final ActualGeneric actualGeneric;
+
+        /**
+         * 自动注入描述
+         */
+        private final AutowiredDescription description;
+    }
 }
@@ -3,26 +3,20 @@ package com.kfyty.loveqq.framework.core.autoconfig.beans;
 import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Primary;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Scope;
-import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
-import com.kfyty.loveqq.framework.core.autoconfig.beans.autowired.AutowiredDescription;
-import com.kfyty.loveqq.framework.core.generic.ActualGeneric;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.core.utils.ScopeUtil;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.util.Objects;
 
-import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.findAnnotation;
-import static java.util.Optional.ofNullable;
-
 /**
  * 描述: Bean 注解定义的 bean 定义
  *
@@ -45,6 +39,14 @@ public class MethodBeanDefinition extends GenericBeanDefinition {
      */
     private final Method beanMethod;
 
+    /**
+     * bean 方法参数解析计划，非单例 bean 首次创建时生成，之后的创建直接复用
+     */
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private volatile ParameterPlan[] methodPlan;
+
     public MethodBeanDefinition(Class<?> beanType, BeanDefinition parentDefinition, Method beanMethod) {
         this(BeanUtil.getBeanName(beanType), beanType, parentDefinition, beanMethod);
     }
@@ -82,17 +84,16 @@ public class MethodBeanDefinition extends GenericBeanDefinition {
     }
 
     protected Object[] prepareMethodArgs() {
-        int index = 0;
-        AutowiredDescription methodDescription = autowiredProcessor.getResolver().resolve(this.beanMethod);
-        Object[] parameters = new Object[this.beanMethod.getParameterCount()];
-        for (Parameter parameter : this.beanMethod.getParameters()) {
-            Value value = findAnnotation(parameter, Value.class);
-            if (value != null) {
-                parameters[index++] = this.resolvePlaceholderValue(value.value(), parameter.getParameterizedType());
-                continue;
+        ParameterPlan[] methodPlan = this.methodPlan;
+        if (methodPlan == null) {
+            methodPlan = this.buildParameterPlan(this.beanMethod, 0);
+            if (!this.isSingleton()) {
+                this.methodPlan = methodPlan;
             }
-            AutowiredDescription description = ofNullable(autowiredProcessor.getResolver().resolve(parameter)).orElse(methodDescription);
-            parameters[index++] = autowiredProcessor.doResolveBean(ActualGeneric.from(this.beanType, parameter), description, parameter.getType());
+        }
+        Object[] parameters = new Object[methodPlan.length];
+        for (int i = 0; i < methodPlan.length; i++) {
+            parameters[i] = this.resolveParameter(methodPlan[i]);
         }
         return parameters;
     }
@@ -20,7 +20,6 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -49,9 +48,9 @@ import static java.util.Optional.ofNullable;
 @Slf4j
 public class AutowiredProcessor {
     /**
-     * 正在解析中的 bean name
+     * 当前线程正在解析中的 bean name，并发初始化时各线程独立检测循环依赖
      */
-    private final Set<String> resolving;
+    private final ThreadLocal<Set<String>> resolving;
 
     /**
      * 应用上下文
@@ -72,7 +71,7 @@ public class AutowiredProcessor {
     public AutowiredProcessor(ApplicationContext context, AutowiredDescriptionResolver resolver) {
         this.context = context;
         this.resolver = resolver;
-        this.resolving = Collections.synchronizedSet(new LinkedHashSet<>());
+        this.resolving = ThreadLocal.withInitial(LinkedHashSet::new);
     }
 
     public Object doAutowired(Object bean, Field field) {
@@ -94,7 +93,26 @@ public class AutowiredProcessor {
         if (ReflectUtil.getFieldValue(bean, field) != null) {
             return null;
         }
-        ActualGeneric actualGeneric = ActualGeneric.from(bean.getClass(), field);
+        return this.doAutowiredField(bean, field, description, ActualGeneric.from(bean.getClass(), field));
+    }
+
+    /**
+     * 使用已解析的实际泛型注入属性
+     *
+     * @param bean          bean
+     * @param field         属性
+     * @param description   自动注入描述
+     * @param actualGeneric 属性的实际泛型
+     * @return 注入的 bean
+     */
+    public Object doAutowired(Object bean, Field field, AutowiredDescription description, ActualGeneric actualGeneric) {
+        if (ReflectUtil.getFieldValue(bean, field) != null) {
+            return null;
+        }
+        return this.doAutowiredField(bean, field, description, actualGeneric);
+    }
+
+    private Object doAutowiredField(Object bean, Field field, AutowiredDescription description, ActualGeneric actualGeneric) {
         Object targetBean = this.doResolveBean(actualGeneric, description, field.getType());
         if (targetBean != null) {
             ReflectUtil.setFieldValue(bean, field, targetBean);
@@ -109,12 +127,30 @@ public class AutowiredProcessor {
 
     public Object[] doAutowired(Object bean, Method method, AutowiredDescription description, Function<Parameter, AutowiredDescription> parameterAutowiredDescriptionResolver) {
         int index = 0;
-        Object[] parameters = new Object[method.getParameterCount()];
-        for (Parameter parameter : method.getParameters()) {
-            ActualGeneric actualGeneric = ActualGeneric.from(bean.getClass(), parameter);
-            AutowiredDescription paramDescription = ofNullable(parameterAutowiredDescriptionResolver.apply(parameter)).orElse(description);
-            Object targetBean = this.doResolveBean(actualGeneric, paramDescription, parameter.getType());
-            parameters[index++] = targetBean;
+        Parameter[] parameters = method.getParameters();
+        ActualGeneric[] actualGenerics = new ActualGeneric[parameters.length];
+        AutowiredDescription[] descriptions = new AutowiredDescription[parameters.length];
+        for (Parameter parameter : parameters) {
+            actualGenerics[index] = ActualGeneric.from(bean.getClass(), parameter);
+            descriptions[index++] = ofNullable(parameterAutowiredDescriptionResolver.apply(parameter)).orElse(description);
+        }
+        return this.doAutowired(bean, method, actualGenerics, descriptions);
+    }
+
+    /**
+     * 使用已解析的参数实际泛型及自动注入描述执行方法注入
+     *
+     * @param bean           bean
+     * @param method         方法
+     * @param actualGenerics 参数的实际泛型
+     * @param descriptions   参数的自动注入描述
+     * @return 注入的参数
+     */
+    public Object[] doAutowired(Object bean, Method method, ActualGeneric[] actualGenerics, AutowiredDescription[] descriptions) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Object[] parameters = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameters[i] = this.doResolveBean(actualGenerics[i], descriptions[i], parameterTypes[i]);
         }
         ReflectUtil.invokeMethod(bean, method, parameters);
         return LogUtil.logIfDebugEnabled(log, log -> log.debug("autowired bean: {} -> {}", parameters, bean), parameters);
@@ -172,7 +208,7 @@ public class AutowiredProcessor {
     }
 
     private synchronized void checkResolving(String targetBeanName) {
-        if (this.resolving.contains(targetBeanName)) {
+        if (this.resolving.get().contains(targetBeanName)) {
             throw new BeansException("bean circular dependency: \r\n" + this.buildCircularDependency());
         }
     }
@@ -181,23 +217,30 @@ public class AutowiredProcessor {
         if (!isGeneric) {
             this.checkResolving(targetBeanName);
             if (!this.context.containsReference(targetBeanName)) {
-                this.resolving.add(targetBeanName);
+                this.resolving.get().add(targetBeanName);
             }
             return;
         }
         for (BeanDefinition beanDefinition : this.context.getBeanDefinitions(targetType).values()) {
             this.checkResolving(beanDefinition.getBeanName());
             if (!this.context.containsReference(beanDefinition.getBeanName())) {
-                this.resolving.add(beanDefinition.getBeanName());
+                this.resolving.get().add(beanDefinition.getBeanName());
             }
         }
     }
 
+    /**
+     * 移除解析中的 bean，最外层解析完成后移除线程变量，避免线程池线程持有
+     */
     private synchronized void removeResolving(String targetBeanName, Class<?> targetType, boolean isGeneric) {
+        Set<String> resolving = this.resolving.get();
         if (!isGeneric) {
-            this.resolving.remove(targetBeanName);
+            resolving.remove(targetBeanName);
         } else {
-            this.context.getBeanDefinitions(targetType).values().forEach(e -> this.resolving.remove(e.getBeanName()));
+            this.context.getBeanDefinitions(targetType).values().forEach(e -> resolving.remove(e.getBeanName()));
+        }
+        if (resolving.isEmpty()) {
+            this.resolving.remove();
         }
     }
 
@@ -294,7 +337,7 @@ public class AutowiredProcessor {
 
     private String buildCircularDependency() {
         StringBuilder builder = new StringBuilder("┌─────┐\r\n");
-        Object[] beanNames = this.resolving.toArray();
+        Object[] beanNames = this.resolving.get().toArray();
         for (int i = 0; i < beanNames.length; i++) {
             builder.append(beanNames[i]).append(" -> ").append(this.context.getBeanDefinition(beanNames[i].toString())).append("\r\n");
             if (i < beanNames.length - 1) {
@@ -2,11 +2,10 @@ package com.kfyty.loveqq.framework.core.autoconfig.condition;
 
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnClass;
 import com.kfyty.loveqq.framework.core.support.AnnotationMetadata;
-
-import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.isPresent;
+import com.kfyty.loveqq.framework.core.support.asm.ClassMetadataReader;
 
 /**
- * 描述:
+ * 描述: 类路径 class 存在条件，仅查找 class 文件而不加载该类
  *
  * @author kfyty725
  * @date 2022/4/17 11:43
@@ -17,7 +16,7 @@ public class OnClassCondition implements Condition {
     @Override
     public boolean isMatch(ConditionContext context, AnnotationMetadata<?> metadata) {
         for (String conditionName : this.conditionNames(metadata)) {
-            if (!isPresent(conditionName)) {
+            if (!ClassMetadataReader.exists(conditionName)) {
                 return false;
             }
         }
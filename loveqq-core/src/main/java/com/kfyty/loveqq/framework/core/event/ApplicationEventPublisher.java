@@ -1,5 +1,7 @@
 package com.kfyty.loveqq.framework.core.event;
 
+import java.util.concurrent.Executor;
+
 /**
  * 描述: 事件发布器
  *
@@ -12,4 +14,15 @@ public interface ApplicationEventPublisher {
     void publishEvent(ApplicationEvent<?> event);
 
     void registerEventListener(ApplicationListener<?> applicationListener);
+
+    /**
+     * 注册异步事件监听器，事件将在给定的线程池中执行
+     * 默认实现不支持异步，忽略线程池并同步执行，支持异步的实现需重写该方法
+     *
+     * @param applicationListener 监听器
+     * @param executor            线程池，为空时同步执行
+     */
+    default void registerEventListener(ApplicationListener<?> applicationListener, Executor executor) {
+        this.registerEventListener(applicationListener);
+    }
 }
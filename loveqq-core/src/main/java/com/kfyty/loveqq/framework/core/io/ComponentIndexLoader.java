@@ -0,0 +1,143 @@
+package com.kfyty.loveqq.framework.core.io;
+
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 描述: 组件索引加载
+ * 组件索引由 {@link ComponentIndexProcessor} 在编译期生成，位于 classes 目录或 jar 根目录下的 {@link #COMPONENTS_RESOURCE_LOCATION}
+ * 索引以 classes 目录/jar 为单位，不存在索引的 classes 目录/jar 仍需遍历
+ * 加载时读取索引中每个类的注解，仅返回至少存在一个可加载的运行时注解的类，即扫描时可以通过反射匹配的类
+ *
+ * @author kfyty725
+ * @date 2024/7/11 10:05
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public abstract class ComponentIndexLoader {
+    /**
+     * 组件索引位置
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/k.components";
+
+    /**
+     * 忽略组件索引的系统属性，为 true 时总是遍历 classes 目录/jar
+     */
+    public static final String IGNORE_COMPONENT_INDEX = "k.component-index.ignore";
+
+    /**
+     * 不存在索引时的占位
+     */
+    private static final Properties NO_INDEX = new Properties();
+
+    /**
+     * classes 目录/jar 根路径 -> 组件索引
+     */
+    private static final Map<String, Properties> INDEX_CACHE = new WeakConcurrentHashMap<>(4);
+
+    /**
+     * 注解全限定名 -> 是否是可加载的运行时注解
+     */
+    private static final Map<String, Boolean> RUNTIME_ANNOTATION_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 是否忽略组件索引
+     */
+    public static boolean isIgnored() {
+        return Boolean.parseBoolean(System.getProperty(IGNORE_COMPONENT_INDEX, "false"));
+    }
+
+    /**
+     * 从包路径所在的 classes 目录/jar 的组件索引中获取该包下的组件
+     *
+     * @param packageURL  包路径 url
+     * @param basePackage 包名
+     * @return 组件类名，不存在索引时返回 null
+     */
+    public static Set<String> loadComponents(URL packageURL, String basePackage) {
+        String root = resolveRoot(packageURL, basePackage.replace('.', '/'));
+        if (root == null) {
+            return null;
+        }
+        Properties index = INDEX_CACHE.computeIfAbsent(root, ComponentIndexLoader::loadIndex);
+        if (index == NO_INDEX) {
+            return null;
+        }
+        String prefix = basePackage + '.';
+        Set<String> components = new HashSet<>();
+        for (String className : index.stringPropertyNames()) {
+            if (className.startsWith(prefix) && hasRuntimeAnnotation(index.getProperty(className))) {
+                components.add(className);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * 索引中的注解是否存在可加载的运行时注解
+     *
+     * @param annotations 逗号分隔的注解全限定名
+     * @return true if present
+     */
+    private static boolean hasRuntimeAnnotation(String annotations) {
+        for (String annotation : annotations.split(",")) {
+            if (!annotation.isEmpty() && RUNTIME_ANNOTATION_CACHE.computeIfAbsent(annotation, ComponentIndexLoader::isRuntimeAnnotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRuntimeAnnotation(String annotation) {
+        Class<?> annotationClass = ReflectUtil.load(annotation, false, false);
+        if (annotationClass == null || !annotationClass.isAnnotation()) {
+            return false;
+        }
+        Retention retention = annotationClass.getAnnotation(Retention.class);
+        return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    }
+
+    /**
+     * 解析包路径所在的 classes 目录/jar 根路径
+     *
+     * @param packageURL  包路径 url
+     * @param packagePath 包路径
+     * @return 根路径，无法解析时返回 null
+     */
+    private static String resolveRoot(URL packageURL, String packagePath) {
+        String url = packageURL.toString();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!url.endsWith(packagePath)) {
+            return null;
+        }
+        return url.substring(0, url.length() - packagePath.length());
+    }
+
+    private static Properties loadIndex(String root) {
+        try (InputStream stream = URI.create(root + COMPONENTS_RESOURCE_LOCATION).toURL().openStream()) {
+            Properties index = new Properties();
+            index.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+            log.debug("load component index from: {}", root);
+            return index;
+        } catch (IOException | IllegalArgumentException e) {
+            return NO_INDEX;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.kfyty.loveqq.framework.core.io;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 描述: 组件索引注解处理器，编译期生成 {@link ComponentIndexLoader#COMPONENTS_RESOURCE_LOCATION}
+ * 索引包含所有具有运行时类注解(包括父类及父接口的类注解，忽略 java.lang 下的注解)的类，及其注解的全限定名，
+ * 未标注运行时注解的类(eg: 仅标注了 lombok 等 SOURCE/CLASS 级别注解的类)不会被索引
+ * 索引文件使用 UTF-8 编码，增量编译时将与已存在的索引合并
+ * <p>
+ * 需显式配置，eg: maven-compiler-plugin 的 annotationProcessorPaths 中添加 loveqq-core，并在 annotationProcessors 中添加该类
+ *
+ * @author kfyty725
+ * @date 2024/7/11 10:30
+ * @email kfyty725@hotmail.com
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+    /**
+     * 类名 -> 类注解
+     */
+    private final Map<String, Set<String>> components = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            this.collectComponent(element);
+        }
+        if (roundEnv.processingOver() && !this.components.isEmpty()) {
+            this.writeIndex();
+        }
+        return false;
+    }
+
+    private void collectComponent(Element element) {
+        if (!(element instanceof TypeElement) || element.getKind() == ElementKind.ANNOTATION_TYPE) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) element;
+        Set<String> annotations = new TreeSet<>();
+        this.collectAnnotations(typeElement, annotations, new TreeSet<>());
+        if (!annotations.isEmpty()) {
+            this.components.put(this.processingEnv.getElementUtils().getBinaryName(typeElement).toString(), annotations);
+        }
+        for (Element enclosedElement : typeElement.getEnclosedElements()) {
+            this.collectComponent(enclosedElement);
+        }
+    }
+
+    private void collectAnnotations(TypeElement typeElement, Set<String> annotations, Set<String> visited) {
+        if (!visited.add(typeElement.getQualifiedName().toString())) {
+            return;
+        }
+        for (AnnotationMirror annotationMirror : typeElement.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            String annotation = annotationType.getQualifiedName().toString();
+            if (!annotation.startsWith("java.lang.") && isRuntimeRetention(annotationType)) {
+                annotations.add(annotation);
+            }
+        }
+        this.collectAnnotations(typeElement.getSuperclass(), annotations, visited);
+        for (TypeMirror interfaceType : typeElement.getInterfaces()) {
+            this.collectAnnotations(interfaceType, annotations, visited);
+        }
+    }
+
+    private void collectAnnotations(TypeMirror typeMirror, Set<String> annotations, Set<String> visited) {
+        if (typeMirror.getKind() == TypeKind.DECLARED) {
+            TypeElement typeElement = (TypeElement) ((DeclaredType) typeMirror).asElement();
+            if (!typeElement.getQualifiedName().toString().startsWith("java.")) {
+                this.collectAnnotations(typeElement, annotations, visited);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        Map<String, Set<String>> index = new TreeMap<>(this.readExistsIndex());
+        index.putAll(this.components);
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Set<String>> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + '=' + String.join(",", entry.getValue()) + '\n');
+                }
+            }
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "write component index failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 仅运行时注解可以在扫描时通过反射读取
+     */
+    private static boolean isRuntimeRetention(TypeElement annotationType) {
+        Retention retention = annotationType.getAnnotation(Retention.class);
+        return retention != null && retention.value() == RetentionPolicy.RUNTIME;
+    }
+
+    private Map<String, Set<String>> readExistsIndex() {
+        Map<String, Set<String>> index = new TreeMap<>();
+        try {
+            FileObject resource = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", ComponentIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+            try (InputStream stream = resource.openInputStream()) {
+                Properties properties = new Properties();
+                properties.load(new InputStreamReader(stream, StandardCharsets.UTF_8));
+                for (String className : properties.stringPropertyNames()) {
+                    index.put(className, new TreeSet<>(Arrays.asList(properties.getProperty(className).split(","))));
+                }
+            }
+        } catch (IOException e) {
+            // 首次编译，不存在索引
+        }
+        return index;
+    }
+}
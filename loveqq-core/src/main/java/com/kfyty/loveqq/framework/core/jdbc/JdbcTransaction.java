@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 描述: jdbc 事务实现
@@ -23,6 +25,11 @@ public class JdbcTransaction implements Transaction {
     protected Connection connection;
     protected boolean autoCommit;
 
+    /**
+     * 事务提交后的回调
+     */
+    protected List<Runnable> commitCallbacks;
+
     public JdbcTransaction(DataSource dataSource) {
         this(dataSource, null);
     }
@@ -47,6 +54,7 @@ public class JdbcTransaction implements Transaction {
                 log.debug("Committing JDBC Connection [" + this.connection + "]");
             }
             this.connection.commit();
+            this.invokeCommitCallbacks();
         }
     }
 
@@ -56,6 +64,7 @@ public class JdbcTransaction implements Transaction {
             if (log.isDebugEnabled()) {
                 log.debug("Rolling back JDBC Connection [" + this.connection + "]");
             }
+            this.commitCallbacks = null;
             this.connection.rollback();
         }
     }
@@ -70,6 +79,7 @@ public class JdbcTransaction implements Transaction {
             this.connection.close();
             this.connection = null;
         }
+        this.commitCallbacks = null;
     }
 
     @Override
@@ -85,6 +95,41 @@ public class JdbcTransaction implements Transaction {
         this.connection.setAutoCommit(autoCommit);
     }
 
+    @Override
+    public boolean isActive() throws SQLException {
+        return this.connection != null && !this.connection.isClosed() && !this.connection.getAutoCommit();
+    }
+
+    @Override
+    public void afterCommit(Runnable callback) throws SQLException {
+        if (!this.isActive()) {
+            callback.run();
+            return;
+        }
+        this.addCommitCallback(callback);
+    }
+
+    protected void addCommitCallback(Runnable callback) {
+        if (this.commitCallbacks == null) {
+            this.commitCallbacks = new ArrayList<>(4);
+        }
+        this.commitCallbacks.add(callback);
+    }
+
+    protected void invokeCommitCallbacks() {
+        List<Runnable> callbacks = this.commitCallbacks;
+        if (callbacks != null) {
+            this.commitCallbacks = null;
+            for (Runnable callback : callbacks) {
+                try {
+                    callback.run();
+                } catch (Exception e) {
+                    log.error("invoke transaction commit callback failed: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
     protected Connection openConnection() throws SQLException {
         this.connection = this.dataSource.getConnection();
         this.autoCommit = this.connection.getAutoCommit();
@@ -0,0 +1,100 @@
+package com.kfyty.loveqq.framework.core.jdbc;
+
+import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * 描述: 参数绑定器
+ * 编译时按参数声明类型解析每个参数位置的类型处理器，同一语句重复执行时复用，避免逐个参数查找
+ * 声明类型不存在类型处理器时，按参数值的实际类型解析，仍不存在时使用 {@link PreparedStatement#setObject(int, Object)}
+ *
+ * @author kfyty725
+ * @date 2024/7/21 10:40
+ * @email kfyty725@hotmail.com
+ * @see ResultSetUtil#resolveTypeHandler(Class)
+ */
+public class ParameterBinder {
+    /**
+     * 空参数绑定器
+     */
+    public static final ParameterBinder EMPTY = new ParameterBinder(new Class<?>[0], new TypeHandler<?>[0]);
+
+    /**
+     * 参数声明类型
+     */
+    private final Class<?>[] parameterTypes;
+
+    /**
+     * 参数类型处理器
+     */
+    private final TypeHandler<?>[] typeHandlers;
+
+    protected ParameterBinder(Class<?>[] parameterTypes, TypeHandler<?>[] typeHandlers) {
+        this.parameterTypes = parameterTypes;
+        this.typeHandlers = typeHandlers;
+    }
+
+    /**
+     * 参数是否可使用该绑定器绑定，即参数数量及声明类型一致
+     *
+     * @param params 参数
+     * @return true if compatible
+     */
+    public boolean isCompatible(MethodParameter... params) {
+        int length = params == null ? 0 : params.length;
+        if (length != this.parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (params[i].getParamType() != this.parameterTypes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param preparedStatement PreparedStatement
+     * @param params            参数
+     */
+    @SuppressWarnings("unchecked")
+    public void bind(PreparedStatement preparedStatement, MethodParameter... params) throws SQLException {
+        for (int i = 0; i < this.typeHandlers.length; i++) {
+            Object value = params[i].getValue();
+            TypeHandler<Object> typeHandler = (TypeHandler<Object>) this.typeHandlers[i];
+            if (typeHandler == null && value != null && value.getClass() != this.parameterTypes[i]) {
+                typeHandler = (TypeHandler<Object>) ResultSetUtil.resolveTypeHandler(value.getClass());
+            }
+            if (typeHandler != null) {
+                typeHandler.setParameter(preparedStatement, i + 1, value);
+                continue;
+            }
+            preparedStatement.setObject(i + 1, value);
+        }
+    }
+
+    /**
+     * 编译参数绑定器
+     *
+     * @param params 参数
+     * @return 参数绑定器
+     */
+    public static ParameterBinder compile(MethodParameter... params) {
+        if (params == null || params.length == 0) {
+            return EMPTY;
+        }
+        Class<?>[] parameterTypes = new Class<?>[params.length];
+        TypeHandler<?>[] typeHandlers = new TypeHandler<?>[params.length];
+        for (int i = 0; i < params.length; i++) {
+            parameterTypes[i] = params[i].getParamType();
+            typeHandlers[i] = ResultSetUtil.resolveTypeHandler(parameterTypes[i]);
+        }
+        return new ParameterBinder(parameterTypes, typeHandlers);
+    }
+}
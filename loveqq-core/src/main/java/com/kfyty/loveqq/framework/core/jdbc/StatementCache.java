@@ -0,0 +1,249 @@
+package com.kfyty.loveqq.framework.core.jdbc;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.IOUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 描述: 预编译语句缓存，适用于连接池不具备语句缓存的场景，默认不开启
+ * 以物理连接为单位缓存预编译语句及其参数绑定器，key 为 SQL，超过容量时淘汰最久未使用的语句
+ * 连接池每次借出的连接通常为新的代理对象，因此通过 {@link Connection#unwrap(Class)} 获取物理连接作为缓存 key，
+ * 从而在不存在事务、每条语句借还一次连接时，仍可命中缓存
+ * <p>
+ * 借出的语句为 {@link CachedPreparedStatement}，关闭时清除参数后归还缓存；同一 SQL 的语句正在使用时，将创建新的语句
+ * 注意：语句直接在物理连接上创建，连接池不再跟踪其生命周期，因此连接池自身已开启语句缓存时不应开启
+ *
+ * @author kfyty725
+ * @date 2024/7/21 11:00
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class StatementCache {
+    /**
+     * 清理已关闭连接的缓存的间隔，即每获取多少次语句清理一次
+     */
+    private static final int CLEAN_INTERVAL = 1024;
+
+    /**
+     * 语句缓存，key: 物理连接
+     */
+    private static final Map<Connection, StatementCache> STATEMENT_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 获取语句的计数器
+     */
+    private static final AtomicInteger ACQUIRE_COUNTER = new AtomicInteger();
+
+    /**
+     * 每个连接缓存的语句数量，小于等于 0 时不开启
+     */
+    private static volatile int cacheSize;
+
+    /**
+     * 物理连接
+     */
+    private final Connection connection;
+
+    /**
+     * 空闲的语句，按访问顺序排序
+     */
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    private StatementCache(Connection connection) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75F, true);
+    }
+
+    public static int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * 设置每个连接缓存的语句数量，并清空已有的缓存
+     *
+     * @param cacheSize 缓存数量，小于等于 0 时关闭缓存
+     */
+    public static void setCacheSize(int cacheSize) {
+        StatementCache.cacheSize = cacheSize;
+        for (Iterator<StatementCache> i = STATEMENT_CACHE.values().iterator(); i.hasNext(); ) {
+            i.next().clear();
+            i.remove();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return cacheSize > 0;
+    }
+
+    /**
+     * 获取预编译语句并绑定参数
+     *
+     * @param connection 连接
+     * @param sql        SQL
+     * @param params     参数
+     * @return 预编译语句，关闭时归还缓存
+     */
+    public static PreparedStatement prepareStatement(Connection connection, String sql, MethodParameter... params) throws SQLException {
+        return prepareStatement(connection, sql, null, params);
+    }
+
+    /**
+     * 获取预编译语句并绑定参数
+     *
+     * @param connection 连接
+     * @param sql        SQL
+     * @param binder     该语句预编译的参数绑定器，缓存的语句的绑定器不兼容时优先使用
+     * @param params     参数
+     * @return 预编译语句，关闭时归还缓存
+     */
+    public static PreparedStatement prepareStatement(Connection connection, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
+        if ((ACQUIRE_COUNTER.incrementAndGet() & (CLEAN_INTERVAL - 1)) == 0) {
+            cleanClosedConnection();
+        }
+        Connection physicalConnection = unwrap(connection);
+        StatementCache cache = STATEMENT_CACHE.computeIfAbsent(physicalConnection, StatementCache::new);
+        CachedStatement statement = cache.acquire(sql);
+        if (!statement.binder.isCompatible(params)) {
+            statement.binder = binder != null && binder.isCompatible(params) ? binder : ParameterBinder.compile(params);
+        }
+        try {
+            statement.binder.bind(statement.statement, params);
+        } catch (SQLException e) {
+            IOUtil.close(statement.statement);
+            throw e;
+        }
+        return new CachedPreparedStatement(cache, statement, statement.statement, statement.sql);
+    }
+
+    /**
+     * 获取物理连接
+     *
+     * @param connection 连接
+     * @return 物理连接，无法获取时返回原连接
+     */
+    protected static Connection unwrap(Connection connection) {
+        try {
+            if (connection.isWrapperFor(Connection.class)) {
+                Connection unwrapped = connection.unwrap(Connection.class);
+                return unwrapped == null ? connection : unwrapped;
+            }
+        } catch (SQLException e) {
+            log.debug("unwrap physical connection failed: {}", e.getMessage());
+        }
+        return connection;
+    }
+
+    /**
+     * 清理已关闭连接的缓存
+     */
+    protected static void cleanClosedConnection() {
+        for (Iterator<Map.Entry<Connection, StatementCache>> i = STATEMENT_CACHE.entrySet().iterator(); i.hasNext(); ) {
+            Map.Entry<Connection, StatementCache> entry = i.next();
+            try {
+                if (entry.getKey().isClosed()) {
+                    i.remove();
+                    entry.getValue().clear();
+                }
+            } catch (SQLException e) {
+                i.remove();
+                entry.getValue().clear();
+            }
+        }
+    }
+
+    /**
+     * 获取空闲的语句，不存在时创建
+     *
+     * @param sql SQL
+     * @return 语句
+     */
+    protected CachedStatement acquire(String sql) throws SQLException {
+        CachedStatement statement;
+        synchronized (this) {
+            statement = this.statements.remove(sql);
+        }
+        if (statement != null && !statement.statement.isClosed()) {
+            return statement;
+        }
+        return new CachedStatement(sql, this.connection.prepareStatement(sql));
+    }
+
+    /**
+     * 归还语句，超过容量时关闭最久未使用的语句
+     *
+     * @param statement 语句
+     */
+    protected void release(CachedStatement statement) throws SQLException {
+        if (statement.statement.isClosed()) {
+            return;
+        }
+        statement.statement.clearParameters();
+        List<CachedStatement> evicted = null;
+        synchronized (this) {
+            if (cacheSize <= 0 || this.statements.putIfAbsent(statement.sql, statement) != null) {
+                evicted = new ArrayList<>(1);
+                evicted.add(statement);
+            } else {
+                for (Iterator<CachedStatement> i = this.statements.values().iterator(); this.statements.size() > cacheSize; ) {
+                    if (evicted == null) {
+                        evicted = new ArrayList<>(1);
+                    }
+                    evicted.add(i.next());
+                    i.remove();
+                }
+            }
+        }
+        if (evicted != null) {
+            evicted.forEach(e -> IOUtil.close(e.statement));
+        }
+    }
+
+    /**
+     * 关闭所有空闲的语句
+     */
+    protected void clear() {
+        List<CachedStatement> statements;
+        synchronized (this) {
+            statements = new ArrayList<>(this.statements.values());
+            this.statements.clear();
+        }
+        statements.forEach(e -> IOUtil.close(e.statement));
+    }
+
+    /**
+     * 缓存的语句
+     */
+    protected static class CachedStatement {
+        /**
+         * SQL
+         */
+        private final String sql;
+
+        /**
+         * 物理连接上创建的语句
+         */
+        private final PreparedStatement statement;
+
+        /**
+         * 参数绑定器
+         */
+        private ParameterBinder binder;
+
+        protected CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+            this.binder = ParameterBinder.EMPTY;
+        }
+    }
+}
@@ -14,6 +14,12 @@ import lombok.extern.slf4j.Slf4j;
 public class TransactionHolder {
     private static final ThreadLocal<Transaction> CURRENT_TRANSACTION = new ThreadLocal<>();
 
+    /**
+     * 当前线程获取连接时的只读提示，用于读写分离数据源选择从库
+     * 为 null 时表示未指定，由数据源自行决定
+     */
+    private static final ThreadLocal<Boolean> CURRENT_READ_ONLY = new ThreadLocal<>();
+
     public static void setCurrentTransaction(Transaction transaction) {
         CURRENT_TRANSACTION.set(transaction);
     }
@@ -37,4 +43,30 @@ public class TransactionHolder {
             log.warn("remove current transaction failed !", e);
         }
     }
+
+    /**
+     * 设置当前线程获取连接时的只读提示
+     * 建议使用完毕后，恢复为前一个值
+     *
+     * @param readOnly 是否只读，null 表示未指定
+     * @return 前一个值
+     */
+    public static Boolean setCurrentReadOnly(Boolean readOnly) {
+        Boolean prev = CURRENT_READ_ONLY.get();
+        if (readOnly == null) {
+            CURRENT_READ_ONLY.remove();
+        } else {
+            CURRENT_READ_ONLY.set(readOnly);
+        }
+        return prev;
+    }
+
+    /**
+     * 获取当前线程获取连接时的只读提示
+     *
+     * @return 是否只读，null 表示未指定
+     */
+    public static Boolean currentReadOnly() {
+        return CURRENT_READ_ONLY.get();
+    }
 }
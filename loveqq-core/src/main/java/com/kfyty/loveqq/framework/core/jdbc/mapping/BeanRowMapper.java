@@ -0,0 +1,150 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import com.kfyty.loveqq.framework.core.utils.MethodHandleUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 描述: 实体行映射器
+ * 构建时解析列索引对应的属性、属性写入函数及类型处理器，映射时按列索引读取
+ *
+ * @author kfyty725
+ * @date 2024/7/07 10:12
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class BeanRowMapper<T> implements RowMapper<T> {
+    /**
+     * 实体类型
+     */
+    private final Class<T> clazz;
+
+    /**
+     * 无参构造器句柄，可能为空
+     */
+    private final MethodHandle constructor;
+
+    /**
+     * 列映射
+     */
+    private final ColumnMapping[] columnMappings;
+
+    public BeanRowMapper(Class<T> clazz, String[] columnLabels) {
+        this.clazz = clazz;
+        this.constructor = resolveConstructor(clazz);
+        this.columnMappings = resolveColumnMappings(clazz, columnLabels);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        T o = this.newInstance();
+        for (ColumnMapping mapping : this.columnMappings) {
+            Object value = mapping.typeHandler != null ? mapping.typeHandler.getResult(resultSet, mapping.index) : resultSet.getObject(mapping.index, (Class<Object>) mapping.type);
+            if (mapping.setter != null) {
+                mapping.setter.accept(o, value);
+            } else if (mapping.field != null) {
+                ReflectUtil.setFieldValue(o, mapping.field, value);
+            } else {
+                ReflectUtil.setNestedFieldValue(mapping.fieldName, o, value);
+            }
+        }
+        return o;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T newInstance() {
+        if (this.constructor == null) {
+            return ReflectUtil.newInstance(this.clazz);
+        }
+        try {
+            return (T) this.constructor.invokeExact(CommonUtil.EMPTY_OBJECT_ARRAY);
+        } catch (Throwable e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    private static MethodHandle resolveConstructor(Class<?> clazz) {
+        if (ReflectUtil.isAbstract(clazz)) {
+            return null;
+        }
+        Constructor<?> constructor = ReflectUtil.searchSuitableConstructor(clazz);
+        return constructor.getParameterCount() != 0 ? null : MethodHandleUtil.unreflectConstructor(constructor);
+    }
+
+    private static ColumnMapping[] resolveColumnMappings(Class<?> clazz, String[] columnLabels) {
+        Map<String, Field> fieldMap = ReflectUtil.getFieldMap(clazz);
+        List<ColumnMapping> mappings = new ArrayList<>(columnLabels.length);
+        for (int i = 0; i < columnLabels.length; i++) {
+            String fieldName = CommonUtil.underline2CamelCase(columnLabels[i]);
+            Field field = fieldMap.get(fieldName);
+            if (field != null) {
+                mappings.add(new ColumnMapping(i + 1, fieldName, field.getType(), field, MethodHandleUtil.setter(field)));
+                continue;
+            }
+            if (fieldName.contains(".")) {
+                mappings.add(new ColumnMapping(i + 1, fieldName, ReflectUtil.parseFieldType(fieldName, clazz), null, null));
+                continue;
+            }
+            final String columnLabel = columnLabels[i];
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("discovery column: [{}], but class:[{}] no field matching !", columnLabel, clazz));
+        }
+        return mappings.toArray(new ColumnMapping[0]);
+    }
+
+    private static class ColumnMapping {
+        /**
+         * 列索引，从 1 开始
+         */
+        private final int index;
+
+        /**
+         * 属性名称，嵌套属性时包含 .
+         */
+        private final String fieldName;
+
+        /**
+         * 属性类型
+         */
+        private final Class<?> type;
+
+        /**
+         * 属性，嵌套属性时为空
+         */
+        private final Field field;
+
+        /**
+         * 属性写入函数，final 属性及嵌套属性时为空
+         */
+        private final BiConsumer<Object, Object> setter;
+
+        /**
+         * 类型处理器，可能为空
+         */
+        private final TypeHandler<?> typeHandler;
+
+        private ColumnMapping(int index, String fieldName, Class<?> type, Field field, BiConsumer<Object, Object> setter) {
+            this.index = index;
+            this.fieldName = fieldName;
+            this.type = type;
+            this.field = field;
+            this.setter = setter;
+            this.typeHandler = ResultSetUtil.getTypeHandler(type);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 描述: Map 行映射器，key 为列标签
+ *
+ * @author kfyty725
+ * @date 2024/7/07 10:12
+ * @email kfyty725@hotmail.com
+ */
+public class MapRowMapper implements RowMapper<Map<String, Object>> {
+    /**
+     * 列标签，已驻留
+     */
+    private final String[] columnLabels;
+
+    /**
+     * 初始容量，避免扩容
+     */
+    private final int initialCapacity;
+
+    public MapRowMapper(String[] columnLabels) {
+        this.columnLabels = new String[columnLabels.length];
+        this.initialCapacity = (int) (columnLabels.length / .75F) + 1;
+        for (int i = 0; i < columnLabels.length; i++) {
+            this.columnLabels[i] = columnLabels[i].intern();
+        }
+    }
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet resultSet) throws SQLException {
+        Map<String, Object> map = new HashMap<>(this.initialCapacity);
+        for (int i = 0; i < this.columnLabels.length; i++) {
+            map.put(this.columnLabels[i], resultSet.getObject(i + 1));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,125 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.IOUtil;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 描述: 游标式结果集迭代器
+ * 逐行读取并映射，迭代完毕或关闭时释放结果集、语句，并在自动提交时提交及关闭事务
+ *
+ * @author kfyty725
+ * @date 2024/7/08 9:40
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class ResultSetIterator<T> implements Iterator<T>, AutoCloseable {
+    /**
+     * 事务
+     */
+    private final Transaction transaction;
+
+    /**
+     * 语句
+     */
+    private final Statement statement;
+
+    /**
+     * 结果集
+     */
+    private final ResultSet resultSet;
+
+    /**
+     * 行映射器
+     */
+    private final RowMapper<T> rowMapper;
+
+    /**
+     * 是否已移动到下一行，但尚未读取
+     */
+    private boolean fetched;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    public ResultSetIterator(Transaction transaction, Statement statement, ResultSet resultSet, RowMapper<T> rowMapper) {
+        this.transaction = transaction;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.fetched) {
+            return true;
+        }
+        if (this.closed) {
+            return false;
+        }
+        try {
+            this.fetched = this.resultSet.next();
+            if (!this.fetched) {
+                this.close();
+            }
+            return this.fetched;
+        } catch (SQLException e) {
+            this.close();
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException("the cursor is exhausted !");
+        }
+        try {
+            this.fetched = false;
+            return this.rowMapper.mapRow(this.resultSet);
+        } catch (SQLException e) {
+            this.close();
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 转换为流，流关闭时将关闭该迭代器
+     * 行映射器可能返回 null，因此不声明 {@link Spliterator#NONNULL}
+     *
+     * @return 流
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.fetched = false;
+        IOUtil.close(this.resultSet);
+        IOUtil.close(this.statement);
+        try {
+            JdbcUtil.commitTransactionIfNecessary(this.transaction);
+        } catch (SQLException e) {
+            log.error("close cursor transaction failed: {}", e.getMessage(), e);
+        }
+    }
+}
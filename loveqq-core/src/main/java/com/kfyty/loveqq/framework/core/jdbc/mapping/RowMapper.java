@@ -0,0 +1,23 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 描述: 行映射器
+ * 根据结果集的列布局预先构建，映射时按列索引读取，同一列布局的结果集可复用
+ *
+ * @author kfyty725
+ * @date 2024/7/07 10:12
+ * @email kfyty725@hotmail.com
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    /**
+     * 映射结果集的当前行
+     *
+     * @param resultSet 结果集
+     * @return 映射结果
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
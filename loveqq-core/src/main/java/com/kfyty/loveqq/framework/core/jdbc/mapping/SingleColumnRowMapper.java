@@ -0,0 +1,39 @@
+package com.kfyty.loveqq.framework.core.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 描述: 单列行映射器，读取第一列
+ *
+ * @author kfyty725
+ * @date 2024/7/07 10:12
+ * @email kfyty725@hotmail.com
+ */
+public class SingleColumnRowMapper<T> implements RowMapper<T> {
+    /**
+     * 目标类型
+     */
+    private final Class<T> targetType;
+
+    /**
+     * 类型处理器，可能为空
+     */
+    private final TypeHandler<T> typeHandler;
+
+    public SingleColumnRowMapper(Class<T> targetType) {
+        this.targetType = targetType;
+        this.typeHandler = ResultSetUtil.getTypeHandler(targetType);
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        if (this.typeHandler != null) {
+            return this.typeHandler.getResult(resultSet, 1);
+        }
+        return resultSet.getObject(1, this.targetType);
+    }
+}
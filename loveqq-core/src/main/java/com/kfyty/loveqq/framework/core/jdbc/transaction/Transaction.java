@@ -47,6 +47,26 @@ public interface Transaction extends AutoCloseable {
      */
     void setAutoCommit(boolean autoCommit) throws SQLException;
 
+    /**
+     * 是否存在进行中的事务，此时的写入尚未提交，对其他连接不可见
+     * 该方法不应开启新的连接
+     *
+     * @return true if active
+     */
+    default boolean isActive() throws SQLException {
+        return false;
+    }
+
+    /**
+     * 注册事务提交后的回调
+     * 存在进行中的事务时，提交后执行，回滚或关闭时丢弃；否则立即执行
+     *
+     * @param callback 回调
+     */
+    default void afterCommit(Runnable callback) throws SQLException {
+        callback.run();
+    }
+
     /**
      * 返回超时时间
      *
@@ -28,4 +28,9 @@ public class BigDecimalTypeHandler implements TypeHandler<BigDecimal> {
     public BigDecimal getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getBigDecimal(columnName);
     }
+
+    @Override
+    public BigDecimal getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getBigDecimal(columnIndex);
+    }
 }
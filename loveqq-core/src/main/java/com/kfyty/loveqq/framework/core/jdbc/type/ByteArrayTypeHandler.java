@@ -27,4 +27,9 @@ public class ByteArrayTypeHandler implements TypeHandler<byte[]> {
     public byte[] getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getBytes(columnName);
     }
+
+    @Override
+    public byte[] getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getBytes(columnIndex);
+    }
 }
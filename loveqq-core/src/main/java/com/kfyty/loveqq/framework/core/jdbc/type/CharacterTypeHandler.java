@@ -37,4 +37,10 @@ public class CharacterTypeHandler implements TypeHandler<Character> {
         String s = rs.getString(columnName);
         return CommonUtil.empty(s) ? null : s.charAt(0);
     }
+
+    @Override
+    public Character getResult(ResultSet rs, int columnIndex) throws SQLException {
+        String s = rs.getString(columnIndex);
+        return CommonUtil.empty(s) ? null : s.charAt(0);
+    }
 }
@@ -29,4 +29,9 @@ public class DateTypeHandler implements TypeHandler<Date> {
     public Date getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getDate(columnName);
     }
+
+    @Override
+    public Date getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getDate(columnIndex);
+    }
 }
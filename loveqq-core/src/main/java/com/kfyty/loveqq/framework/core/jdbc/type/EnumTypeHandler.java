@@ -0,0 +1,44 @@
+package com.kfyty.loveqq.framework.core.jdbc.type;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Objects;
+
+/**
+ * 描述: 枚举类型处理器，以枚举名称读写
+ * 需要枚举类型，因此不参与扫描注册，由 {@link com.kfyty.loveqq.framework.core.utils.ResultSetUtil#resolveTypeHandler(Class)} 按需创建
+ *
+ * @author kfyty725
+ * @date 2024/7/21 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class EnumTypeHandler<E extends Enum<E>> implements TypeHandler<E> {
+    private final Class<E> enumType;
+
+    public EnumTypeHandler(Class<E> enumType) {
+        this.enumType = Objects.requireNonNull(enumType);
+    }
+
+    @Override
+    public void setParameter(PreparedStatement ps, int i, E parameter) throws SQLException {
+        if(parameter == null) {
+            ps.setNull(i, Types.VARCHAR);
+        } else {
+            ps.setString(i, parameter.name());
+        }
+    }
+
+    @Override
+    public E getResult(ResultSet rs, String columnName) throws SQLException {
+        String name = rs.getString(columnName);
+        return name == null ? null : Enum.valueOf(this.enumType, name);
+    }
+
+    @Override
+    public E getResult(ResultSet rs, int columnIndex) throws SQLException {
+        String name = rs.getString(columnIndex);
+        return name == null ? null : Enum.valueOf(this.enumType, name);
+    }
+}
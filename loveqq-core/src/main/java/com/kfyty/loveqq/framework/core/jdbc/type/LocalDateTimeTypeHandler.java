@@ -34,4 +34,13 @@ public class LocalDateTimeTypeHandler implements TypeHandler<LocalDateTime> {
         }
         return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
+
+    @Override
+    public LocalDateTime getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Date date = rs.getDate(columnIndex);
+        if(date == null) {
+            return null;
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime();
+    }
 }
@@ -34,4 +34,13 @@ public class LocalDateTypeHandler implements TypeHandler<LocalDate> {
         }
         return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
     }
+
+    @Override
+    public LocalDate getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Date date = rs.getDate(columnIndex);
+        if(date == null) {
+            return null;
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
 }
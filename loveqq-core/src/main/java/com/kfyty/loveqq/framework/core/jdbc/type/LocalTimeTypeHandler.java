@@ -34,4 +34,13 @@ public class LocalTimeTypeHandler implements TypeHandler<LocalTime> {
         }
         return date.toInstant().atZone(ZoneId.systemDefault()).toLocalTime();
     }
+
+    @Override
+    public LocalTime getResult(ResultSet rs, int columnIndex) throws SQLException {
+        Date date = rs.getDate(columnIndex);
+        if(date == null) {
+            return null;
+        }
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalTime();
+    }
 }
@@ -34,4 +34,9 @@ public class LongTypeHandler implements TypeHandler<Long> {
     public Long getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getLong(columnName);
     }
+
+    @Override
+    public Long getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getLong(columnIndex);
+    }
 }
@@ -34,4 +34,9 @@ public class ShortTypeHandler implements TypeHandler<Short> {
     public Short getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getShort(columnName);
     }
+
+    @Override
+    public Short getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getShort(columnIndex);
+    }
 }
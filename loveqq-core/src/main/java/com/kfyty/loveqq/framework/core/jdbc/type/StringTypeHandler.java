@@ -27,4 +27,9 @@ public class StringTypeHandler implements TypeHandler<String> {
     public String getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getString(columnName);
     }
+
+    @Override
+    public String getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getString(columnIndex);
+    }
 }
@@ -28,4 +28,9 @@ public class TimestampTypeHandler implements TypeHandler<Timestamp> {
     public Timestamp getResult(ResultSet rs, String columnName) throws SQLException {
         return rs.getTimestamp(columnName);
     }
+
+    @Override
+    public Timestamp getResult(ResultSet rs, int columnIndex) throws SQLException {
+        return rs.getTimestamp(columnIndex);
+    }
 }
@@ -10,13 +10,14 @@ import java.io.InputStreamReader;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -49,10 +50,40 @@ public class JarIndex {
      */
     private final Map<String, List<String>> jarIndex;
 
+    /**
+     * jar 文件 -> jar 名称
+     */
+    private final Map<JarFile, String> jarNames;
+
+    /**
+     * 上次运行时已解析的 class -> jar 名称，由 {@link com.kfyty.loveqq.framework.core.support.BootLauncher} 从 class list 文件中加载
+     */
+    private final Map<String, String> resolvedClasses;
+
+    /**
+     * jar 文件 -> jar url
+     */
+    private final Map<JarFile, URL> jarURLs;
+
+    /**
+     * jar 文件 -> jar 资源 url 前缀
+     */
+    private final Map<JarFile, String> jarResourcePrefixes;
+
+    /**
+     * jar 文件 -> 内存映射的 jar 文件
+     */
+    private final Map<JarFile, MappedJarFile> mappedJarFiles;
+
     public JarIndex(String mainJarPath, Manifest manifest, InputStream jarIndex) {
         this.mainJarPath = mainJarPath;
-        this.jarMap = new HashMap<>(256);
-        this.jarIndex = new HashMap<>(256);
+        this.jarMap = new ConcurrentHashMap<>(256);
+        this.jarIndex = new ConcurrentHashMap<>(256);
+        this.jarNames = new ConcurrentHashMap<>(256);
+        this.resolvedClasses = new ConcurrentHashMap<>(256);
+        this.jarURLs = new ConcurrentHashMap<>(256);
+        this.jarResourcePrefixes = new ConcurrentHashMap<>(256);
+        this.mappedJarFiles = new ConcurrentHashMap<>(256);
         this.loadJarFile(mainJarPath, manifest);
         this.loadJarIndex(mainJarPath, jarIndex);
     }
@@ -65,9 +96,30 @@ public class JarIndex {
         return this.mainJarPath;
     }
 
-    @SneakyThrows(MalformedURLException.class)
     public URL getJarURL(JarFile jarFile) {
-        return new URL("file", "", -1, '/' + jarFile.getName());                                   // 必须使用 file 协议，否则读取不到 resources
+        return this.jarURLs.computeIfAbsent(jarFile, JarIndex::buildJarURL);
+    }
+
+    /**
+     * 获取 jar 内资源的 url
+     *
+     * @param jarFile jar 文件
+     * @param name    资源路径
+     * @return url
+     */
+    @SneakyThrows(MalformedURLException.class)
+    public URL getJarResourceURL(JarFile jarFile, String name) {
+        return new URL(this.jarResourcePrefixes.computeIfAbsent(jarFile, k -> "jar:file:/" + k.getName() + "!/") + name);
+    }
+
+    /**
+     * 获取内存映射的 jar 文件，首次获取时进行映射
+     *
+     * @param jarFile jar 文件
+     * @return 内存映射的 jar 文件，不支持映射时 {@link MappedJarFile#isMapped()} 返回 false
+     */
+    public MappedJarFile getMappedJarFile(JarFile jarFile) {
+        return this.mappedJarFiles.computeIfAbsent(jarFile, k -> new MappedJarFile(new File(k.getName())));
     }
 
     public List<String> getJars(String name) {
@@ -79,14 +131,56 @@ public class JarIndex {
         return this.jarIndex.getOrDefault(path, this.jarIndex.getOrDefault(name, Collections.emptyList()));
     }
 
+    /**
+     * 获取 jar 名称，即 Class-Path 中的路径
+     *
+     * @param jarFile jar 文件
+     * @return jar 名称
+     */
+    public String getJarName(JarFile jarFile) {
+        return this.jarNames.get(jarFile);
+    }
+
     public List<JarFile> getJarFiles(String name) {
         List<String> jars = this.getJars(name);
-        return jars.stream().map(this.jarMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+        List<JarFile> jarFiles = jars.stream().map(this.jarMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+        if (jarFiles.size() < 2 || this.resolvedClasses.isEmpty()) {
+            return jarFiles;
+        }
+        String resolved = this.resolvedClasses.get(name);
+        JarFile resolvedJarFile = resolved == null ? null : this.jarMap.get(resolved);
+        if (resolvedJarFile == null || jarFiles.get(0) == resolvedJarFile || !jarFiles.remove(resolvedJarFile)) {
+            return jarFiles;
+        }
+        List<JarFile> sorted = new ArrayList<>(jarFiles.size() + 1);
+        sorted.add(resolvedJarFile);
+        sorted.addAll(jarFiles);
+        return sorted;
+    }
+
+    /**
+     * 添加已解析的 class，该 class 存在于多个 jar 时，优先从该 jar 加载
+     *
+     * @param className class 全限定名
+     * @param jar       jar 名称
+     */
+    public void addResolvedClass(String className, String jar) {
+        this.resolvedClasses.put(className, jar);
     }
 
     public void addJarIndexMapping(String packageName, String jar, JarFile jarFile) {
-        this.jarIndex.computeIfAbsent(packageName, k -> new LinkedList<>()).add(jar);
+        this.jarIndex.computeIfAbsent(packageName, k -> new CopyOnWriteArrayList<>()).add(jar);
+        this.putJarFile(jar, jarFile);
+    }
+
+    protected void putJarFile(String jar, JarFile jarFile) {
         this.jarMap.put(jar, jarFile);
+        this.jarNames.put(jarFile, jar);
+    }
+
+    @SneakyThrows(MalformedURLException.class)
+    protected static URL buildJarURL(JarFile jarFile) {
+        return new URL("file", "", -1, '/' + jarFile.getName());                                   // 必须使用 file 协议，否则读取不到 resources
     }
 
     @SneakyThrows(IOException.class)
@@ -95,7 +189,7 @@ public class JarIndex {
         String classpath = manifest.getMainAttributes().getValue("Class-Path");
         List<String> jarPaths = Arrays.stream(classpath.split(" ")).map(String::trim).collect(Collectors.toList());
         for (String jarPath : jarPaths) {
-            this.jarMap.put(jarPath, new JarFile(new File(parentPath, jarPath)));
+            this.putJarFile(jarPath, new JarFile(new File(parentPath, jarPath)));
         }
     }
 
@@ -119,9 +213,9 @@ public class JarIndex {
             if (currentLine.length() < 1 || currentLine.equals("\n") || currentLine.equals("\r\n")) {
                 return;                                                                                                 // 当前 jar 索引处理完毕
             }
-            this.jarIndex.computeIfAbsent(currentLine, k -> new LinkedList<>()).add(jar);
-            if (mainJarPath.contains(jar)) {
-                this.jarMap.put(jar, new JarFile(mainJarPath));
+            this.jarIndex.computeIfAbsent(currentLine, k -> new CopyOnWriteArrayList<>()).add(jar);
+            if (mainJarPath.contains(jar) && !this.jarMap.containsKey(jar)) {
+                this.putJarFile(jar, new JarFile(mainJarPath));
             }
         }
     }
@@ -9,7 +9,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.security.CodeSigner;
@@ -17,6 +16,8 @@ import java.security.CodeSource;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -24,6 +25,7 @@ import java.util.jar.Manifest;
 
 /**
  * 描述: 支持 jar 索引的类加载器
+ * 该类加载器支持并行加载，class 字节码优先从内存映射的 jar 中读取，见 {@link MappedJarFile}
  *
  * @author kfyty725
  * @date 2023/3/15 19:59
@@ -35,11 +37,25 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
      */
     private static final boolean DEPENDENCY_CHECK = Boolean.parseBoolean(System.getProperty("k.dependency.check", "false"));
 
+    /**
+     * 是否使用内存映射读取 jar 中的 class
+     */
+    private static final boolean MAPPED_JAR = Boolean.parseBoolean(System.getProperty("k.jar.mapped", "true"));
+
+    static {
+        registerAsParallelCapable();
+    }
+
     /**
      * jar index
      */
     protected final JarIndex jarIndex;
 
+    /**
+     * 按加载顺序记录的从 jar 中加载的 class，格式: className=jar，为 null 时不记录
+     */
+    protected volatile Queue<String> resolvedClasses;
+
     public JarIndexClassLoader(JarIndex jarIndex, ClassLoader parent) {
         this(jarIndex, jarIndex.getJarURLs().toArray(new URL[0]), parent);
     }
@@ -57,14 +73,31 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
         this.jarIndex.addJarIndexMapping(packageName, jar, jarFile);
     }
 
+    /**
+     * 开始记录从 jar 中加载的 class
+     */
+    public void startRecording() {
+        this.resolvedClasses = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * 停止记录从 jar 中加载的 class，之后加载的 class 不再记录
+     *
+     * @return 按加载顺序的 className=jar，未开始记录时返回 null
+     */
+    public Queue<String> stopRecording() {
+        Queue<String> resolvedClasses = this.resolvedClasses;
+        this.resolvedClasses = null;
+        return resolvedClasses;
+    }
+
     @Override
-    @SneakyThrows(MalformedURLException.class)
     public URL getResource(String name) {
         List<JarFile> jarFiles = this.jarIndex.getJarFiles(name);
         if (jarFiles.isEmpty() && this.isExploded()) {
             return super.getResource(name);
         }
-        return jarFiles.isEmpty() ? null : new URL("jar:file:/" + jarFiles.get(0).getName() + "!/" + name);
+        return jarFiles.isEmpty() ? null : this.jarIndex.getJarResourceURL(jarFiles.get(0), name);
     }
 
     @Override
@@ -82,17 +115,15 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
             }
 
             @Override
-            @SneakyThrows(MalformedURLException.class)
             public URL nextElement() {
-                JarFile jarFile = jarFiles.get(index.getAndIncrement());
-                return new URL("jar:file:/" + jarFile.getName() + "!/" + name);
+                return jarIndex.getJarResourceURL(jarFiles.get(index.getAndIncrement()), name);
             }
         };
     }
 
     @Override
     protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
-        synchronized (name.intern()) {
+        synchronized (this.getClassLoadingLock(name)) {
             Class<?> loadedClass = this.findLoadedClass(name);
             if (loadedClass == null) {
                 List<JarFile> jars = this.jarIndex.getJarFiles(name);
@@ -124,21 +155,43 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
         String jarClassPath = name.replace('.', '/') + ".class";
         for (Iterator<JarFile> i = jarFiles.iterator(); i.hasNext(); ) {
             JarFile jarFile = i.next();
-            try (InputStream inputStream = jarFile.getInputStream(new JarEntry(jarClassPath))) {
-                if (inputStream != null) {
-                    if (DEPENDENCY_CHECK && i.hasNext()) {
-                        this.logMatchedMoreJarFiles(jarClassPath, jarFile, jarFiles);
-                    }
-                    URL jarURL = this.jarIndex.getJarURL(jarFile);
-                    byte[] classBytes = this.transform(name, this.read(inputStream));
-                    this.definePackageIfNecessary(name, jarURL, jarFile.getManifest());
-                    return super.defineClass(name, classBytes, 0, classBytes.length, new CodeSource(jarURL, (CodeSigner[]) null));
+            byte[] classBytes = this.readJarClass(jarFile, jarClassPath);
+            if (classBytes != null) {
+                if (DEPENDENCY_CHECK && i.hasNext()) {
+                    this.logMatchedMoreJarFiles(jarClassPath, jarFile, jarFiles);
+                }
+                classBytes = this.transform(name, classBytes);
+                this.definePackageIfNecessary(name, jarFile);
+                Class<?> clazz = super.defineClass(name, classBytes, 0, classBytes.length, new CodeSource(this.jarIndex.getJarURL(jarFile), (CodeSigner[]) null));
+                Queue<String> resolvedClasses = this.resolvedClasses;
+                if (resolvedClasses != null) {
+                    resolvedClasses.add(name + '=' + this.jarIndex.getJarName(jarFile));
                 }
+                return clazz;
             }
         }
         return null;
     }
 
+    /**
+     * 读取 jar 中的 class 字节码，支持内存映射时从映射内存中读取
+     *
+     * @param jarFile      jar 文件
+     * @param jarClassPath class 路径
+     * @return 字节码，不存在时返回 null
+     */
+    protected byte[] readJarClass(JarFile jarFile, String jarClassPath) throws IOException {
+        if (MAPPED_JAR) {
+            MappedJarFile mappedJarFile = this.jarIndex.getMappedJarFile(jarFile);
+            if (mappedJarFile.isMapped()) {
+                return mappedJarFile.read(jarClassPath);
+            }
+        }
+        try (InputStream inputStream = jarFile.getInputStream(new JarEntry(jarClassPath))) {
+            return inputStream == null ? null : this.read(inputStream);
+        }
+    }
+
     /**
      * 从文件夹中查找 class
      * 从 ide 中直接启动时支持
@@ -189,6 +242,21 @@ public class JarIndexClassLoader extends ClassFileTransformerClassLoader {
         }
     }
 
+    /**
+     * 如果 class 的包名不存在的则定义包名
+     * 包名已定义时，无需读取 jar MANIFEST.MF
+     *
+     * @param className class name
+     * @param jarFile   jar file
+     */
+    @SneakyThrows(IOException.class)
+    protected void definePackageIfNecessary(String className, JarFile jarFile) {
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot > 0 && this.getDefinedPackage(className.substring(0, lastDot)) == null) {
+            this.definePackageIfNecessary(className, this.jarIndex.getJarURL(jarFile), jarFile.getManifest());
+        }
+    }
+
     /**
      * 如果 class 的包名不存在的则定义包名
      *
@@ -0,0 +1,204 @@
+package com.kfyty.loveqq.framework.core.lang;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 描述: 内存映射的 jar 文件，用于读取 class 字节码
+ * 首次读取时解析 jar 的中央目录，建立 class 条目的偏移量表，之后通过偏移量直接从映射内存中读取，无需创建输入流
+ * 不支持 zip64 以及超过 2G 的 jar，此时 {@link #isMapped()} 返回 false，应回退到 {@link java.util.jar.JarFile} 读取
+ * <p>
+ * 仅使用 jdk 类，避免类加载器加载过多 class
+ *
+ * @author kfyty725
+ * @date 2024/7/13 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class MappedJarFile {
+    /**
+     * 中央目录结束标识
+     */
+    private static final int END_SIGNATURE = 0x06054b50;
+
+    /**
+     * 中央目录条目标识
+     */
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+
+    /**
+     * 本地文件头标识
+     */
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+
+    /**
+     * zip64 时的占位值
+     */
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    /**
+     * 压缩方式
+     */
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /**
+     * 映射的内存，只进行绝对位置读取，因此可以并发访问
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * class 条目路径 -> 条目
+     */
+    private final Map<String, Entry> entries;
+
+    public MappedJarFile(File file) {
+        this.buffer = map(file);
+        this.entries = this.buffer == null ? null : this.readCentralDirectory();
+    }
+
+    public boolean isMapped() {
+        return this.entries != null;
+    }
+
+    /**
+     * 是否存在该条目
+     *
+     * @param entryName 条目路径
+     * @return true if exists
+     */
+    public boolean contains(String entryName) {
+        return this.entries != null && this.entries.containsKey(entryName);
+    }
+
+    /**
+     * 读取条目数据
+     *
+     * @param entryName 条目路径
+     * @return 数据，不存在时返回 null
+     */
+    public byte[] read(String entryName) throws IOException {
+        Entry entry = this.entries == null ? null : this.entries.get(entryName);
+        if (entry == null) {
+            return null;
+        }
+        ByteBuffer buffer = this.buffer;
+        int localOffset = entry.localOffset;
+        if (buffer.getInt(localOffset) != LOCAL_SIGNATURE) {
+            throw new IOException("Invalid local file header: " + entryName);
+        }
+        int dataOffset = localOffset + 30 + Short.toUnsignedInt(buffer.getShort(localOffset + 26)) + Short.toUnsignedInt(buffer.getShort(localOffset + 28));
+        byte[] bytes = new byte[entry.size];
+        if (entry.method == STORED) {
+            buffer.get(dataOffset, bytes);
+            return bytes;
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(buffer.slice(dataOffset, entry.compressedSize));
+            int n = 0;
+            while (n < bytes.length && !inflater.finished()) {
+                int read = inflater.inflate(bytes, n, bytes.length - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Unexpected end of entry: " + entryName);
+                }
+                n += read;
+            }
+            return bytes;
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid entry data: " + entryName, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 解析中央目录，仅保留 class 条目
+     *
+     * @return class 条目，不支持的格式返回 null
+     */
+    private Map<String, Entry> readCentralDirectory() {
+        ByteBuffer buffer = this.buffer;
+        int end = -1;
+        for (int i = buffer.limit() - 22, min = Math.max(0, i - 0xFFFF); i >= min; i--) {
+            if (buffer.getInt(i) == END_SIGNATURE) {
+                end = i;
+                break;
+            }
+        }
+        if (end < 0) {
+            return null;
+        }
+        int total = Short.toUnsignedInt(buffer.getShort(end + 10));
+        long offset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        if (total == 0xFFFF || offset == ZIP64_MAGIC) {
+            return null;
+        }
+        Map<String, Entry> entries = new HashMap<>(Math.max(16, total * 4 / 3 + 1));
+        int position = (int) offset;
+        for (int i = 0; i < total; i++) {
+            if (buffer.getInt(position) != CENTRAL_SIGNATURE) {
+                return null;
+            }
+            int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+            long compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            long size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            long localOffset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+            if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || localOffset == ZIP64_MAGIC) {
+                return null;
+            }
+            if (method == STORED || method == DEFLATED) {
+                byte[] name = new byte[nameLength];
+                buffer.get(position + 46, name);
+                String entryName = new String(name, StandardCharsets.UTF_8);
+                if (entryName.endsWith(".class")) {
+                    entries.put(entryName, new Entry(method, (int) compressedSize, (int) size, (int) localOffset));
+                }
+            }
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    private static ByteBuffer map(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 22 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 中央目录条目
+     */
+    private static final class Entry {
+        private final int method;
+        private final int compressedSize;
+        private final int size;
+        private final int localOffset;
+
+        private Entry(int method, int compressedSize, int size, int localOffset) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localOffset = localOffset;
+        }
+    }
+}
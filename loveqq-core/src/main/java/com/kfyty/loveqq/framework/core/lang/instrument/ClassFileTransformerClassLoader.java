@@ -7,7 +7,8 @@ import java.lang.instrument.IllegalClassFormatException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLStreamHandlerFactory;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -21,6 +22,11 @@ import java.util.Set;
  * @email kfyty725@hotmail.com
  */
 public abstract class ClassFileTransformerClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
     /**
      * 是否读取 {@link ClassFileTransformer}
      */
@@ -71,23 +77,31 @@ public abstract class ClassFileTransformerClassLoader extends URLClassLoader {
         }
     }
 
+    /**
+     * 获取 {@link ClassFileTransformer}
+     * 先在局部列表中完成实例化，再以不可变列表一次性发布，并发加载类的线程不会读取到未初始化完成的列表
+     *
+     * @return {@link ClassFileTransformer}
+     */
     protected List<ClassFileTransformer> obtainClassFileTransformer() throws ClassNotFoundException {
-        if (this.classFileTransformers != null) {
-            return this.classFileTransformers;
+        List<ClassFileTransformer> classFileTransformers = this.classFileTransformers;
+        if (classFileTransformers != null) {
+            return classFileTransformers;
         }
         synchronized (ClassFileTransformerClassLoader.class) {
             if (this.classFileTransformers == null) {
-                this.classFileTransformers = new LinkedList<>();
                 Set<String> factories = FactoriesLoader.loadFactories(ClassFileTransformer.class);
+                List<ClassFileTransformer> transformers = new ArrayList<>(factories.size());
                 for (String className : factories) {
                     try {
-                        this.classFileTransformers.add((ClassFileTransformer) Class.forName(className).getDeclaredConstructor().newInstance());
+                        transformers.add((ClassFileTransformer) Class.forName(className).getDeclaredConstructor().newInstance());
                     } catch (ClassNotFoundException e) {
                         throw e;
                     } catch (Exception e) {
                         throw new ClassNotFoundException(className, e);
                     }
                 }
+                this.classFileTransformers = Collections.unmodifiableList(transformers);
             }
             return this.classFileTransformers;
         }
@@ -0,0 +1,123 @@
+package com.kfyty.loveqq.framework.core.lang.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 描述: 有界的近似 LRU 缓存
+ * 读取时仅更新访问时间，不加锁；数量超过上限时，由一个线程淘汰最久未访问的 1/4 元素，淘汰期间缓存数量可能短暂超过上限
+ *
+ * @author kfyty725
+ * @date 2024/7/24 19:10
+ * @email kfyty725@hotmail.com
+ */
+public class ConcurrentLRUCache<K, V> {
+    /**
+     * 最大数量
+     */
+    private final int maxSize;
+
+    /**
+     * 缓存
+     */
+    private final Map<K, Node<V>> cache;
+
+    /**
+     * 是否正在淘汰
+     */
+    private final AtomicBoolean evicting;
+
+    public ConcurrentLRUCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 256));
+        this.evicting = new AtomicBoolean(false);
+    }
+
+    /**
+     * 获取缓存
+     *
+     * @param key key
+     * @return value，不存在时返回 null
+     */
+    public V get(K key) {
+        Node<V> node = this.cache.get(key);
+        if (node == null) {
+            return null;
+        }
+        node.accessed = System.nanoTime();
+        return node.value;
+    }
+
+    /**
+     * 获取缓存，不存在时计算并放入缓存
+     * 并发计算同一个 key 时，可能计算多次，但返回首个放入缓存的值
+     *
+     * @param key             key
+     * @param mappingFunction 计算函数，返回值不能为 null
+     * @return value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = this.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = mappingFunction.apply(key);
+        Node<V> exists = this.cache.putIfAbsent(key, new Node<>(value));
+        if (exists != null) {
+            return exists.value;
+        }
+        if (this.cache.size() > this.maxSize) {
+            this.evict();
+        }
+        return value;
+    }
+
+    public int size() {
+        return this.cache.size();
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    private void evict() {
+        if (!this.evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Map.Entry<K, Node<V>>> entries = new ArrayList<>(this.cache.entrySet());
+            int evictSize = entries.size() - (this.maxSize - (this.maxSize >> 2));
+            if (evictSize <= 0) {
+                return;
+            }
+            entries.sort(Comparator.comparingLong(e -> e.getValue().accessed));
+            for (int i = 0; i < evictSize; i++) {
+                Map.Entry<K, Node<V>> entry = entries.get(i);
+                this.cache.remove(entry.getKey(), entry.getValue());
+            }
+        } finally {
+            this.evicting.set(false);
+        }
+    }
+
+    /**
+     * 缓存值及其访问时间
+     */
+    private static class Node<V> {
+        private final V value;
+        private volatile long accessed;
+
+        private Node(V value) {
+            this.value = value;
+            this.accessed = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.kfyty.loveqq.framework.core.method;
+
+/**
+ * 描述: 方法调用器
+ *
+ * @author kfyty725
+ * @date 2024/7/03 14:20
+ * @email kfyty725@hotmail.com
+ */
+@FunctionalInterface
+public interface MethodInvoker {
+    /**
+     * 调用方法
+     *
+     * @param target 目标实例，静态方法时为 null
+     * @param args   方法参数
+     * @return 方法返回值
+     */
+    Object invoke(Object target, Object... args);
+}
@@ -4,13 +4,19 @@ import com.kfyty.loveqq.framework.core.autoconfig.annotation.Order;
 import com.kfyty.loveqq.framework.core.autoconfig.internal.InternalPriority;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 描述: 方法拦截链
+ * 首次调用某个方法时，会过滤出适用于该方法的拦截点并编译为数组缓存，之后每次调用仅创建一个轻量的调用游标
+ * 没有适用拦截点的方法将直接调用目标方法
  *
  * @author kfyty725
  * @date 2021/6/19 11:10
@@ -24,20 +30,58 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
 
     private static final ThreadLocal<MethodInterceptorChain> CURRENT_INTERCEPTOR_CHAIN = new ThreadLocal<>();
 
+    private static final MethodInterceptorChainPoint[] EMPTY_CHAIN_POINTS = new MethodInterceptorChainPoint[0];
+
     private int currentChainIndex;
     private MethodProxy intercepting;
+
+    /**
+     * 全部拦截点，调用游标为空
+     */
     private final List<MethodInterceptorChainPoint> chainPoints;
 
+    /**
+     * 已编译的拦截链，key: 代理方法，value: 适用于该方法的拦截点，调用游标为空
+     */
+    private final Map<Method, MethodInterceptorChainPoint[]> compiledChainPoints;
+
+    /**
+     * 调用游标执行的拦截点，仅调用游标不为空
+     */
+    private final MethodInterceptorChainPoint[] points;
+
+    /**
+     * 父拦截链，调用游标执行完毕后继续执行父拦截链
+     */
+    private final MethodInterceptorChain parent;
+
     public MethodInterceptorChain(Object source) {
-        super(source);
-        this.currentChainIndex = -1;
-        this.chainPoints = new ArrayList<>(4);
+        this(source, new ArrayList<>(4));
     }
 
     public MethodInterceptorChain(Object source, List<MethodInterceptorChainPoint> chainPoints) {
         super(source);
         this.currentChainIndex = -1;
         this.chainPoints = new ArrayList<>(chainPoints);
+        this.compiledChainPoints = new ConcurrentHashMap<>();
+        this.points = null;
+        this.parent = null;
+    }
+
+    /**
+     * 创建调用游标
+     *
+     * @param source 目标对象
+     * @param points 已编译的拦截点，多个游标之间共享，不会被修改
+     * @param parent 父拦截链，可以为空
+     */
+    public MethodInterceptorChain(Object source, MethodInterceptorChainPoint[] points, MethodInterceptorChain parent) {
+        super(source);
+        this.currentChainIndex = -1;
+        this.chainPoints = null;
+        this.compiledChainPoints = null;
+        this.points = points;
+        this.parent = parent;
     }
 
     public static MethodInterceptorChain currentChain() {
@@ -45,17 +89,23 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     }
 
     public List<MethodInterceptorChainPoint> getChainPoints() {
+        if (this.points != null) {
+            return Collections.unmodifiableList(Arrays.asList(this.points));
+        }
         return Collections.unmodifiableList(this.chainPoints);
     }
 
     public MethodInterceptorChain addInterceptorPoint(MethodInterceptorChainPoint chainPoint) {
+        this.checkModifiable();
         this.chainPoints.add(chainPoint);
         this.sortInterceptorChain();
         return this;
     }
 
     public MethodInterceptorChain addInterceptorPoint(int index, MethodInterceptorChainPoint chainPoint) {
+        this.checkModifiable();
         this.chainPoints.add(index, chainPoint);
+        this.compiledChainPoints.clear();
         return this;
     }
 
@@ -64,20 +114,23 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     }
 
     public void sortInterceptorChain(Comparator<MethodInterceptorChainPoint> comparator) {
+        this.checkModifiable();
         this.chainPoints.sort(comparator);
+        this.compiledChainPoints.clear();
     }
 
     @Override
     protected Object invoke(MethodProxy methodProxy) throws Throwable {
-        if (methodProxy.getTargetMethod().getDeclaringClass() == Object.class) {
+        MethodInterceptorChainPoint[] points = this.obtainChainPoints(methodProxy);
+        if (points.length == 0) {
             return methodProxy.invoke();
         }
         final MethodInterceptorChain currentChain = currentChain();
-        if (currentChain != null && currentChain.intercepting.equals(methodProxy)) {
+        if (currentChain != null && methodProxy.equals(currentChain.intercepting)) {
             return currentChain.proceed(methodProxy);
         }
         try {
-            MethodInterceptorChain newCurrentChain = new MethodInterceptorChain(this.getTarget(), this.chainPoints);
+            MethodInterceptorChain newCurrentChain = new MethodInterceptorChain(this.getTarget(), points, null);
             newCurrentChain.intercepting = methodProxy;
             CURRENT_INTERCEPTOR_CHAIN.set(newCurrentChain);
             return newCurrentChain.proceed(methodProxy);
@@ -87,10 +140,48 @@ public class MethodInterceptorChain extends MethodInvocationInterceptor {
     }
 
     public Object proceed(MethodProxy methodProxy) throws Throwable {
-        if (++this.currentChainIndex == this.chainPoints.size()) {
+        if (this.points == null) {
+            return this.invoke(methodProxy);
+        }
+        if (++this.currentChainIndex == this.points.length) {
             this.currentChainIndex = -1;
-            return methodProxy.invoke();
+            return this.parent == null ? methodProxy.invoke() : this.parent.proceed(methodProxy);
+        }
+        return this.points[this.currentChainIndex].proceed(methodProxy, this);
+    }
+
+    /**
+     * 调用游标的拦截点在多个游标之间共享，不支持修改
+     */
+    protected void checkModifiable() {
+        if (this.points != null) {
+            throw new UnsupportedOperationException("The interceptor chain of an invocation cursor can't be modified, modify the proxy interceptor chain instead.");
+        }
+    }
+
+    /**
+     * 获取适用于该方法的拦截点，首次调用时编译
+     *
+     * @param methodProxy 方法代理
+     * @return 拦截点
+     */
+    protected MethodInterceptorChainPoint[] obtainChainPoints(MethodProxy methodProxy) {
+        MethodInterceptorChainPoint[] points = this.compiledChainPoints.get(methodProxy.getMethod());
+        if (points != null) {
+            return points;
+        }
+        if (methodProxy.getTargetMethod().getDeclaringClass() == Object.class) {
+            points = EMPTY_CHAIN_POINTS;
+        } else {
+            List<MethodInterceptorChainPoint> applicable = new ArrayList<>(this.chainPoints.size());
+            for (MethodInterceptorChainPoint chainPoint : this.chainPoints) {
+                if (chainPoint.isApplicable(methodProxy)) {
+                    applicable.add(chainPoint);
+                }
+            }
+            points = applicable.isEmpty() ? EMPTY_CHAIN_POINTS : applicable.toArray(EMPTY_CHAIN_POINTS);
         }
-        return this.chainPoints.get(this.currentChainIndex).proceed(methodProxy, this);
+        this.compiledChainPoints.put(methodProxy.getMethod(), points);
+        return points;
     }
 }
@@ -8,5 +8,16 @@ package com.kfyty.loveqq.framework.core.proxy;
  * @email kfyty725@hotmail.com
  */
 public interface MethodInterceptorChainPoint {
+    /**
+     * 该拦截点是否适用于该方法，拦截链首次调用某个方法时调用，结果将被缓存
+     * 返回 false 时，该方法的拦截链中将不包含该拦截点
+     *
+     * @param methodProxy 方法代理
+     * @return true if applicable
+     */
+    default boolean isApplicable(MethodProxy methodProxy) {
+        return true;
+    }
+
     Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable;
 }
@@ -29,6 +29,22 @@ public class ExposeInvocationInterceptorProxy implements MethodInterceptorChainP
         return joinPoint;
     }
 
+    /**
+     * 设置当前线程的连接点，无需创建拦截点即可暴露
+     *
+     * @param joinPoint 连接点，为空时移除
+     * @return 原连接点，用于恢复
+     */
+    public static JoinPoint exposeJoinPoint(JoinPoint joinPoint) {
+        JoinPoint oldJoinPoint = CURRENT_JOIN_POINT.get();
+        if (joinPoint == null) {
+            CURRENT_JOIN_POINT.remove();
+        } else {
+            CURRENT_JOIN_POINT.set(joinPoint);
+        }
+        return oldJoinPoint;
+    }
+
     @Override
     public Object proceed(MethodProxy methodProxy, MethodInterceptorChain chain) throws Throwable {
         JoinPoint oldJoinPoint = CURRENT_JOIN_POINT.get();
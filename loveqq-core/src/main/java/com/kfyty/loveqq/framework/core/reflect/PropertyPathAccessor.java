@@ -0,0 +1,168 @@
+package com.kfyty.loveqq.framework.core.reflect;
+
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.MethodHandleUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 描述: 编译后的属性路径访问器，eg: user.dept.name
+ * 按 (根对象类型, 路径) 缓存，每一级属性优先使用 getter 方法，不存在时直接读取属性，均基于 {@link java.lang.invoke.MethodHandle}
+ * 中间属性的实际类型可能不同于声明类型，因此每一级按实际类型缓存最近一次解析的读取函数；Map 类型按 key 读取
+ *
+ * @author kfyty725
+ * @date 2024/7/24 10:00
+ * @email kfyty725@hotmail.com
+ * @see ReflectUtil#parseValue(String, Object)
+ */
+public class PropertyPathAccessor {
+    /**
+     * 访问器缓存，key: 根对象类型
+     * 缓存值会引用其类型，因此使用 {@link ClassValue} 保存在类型上，不会阻止类型卸载
+     */
+    private static final ClassValue<Map<String, PropertyPathAccessor>> ACCESSOR_CACHE = new ClassValue<Map<String, PropertyPathAccessor>>() {
+        @Override
+        protected Map<String, PropertyPathAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 属性读取函数缓存，key: 类型
+     * 读取函数基于 {@link java.lang.invoke.MethodHandle}，会引用其类型，因此同样使用 {@link ClassValue}
+     */
+    private static final ClassValue<Map<String, Function<Object, Object>>> READER_CACHE = new ClassValue<Map<String, Function<Object, Object>>>() {
+        @Override
+        protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * 路径
+     */
+    private final String path;
+
+    /**
+     * 每一级属性
+     */
+    private final Step[] steps;
+
+    private PropertyPathAccessor(Class<?> rootType, String path) {
+        String[] properties = path.split("\\.");
+        this.path = path;
+        this.steps = new Step[properties.length];
+        for (int i = 0; i < properties.length; i++) {
+            this.steps[i] = new Step(properties[i]);
+        }
+        this.steps[0].resolve(rootType);
+    }
+
+    /**
+     * 获取属性路径访问器
+     *
+     * @param rootType 根对象类型
+     * @param path     属性路径
+     * @return 访问器
+     */
+    public static PropertyPathAccessor getAccessor(Class<?> rootType, String path) {
+        return ACCESSOR_CACHE.get(rootType).computeIfAbsent(path, k -> new PropertyPathAccessor(rootType, k));
+    }
+
+    /**
+     * 读取属性值，中间属性为 null 时返回 null
+     *
+     * @param root 根对象
+     * @return 属性值
+     */
+    public Object getValue(Object root) {
+        Object value = root;
+        for (Step step : this.steps) {
+            if (value == null) {
+                return null;
+            }
+            value = step.read(value);
+        }
+        return value;
+    }
+
+    public String getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取属性读取函数
+     *
+     * @param clazz    类型
+     * @param property 属性名称
+     * @return 读取函数
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getReader(Class<?> clazz, String property) {
+        if (Map.class.isAssignableFrom(clazz)) {
+            return target -> ((Map<Object, Object>) target).get(property);
+        }
+        return READER_CACHE.get(clazz).computeIfAbsent(property, k -> createReader(clazz, k));
+    }
+
+    private static Function<Object, Object> createReader(Class<?> clazz, String property) {
+        Field field = ReflectUtil.getField(clazz, property);
+        Method getter = ReflectUtil.getMethod(clazz, CommonUtil.getGetter(property));
+        if (getter != null && getter.getParameterCount() == 0) {
+            return MethodHandleUtil.getter(getter);
+        }
+        if (field == null) {
+            throw new IllegalArgumentException("property not exists: " + clazz.getName() + "." + property);
+        }
+        return MethodHandleUtil.getter(field);
+    }
+
+    /**
+     * 一级属性
+     */
+    private static class Step {
+        /**
+         * 属性名称
+         */
+        private final String property;
+
+        /**
+         * 最近一次解析的读取函数
+         */
+        private volatile Reader reader;
+
+        private Step(String property) {
+            this.property = property;
+        }
+
+        private Object read(Object target) {
+            Reader reader = this.reader;
+            if (reader == null || reader.type != target.getClass()) {
+                reader = this.resolve(target.getClass());
+            }
+            return reader.function.apply(target);
+        }
+
+        private Reader resolve(Class<?> type) {
+            return this.reader = new Reader(type, getReader(type, this.property));
+        }
+    }
+
+    /**
+     * 类型及其读取函数
+     */
+    private static class Reader {
+        private final Class<?> type;
+        private final Function<Object, Object> function;
+
+        private Reader(Class<?> type, Function<Object, Object> function) {
+            this.type = type;
+            this.function = function;
+        }
+    }
+}
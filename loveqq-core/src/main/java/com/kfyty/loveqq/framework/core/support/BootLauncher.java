@@ -15,13 +15,25 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
 /**
  * 描述: 启动类引导
+ * <p>
+ * 支持训练模式: 启动参数添加 -D{@link #CDS_TRAIN_KEY}=true 时，启动类的 main 方法执行完毕后，
+ * 将从 jar 中加载的 class 及其所在 jar 写入 class list 文件，并退出 jvm(可通过 -D{@link #CDS_TRAIN_EXIT_KEY}=false 关闭)；
+ * 之后的启动将读取该文件，后台并行预加载这些 class；非训练模式下不会退出 jvm
+ * 训练时若同时添加 jvm 参数 -XX:ArchiveClassesAtExit=app.jsa，jvm 退出时将生成动态 CDS 归档，之后使用 -XX:SharedArchiveFile=app.jsa 启动即可
  *
  * @author kfyty725
  * @date 2023/3/15 19:58
@@ -48,6 +60,31 @@ public class BootLauncher {
      */
     public static final String START_CLASS_KEY = "Start-Class";
 
+    /**
+     * 训练模式属性 key
+     */
+    public static final String CDS_TRAIN_KEY = "k.cds.train";
+
+    /**
+     * 训练模式下写入 class list 后是否退出 jvm 属性 key，默认 true，仅训练模式下有效
+     */
+    public static final String CDS_TRAIN_EXIT_KEY = "k.cds.train.exit";
+
+    /**
+     * class list 文件路径属性 key，默认为启动 jar 包路径 + {@link #CLASS_LIST_SUFFIX}
+     */
+    public static final String CLASS_LIST_KEY = "k.cds.class-list";
+
+    /**
+     * 是否预加载 class list 中的 class 属性 key
+     */
+    public static final String CLASS_LIST_PRELOAD_KEY = "k.cds.preload";
+
+    /**
+     * class list 文件后缀
+     */
+    public static final String CLASS_LIST_SUFFIX = ".classlist";
+
     /**
      * 启动类
      *
@@ -59,6 +96,8 @@ public class BootLauncher {
 
     /**
      * 启动
+     * 训练模式下，启动类的 main 方法返回后停止记录并写入 class list，并在 {@link #CDS_TRAIN_EXIT_KEY} 为 true 时以状态码 0 退出 jvm，
+     * 以便 -XX:ArchiveClassesAtExit 生成 CDS 归档；非训练模式下不会写入 class list，也不会退出 jvm
      *
      * @param args 命令行参数
      * @throws Throwable 启动异常
@@ -71,8 +110,23 @@ public class BootLauncher {
         JarIndex jarIndex = new JarIndex(mainJarPath, manifest, jarIndexStream);
         JarIndexClassLoader jarIndexClassLoader = new JarIndexClassLoader(jarIndex, Thread.currentThread().getContextClassLoader());
 
+        Path classList = this.resolveClassListPath(mainJarPath);
+        boolean train = Boolean.parseBoolean(System.getProperty(CDS_TRAIN_KEY, "false"));
+        if (train) {
+            jarIndexClassLoader.startRecording();
+        } else {
+            this.applyClassList(classList, jarIndex, jarIndexClassLoader);
+        }
+
         this.setContextClassLoader(jarIndexClassLoader);
         this.invokeMainClass(manifest.getMainAttributes().getValue(START_CLASS_KEY), args);
+
+        if (train) {
+            this.writeClassList(classList, jarIndexClassLoader.stopRecording());
+            if (Boolean.parseBoolean(System.getProperty(CDS_TRAIN_EXIT_KEY, "true"))) {
+                System.exit(0);
+            }
+        }
     }
 
     /**
@@ -101,6 +155,79 @@ public class BootLauncher {
         }
     }
 
+    /**
+     * 获取 class list 文件路径
+     *
+     * @param mainJarPath 用户启动 jar 包所在路径
+     * @return class list 文件路径
+     */
+    protected Path resolveClassListPath(String mainJarPath) {
+        return Paths.get(System.getProperty(CLASS_LIST_KEY, mainJarPath + CLASS_LIST_SUFFIX));
+    }
+
+    /**
+     * 写入训练模式记录的 class list
+     *
+     * @param classList       class list 文件路径
+     * @param resolvedClasses 记录的 className=jar
+     */
+    protected void writeClassList(Path classList, Queue<String> resolvedClasses) throws IOException {
+        Files.write(classList, resolvedClasses, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 应用上次训练生成的 class list
+     * 记录已解析的 class 所在的 jar，并后台并行预加载这些 class，与启动流程并行执行
+     *
+     * @param classList   class list 文件路径
+     * @param jarIndex    jar index
+     * @param classLoader 类加载器
+     */
+    protected void applyClassList(Path classList, JarIndex jarIndex, ClassLoader classLoader) throws IOException {
+        if (!Files.isRegularFile(classList)) {
+            return;
+        }
+        List<String> classNames = new ArrayList<>();
+        for (String line : Files.readAllLines(classList, StandardCharsets.UTF_8)) {
+            int index = line.indexOf('=');
+            if (index > 0) {
+                String className = line.substring(0, index);
+                jarIndex.addResolvedClass(className, line.substring(index + 1));
+                classNames.add(className);
+            }
+        }
+        if (Boolean.parseBoolean(System.getProperty(CLASS_LIST_PRELOAD_KEY, "true"))) {
+            this.preloadClasses(classNames, classLoader);
+        }
+    }
+
+    /**
+     * 使用守护线程并行预加载 class，仅加载不初始化
+     * 预加载线程与启动线程并发加载，依赖类加载器并行加载及 {@link java.lang.instrument.ClassFileTransformer} 的一次性发布
+     *
+     * @param classNames  class 全限定名
+     * @param classLoader 类加载器
+     */
+    protected void preloadClasses(List<String> classNames, ClassLoader classLoader) {
+        AtomicInteger index = new AtomicInteger(0);
+        Runnable preload = () -> {
+            int i;
+            while ((i = index.getAndIncrement()) < classNames.size()) {
+                try {
+                    Class.forName(classNames.get(i), false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // 依赖已变更，忽略，由启动流程正常加载
+                }
+            }
+        };
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(preload, "class-preload-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
     /**
      * 查找用户启动 jar 包的 MANIFEST.MF 文件
      *
@@ -0,0 +1,85 @@
+package com.kfyty.loveqq.framework.core.support.asm;
+
+import lombok.Getter;
+import lombok.ToString;
+import org.objectweb.asm.Opcodes;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 描述: 基于 class 文件解析的类元数据，不会加载该类
+ *
+ * @author kfyty725
+ * @date 2024/7/12 09:40
+ * @email kfyty725@hotmail.com
+ * @see ClassMetadataReader
+ */
+@Getter
+@ToString
+public class ClassMetadata {
+    /**
+     * 类的全限定名
+     */
+    private final String className;
+
+    /**
+     * 父类的全限定名，接口或 Object 时为 null
+     */
+    private final String superClassName;
+
+    /**
+     * 父接口的全限定名
+     */
+    private final String[] interfaceNames;
+
+    /**
+     * 访问标志
+     */
+    private final int access;
+
+    /**
+     * 直接声明的运行时注解，注解全限定名 -> 注解属性
+     * 属性值中，Class 为全限定名，枚举为枚举常量名，数组为 {@link java.util.List}
+     */
+    private final Map<String, Map<String, Object>> annotations;
+
+    public ClassMetadata(String className, String superClassName, String[] interfaceNames, int access, Map<String, Map<String, Object>> annotations) {
+        this.className = className;
+        this.superClassName = superClassName;
+        this.interfaceNames = interfaceNames;
+        this.access = access;
+        this.annotations = Collections.unmodifiableMap(annotations);
+    }
+
+    public boolean isInterface() {
+        return (this.access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (this.access & Opcodes.ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (this.access & Opcodes.ACC_ABSTRACT) != 0;
+    }
+
+    /**
+     * 是否直接声明了该注解
+     *
+     * @param annotationName 注解全限定名
+     */
+    public boolean hasDeclaredAnnotation(String annotationName) {
+        return this.annotations.containsKey(annotationName);
+    }
+
+    /**
+     * 获取直接声明的注解属性
+     *
+     * @param annotationName 注解全限定名
+     * @return 注解属性，不存在该注解时返回 null
+     */
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        return this.annotations.get(annotationName);
+    }
+}
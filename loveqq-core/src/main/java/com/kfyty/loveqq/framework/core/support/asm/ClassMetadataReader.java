@@ -0,0 +1,227 @@
+package com.kfyty.loveqq.framework.core.support.asm;
+
+import com.kfyty.loveqq.framework.core.utils.ClassLoaderUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 基于 ASM 的类元数据读取器，直接解析 class 文件，不会加载类
+ * 注解的查找规则与 {@link com.kfyty.loveqq.framework.core.utils.AnnotationUtil} 对 Class 的查找规则一致，用于在加载类之前进行判断
+ * 读取器持有有界的类元数据缓存，应在一次扫描内使用，扫描结束后即可丢弃
+ *
+ * @author kfyty725
+ * @date 2024/7/12 10:05
+ * @email kfyty725@hotmail.com
+ */
+public class ClassMetadataReader {
+    /**
+     * 默认缓存数量
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    /**
+     * 类不存在时的占位
+     */
+    private static final ClassMetadata NOT_FOUND = new ClassMetadata(Object.class.getName(), null, new String[0], 0, Collections.emptyMap());
+
+    /**
+     * 类加载器
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * 类元数据缓存，超出数量时淘汰最久未使用的元数据
+     */
+    private final Map<String, ClassMetadata> metadataCache;
+
+    public ClassMetadataReader() {
+        this(ClassLoaderUtil.classLoader(ClassMetadataReader.class), DEFAULT_CACHE_SIZE);
+    }
+
+    public ClassMetadataReader(ClassLoader classLoader, int cacheSize) {
+        this.classLoader = classLoader;
+        this.metadataCache = new LinkedHashMap<String, ClassMetadata>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClassMetadata> eldest) {
+                return this.size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 类路径上是否存在该类，不会加载该类
+     *
+     * @param className 类的全限定名
+     * @return true if exists
+     */
+    public static boolean exists(String className) {
+        return ClassLoaderUtil.classLoader(ClassMetadataReader.class).getResource(toResourcePath(className)) != null;
+    }
+
+    /**
+     * 从 class 文件流读取类元数据
+     *
+     * @param stream class 文件流
+     * @return 类元数据
+     */
+    public static ClassMetadata read(InputStream stream) throws IOException {
+        MetadataVisitor visitor = new MetadataVisitor();
+        new ClassReader(stream).accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return visitor.build();
+    }
+
+    /**
+     * 读取类元数据
+     *
+     * @param className 类的全限定名
+     * @return 类元数据，不存在时返回 null
+     */
+    public synchronized ClassMetadata read(String className) {
+        ClassMetadata metadata = this.metadataCache.get(className);
+        if (metadata == null) {
+            try (InputStream stream = this.classLoader.getResourceAsStream(toResourcePath(className))) {
+                metadata = stream == null ? NOT_FOUND : read(stream);
+                this.metadataCache.put(className, metadata);
+            } catch (IOException e) {
+                throw ExceptionUtil.wrap(e);
+            }
+        }
+        return metadata == NOT_FOUND ? null : metadata;
+    }
+
+    /**
+     * 查找注解，依次查找该类、父类、父接口
+     *
+     * @param className      类的全限定名
+     * @param annotationName 注解的全限定名
+     * @return 注解属性，不存在时返回 null
+     */
+    public Map<String, Object> findAnnotation(String className, String annotationName) {
+        ClassMetadata metadata = className == null ? null : this.read(className);
+        if (metadata == null) {
+            return null;
+        }
+        Map<String, Object> attributes = metadata.getAnnotationAttributes(annotationName);
+        if (attributes != null) {
+            return attributes;
+        }
+        attributes = this.findAnnotation(metadata.getSuperClassName(), annotationName);
+        if (attributes != null) {
+            return attributes;
+        }
+        for (String interfaceName : metadata.getInterfaceNames()) {
+            attributes = this.findAnnotation(interfaceName, annotationName);
+            if (attributes != null) {
+                return attributes;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 清空缓存
+     */
+    public synchronized void clear() {
+        this.metadataCache.clear();
+    }
+
+    private static String toResourcePath(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+    /**
+     * 类元数据解析
+     */
+    private static class MetadataVisitor extends ClassVisitor {
+        private String className;
+        private String superClassName;
+        private String[] interfaceNames;
+        private int access;
+        private final Map<String, Map<String, Object>> annotations = new LinkedHashMap<>(4);
+
+        MetadataVisitor() {
+            super(Opcodes.ASM9);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.access = access;
+            this.className = Type.getObjectType(name).getClassName();
+            this.superClassName = superName == null ? null : Type.getObjectType(superName).getClassName();
+            this.interfaceNames = new String[interfaces == null ? 0 : interfaces.length];
+            for (int i = 0; i < this.interfaceNames.length; i++) {
+                this.interfaceNames[i] = Type.getObjectType(interfaces[i]).getClassName();
+            }
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            if (!visible) {
+                return null;
+            }
+            Map<String, Object> attributes = new LinkedHashMap<>(4);
+            this.annotations.put(Type.getType(descriptor).getClassName(), attributes);
+            return new AttributesVisitor(attributes::put);
+        }
+
+        ClassMetadata build() {
+            if (Object.class.getName().equals(this.superClassName) || this.isInterface()) {
+                this.superClassName = null;
+            }
+            return new ClassMetadata(this.className, this.superClassName, this.interfaceNames, this.access, this.annotations);
+        }
+
+        private boolean isInterface() {
+            return (this.access & Opcodes.ACC_INTERFACE) != 0;
+        }
+    }
+
+    /**
+     * 注解属性解析，嵌套注解属性不解析
+     */
+    private static class AttributesVisitor extends AnnotationVisitor {
+        private final AttributeConsumer consumer;
+
+        AttributesVisitor(AttributeConsumer consumer) {
+            super(Opcodes.ASM9);
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            this.consumer.accept(name, value instanceof Type ? ((Type) value).getClassName() : value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            this.consumer.accept(name, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            List<Object> values = new ArrayList<>();
+            this.consumer.accept(name, values);
+            return new AttributesVisitor((n, v) -> values.add(v));
+        }
+    }
+
+    /**
+     * 注解属性消费者
+     */
+    @FunctionalInterface
+    private interface AttributeConsumer {
+        void accept(String name, Object value);
+    }
+}
@@ -1,8 +1,10 @@
 package com.kfyty.loveqq.framework.core.utils;
 
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.ParameterBinder;
+import com.kfyty.loveqq.framework.core.jdbc.StatementCache;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.ResultSetIterator;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
-import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import lombok.extern.slf4j.Slf4j;
 
@@ -12,6 +14,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -25,8 +28,22 @@ import java.util.stream.Collectors;
 public abstract class JdbcUtil {
 
     public static Object query(Transaction transaction, SimpleGeneric returnType, String sql, MethodParameter... params) throws SQLException {
+        return query(transaction, returnType, sql, (ParameterBinder) null, params);
+    }
+
+    /**
+     * 查询
+     *
+     * @param transaction 事务
+     * @param returnType  返回值类型
+     * @param sql         SQL
+     * @param binder      该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params      参数
+     * @return 返回值
+     */
+    public static Object query(Transaction transaction, SimpleGeneric returnType, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
         Connection connection = transaction.getConnection();
-        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, params);
+        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, binder, params);
              ResultSet resultSet = preparedStatement.executeQuery()) {
             Object obj = ResultSetUtil.processObject(resultSet, returnType);
             LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==         total: {} {}", CommonUtil.size(obj), obj == null ? null : obj.getClass()));
@@ -40,9 +57,108 @@ public abstract class JdbcUtil {
         }
     }
 
+    /**
+     * 游标查询，使用只进、只读的结果集逐行映射
+     * 返回的迭代器关闭时才会释放资源，因此调用方必须关闭
+     *
+     * @param transaction 事务
+     * @param elementType 元素类型
+     * @param fetchSize   每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * @param sql         SQL
+     * @param params      参数
+     * @return 迭代器
+     */
+    public static <T> ResultSetIterator<T> queryCursor(Transaction transaction, Class<T> elementType, int fetchSize, String sql, MethodParameter... params) throws SQLException {
+        return queryCursor(transaction, elementType, fetchSize, sql, null, params);
+    }
+
+    /**
+     * 游标查询，使用只进、只读的结果集逐行映射
+     * 返回的迭代器关闭时才会释放资源，因此调用方必须关闭
+     *
+     * @param transaction 事务
+     * @param elementType 元素类型
+     * @param fetchSize   每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * @param sql         SQL
+     * @param binder      该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params      参数
+     * @return 迭代器
+     */
+    public static <T> ResultSetIterator<T> queryCursor(Transaction transaction, Class<T> elementType, int fetchSize, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
+        Connection connection = transaction.getConnection();
+        PreparedStatement preparedStatement = null;
+        try {
+            preparedStatement = getPreparedStatement(connection, sql, JdbcUtil::cursorPreparedStatement, binder, params);
+            if (fetchSize > 0) {
+                preparedStatement.setFetchSize(fetchSize);
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+            return new ResultSetIterator<>(transaction, preparedStatement, resultSet, ResultSetUtil.resolveRowMapper(resultSet, elementType));
+        } catch (SQLException e) {
+            IOUtil.close(preparedStatement);
+            transaction.rollback();
+            commitTransactionIfNecessary(transaction);
+            log.error("execute SQL statement error: {} --> parameters: {}", sql, params == null ? null : Arrays.stream(params).map(MethodParameter::getValue).collect(Collectors.toList()));
+            throw e;
+        }
+    }
+
+    /**
+     * 游标查询，逐行映射后交由消费者处理，处理完毕后释放资源
+     *
+     * @param transaction 事务
+     * @param elementType 元素类型
+     * @param fetchSize   每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * @param consumer    消费者
+     * @param sql         SQL
+     * @param params      参数
+     * @return 处理的行数
+     */
+    public static <T> int queryForEach(Transaction transaction, Class<T> elementType, int fetchSize, Consumer<? super T> consumer, String sql, MethodParameter... params) throws SQLException {
+        return queryForEach(transaction, elementType, fetchSize, consumer, sql, null, params);
+    }
+
+    /**
+     * 游标查询，逐行映射后交由消费者处理，处理完毕后释放资源
+     *
+     * @param transaction 事务
+     * @param elementType 元素类型
+     * @param fetchSize   每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * @param consumer    消费者
+     * @param sql         SQL
+     * @param binder      该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params      参数
+     * @return 处理的行数
+     */
+    public static <T> int queryForEach(Transaction transaction, Class<T> elementType, int fetchSize, Consumer<? super T> consumer, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
+        int total = 0;
+        try (ResultSetIterator<T> iterator = queryCursor(transaction, elementType, fetchSize, sql, binder, params)) {
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                total++;
+            }
+        }
+        final int count = total;
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==         total: {}", count));
+        return total;
+    }
+
     public static int execute(Transaction transaction, String sql, MethodParameter... params) throws SQLException {
+        return execute(transaction, sql, (ParameterBinder) null, params);
+    }
+
+    /**
+     * 执行更新
+     *
+     * @param transaction 事务
+     * @param sql         SQL
+     * @param binder      该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params      参数
+     * @return 影响行数
+     */
+    public static int execute(Transaction transaction, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
         Connection connection = transaction.getConnection();
-        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, params)) {
+        try (PreparedStatement preparedStatement = getPreparedStatement(connection, sql, binder, params)) {
             int updateCount = preparedStatement.executeUpdate();
             LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<== affected rows: {}", updateCount));
             return updateCount;
@@ -55,21 +171,52 @@ public abstract class JdbcUtil {
         }
     }
 
+    /**
+     * 获取预编译语句并设置参数
+     * 开启语句缓存时，从 {@link StatementCache} 获取，关闭语句时归还缓存
+     *
+     * @param connection 连接
+     * @param sql        SQL
+     * @param params     参数
+     * @return PreparedStatement
+     */
     public static PreparedStatement getPreparedStatement(Connection connection, String sql, MethodParameter... params) throws SQLException {
-        return getPreparedStatement(connection, sql, JdbcUtil::preparedStatement, params);
+        return getPreparedStatement(connection, sql, (ParameterBinder) null, params);
+    }
+
+    /**
+     * 获取预编译语句并使用参数绑定器设置参数
+     * 开启语句缓存时，从 {@link StatementCache} 获取，关闭语句时归还缓存
+     *
+     * @param connection 连接
+     * @param sql        SQL
+     * @param binder     该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params     参数
+     * @return PreparedStatement
+     */
+    public static PreparedStatement getPreparedStatement(Connection connection, String sql, ParameterBinder binder, MethodParameter... params) throws SQLException {
+        if (!StatementCache.isEnabled()) {
+            return getPreparedStatement(connection, sql, JdbcUtil::preparedStatement, binder, params);
+        }
+        PreparedStatement preparedStatement = StatementCache.prepareStatement(connection, sql, binder, params);
+        if (log.isDebugEnabled()) {
+            log.debug("\r\n==>     preparing: {}", sql);
+            log.debug("\r\n==>    parameters: {}", params == null ? null : Arrays.stream(params).map(MethodParameter::getValue).collect(Collectors.toList()));
+        }
+        return preparedStatement;
+    }
+
+    public static PreparedStatement getPreparedStatement(Connection connection, String sql, BiFunction<Connection, String, PreparedStatement> preparedStatementFactory, MethodParameter... params) throws SQLException {
+        return getPreparedStatement(connection, sql, preparedStatementFactory, null, params);
     }
 
-    @SuppressWarnings("unchecked")
-    public static <T> PreparedStatement getPreparedStatement(Connection connection, String sql, BiFunction<Connection, String, PreparedStatement> preparedStatementFactory, MethodParameter... params) throws SQLException {
+    public static PreparedStatement getPreparedStatement(Connection connection, String sql, BiFunction<Connection, String, PreparedStatement> preparedStatementFactory, ParameterBinder binder, MethodParameter... params) throws SQLException {
         PreparedStatement preparedStatement = preparedStatementFactory.apply(connection, sql);
-        for (int i = 0; params != null && i < params.length; i++) {
-            MethodParameter parameter = params[i];
-            TypeHandler<T> typeHandler = (TypeHandler<T>) ResultSetUtil.getTypeHandler(parameter.getParamType());
-            if (typeHandler != null) {
-                typeHandler.setParameter(preparedStatement, i + 1, (T) parameter.getValue());
-                continue;
-            }
-            preparedStatement.setObject(i + 1, parameter.getValue());
+        try {
+            setParameters(preparedStatement, binder, params);
+        } catch (SQLException e) {
+            IOUtil.close(preparedStatement);
+            throw e;
         }
         if (log.isDebugEnabled()) {
             log.debug("\r\n==>     preparing: {}", sql);
@@ -78,6 +225,31 @@ public abstract class JdbcUtil {
         return preparedStatement;
     }
 
+    /**
+     * 设置参数
+     *
+     * @param preparedStatement PreparedStatement
+     * @param params            参数
+     * @see ParameterBinder
+     */
+    public static void setParameters(PreparedStatement preparedStatement, MethodParameter... params) throws SQLException {
+        setParameters(preparedStatement, null, params);
+    }
+
+    /**
+     * 使用预编译的参数绑定器设置参数
+     *
+     * @param preparedStatement PreparedStatement
+     * @param binder            该语句预编译的参数绑定器，为空或不兼容时重新编译
+     * @param params            参数
+     */
+    public static void setParameters(PreparedStatement preparedStatement, ParameterBinder binder, MethodParameter... params) throws SQLException {
+        if (binder == null || !binder.isCompatible(params)) {
+            binder = ParameterBinder.compile(params);
+        }
+        binder.bind(preparedStatement, params);
+    }
+
     public static PreparedStatement preparedStatement(Connection connection, String sql) {
         try {
             return connection.prepareStatement(sql);
@@ -86,6 +258,14 @@ public abstract class JdbcUtil {
         }
     }
 
+    public static PreparedStatement cursorPreparedStatement(Connection connection, String sql) {
+        try {
+            return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        } catch (SQLException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     public static PreparedStatement preparedStatement(Connection connection, String sql, int autoGeneratedKeys) {
         try {
             return connection.prepareStatement(sql, autoGeneratedKeys);
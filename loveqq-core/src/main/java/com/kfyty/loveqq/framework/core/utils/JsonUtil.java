@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.JsonTokenId;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.ObjectWriter;
@@ -21,6 +22,8 @@ import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
@@ -36,6 +39,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 功能描述: json 工具类
@@ -55,6 +59,11 @@ public abstract class JsonUtil {
      */
     private static ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
 
+    /**
+     * 流式读取时使用的 {@link ObjectReader} 缓存，切换 {@link ObjectMapper} 时清空
+     */
+    private static final Map<JavaType, ObjectReader> OBJECT_READER_CACHE = new ConcurrentHashMap<>();
+
     static {
         SimpleModule module = new SimpleModule("json_string_deserializer");
         module.addDeserializer(String.class, new JsonUtil.StringDeserializer());
@@ -78,6 +87,7 @@ public abstract class JsonUtil {
     }
 
     public static ObjectMapper configure(ObjectMapper objectMapper) {
+        OBJECT_READER_CACHE.clear();
         return DEFAULT_OBJECT_MAPPER = objectMapper;
     }
 
@@ -97,6 +107,20 @@ public abstract class JsonUtil {
         }
     }
 
+    /**
+     * 直接序列化到输出流，序列化缓冲区由 jackson 的 BufferRecycler 复用，不会生成中间字符串
+     *
+     * @param out 输出流，写入完成后关闭
+     * @param o   对象
+     */
+    public static void writeJson(OutputStream out, Object o) {
+        try {
+            DEFAULT_OBJECT_MAPPER.writeValue(out, o);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
     public static JSON toJSON(Object o) {
         return new JSON(toMap(o));
     }
@@ -148,6 +172,34 @@ public abstract class JsonUtil {
         }
     }
 
+    /**
+     * 直接从输入流反序列化，不会生成中间字符串
+     *
+     * @param in   输入流
+     * @param type 目标类型
+     * @return 对象
+     */
+    public static <T> T toObject(InputStream in, Type type) {
+        return toObject(in, DEFAULT_OBJECT_MAPPER.getTypeFactory().constructType(type));
+    }
+
+    public static <T> T toObject(InputStream in, JavaType javaType) {
+        try {
+            return OBJECT_READER_CACHE.computeIfAbsent(javaType, DEFAULT_OBJECT_MAPPER::readerFor).readValue(in);
+        } catch (IOException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    public static <T> Collection<T> toCollection(InputStream in, Class<? extends Collection> collectionType, Class<T> clazz) {
+        return toObject(in, DEFAULT_OBJECT_MAPPER.getTypeFactory().constructCollectionType(collectionType, clazz));
+    }
+
+    public static <K, V> Map<K, V> toMap(InputStream in, Class<K> keyType, Class<V> valueType) {
+        return toObject(in, DEFAULT_OBJECT_MAPPER.getTypeFactory().constructMapType(LinkedHashMap.class, keyType, valueType));
+    }
+
     @SuppressWarnings("unchecked")
     public static List<Map<String, Object>> toArray(CharSequence o) {
         return (List<Map<String, Object>>) toObject(o.toString(), ArrayList.class);
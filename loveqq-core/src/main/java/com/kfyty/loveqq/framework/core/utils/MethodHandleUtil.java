@@ -0,0 +1,167 @@
+package com.kfyty.loveqq.framework.core.utils;
+
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * 描述: {@link MethodHandle} 工具
+ * 将反射对象转换为签名统一的 {@link MethodHandle}，避免每次调用时的访问检查及参数校验
+ *
+ * @author kfyty725
+ * @date 2024/7/03 14:20
+ * @email kfyty725@hotmail.com
+ */
+public abstract class MethodHandleUtil {
+    /**
+     * 方法调用器缓存
+     */
+    private static final Map<Method, MethodInvoker> METHOD_INVOKER_CACHE = new WeakConcurrentHashMap<>();
+
+    /**
+     * 获取基于 {@link MethodHandle} 的方法调用器
+     *
+     * @param method 方法
+     * @return 方法调用器
+     */
+    public static MethodInvoker getMethodInvoker(Method method) {
+        return METHOD_INVOKER_CACHE.computeIfAbsent(method, MethodHandleUtil::createMethodInvoker);
+    }
+
+    /**
+     * 获取基于反射的方法调用器
+     *
+     * @param method 方法
+     * @return 方法调用器
+     */
+    public static MethodInvoker getReflectMethodInvoker(Method method) {
+        return (target, args) -> ReflectUtil.invokeMethod(target, method, args);
+    }
+
+    /**
+     * 获取方法句柄，签名为 (Object, Object[])Object，静态方法将忽略第一个参数
+     *
+     * @param method 方法
+     * @return 方法句柄
+     */
+    public static MethodHandle unreflect(Method method) {
+        try {
+            ReflectUtil.makeAccessible(method);
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            handle = handle.asSpreader(Object[].class, method.getParameterCount());
+            return handle.asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 获取构造器句柄，签名为 (Object[])Object
+     *
+     * @param constructor 构造器
+     * @return 构造器句柄
+     */
+    public static MethodHandle unreflectConstructor(Constructor<?> constructor) {
+        try {
+            ReflectUtil.makeAccessible(constructor);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor);
+            handle = handle.asSpreader(Object[].class, constructor.getParameterCount());
+            return handle.asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 获取属性读取函数
+     *
+     * @param field 属性
+     * @return 读取函数
+     */
+    public static Function<Object, Object> getter(Field field) {
+        try {
+            ReflectUtil.makeAccessible(field);
+            final MethodHandle handle = MethodHandles.lookup().unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw ExceptionUtil.wrap(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 获取 getter 方法读取函数
+     *
+     * @param getter 无参实例方法
+     * @return 读取函数
+     */
+    public static Function<Object, Object> getter(Method getter) {
+        try {
+            ReflectUtil.makeAccessible(getter);
+            final MethodHandle handle = MethodHandles.lookup().unreflect(getter).asType(MethodType.methodType(Object.class, Object.class));
+            return target -> {
+                try {
+                    return handle.invokeExact(target);
+                } catch (Throwable e) {
+                    throw ExceptionUtil.wrap(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    /**
+     * 获取属性写入函数，final 属性返回 null
+     *
+     * @param field 属性
+     * @return 写入函数
+     */
+    public static BiConsumer<Object, Object> setter(Field field) {
+        if (Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+        try {
+            ReflectUtil.makeAccessible(field);
+            final MethodHandle handle = MethodHandles.lookup().unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (Throwable e) {
+                    throw ExceptionUtil.wrap(e);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            throw ExceptionUtil.wrap(e);
+        }
+    }
+
+    private static MethodInvoker createMethodInvoker(Method method) {
+        final MethodHandle handle = unreflect(method);
+        return (target, args) -> {
+            try {
+                return handle.invokeExact(target, args);
+            } catch (Throwable e) {
+                throw ExceptionUtil.wrap(e);
+            }
+        };
+    }
+}
@@ -23,6 +23,36 @@ public abstract class OgnlUtil {
         return CONTEXT;
     }
 
+    /**
+     * 预解析表达式，用于重复计算
+     *
+     * @param express 表达式
+     * @return 表达式树
+     */
+    public static Object parseExpression(String express) {
+        try {
+            return Ognl.parseExpression(express);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("表达式解析失败: " + express, e);
+        }
+    }
+
+    /**
+     * 计算预解析的表达式
+     *
+     * @param tree 表达式树
+     * @param root 根对象
+     * @return 值
+     * @see #parseExpression(String)
+     */
+    public static Object compute(Object tree, Object root) {
+        try {
+            return Ognl.getValue(tree, CONTEXT, root);
+        } catch (Exception e) {
+            throw new RuntimeException("表达式计算失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 解析表达式并返回 boolean 值
      *
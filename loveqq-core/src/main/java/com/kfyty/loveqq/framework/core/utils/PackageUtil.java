@@ -1,5 +1,6 @@
 package com.kfyty.loveqq.framework.core.utils;
 
+import com.kfyty.loveqq.framework.core.io.ComponentIndexLoader;
 import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import com.kfyty.loveqq.framework.core.support.EnumerationIterator;
 import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
@@ -29,6 +30,8 @@ import java.util.stream.Collectors;
 public abstract class PackageUtil {
     private static final Map<String, Set<String>> SCAN_PACKAGE_CACHE = new WeakConcurrentHashMap<>(4);
 
+    private static final Map<String, Set<String>> SCAN_COMPONENT_CACHE = new WeakConcurrentHashMap<>(4);
+
     public static Set<String> scanClassName(Class<?> mainClass) {
         return scanClassName(mainClass.getPackage().getName());
     }
@@ -70,13 +73,36 @@ public abstract class PackageUtil {
         return result;
     }
 
+    /**
+     * 扫描组件类，classes 目录/jar 存在组件索引时，仅加载索引中的类
+     *
+     * @param basePackage 基础包名
+     * @return 组件类
+     * @see ComponentIndexLoader
+     */
+    public static Set<Class<?>> scanComponentClass(String basePackage) {
+        if (basePackage.contains("*") || ComponentIndexLoader.isIgnored()) {
+            return scanClass(basePackage);
+        }
+        Set<Class<?>> result = new HashSet<>();
+        for (String clazz : scanClassName(basePackage, null, true)) {
+            Optional.ofNullable(ReflectUtil.load(clazz, false, false)).ifPresent(result::add);
+        }
+        return result;
+    }
+
     public static Set<String> scanClassName(String basePackage) {
         return scanClassName(basePackage, null);
     }
 
     public static Set<String> scanClassName(String basePackage, PathMatchingResourcePatternResolver resolver) {
+        return scanClassName(basePackage, resolver, false);
+    }
+
+    private static Set<String> scanClassName(String basePackage, PathMatchingResourcePatternResolver resolver, boolean useComponentIndex) {
         try {
-            Set<String> cache = SCAN_PACKAGE_CACHE.get(basePackage);
+            Map<String, Set<String>> scanCache = useComponentIndex ? SCAN_COMPONENT_CACHE : SCAN_PACKAGE_CACHE;
+            Set<String> cache = scanCache.get(basePackage);
             if (cache != null) {
                 return cache;
             }
@@ -85,13 +111,18 @@ public abstract class PackageUtil {
                     ? resolver.findResources(basePackage.replace('.', '/') + ".class")
                     : new EnumerationIterator<>(ClassLoaderUtil.classLoader(PackageUtil.class).getResources(basePackage.replace('.', '/')));
             for (URL url : urls) {
+                Set<String> components = useComponentIndex ? ComponentIndexLoader.loadComponents(url, basePackage) : null;
+                if (components != null) {
+                    classes.addAll(components);
+                    continue;
+                }
                 if ("jar".equalsIgnoreCase(url.getProtocol())) {
                     classes.addAll(scanClassNameByJar(url));
                     continue;
                 }
                 classes.addAll(scanClassNameByFile(url));
             }
-            return SCAN_PACKAGE_CACHE.computeIfAbsent(basePackage, k -> classes);
+            return scanCache.computeIfAbsent(basePackage, k -> classes);
         } catch (Exception e) {
             throw ExceptionUtil.wrap(e);
         }
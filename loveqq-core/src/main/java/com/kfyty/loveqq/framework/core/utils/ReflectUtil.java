@@ -5,6 +5,7 @@ import com.kfyty.loveqq.framework.core.exception.ResolvableException;
 import com.kfyty.loveqq.framework.core.lang.function.Function3;
 import com.kfyty.loveqq.framework.core.lang.function.Function4;
 import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import com.kfyty.loveqq.framework.core.reflect.PropertyPathAccessor;
 import com.kfyty.loveqq.framework.core.support.Pair;
 import lombok.extern.slf4j.Slf4j;
 
@@ -735,16 +736,13 @@ public abstract class ReflectUtil {
      * @param param 属性参数，eg: obj.value
      * @param obj   包含 obj 属性的对象
      * @return 属性值
+     * @see PropertyPathAccessor
      */
     public static Object parseValue(String param, Object obj) {
-        String[] fields = param.split("\\.");
-        for (String field : fields) {
-            obj = getFieldValue(obj, field);
-            if (obj == null) {
-                return null;
-            }
+        if (obj == null) {
+            return null;
         }
-        return obj;
+        return PropertyPathAccessor.getAccessor(obj.getClass(), param).getValue(obj);
     }
 
     /**
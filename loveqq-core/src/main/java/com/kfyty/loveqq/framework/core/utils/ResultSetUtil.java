@@ -2,7 +2,14 @@ package com.kfyty.loveqq.framework.core.utils;
 
 import com.kfyty.loveqq.framework.core.exception.TooManyResultException;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.BeanRowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.MapRowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.RowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.SingleColumnRowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.type.EnumTypeHandler;
 import com.kfyty.loveqq.framework.core.jdbc.type.TypeHandler;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.ConcurrentLRUCache;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
@@ -10,6 +17,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -31,8 +39,39 @@ import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.getSuperGeneric;
 public abstract class ResultSetUtil {
     static final Map<Class<?>, TypeHandler<?>> TYPE_HANDLER = new HashMap<>();
 
+    /**
+     * 解析的类型处理器缓存，包含父类、父接口、枚举的解析结果及未找到的结果
+     */
+    private static final Map<Class<?>, Optional<TypeHandler<?>>> RESOLVED_TYPE_HANDLER = new WeakConcurrentHashMap<>();
+
+    /**
+     * 每个结果类型缓存的列布局的最大数量
+     */
+    private static final int ROW_MAPPER_CACHE_SIZE = 64;
+
+    /**
+     * Map 行映射器缓存的列布局的最大数量
+     */
+    private static final int MAP_ROW_MAPPER_CACHE_SIZE = 1024;
+
+    /**
+     * 行映射器缓存，保存在结果类型上，value: key 为列标签
+     * 行映射器会引用结果类型，因此使用 {@link ClassValue}，不会阻止结果类型卸载
+     */
+    private static final ClassValue<ConcurrentLRUCache<List<String>, RowMapper<?>>> ROW_MAPPER_CACHE = new ClassValue<ConcurrentLRUCache<List<String>, RowMapper<?>>>() {
+        @Override
+        protected ConcurrentLRUCache<List<String>, RowMapper<?>> computeValue(Class<?> type) {
+            return new ConcurrentLRUCache<>(ROW_MAPPER_CACHE_SIZE);
+        }
+    };
+
+    /**
+     * Map 行映射器缓存，key 为列标签
+     */
+    private static final ConcurrentLRUCache<List<String>, MapRowMapper> MAP_ROW_MAPPER_CACHE = new ConcurrentLRUCache<>(MAP_ROW_MAPPER_CACHE_SIZE);
+
     static {
-        PackageUtil.scanInstance(TypeHandler.class)
+        PackageUtil.scanInstance(TypeHandler.class, clazz -> !ReflectUtil.isAbstract(clazz) && TypeHandler.class.isAssignableFrom(clazz) && clazz != EnumTypeHandler.class)
                 .forEach(e -> {
                     TypeHandler<?> typeHandler = (TypeHandler<?>) e;
                     typeHandler.supportTypes().forEach(type -> registerTypeHandler(type, typeHandler));
@@ -51,6 +90,53 @@ public abstract class ResultSetUtil {
 
     public static void registerTypeHandler(Class<?> clazz, TypeHandler<?> typeHandler) {
         TYPE_HANDLER.put(clazz, typeHandler);
+        RESOLVED_TYPE_HANDLER.clear();
+    }
+
+    /**
+     * 解析类型处理器，解析结果将被缓存
+     * 依次按精确类型、父类、父接口查找，未找到时枚举类型使用 {@link EnumTypeHandler}
+     * 数组、基本类型及 jdk 内置类型仅精确匹配，如 byte[]、int、java.sql.Time，未匹配时仍交由驱动处理
+     *
+     * @param clazz 类型
+     * @return 类型处理器，未找到时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TypeHandler<T> resolveTypeHandler(Class<T> clazz) {
+        if (clazz == null) {
+            return null;
+        }
+        TypeHandler<?> typeHandler = TYPE_HANDLER.get(clazz);
+        if (typeHandler != null) {
+            return (TypeHandler<T>) typeHandler;
+        }
+        return (TypeHandler<T>) RESOLVED_TYPE_HANDLER.computeIfAbsent(clazz, k -> Optional.ofNullable(doResolveTypeHandler(k))).orElse(null);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static TypeHandler<?> doResolveTypeHandler(Class<?> clazz) {
+        if (clazz.isArray() || clazz.isPrimitive() || clazz.getClassLoader() == null) {
+            return null;
+        }
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (Class<?> current = clazz; current != null && current != Object.class; current = current.getSuperclass()) {
+            TypeHandler<?> typeHandler = TYPE_HANDLER.get(current);
+            if (typeHandler != null) {
+                return typeHandler;
+            }
+            Collections.addAll(interfaces, current.getInterfaces());
+        }
+        for (int i = 0; i < interfaces.size(); i++) {
+            TypeHandler<?> typeHandler = TYPE_HANDLER.get(interfaces.get(i));
+            if (typeHandler != null) {
+                return typeHandler;
+            }
+            Collections.addAll(interfaces, interfaces.get(i).getInterfaces());
+        }
+        if (Enum.class.isAssignableFrom(clazz) && clazz != Enum.class) {
+            return new EnumTypeHandler(clazz.isEnum() ? clazz : clazz.getSuperclass());
+        }
+        return null;
     }
 
     public static Object processObject(ResultSet resultSet, SimpleGeneric returnType) throws SQLException {
@@ -92,16 +178,11 @@ public abstract class ResultSetUtil {
         return Optional.of(processListObject(resultSet, clazz)).map(HashSet::new).orElseGet(HashSet::new);
     }
 
-    @SuppressWarnings("unchecked")
     public static <T> List<T> processListBaseType(ResultSet resultSet, Class<T> clazz) throws SQLException {
         if (resultSet == null || !resultSet.next()) {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process base type failed: result set is empty !"), Collections.emptyList());
         }
-        List<T> list = new ArrayList<>();
-        do {
-            list.add((T) extractObject(resultSet, resultSet.getMetaData().getColumnLabel(1), clazz));
-        } while (resultSet.next());
-        return list;
+        return processList(resultSet, new SingleColumnRowMapper<>(clazz));
     }
 
     public static <T> List<T> processListObject(ResultSet resultSet, Class<T> clazz) throws SQLException {
@@ -111,30 +192,7 @@ public abstract class ResultSetUtil {
         if (resultSet == null || !resultSet.next()) {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process object failed: result set is empty !"), Collections.emptyList());
         }
-        List<T> list = new ArrayList<>();
-        do {
-            T o = ReflectUtil.newInstance(clazz);
-            Map<String, Field> fieldMap = ReflectUtil.getFieldMap(clazz);
-            ResultSetMetaData metaData = resultSet.getMetaData();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                String fieldName = CommonUtil.underline2CamelCase(metaData.getColumnLabel(i));
-                Field field = fieldMap.get(fieldName);
-                if (field != null) {
-                    Object value = extractObject(resultSet, metaData.getColumnLabel(i), field.getType());
-                    ReflectUtil.setFieldValue(o, field, value);
-                    continue;
-                }
-                if (fieldName.contains(".")) {
-                    Object value = extractObject(resultSet, metaData.getColumnLabel(i), ReflectUtil.parseFieldType(fieldName, o.getClass()));
-                    ReflectUtil.setNestedFieldValue(fieldName, o, value);
-                    continue;
-                }
-                final String columnName = metaData.getColumnName(i);
-                LogUtil.logIfDebugEnabled(log, log -> log.debug("discovery column: [{}], but class:[{}] no field matching !", columnName, clazz));
-            }
-            list.add(o);
-        } while (resultSet.next());
-        return list;
+        return processList(resultSet, getRowMapper(resultSet, clazz));
     }
 
     @SuppressWarnings("unchecked")
@@ -144,8 +202,8 @@ public abstract class ResultSetUtil {
             return Collections.emptyMap();
         }
         Map<K, V> result = new HashMap<>();
+        Field field = ReflectUtil.getField(returnType.getMapValueType().get(), returnType.getMapKey());
         for (V value : values) {
-            Field field = ReflectUtil.getField(returnType.getMapValueType().get(), returnType.getMapKey());
             result.put((K) ReflectUtil.getFieldValue(value, field), value);
         }
         return result;
@@ -156,32 +214,90 @@ public abstract class ResultSetUtil {
         if (resultSet == null || !resultSet.next()) {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process map failed: result set is empty !"), Collections.emptyMap());
         }
-        Map<K, V> map = new HashMap<>();
-        ResultSetMetaData metaData = resultSet.getMetaData();
-        for (int i = 1; i <= metaData.getColumnCount(); i++) {
-            map.put((K) metaData.getColumnLabel(i), (V) resultSet.getObject(metaData.getColumnLabel(i)));
-        }
+        Map<K, V> map = (Map<K, V>) getMapRowMapper(resultSet).mapRow(resultSet);
         if (resultSet.next()) {
             throw new TooManyResultException("too many result found !");
         }
         return map;
     }
 
-    @SuppressWarnings("unchecked")
     public static <K, V> Object processListMapObject(ResultSet resultSet) throws SQLException {
         if (resultSet == null || !resultSet.next()) {
             return LogUtil.logIfDebugEnabled(log, log -> log.debug("process map failed: result set is empty !"), Collections.emptyList());
         }
-        List<Map<K, V>> result = new ArrayList<>();
-        ResultSetMetaData metaData = resultSet.getMetaData();
+        return processList(resultSet, getMapRowMapper(resultSet));
+    }
+
+    /**
+     * 使用行映射器处理结果集，调用前结果集需已位于第一行
+     *
+     * @param resultSet 结果集
+     * @param rowMapper 行映射器
+     * @return 结果
+     */
+    public static <T> List<T> processList(ResultSet resultSet, RowMapper<T> rowMapper) throws SQLException {
+        List<T> list = new ArrayList<>();
         do {
-            Map<K, V> map = new HashMap<>();
-            for (int i = 1; i <= metaData.getColumnCount(); i++) {
-                map.put((K) metaData.getColumnLabel(i), (V) resultSet.getObject(metaData.getColumnLabel(i)));
-            }
-            result.add(map);
+            list.add(rowMapper.mapRow(resultSet));
         } while (resultSet.next());
-        return result;
+        return list;
+    }
+
+    /**
+     * 根据元素类型获取行映射器，支持基本数据类型、Map 及实体
+     *
+     * @param resultSet 结果集
+     * @param clazz     元素类型
+     * @return 行映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> resolveRowMapper(ResultSet resultSet, Class<T> clazz) throws SQLException {
+        if (ReflectUtil.isBaseDataType(clazz)) {
+            return new SingleColumnRowMapper<>(clazz);
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return (RowMapper<T>) getMapRowMapper(resultSet);
+        }
+        return getRowMapper(resultSet, clazz);
+    }
+
+    /**
+     * 获取实体行映射器，相同的结果类型及列布局复用同一个映射器
+     *
+     * @param resultSet 结果集
+     * @param clazz     结果类型
+     * @return 行映射器
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> getRowMapper(ResultSet resultSet, Class<T> clazz) throws SQLException {
+        String[] columnLabels = getColumnLabels(resultSet);
+        return (RowMapper<T>) ROW_MAPPER_CACHE.get(clazz).computeIfAbsent(Collections.unmodifiableList(Arrays.asList(columnLabels)), k -> new BeanRowMapper<>(clazz, columnLabels));
+    }
+
+    /**
+     * 获取 Map 行映射器，相同的列布局复用同一个映射器
+     *
+     * @param resultSet 结果集
+     * @return 行映射器
+     */
+    public static MapRowMapper getMapRowMapper(ResultSet resultSet) throws SQLException {
+        String[] columnLabels = getColumnLabels(resultSet);
+        return MAP_ROW_MAPPER_CACHE.computeIfAbsent(Collections.unmodifiableList(Arrays.asList(columnLabels)), k -> new MapRowMapper(columnLabels));
+    }
+
+    /**
+     * 获取结果集的列标签
+     *
+     * @param resultSet 结果集
+     * @return 列标签
+     */
+    public static String[] getColumnLabels(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] columnLabels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < columnLabels.length; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+        return columnLabels;
     }
 
     public static Object extractObject(ResultSet resultSet, String column, Class<?> targetType) throws SQLException {
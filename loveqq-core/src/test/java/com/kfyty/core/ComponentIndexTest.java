@@ -0,0 +1,44 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Component;
+import com.kfyty.loveqq.framework.core.io.ComponentIndexLoader;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 描述: 组件索引测试
+ *
+ * @author kfyty725
+ * @date 2024/7/11 15:40
+ * @email kfyty725@hotmail.com
+ */
+public class ComponentIndexTest {
+
+    @Test
+    public void loadComponentsTest() throws Exception {
+        Path root = Files.createTempDirectory("component-index");
+        Path packagePath = Files.createDirectories(root.resolve("com/kfyty/index"));
+        Path index = Files.createDirectories(root.resolve("META-INF")).resolve("k.components");
+        String content = "com.kfyty.index.Service=" + Component.class.getName() + '\n' +
+                "com.kfyty.index.服务=" + Component.class.getName() + '\n' +
+                "com.kfyty.index.Pojo=lombok.Data\n" +
+                "com.kfyty.index.Missing=com.kfyty.index.NotExists\n" +
+                "com.kfyty.other.Service=" + Component.class.getName() + '\n';
+        Files.write(index, content.getBytes(StandardCharsets.UTF_8));
+        try {
+            Set<String> components = ComponentIndexLoader.loadComponents(packagePath.toUri().toURL(), "com.kfyty.index");
+            Assert.assertEquals(new HashSet<>(Arrays.asList("com.kfyty.index.Service", "com.kfyty.index.服务")), components);
+        } finally {
+            Files.delete(index);
+            Files.walk(root).map(Path::toFile).sorted((a, b) -> b.getPath().length() - a.getPath().length()).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.ConcurrentLRUCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 描述: 有界 LRU 缓存测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 19:50
+ * @email kfyty725@hotmail.com
+ */
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void computeTest() {
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<>(4);
+        Assert.assertEquals("a1", cache.computeIfAbsent("a", k -> k + 1));
+        Assert.assertEquals("a1", cache.computeIfAbsent("a", k -> k + 2));
+        Assert.assertEquals("a1", cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void evictTest() throws Exception {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(8);
+        for (int i = 0; i < 8; i++) {
+            cache.computeIfAbsent(i, k -> k);
+            Thread.sleep(1);
+        }
+        cache.get(0);
+        cache.computeIfAbsent(8, k -> k);
+        Assert.assertEquals(6, cache.size());
+        Assert.assertEquals(Integer.valueOf(0), cache.get(0));
+        Assert.assertEquals(Integer.valueOf(8), cache.get(8));
+        Assert.assertNull(cache.get(1));
+        Assert.assertNull(cache.get(2));
+        Assert.assertNull(cache.get(3));
+    }
+}
@@ -5,6 +5,10 @@ import lombok.Data;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * 描述:
  *
@@ -51,6 +55,16 @@ public class JsonTest {
         Assert.assertEquals(user.getList(), "[{\"id\":\"5\"},{\"id\":\"6\"}]");
     }
 
+    @Test
+    public void streamTest() {
+        User user = JsonUtil.toObject(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), User.class);
+        Assert.assertEquals(user, JsonUtil.toObject(json, User.class));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonUtil.writeJson(out, user);
+        Assert.assertEquals(out.toString(StandardCharsets.UTF_8), JsonUtil.toJson(user));
+    }
+
     @Data
     private static class User {
         private Long id;
@@ -0,0 +1,86 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.reflect.PropertyPathAccessor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+/**
+ * 描述: 属性路径访问器测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 19:40
+ * @email kfyty725@hotmail.com
+ */
+public class PropertyPathAccessorTest {
+
+    @Test
+    public void getterTest() {
+        User user = new User("kfyty", new Dept("dev", null));
+        Assert.assertEquals("kfyty", PropertyPathAccessor.getAccessor(User.class, "name").getValue(user));
+        Assert.assertEquals("dev", PropertyPathAccessor.getAccessor(User.class, "dept.name").getValue(user));
+    }
+
+    @Test
+    public void fieldTest() {
+        Assert.assertEquals(1, PropertyPathAccessor.getAccessor(Counter.class, "count").getValue(new Counter()));
+    }
+
+    @Test
+    public void nullTest() {
+        User user = new User("kfyty", null);
+        Assert.assertNull(PropertyPathAccessor.getAccessor(User.class, "dept.name").getValue(user));
+        Assert.assertNull(PropertyPathAccessor.getAccessor(User.class, "dept.name").getValue(null));
+    }
+
+    @Test
+    public void runtimeTypeTest() {
+        PropertyPathAccessor accessor = PropertyPathAccessor.getAccessor(User.class, "dept.name");
+        Assert.assertEquals("dev", accessor.getValue(new User("a", new Dept("dev", null))));
+        Assert.assertEquals("sub", accessor.getValue(new User("b", new SubDept("sub", null))));
+        Assert.assertEquals("map", accessor.getValue(new User("c", Collections.singletonMap("name", "map"))));
+    }
+
+    @Test
+    public void mapTest() {
+        Object root = Collections.singletonMap("dept", new Dept("dev", new Dept("parent", null)));
+        Assert.assertEquals("parent", PropertyPathAccessor.getAccessor(root.getClass(), "dept.parent.name").getValue(root));
+    }
+
+    @Test
+    public void cacheTest() {
+        Assert.assertSame(PropertyPathAccessor.getAccessor(User.class, "dept.name"), PropertyPathAccessor.getAccessor(User.class, "dept.name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notExistsTest() {
+        PropertyPathAccessor.getAccessor(User.class, "none");
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class User {
+        private String name;
+        private Object dept;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Dept {
+        private String name;
+        private Dept parent;
+    }
+
+    public static class SubDept extends Dept {
+        public SubDept(String name, Dept parent) {
+            super(name, parent);
+        }
+    }
+
+    public static class Counter {
+        private final int count = 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.kfyty.core;
+
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+/**
+ * 描述: 行映射器缓存测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 20:10
+ * @email kfyty725@hotmail.com
+ */
+public class RowMapperCacheTest {
+
+    @Test
+    public void mapRowMapperTest() throws Exception {
+        Assert.assertSame(ResultSetUtil.getMapRowMapper(resultSet("a", "b")), ResultSetUtil.getMapRowMapper(resultSet("a", "b")));
+        Assert.assertNotSame(ResultSetUtil.getMapRowMapper(resultSet("a,b")), ResultSetUtil.getMapRowMapper(resultSet("a", "b")));
+    }
+
+    @Test
+    public void rowMapperTest() throws Exception {
+        Assert.assertSame(ResultSetUtil.getRowMapper(resultSet("a", "b"), Entity.class), ResultSetUtil.getRowMapper(resultSet("a", "b"), Entity.class));
+        Assert.assertNotSame(ResultSetUtil.getRowMapper(resultSet("a,b"), Entity.class), ResultSetUtil.getRowMapper(resultSet("a", "b"), Entity.class));
+        Assert.assertNotSame(ResultSetUtil.getRowMapper(resultSet("a"), Entity.class), ResultSetUtil.getRowMapper(resultSet("a"), Other.class));
+    }
+
+    private static ResultSet resultSet(String... columnLabels) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(RowMapperCacheTest.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getColumnCount":
+                    return columnLabels.length;
+                case "getColumnLabel":
+                    return columnLabels[(Integer) args[0] - 1];
+                default:
+                    return null;
+            }
+        });
+        return (ResultSet) Proxy.newProxyInstance(RowMapperCacheTest.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> method.getName().equals("getMetaData") ? metaData : null);
+    }
+
+    public static class Entity {
+        private String a;
+        private String b;
+    }
+
+    public static class Other {
+        private String a;
+    }
+}
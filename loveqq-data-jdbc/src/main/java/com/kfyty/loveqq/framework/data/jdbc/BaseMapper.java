@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dialect.DialectProvider;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING;
 import static com.kfyty.loveqq.framework.data.jdbc.sql.dialect.AbstractProvider.PROVIDER_PARAM_ENTITY;
@@ -32,7 +33,7 @@ public interface BaseMapper<PrimaryKey, T> {
      *
      * @param entity 数据
      */
-    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING, batch = true)
     int insertBatch(@Param(PROVIDER_PARAM_ENTITY) List<T> entity);
 
     /**
@@ -61,6 +62,15 @@ public interface BaseMapper<PrimaryKey, T> {
     @Query(provider = DialectProvider.class, value = EMPTY_STRING)
     List<T> selectAll();
 
+    /**
+     * 游标查询所有数据，逐行交由消费者处理，适用于大数据量导出
+     *
+     * @param consumer 消费者
+     * @return 处理的行数
+     */
+    @Query(provider = DialectProvider.class, value = EMPTY_STRING)
+    int selectAll(Consumer<T> consumer);
+
     /**
      * 根据主键更新数据
      *
@@ -74,7 +84,7 @@ public interface BaseMapper<PrimaryKey, T> {
      *
      * @param entity 数据
      */
-    @Execute(provider = DialectProvider.class, value = EMPTY_STRING)
+    @Execute(provider = DialectProvider.class, value = EMPTY_STRING, batch = true)
     int updateBatch(@Param(PROVIDER_PARAM_ENTITY) List<T> entity);
 
     /**
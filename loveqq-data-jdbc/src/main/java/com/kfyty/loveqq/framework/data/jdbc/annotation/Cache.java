@@ -0,0 +1,42 @@
+package com.kfyty.loveqq.framework.data.jdbc.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * 描述: 查询结果缓存配置，用于 {@link Query#cache()}
+ * 缓存 key 为 mapper 方法、渲染后的 SQL 及绑定的参数值，依赖的表存在写入并提交后失效
+ * key 不包含方法参数对象，因此拦截器依据未绑定到 SQL 的方法参数改写 SQL 时，不应配置缓存
+ * 存在进行中的事务时不使用缓存；结果为 null 或无法解析出依赖的表时不缓存
+ * 命中时返回的集合、Map 及数组为副本，但其中的元素及单个实体结果为共享对象，调用方不应修改
+ *
+ * @author kfyty725
+ * @date 2024/7/22 9:30
+ * @email kfyty725@hotmail.com
+ * @see com.kfyty.loveqq.framework.data.jdbc.cache.QueryCache
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cache {
+    /**
+     * 有效期，毫秒，小于等于 0 时仅在依赖的表写入后失效
+     *
+     * @return ttl
+     */
+    long ttl() default 60_000L;
+
+    /**
+     * 该查询最多缓存的结果数量
+     *
+     * @return max size
+     */
+    int maxSize() default 1024;
+
+    /**
+     * 依赖的表名，为空时从查询 SQL 及子查询 SQL 中解析
+     *
+     * @return tables
+     */
+    String[] tables() default {};
+}
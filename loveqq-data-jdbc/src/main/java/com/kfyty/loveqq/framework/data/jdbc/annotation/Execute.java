@@ -41,6 +41,23 @@ public @interface Execute {
      */
     String last() default "";
 
+    /**
+     * 是否批量执行
+     * 为 true 时，方法参数中的第一个集合/数组参数的每个元素将作为该参数分别渲染 SQL，并使用 {@link java.sql.Statement#addBatch()} 批量执行
+     * 返回值为 int/long 时返回总影响行数，驱动未返回影响行数({@link java.sql.Statement#SUCCESS_NO_INFO})时返回 {@link java.sql.Statement#SUCCESS_NO_INFO}；
+     * 返回值为 int[] 时返回驱动返回的每行的影响行数
+     *
+     * @return true if batch
+     */
+    boolean batch() default false;
+
+    /**
+     * 批量执行时，每批次的大小，小于等于 0 时使用全局配置
+     *
+     * @return batch size
+     */
+    int batchSize() default 0;
+
     /**
      * sql 提供 class
      *
@@ -53,6 +53,24 @@ public @interface Query {
      */
     SubQuery[] subQuery() default {};
 
+    /**
+     * 游标查询时每次从数据库获取的行数，小于等于 0 时使用驱动默认值
+     * 仅当返回值为 {@link java.util.stream.Stream}/{@link java.util.Iterator}/Flux，或方法参数包含 {@link java.util.function.Consumer} 时有效
+     *
+     * @return fetch size
+     */
+    int fetchSize() default 0;
+
+    /**
+     * 查询结果缓存，为空时不缓存
+     * eg: @Query(value = "select * from dict where type = #{type}", cache = @Cache(ttl = 300_000))
+     * 游标查询不支持缓存；无法解析出依赖的表时不缓存，此时可通过 {@link Cache#tables()} 显式指定
+     * 命中时返回的集合、Map 及数组为副本，其中的元素及单个实体结果为共享对象，不应修改
+     *
+     * @see Cache
+     */
+    Cache[] cache() default {};
+
     /**
      * sql 提供 class
      *
@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.core.autoconfig.ApplicationContext;
 import com.kfyty.loveqq.framework.core.autoconfig.ImportBeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Bean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Configuration;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanDefinition;
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnMissingBean;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
@@ -30,11 +31,16 @@ import static com.kfyty.loveqq.framework.core.autoconfig.beans.builder.BeanDefin
  */
 @Configuration
 public class MapperAutoConfig implements ImportBeanDefinition {
+    /**
+     * 是否编译动态 SQL 模板
+     */
+    @Value("${k.data.jdbc.template-compile:false}")
+    private boolean templateCompile;
 
     @Bean
     @ConditionalOnMissingBean
     public DynamicProvider<?> dynamicProvider() {
-        return new EnjoyDynamicProvider().setEngine(Engine.createIfAbsent("dynamicProvider", e -> {}));
+        return new EnjoyDynamicProvider().setEngine(Engine.createIfAbsent("dynamicProvider", e -> {})).setCompile(this.templateCompile);
     }
 
     @Bean
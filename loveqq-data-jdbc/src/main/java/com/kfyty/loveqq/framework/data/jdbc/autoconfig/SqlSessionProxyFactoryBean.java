@@ -2,10 +2,13 @@ package com.kfyty.loveqq.framework.data.jdbc.autoconfig;
 
 import com.kfyty.loveqq.framework.core.autoconfig.InitializingBean;
 import com.kfyty.loveqq.framework.core.autoconfig.annotation.Autowired;
+import com.kfyty.loveqq.framework.core.autoconfig.annotation.Value;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.FactoryBean;
+import com.kfyty.loveqq.framework.core.jdbc.StatementCache;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
+import com.kfyty.loveqq.framework.data.jdbc.cache.QueryCache;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.Interceptor;
 import com.kfyty.loveqq.framework.data.jdbc.session.Configuration;
 import com.kfyty.loveqq.framework.data.jdbc.session.SqlSessionProxyFactory;
@@ -41,6 +44,18 @@ public class SqlSessionProxyFactoryBean implements FactoryBean<SqlSessionProxyFa
     @Autowired(required = false)
     private List<Interceptor> interceptors;
 
+    @Autowired(required = false)
+    private QueryCache queryCache;
+
+    /**
+     * 每个物理连接缓存的预编译语句数量，默认不开启
+     * 仅适用于连接池不具备语句缓存的场景
+     *
+     * @see StatementCache
+     */
+    @Value("${k.data.jdbc.statement-cache-size:0}")
+    private int statementCacheSize;
+
     @Override
     public Class<?> getBeanType() {
         return SqlSessionProxyFactory.class;
@@ -58,6 +73,9 @@ public class SqlSessionProxyFactoryBean implements FactoryBean<SqlSessionProxyFa
         if (this.dynamicProvider != null) {
             configuration.setDynamicProvider(this.dynamicProvider);
         }
+        if (this.queryCache != null) {
+            configuration.setQueryCache(this.queryCache);
+        }
         return new SqlSessionProxyFactory(configuration);
     }
 
@@ -66,5 +84,8 @@ public class SqlSessionProxyFactoryBean implements FactoryBean<SqlSessionProxyFa
         if (this.interceptors != null) {
             interceptors.sort(Comparator.comparing(BeanUtil::getBeanOrder));
         }
+        if (this.statementCacheSize > 0) {
+            StatementCache.setCacheSize(this.statementCacheSize);
+        }
     }
 }
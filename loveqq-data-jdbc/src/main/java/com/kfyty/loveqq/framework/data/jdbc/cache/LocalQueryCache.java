@@ -0,0 +1,186 @@
+package com.kfyty.loveqq.framework.data.jdbc.cache;
+
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 描述: 本地查询结果缓存
+ * 每个 mapper 方法对应一个缓存区域，区域记录其依赖的表，表失效时清空整个区域
+ * 超过容量时先淘汰已过期的结果，仍超过时淘汰任意结果
+ * 集合、Map 及数组结果写入及读取时均浅拷贝，调用方修改返回的容器不影响缓存；其中的元素仍为共享对象
+ *
+ * @author kfyty725
+ * @date 2024/7/22 11:00
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class LocalQueryCache implements QueryCache {
+    /**
+     * 缓存区域，key: mapper 方法 id
+     */
+    private final Map<String, Region> regions = new ConcurrentHashMap<>();
+
+    /**
+     * 表的版本
+     */
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 全局版本，全部失效时递增
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    public Object get(QueryCacheKey key) {
+        Region region = this.regions.get(key.getId());
+        return region == null ? null : copy(region.get(key, System.currentTimeMillis()));
+    }
+
+    @Override
+    public long stamp(Collection<String> tables) {
+        long stamp = this.version.get();
+        for (String table : tables) {
+            stamp += this.tableVersions.computeIfAbsent(table, k -> new AtomicLong()).get();
+        }
+        return stamp;
+    }
+
+    @Override
+    public void put(QueryCacheKey key, Object value, Collection<String> tables, long stamp, Cache cache) {
+        if (this.stamp(tables) != stamp) {
+            return;
+        }
+        Region region = this.regions.computeIfAbsent(key.getId(), k -> new Region(cache.maxSize()));
+        region.tables.addAll(tables);
+        region.put(key, copy(value), cache.ttl() > 0 ? System.currentTimeMillis() + cache.ttl() : Long.MAX_VALUE);
+
+        // 写入期间发生失效时移除，失效操作先递增版本再清空区域，因此二者必有其一生效
+        if (this.stamp(tables) != stamp) {
+            region.entries.remove(key);
+        }
+    }
+
+    @Override
+    public void invalidate(Collection<String> tables) {
+        if (tables == null) {
+            this.clear();
+            return;
+        }
+        for (String table : tables) {
+            this.tableVersions.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+        }
+        for (Region region : this.regions.values()) {
+            for (String table : tables) {
+                if (region.tables.contains(table)) {
+                    region.entries.clear();
+                    break;
+                }
+            }
+        }
+        log.debug("invalidate query cache of tables: {}", tables);
+    }
+
+    @Override
+    public void clear() {
+        this.version.incrementAndGet();
+        this.regions.values().forEach(e -> e.entries.clear());
+        log.debug("invalidate all query cache");
+    }
+
+    /**
+     * 浅拷贝集合、Map 及数组结果，其他结果原样返回
+     *
+     * @param value 结果
+     * @return 副本
+     */
+    private static Object copy(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        if ((value instanceof Collection || value instanceof Map) && value instanceof Cloneable) {
+            return ReflectUtil.invokeMethod(value, "clone");
+        }
+        return value;
+    }
+
+    /**
+     * 缓存区域
+     */
+    private static class Region {
+        /**
+         * 最大容量
+         */
+        private final int maxSize;
+
+        /**
+         * 依赖的表
+         */
+        private final Set<String> tables;
+
+        /**
+         * 缓存的结果
+         */
+        private final Map<QueryCacheKey, Entry> entries;
+
+        private Region(int maxSize) {
+            this.maxSize = Math.max(maxSize, 1);
+            this.tables = ConcurrentHashMap.newKeySet();
+            this.entries = new ConcurrentHashMap<>();
+        }
+
+        private Object get(QueryCacheKey key, long now) {
+            Entry entry = this.entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expireAt <= now) {
+                this.entries.remove(key, entry);
+                return null;
+            }
+            return entry.value;
+        }
+
+        private void put(QueryCacheKey key, Object value, long expireAt) {
+            if (this.entries.size() >= this.maxSize && !this.entries.containsKey(key)) {
+                this.evict(System.currentTimeMillis());
+            }
+            this.entries.put(key, new Entry(value, expireAt));
+        }
+
+        private void evict(long now) {
+            this.entries.values().removeIf(e -> e.expireAt <= now);
+            for (Iterator<QueryCacheKey> i = this.entries.keySet().iterator(); i.hasNext() && this.entries.size() >= this.maxSize; ) {
+                i.next();
+                i.remove();
+            }
+        }
+    }
+
+    /**
+     * 缓存的结果
+     */
+    private static class Entry {
+        private final Object value;
+        private final long expireAt;
+
+        private Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.kfyty.loveqq.framework.data.jdbc.cache;
+
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
+
+import java.util.Collection;
+
+/**
+ * 描述: 查询结果缓存
+ * 表名已规范化，见 {@link com.kfyty.loveqq.framework.data.jdbc.util.SQLTableResolveUtil#normalize(String)}
+ * <p>
+ * 为避免查询期间发生的失效被覆盖，查询前先获取依赖表的版本戳，写入缓存时版本戳不一致则放弃写入
+ * 分布式实现可基于表的版本计数器实现版本戳
+ *
+ * @author kfyty725
+ * @date 2024/7/22 10:40
+ * @email kfyty725@hotmail.com
+ * @see LocalQueryCache
+ */
+public interface QueryCache {
+    /**
+     * 获取缓存的结果
+     *
+     * 调用方可能修改返回的结果，因此实现应返回副本或不可变的快照，而不是共享的可变对象
+     *
+     * @param key 缓存 key
+     * @return 结果，不存在或已过期时返回 null
+     */
+    Object get(QueryCacheKey key);
+
+    /**
+     * 获取依赖表的版本戳，任一表失效后版本戳应发生变化
+     *
+     * @param tables 表名
+     * @return 版本戳
+     */
+    long stamp(Collection<String> tables);
+
+    /**
+     * 缓存结果
+     *
+     * @param key    缓存 key
+     * @param value  结果，不为 null
+     * @param tables 依赖的表名
+     * @param stamp  查询前获取的版本戳
+     * @param cache  缓存配置
+     */
+    void put(QueryCacheKey key, Object value, Collection<String> tables, long stamp, Cache cache);
+
+    /**
+     * 使依赖表的缓存失效
+     *
+     * @param tables 表名，为 null 时使全部缓存失效
+     */
+    void invalidate(Collection<String> tables);
+
+    /**
+     * 使全部缓存失效
+     */
+    void clear();
+}
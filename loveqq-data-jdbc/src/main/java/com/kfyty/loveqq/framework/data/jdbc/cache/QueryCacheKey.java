@@ -0,0 +1,90 @@
+package com.kfyty.loveqq.framework.data.jdbc.cache;
+
+import lombok.Getter;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * 描述: 查询结果缓存 key
+ * 包含 mapper 方法、渲染后的 SQL 及绑定的 JDBC 参数值，不包含方法参数对象，因此不依赖其 equals 实现，也不会持有其引用
+ * 数组参数值(eg: byte[])创建时复制，调用方之后修改不影响 key
+ *
+ * @author kfyty725
+ * @date 2024/7/22 10:30
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class QueryCacheKey {
+    /**
+     * mapper 方法 id
+     */
+    private final String id;
+
+    /**
+     * SQL
+     */
+    private final String sql;
+
+    /**
+     * SQL 绑定的参数值
+     */
+    private final Object[] parameters;
+
+    /**
+     * hash
+     */
+    private final int hash;
+
+    public QueryCacheKey(String id, String sql, Object[] parameters) {
+        this.id = id;
+        this.sql = sql;
+        this.parameters = snapshot(parameters);
+        this.hash = 31 * (31 * id.hashCode() + sql.hashCode()) + Arrays.deepHashCode(this.parameters);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryCacheKey)) {
+            return false;
+        }
+        QueryCacheKey other = (QueryCacheKey) o;
+        return this.hash == other.hash &&
+                this.id.equals(other.id) &&
+                this.sql.equals(other.sql) &&
+                Arrays.deepEquals(this.parameters, other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    /**
+     * 复制参数值，其中的数组参数值同时复制
+     *
+     * @param parameters 参数值
+     * @return 副本
+     */
+    private static Object[] snapshot(Object[] parameters) {
+        Object[] snapshot = parameters.clone();
+        for (int i = 0; i < snapshot.length; i++) {
+            Object value = snapshot[i];
+            if (value != null && value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+                System.arraycopy(value, 0, copy, 0, length);
+                snapshot[i] = copy;
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public String toString() {
+        return this.id + " --> " + this.sql + " --> " + Arrays.deepToString(this.parameters);
+    }
+}
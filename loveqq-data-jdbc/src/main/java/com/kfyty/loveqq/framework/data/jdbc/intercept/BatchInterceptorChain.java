@@ -0,0 +1,78 @@
+package com.kfyty.loveqq.framework.data.jdbc.intercept;
+
+import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.data.jdbc.session.BatchExecutor;
+import com.kfyty.loveqq.framework.data.jdbc.session.SqlSession;
+
+import java.lang.annotation.Annotation;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 描述: 批量执行时单行的拦截器链
+ * 拦截器与单行执行时一致，但链末尾不执行语句，而是将该行添加到 {@link BatchExecutor} 的批次中；
+ * 拦截器获取的 {@link PreparedStatement} 为该 SQL 的批次共用的预编译语句，已绑定该行的参数，由批量执行器负责关闭
+ * 由于批次在之后执行，链的返回值为 null
+ *
+ * @author kfyty725
+ * @date 2024/7/09 14:05
+ * @email kfyty725@hotmail.com
+ */
+public class BatchInterceptorChain extends InterceptorChain {
+    /**
+     * 批量执行器
+     */
+    private final BatchExecutor batchExecutor;
+
+    /**
+     * 该行对应的数据
+     */
+    private final Object row;
+
+    /**
+     * 预编译时的 SQL，之后的拦截器修改 SQL 时，仍添加到预编译时的批次
+     */
+    private String preparedSql;
+
+    public BatchInterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters,
+                                 InterceptorPipeline.Stage[] stages, BatchExecutor batchExecutor, Object row) {
+        super(sqlSession, method, annotation, sql, returnType, methodParameters, stages);
+        this.batchExecutor = batchExecutor;
+        this.row = row;
+    }
+
+    @Override
+    protected PreparedStatement preparePreparedStatement() {
+        if (this.getPreparedStatement() == null) {
+            try {
+                this.preparedSql = this.getSql().get();
+                this.setPreparedStatement(this.batchExecutor.prepare(this.preparedSql, this.getMethodParameters().toArray(MethodParameter[]::new)));
+            } catch (SQLException e) {
+                throw new ExecuteInterceptorException(e);
+            }
+        }
+        return this.getPreparedStatement();
+    }
+
+    @Override
+    protected Object processChainResult() {
+        if (this.isHasRet()) {
+            return this.getRetValue();
+        }
+        try {
+            this.preparePreparedStatement();
+            this.batchExecutor.addBatch(this.preparedSql, this.row);
+            return null;
+        } catch (SQLException e) {
+            throw new ExecuteInterceptorException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // 预编译语句由批量执行器关闭
+    }
+}
@@ -0,0 +1,144 @@
+package com.kfyty.loveqq.framework.data.jdbc.intercept;
+
+import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.ParameterBinder;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.ResultSetIterator;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.RowMapper;
+import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
+import com.kfyty.loveqq.framework.data.jdbc.session.SqlSession;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 描述: 游标查询的拦截器链
+ * 拦截器与普通查询时一致，但预编译语句为只进、只读的游标语句，查询拦截器获取的返回值为 {@link ResultSetIterator}，逐行映射；
+ * 由于迭代在链返回之后进行，需要处理每一行的拦截器应通过 {@link #addRowProcessor(Consumer)} 添加行处理器
+ * 链正常返回时，资源由返回的迭代器持有，迭代完毕或关闭时释放；拦截器替换返回值时，需自行关闭该迭代器
+ *
+ * @author kfyty725
+ * @date 2024/7/12 10:30
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class CursorInterceptorChain extends InterceptorChain {
+    /**
+     * 事务
+     */
+    private final Transaction transaction;
+
+    /**
+     * 元素类型
+     */
+    private final Class<?> elementType;
+
+    /**
+     * 每次从数据库获取的行数
+     */
+    private final int fetchSize;
+
+    /**
+     * 该语句预编译的参数绑定器
+     */
+    private final ParameterBinder binder;
+
+    /**
+     * 行处理器，映射每一行后按顺序执行
+     */
+    private final List<Consumer<Object>> rowProcessors;
+
+    /**
+     * 游标迭代器
+     */
+    private ResultSetIterator<?> iterator;
+
+    public CursorInterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters,
+                                  InterceptorPipeline.Stage[] stages, Transaction transaction, Class<?> elementType, int fetchSize, ParameterBinder binder) {
+        super(sqlSession, method, annotation, sql, returnType, methodParameters, stages);
+        this.transaction = transaction;
+        this.elementType = elementType;
+        this.fetchSize = fetchSize;
+        this.binder = binder;
+        this.rowProcessors = new ArrayList<>(2);
+    }
+
+    /**
+     * 添加行处理器
+     *
+     * @param rowProcessor 行处理器
+     */
+    public void addRowProcessor(Consumer<Object> rowProcessor) {
+        this.rowProcessors.add(rowProcessor);
+    }
+
+    @Override
+    protected PreparedStatement preparePreparedStatement() {
+        if (this.getPreparedStatement() == null) {
+            try {
+                PreparedStatement preparedStatement = JdbcUtil.getPreparedStatement(this.transaction.getConnection(), this.getSql().get(), JdbcUtil::cursorPreparedStatement, this.binder, this.getMethodParameters().toArray(MethodParameter[]::new));
+                this.setPreparedStatement(preparedStatement);
+                if (this.fetchSize > 0) {
+                    preparedStatement.setFetchSize(this.fetchSize);
+                }
+            } catch (SQLException e) {
+                throw new ExecuteInterceptorException(e);
+            }
+        }
+        return this.getPreparedStatement();
+    }
+
+    @Override
+    protected Object prepareReturnValue() {
+        if (!this.isHasRet()) {
+            try {
+                ResultSet resultSet = this.prepareResultSet();
+                RowMapper<?> rowMapper = ResultSetUtil.resolveRowMapper(resultSet, this.elementType);
+                this.iterator = new ResultSetIterator<>(this.transaction, this.getPreparedStatement(), resultSet, rs -> this.processRow(rowMapper.mapRow(rs)));
+                this.setRetValue(this.iterator);
+            } catch (SQLException e) {
+                throw new ExecuteInterceptorException(e);
+            }
+        }
+        return this.getRetValue();
+    }
+
+    @Override
+    protected Object processChainResult() {
+        return this.prepareReturnValue();
+    }
+
+    /**
+     * 关闭资源
+     * 迭代器已创建时由迭代器释放，否则关闭语句及结果集，并在自动提交时提交及关闭事务
+     */
+    @Override
+    public void close() {
+        if (this.iterator != null) {
+            this.iterator.close();
+            return;
+        }
+        super.close();
+        try {
+            JdbcUtil.commitTransactionIfNecessary(this.transaction);
+        } catch (SQLException e) {
+            log.error("close cursor transaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    protected Object processRow(Object row) {
+        for (Consumer<Object> rowProcessor : this.rowProcessors) {
+            rowProcessor.accept(row);
+        }
+        return row;
+    }
+}
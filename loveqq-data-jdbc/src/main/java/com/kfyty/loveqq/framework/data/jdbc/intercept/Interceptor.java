@@ -5,6 +5,8 @@ import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.lang.Value;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +23,17 @@ import java.util.stream.Collectors;
  * @email kfyty725@hotmail.com
  */
 public interface Interceptor {
+    /**
+     * 是否拦截该语句，返回 false 时该拦截器的全部拦截方法均不执行；不存在需要执行的拦截器时，语句直接执行，不构建拦截器链
+     * 结果按 mapper 方法及注解缓存，因此不应依赖方法参数
+     *
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @return true if supports
+     */
+    default boolean supports(Method mapperMethod, Annotation annotation) {
+        return true;
+    }
 
     @Order(10)
     default Object intercept(Value<String> sql, SimpleGeneric returnType, List<MethodParameter> parameters, InterceptorChain chain) {
@@ -8,16 +8,14 @@ import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.IOUtil;
 import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
-import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.core.utils.ResultSetUtil;
-import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
 import com.kfyty.loveqq.framework.data.jdbc.session.SqlSession;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -44,7 +42,12 @@ public class InterceptorChain implements AutoCloseable {
     private final Value<String> sql;
     private final SimpleGeneric returnType;
     private final List<MethodParameter> methodParameters;
-    private final Iterator<Map.Entry<Method, Interceptor>> interceptors;
+
+    @Getter(AccessLevel.NONE)
+    private final InterceptorPipeline.Stage[] stages;
+
+    @Getter(AccessLevel.NONE)
+    private int index;
 
     private PreparedStatement preparedStatement;
     private ResultSet resultSet;
@@ -52,13 +55,17 @@ public class InterceptorChain implements AutoCloseable {
     private boolean hasRet;
 
     public InterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters, Iterator<Map.Entry<Method, Interceptor>> interceptors) {
+        this(sqlSession, method, annotation, sql, returnType, methodParameters, compile(interceptors, annotation));
+    }
+
+    public InterceptorChain(SqlSession sqlSession, MethodParameter method, Annotation annotation, String sql, SimpleGeneric returnType, List<MethodParameter> methodParameters, InterceptorPipeline.Stage[] stages) {
         this.sqlSession = sqlSession;
         this.mapperMethod = method;
         this.annotation = annotation;
         this.sql = new Value<>(sql);
         this.returnType = returnType;
         this.methodParameters = methodParameters;
-        this.interceptors = interceptors;
+        this.stages = stages;
     }
 
     public void setPreparedStatement(PreparedStatement preparedStatement) {
@@ -71,14 +78,10 @@ public class InterceptorChain implements AutoCloseable {
     }
 
     public Object proceed() {
-        if (!this.interceptors.hasNext()) {
+        if (this.index >= this.stages.length) {
             return this.processChainResult();
         }
-        Map.Entry<Method, Interceptor> interceptor = this.interceptors.next();
-        if (interceptor.getValue() instanceof QueryInterceptor && this.annotation.annotationType().equals(Execute.class)) {
-            return this.proceed();
-        }
-        return this.retValue = ReflectUtil.invokeMethod(interceptor.getValue(), interceptor.getKey(), this.bindInterceptorParameters(interceptor.getKey()));
+        return this.retValue = this.stages[this.index++].invoke(this);
     }
 
     @Override
@@ -87,45 +90,8 @@ public class InterceptorChain implements AutoCloseable {
         IOUtil.close(this.getResultSet());
     }
 
-    protected Object[] bindInterceptorParameters(Method method) {
-        Parameter[] parameters = method.getParameters();
-        Object[] paramValues = new Object[method.getParameterCount()];
-        for (byte i = 0, size = (byte) parameters.length; i < size; i++) {
-            paramValues[i] = this.doBindParameter(parameters[i]);
-        }
-        return paramValues;
-    }
-
-    protected Object doBindParameter(Parameter parameter) {
-        Class<?> parameterType = parameter.getType();
-        if (MethodParameter.class.equals(parameterType)) {
-            return this.mapperMethod;
-        }
-        if (Annotation.class.isAssignableFrom(parameterType)) {
-            return this.annotation;
-        }
-        if (Value.class.isAssignableFrom(parameterType)) {
-            return this.sql;
-        }
-        if (SimpleGeneric.class.isAssignableFrom(parameterType)) {
-            return this.returnType;
-        }
-        if (List.class.isAssignableFrom(parameterType)) {
-            return this.methodParameters;
-        }
-        if (PreparedStatement.class.isAssignableFrom(parameterType)) {
-            return this.preparePreparedStatement();
-        }
-        if (ResultSet.class.isAssignableFrom(parameterType)) {
-            return this.prepareResultSet();
-        }
-        if (Object.class.equals(parameterType)) {
-            return this.prepareReturnValue();
-        }
-        if (InterceptorChain.class.isAssignableFrom(parameterType)) {
-            return this;
-        }
-        throw new IllegalArgumentException("interceptor parameter bind failed of parameter: " + parameter);
+    private static InterceptorPipeline.Stage[] compile(Iterator<Map.Entry<Method, Interceptor>> interceptors, Annotation annotation) {
+        return InterceptorPipeline.compile(() -> interceptors, annotation);
     }
 
     protected PreparedStatement preparePreparedStatement() {
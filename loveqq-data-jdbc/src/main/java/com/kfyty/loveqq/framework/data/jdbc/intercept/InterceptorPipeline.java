@@ -0,0 +1,253 @@
+package com.kfyty.loveqq.framework.data.jdbc.intercept;
+
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.MethodHandleUtil;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 描述: 编译后的拦截器链
+ * 构建时按顺序解析每个拦截方法的调用器及参数绑定函数，执行时无需反射调用及逐个参数匹配类型
+ * 按 (mapper 方法, 注解) 缓存适用的拦截方法，由 {@link Interceptor#supports(Method, Annotation)} 决定；
+ * 仅剩默认拦截器时不再需要拦截器链，语句直接执行
+ *
+ * @author kfyty725
+ * @date 2024/7/25 10:00
+ * @email kfyty725@hotmail.com
+ */
+public class InterceptorPipeline {
+    /**
+     * 空拦截器链
+     */
+    public static final InterceptorPipeline EMPTY = new InterceptorPipeline(new Stage[0], null);
+
+    /**
+     * 空拦截方法
+     */
+    private static final Stage[] EMPTY_STAGES = new Stage[0];
+
+    /**
+     * 每个 mapper 方法缓存的注解数量，超过后不再缓存，避免每次调用均创建注解的提供者占用过多内存
+     */
+    private static final int ANNOTATION_CACHE_SIZE = 16;
+
+    /**
+     * 排序后的全部拦截方法
+     */
+    private final Stage[] stages;
+
+    /**
+     * 默认拦截器，仅存在该拦截器时无需拦截器链
+     */
+    private final Interceptor defaultInterceptor;
+
+    /**
+     * 适用的拦截方法缓存
+     */
+    private final Map<Method, Map<Annotation, Stage[]>> selectedStages;
+
+    public InterceptorPipeline(Iterable<Map.Entry<Method, Interceptor>> interceptorMethods, Interceptor defaultInterceptor) {
+        this(compile(interceptorMethods), defaultInterceptor);
+    }
+
+    private InterceptorPipeline(Stage[] stages, Interceptor defaultInterceptor) {
+        this.stages = stages;
+        this.defaultInterceptor = defaultInterceptor;
+        this.selectedStages = new WeakConcurrentHashMap<>();
+    }
+
+    public boolean isEmpty() {
+        return this.stages.length == 0;
+    }
+
+    /**
+     * 选择适用于该语句的拦截方法
+     *
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @return 拦截方法，不存在需要执行的拦截器时返回空数组
+     */
+    public Stage[] select(Method mapperMethod, Annotation annotation) {
+        if (this.stages.length == 0) {
+            return EMPTY_STAGES;
+        }
+        Map<Annotation, Stage[]> cache = this.selectedStages.computeIfAbsent(mapperMethod, k -> new ConcurrentHashMap<>(4));
+        Stage[] selected = cache.get(annotation);
+        if (selected == null) {
+            selected = this.doSelect(mapperMethod, annotation);
+            if (cache.size() < ANNOTATION_CACHE_SIZE) {
+                cache.putIfAbsent(annotation, selected);
+            }
+        }
+        return selected;
+    }
+
+    protected Stage[] doSelect(Method mapperMethod, Annotation annotation) {
+        boolean required = false;
+        List<Stage> selected = new ArrayList<>(this.stages.length);
+        Map<Interceptor, Boolean> supports = new IdentityHashMap<>();
+        for (Stage stage : this.stages) {
+            Interceptor interceptor = stage.interceptor;
+            if (interceptor instanceof QueryInterceptor && annotation.annotationType() == Execute.class) {
+                continue;
+            }
+            if (supports.computeIfAbsent(interceptor, e -> e.supports(mapperMethod, annotation))) {
+                selected.add(stage);
+                required |= interceptor != this.defaultInterceptor;
+            }
+        }
+        return required ? selected.toArray(EMPTY_STAGES) : EMPTY_STAGES;
+    }
+
+    /**
+     * 编译拦截方法
+     *
+     * @param interceptorMethods 排序后的拦截方法
+     * @return 拦截方法
+     */
+    public static Stage[] compile(Iterable<Map.Entry<Method, Interceptor>> interceptorMethods) {
+        return compile(interceptorMethods, null);
+    }
+
+    /**
+     * 编译适用于该注解的拦截方法，{@link Execute} 语句不包含 {@link QueryInterceptor}
+     *
+     * @param interceptorMethods 排序后的拦截方法
+     * @param annotation         注解，为 null 时编译全部拦截方法
+     * @return 拦截方法
+     */
+    public static Stage[] compile(Iterable<Map.Entry<Method, Interceptor>> interceptorMethods, Annotation annotation) {
+        boolean execute = annotation != null && annotation.annotationType() == Execute.class;
+        List<Stage> stages = new ArrayList<>();
+        for (Map.Entry<Method, Interceptor> entry : interceptorMethods) {
+            if (!execute || !(entry.getValue() instanceof QueryInterceptor)) {
+                stages.add(new Stage(entry.getValue(), entry.getKey()));
+            }
+        }
+        return stages.toArray(EMPTY_STAGES);
+    }
+
+    /**
+     * 解析拦截方法参数的绑定函数，是拦截方法参数绑定的唯一实现
+     *
+     * @param parameter 参数
+     * @return 绑定函数
+     */
+    protected static ArgumentAdapter resolveArgumentAdapter(Parameter parameter) {
+        Class<?> parameterType = parameter.getType();
+        if (MethodParameter.class.equals(parameterType)) {
+            return InterceptorChain::getMapperMethod;
+        }
+        if (Annotation.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::getAnnotation;
+        }
+        if (Value.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::getSql;
+        }
+        if (SimpleGeneric.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::getReturnType;
+        }
+        if (List.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::getMethodParameters;
+        }
+        if (PreparedStatement.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::preparePreparedStatement;
+        }
+        if (ResultSet.class.isAssignableFrom(parameterType)) {
+            return InterceptorChain::prepareResultSet;
+        }
+        if (Object.class.equals(parameterType)) {
+            return InterceptorChain::prepareReturnValue;
+        }
+        if (InterceptorChain.class.isAssignableFrom(parameterType)) {
+            return chain -> chain;
+        }
+        throw new IllegalArgumentException("interceptor parameter bind failed of parameter: " + parameter);
+    }
+
+    /**
+     * 拦截方法参数的绑定函数
+     */
+    @FunctionalInterface
+    public interface ArgumentAdapter {
+        /**
+         * 从拦截器链获取参数值
+         *
+         * @param chain 拦截器链
+         * @return 参数值
+         */
+        Object resolve(InterceptorChain chain);
+    }
+
+    /**
+     * 拦截方法
+     */
+    public static class Stage {
+        /**
+         * 拦截器
+         */
+        private final Interceptor interceptor;
+
+        /**
+         * 拦截方法
+         */
+        private final Method method;
+
+        /**
+         * 方法调用器
+         */
+        private final MethodInvoker invoker;
+
+        /**
+         * 参数绑定函数
+         */
+        private final ArgumentAdapter[] argumentAdapters;
+
+        public Stage(Interceptor interceptor, Method method) {
+            Parameter[] parameters = method.getParameters();
+            this.interceptor = interceptor;
+            this.method = method;
+            this.invoker = MethodHandleUtil.getMethodInvoker(method);
+            this.argumentAdapters = new ArgumentAdapter[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                this.argumentAdapters[i] = resolveArgumentAdapter(parameters[i]);
+            }
+        }
+
+        public Interceptor getInterceptor() {
+            return this.interceptor;
+        }
+
+        public Method getMethod() {
+            return this.method;
+        }
+
+        /**
+         * 调用拦截方法
+         *
+         * @param chain 拦截器链
+         * @return 返回值
+         */
+        public Object invoke(InterceptorChain chain) {
+            Object[] args = new Object[this.argumentAdapters.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = this.argumentAdapters[i].resolve(chain);
+            }
+            return this.invoker.invoke(this.interceptor, args);
+        }
+    }
+}
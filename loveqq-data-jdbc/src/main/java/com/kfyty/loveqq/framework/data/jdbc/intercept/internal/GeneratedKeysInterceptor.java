@@ -14,6 +14,7 @@ import com.kfyty.loveqq.framework.data.jdbc.annotation.TableId;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.Interceptor;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.sql.Connection;
@@ -44,6 +45,11 @@ public class GeneratedKeysInterceptor implements Interceptor {
     private static final Method INSERT_BATCH = getMethod(BaseMapper.class, "insertBatch", List.class);
     private static final Predicate<Method> INSERT_METHOD_PREDICATE = method -> method.equals(INSERT) || method.equals(INSERT_BATCH);
 
+    @Override
+    public boolean supports(Method mapperMethod, Annotation annotation) {
+        return this.isGeneratedKeysMethod(mapperMethod);
+    }
+
     @Override
     public Object intercept(Value<String> sql, SimpleGeneric returnType, List<MethodParameter> parameters, InterceptorChain chain) {
         if (!INSERT_METHOD_PREDICATE.test(chain.getMapperMethod().getMethod())) {
@@ -71,6 +77,44 @@ public class GeneratedKeysInterceptor implements Interceptor {
         return retValue;
     }
 
+    /**
+     * 是否需要回设主键
+     *
+     * @param mapperMethod mapper 方法
+     * @return true if generated keys
+     */
+    public boolean isGeneratedKeysMethod(Method mapperMethod) {
+        return INSERT_METHOD_PREDICATE.test(mapperMethod);
+    }
+
+    /**
+     * 解析实体的主键属性
+     *
+     * @param entityClass 实体
+     * @return 主键属性，不存在时返回 null
+     */
+    public Field resolvePrimaryKeyField(Class<?> entityClass) {
+        return getFieldMap(entityClass).values().stream().filter(f -> hasAnnotation(f, TableId.class)).findAny().orElse(null);
+    }
+
+    /**
+     * 批量执行后回设主键
+     *
+     * @param statement 已执行批量的语句
+     * @param pkField   主键属性
+     * @param entities  该批次的实体，与生成的主键顺序一致
+     */
+    public void processGeneratedKeys(Statement statement, Field pkField, List<?> entities) {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            List<?> list = ResultSetUtil.processListBaseType(generatedKeys, pkField.getType());
+            for (int i = 0; i < entities.size() && i < list.size(); i++) {
+                setFieldValue(entities.get(i), pkField, list.get(i));
+            }
+        } catch (SQLException e) {
+            throw new ExecuteInterceptorException(e);
+        }
+    }
+
     private Field resolvePrimaryKeyField(Object[] methodArgs) {
         if (CommonUtil.empty(methodArgs)) {
             return null;
@@ -14,6 +14,8 @@ import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
 import com.kfyty.loveqq.framework.data.jdbc.util.ForEachUtil;
 import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +35,13 @@ import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
 @Order(Integer.MIN_VALUE)
 public class IfInternalInterceptor implements Interceptor {
 
+    @Override
+    public boolean supports(Method mapperMethod, Annotation annotation) {
+        If[] ifList = invokeMethod(annotation, "_if");
+        String last = invokeMethod(annotation, "last");
+        return CommonUtil.notEmpty(ifList) || CommonUtil.notEmpty(last);
+    }
+
     @Override
     public Object intercept(Value<String> sql, SimpleGeneric returnType, List<MethodParameter> parameters, InterceptorChain chain) {
         If[] ifList = invokeMethod(chain.getAnnotation(), "_if");
@@ -9,6 +9,7 @@ import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.SubQuery;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.CursorInterceptorChain;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.QueryInterceptor;
 import com.kfyty.loveqq.framework.data.jdbc.session.SqlSession;
@@ -35,6 +36,11 @@ import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
 @Order(Integer.MAX_VALUE)
 public class SubQueryInternalInterceptor implements QueryInterceptor {
 
+    @Override
+    public boolean supports(Method mapperMethod, Annotation annotation) {
+        return annotation instanceof Query && CommonUtil.notEmpty(((Query) annotation).subQuery());
+    }
+
     @Override
     public Object intercept(Object retValue, List<MethodParameter> parameters, InterceptorChain chain) {
         Annotation annotation = chain.getAnnotation();
@@ -42,6 +48,10 @@ public class SubQueryInternalInterceptor implements QueryInterceptor {
             return chain.proceed();
         }
         SubQuery[] subQueries = invokeMethod(annotation, "subQuery");
+        if (chain instanceof CursorInterceptorChain) {
+            ((CursorInterceptorChain) chain).addRowProcessor(e -> this.processSubQuery(chain.getSqlSession(), chain.getMapperMethod().getMethod(), subQueries, e));
+            return chain.proceed();
+        }
         CommonUtil.consumer(retValue, e -> this.processSubQuery(chain.getSqlSession(), chain.getMapperMethod().getMethod(), subQueries, e), Map.Entry::getValue);
         return chain.proceed();
     }
@@ -0,0 +1,37 @@
+package com.kfyty.loveqq.framework.data.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.ParameterBinder;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import lombok.Getter;
+
+/**
+ * 描述: 绑定参数后的 SQL，同时携带该语句预编译的参数绑定器，执行时无需再次编译
+ *
+ * @author kfyty725
+ * @date 2024/7/21 10:40
+ * @email kfyty725@hotmail.com
+ * @see CompiledSQL#bind(java.util.Map)
+ */
+@Getter
+public class BoundSQL extends Pair<String, MethodParameter[]> {
+    /**
+     * 参数绑定器
+     */
+    private final ParameterBinder binder;
+
+    public BoundSQL(String sql, MethodParameter[] params, ParameterBinder binder) {
+        super(sql, params);
+        this.binder = binder;
+    }
+
+    /**
+     * 获取预编译的参数绑定器
+     *
+     * @param sqlParams SQL 及参数
+     * @return 参数绑定器，不存在时返回 null
+     */
+    public static ParameterBinder getBinder(Pair<String, MethodParameter[]> sqlParams) {
+        return sqlParams instanceof BoundSQL ? ((BoundSQL) sqlParams).getBinder() : null;
+    }
+}
@@ -0,0 +1,143 @@
+package com.kfyty.loveqq.framework.data.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.jdbc.ParameterBinder;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 已解析占位符的 SQL
+ * 构建时将 #{} 替换为 ?，并记录 #{}/${} 参数及其参数名称、嵌套属性，绑定时无需再次解析
+ * 同时缓存参数绑定器，参数类型不变时执行无需重新编译
+ *
+ * @author kfyty725
+ * @date 2024/7/09 14:05
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class CompiledSQL {
+    /**
+     * 已将 #{} 替换为 ? 的 SQL
+     */
+    private final String sql;
+
+    /**
+     * #{} 参数，与 ? 顺序一致
+     */
+    private final String[] hashesParameters;
+
+    /**
+     * ${} 参数
+     */
+    private final String[] dollarParameters;
+
+    /**
+     * #{} 参数解析后的参数名称及嵌套属性
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[][] hashesPaths;
+
+    /**
+     * ${} 参数解析后的参数名称及嵌套属性
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[][] dollarPaths;
+
+    /**
+     * 按 ${} 分隔的 SQL 片段，数量比 ${} 参数多一个，不存在 ${} 参数时为 null
+     * 绑定时依次拼接片段与 ${} 参数值，无需逐个替换
+     */
+    @Getter(AccessLevel.NONE)
+    private final String[] sqlSegments;
+
+    /**
+     * 参数绑定器，参数类型不变时复用
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile ParameterBinder parameterBinder;
+
+    public CompiledSQL(String sql) {
+        Value<String> valueSQL = new Value<>(sql);
+        Map<String, List<String>> params = SQLParametersResolveUtil.resolvePlaceholderParameters(valueSQL);
+        this.sql = valueSQL.get();
+        this.hashesParameters = params.get("#").toArray(String[]::new);
+        this.dollarParameters = params.get("$").toArray(String[]::new);
+        this.hashesPaths = resolvePaths(this.hashesParameters);
+        this.dollarPaths = resolvePaths(this.dollarParameters);
+        this.sqlSegments = resolveSegments(this.sql, this.dollarParameters);
+        this.parameterBinder = ParameterBinder.EMPTY;
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param params 方法参数
+     * @return {@link BoundSQL}，包含解析后的 sql、对应的参数数组以及参数绑定器
+     */
+    public BoundSQL bind(Map<String, MethodParameter> params) {
+        MethodParameter[] args = new MethodParameter[this.hashesParameters.length];
+        for (int i = 0; i < this.hashesParameters.length; i++) {
+            args[i] = SQLParametersResolveUtil.resolveParameter(this.hashesParameters[i], this.hashesPaths[i][0], this.hashesPaths[i][1], params);
+        }
+        ParameterBinder binder = this.obtainParameterBinder(args);
+        if (this.dollarParameters.length == 0) {
+            return new BoundSQL(this.sql, args, binder);
+        }
+        StringBuilder builder = new StringBuilder(this.sql.length() + 16 * this.dollarParameters.length);
+        for (int i = 0; i < this.dollarParameters.length; i++) {
+            MethodParameter parameter = SQLParametersResolveUtil.resolveParameter(this.dollarParameters[i], this.dollarPaths[i][0], this.dollarPaths[i][1], params);
+            builder.append(this.sqlSegments[i]).append(parameter.getValue());
+        }
+        return new BoundSQL(builder.append(this.sqlSegments[this.dollarParameters.length]).toString(), args, binder);
+    }
+
+    /**
+     * 获取参数绑定器，参数类型变化时重新编译
+     *
+     * @param args 参数
+     * @return 参数绑定器
+     */
+    private ParameterBinder obtainParameterBinder(MethodParameter[] args) {
+        ParameterBinder binder = this.parameterBinder;
+        if (!binder.isCompatible(args)) {
+            this.parameterBinder = binder = ParameterBinder.compile(args);
+        }
+        return binder;
+    }
+
+    /**
+     * 解析参数名称及嵌套属性
+     */
+    private static String[][] resolvePaths(String[] parameters) {
+        String[][] paths = new String[parameters.length][];
+        for (int i = 0; i < parameters.length; i++) {
+            int index = parameters[i].indexOf('.');
+            paths[i] = index < 0 ? new String[]{parameters[i], null} : new String[]{parameters[i].substring(0, index), parameters[i].substring(index + 1)};
+        }
+        return paths;
+    }
+
+    /**
+     * 按 ${} 分隔 SQL，与占位符解析一致，按出现顺序依次查找 ${ 及其后的第一个 }，因此 ${} 内存在空白时同样可以分隔
+     */
+    private static String[] resolveSegments(String sql, String[] dollarParameters) {
+        if (dollarParameters.length == 0) {
+            return null;
+        }
+        int offset = 0;
+        String[] segments = new String[dollarParameters.length + 1];
+        for (int i = 0; i < dollarParameters.length; i++) {
+            int begin = sql.indexOf("${", offset);
+            int end = sql.indexOf('}', begin);
+            segments[i] = sql.substring(offset, begin);
+            offset = end + 1;
+        }
+        segments[dollarParameters.length] = sql.substring(offset);
+        return segments;
+    }
+}
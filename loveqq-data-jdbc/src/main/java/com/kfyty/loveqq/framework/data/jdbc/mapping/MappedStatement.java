@@ -0,0 +1,186 @@
+package com.kfyty.loveqq.framework.data.jdbc.mapping;
+
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.SubQuery;
+import com.kfyty.loveqq.framework.data.jdbc.sql.Provider;
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
+
+/**
+ * 描述: 编译后的 mapper 语句
+ * 每个 mapper 方法的每个 {@link Query}/{@link Execute} 注解对应一个，首次调用时构建
+ * 静态 SQL 在构建时即完成占位符解析，调用时仅需绑定参数；由 {@link Provider} 提供的 SQL 调用时仍需渲染
+ *
+ * @author kfyty725
+ * @date 2024/7/06 10:20
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class MappedStatement {
+    /**
+     * mapper 方法
+     */
+    private final Method method;
+
+    /**
+     * mapper 方法参数
+     */
+    private final Parameter[] parameters;
+
+    /**
+     * mapper 方法参数名称，已解析 {@link com.kfyty.loveqq.framework.data.jdbc.annotation.Param}
+     */
+    private final String[] parameterNames;
+
+    /**
+     * 注解
+     */
+    private final Annotation annotation;
+
+    /**
+     * 返回值类型，已设置 {@link SimpleGeneric#getMapKey()}
+     */
+    private final SimpleGeneric returnType;
+
+    /**
+     * 游标查询的元素类型，非游标查询时为 null
+     */
+    private final Class<?> elementType;
+
+    /**
+     * 结果处理器 {@link java.util.function.Consumer} 的参数索引，不存在时为 -1
+     */
+    private final int resultHandlerIndex;
+
+    /**
+     * 游标查询每次获取的行数
+     */
+    private final int fetchSize;
+
+    /**
+     * 批量执行的集合/数组参数索引，非批量执行时为 -1
+     */
+    private final int batchParameterIndex;
+
+    /**
+     * 批量执行时每批次的大小，小于等于 0 时使用全局配置
+     */
+    private final int batchSize;
+
+    /**
+     * SQL 提供者，静态 SQL 时为 null
+     */
+    private final Class<?> provider;
+
+    /**
+     * 已解析占位符的 SQL，仅静态 SQL 有效
+     */
+    private final CompiledSQL compiledSQL;
+
+    public MappedStatement(Method method, String[] parameterNames, Annotation annotation, SimpleGeneric returnType) {
+        this(method, parameterNames, annotation, returnType, null, -1);
+    }
+
+    public MappedStatement(Method method, String[] parameterNames, Annotation annotation, SimpleGeneric returnType, Class<?> elementType, int resultHandlerIndex) {
+        this.method = method;
+        this.parameters = method.getParameters();
+        this.parameterNames = parameterNames;
+        this.annotation = annotation;
+        this.returnType = returnType;
+        this.elementType = elementType;
+        this.resultHandlerIndex = resultHandlerIndex;
+        this.fetchSize = annotation instanceof Query ? ((Query) annotation).fetchSize() : 0;
+        this.batchParameterIndex = annotation instanceof Execute && ((Execute) annotation).batch() ? resolveBatchParameterIndex(method) : -1;
+        this.batchSize = annotation instanceof Execute ? ((Execute) annotation).batchSize() : 0;
+        Class<?> provider = invokeMethod(annotation, "provider");
+        if (!provider.equals(Provider.class)) {
+            this.provider = provider;
+            this.compiledSQL = null;
+        } else {
+            String sql = invokeMethod(annotation, "value");
+            if (CommonUtil.empty(sql)) {
+                throw new IllegalArgumentException("SQL statement is empty !");
+            }
+            this.provider = null;
+            this.compiledSQL = new CompiledSQL(sql);
+        }
+    }
+
+    /**
+     * 是否是查询语句
+     */
+    public boolean isQuery() {
+        return this.annotation.annotationType() == Query.class || this.annotation.annotationType() == SubQuery.class;
+    }
+
+    /**
+     * 是否是游标查询
+     */
+    public boolean isCursor() {
+        return this.elementType != null;
+    }
+
+    /**
+     * 是否是批量执行
+     */
+    public boolean isBatch() {
+        return this.batchParameterIndex > -1;
+    }
+
+    /**
+     * 是否是动态 SQL，即由 {@link Provider} 提供
+     */
+    public boolean isDynamic() {
+        return this.provider != null;
+    }
+
+    /**
+     * 将方法参数封装为 Map
+     *
+     * @param args 方法参数
+     * @return 参数 Map
+     */
+    public Map<String, MethodParameter> resolveParameters(Object[] args) {
+        Map<String, MethodParameter> params = new LinkedHashMap<>((int) (this.parameters.length / .75F) + 1);
+        for (int i = 0; i < this.parameters.length; i++) {
+            params.put(this.parameterNames[i], new MethodParameter(this.method, this.parameters[i], args[i], this.parameterNames[i]));
+        }
+        return params;
+    }
+
+    /**
+     * 绑定静态 SQL 参数
+     *
+     * @param params 方法参数
+     * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
+     */
+    public Pair<String, MethodParameter[]> bindSQL(Map<String, MethodParameter> params) {
+        return this.compiledSQL.bind(params);
+    }
+
+    /**
+     * 解析批量执行的参数索引，即第一个集合/数组参数
+     */
+    private static int resolveBatchParameterIndex(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Collection.class.isAssignableFrom(parameterTypes[i]) || parameterTypes[i].isArray()) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("batch execute requires a collection or array parameter: " + method);
+    }
+}
@@ -2,6 +2,7 @@ package com.kfyty.database.jdbc.mapping.enjoy;
 
 import com.jfinal.template.Template;
 import com.kfyty.database.jdbc.mapping.TemplateStatement;
+import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy.CompiledSqlTemplate;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -21,6 +22,11 @@ import lombok.experimental.Accessors;
 public class EnjoyTemplateStatement extends TemplateStatement {
     private Template template;
 
+    /**
+     * 编译后的模板，未开启编译或模板不支持编译时为 null
+     */
+    private CompiledSqlTemplate compiledTemplate;
+
     public EnjoyTemplateStatement(String id, String labelType) {
         super(id, labelType);
     }
@@ -0,0 +1,226 @@
+package com.kfyty.loveqq.framework.data.jdbc.session;
+
+import com.kfyty.loveqq.framework.core.jdbc.ParameterBinder;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.IOUtil;
+import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 描述: 批量执行器
+ * 仅将连续的、渲染后 SQL 相同的行合并为一个批次，SQL 变化时先执行上一个批次，因此各行的执行顺序与添加顺序一致
+ * 相同的 SQL 复用同一个 {@link PreparedStatement}，并按批次大小执行 {@link PreparedStatement#executeBatch()}
+ * 同时打开的预编译语句超过上限时，先执行当前批次并关闭全部预编译语句
+ *
+ * @author kfyty725
+ * @date 2024/7/09 14:05
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+public class BatchExecutor implements AutoCloseable {
+    /**
+     * 同时打开的预编译语句上限
+     */
+    private static final int MAX_OPEN_STATEMENTS = 32;
+
+    /**
+     * 连接
+     */
+    private final Connection connection;
+
+    /**
+     * 批次大小
+     */
+    private final int batchSize;
+
+    /**
+     * 每批次执行后的回调，用于回设主键，可以为空
+     */
+    private final BiConsumer<Statement, List<Object>> batchCallback;
+
+    /**
+     * 按 SQL 缓存的批次，仅当前批次存在未执行的行
+     */
+    private final Map<String, Batch> batches;
+
+    /**
+     * 当前批次
+     */
+    private Batch current;
+
+    /**
+     * 每行的影响行数
+     */
+    private int[] updateCounts;
+
+    /**
+     * 已添加的行数
+     */
+    private int added;
+
+    public BatchExecutor(Connection connection, int batchSize, BiConsumer<Statement, List<Object>> batchCallback) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+        this.batchCallback = batchCallback;
+        this.batches = new LinkedHashMap<>(4);
+        this.updateCounts = new int[Math.min(batchSize, 1024)];
+    }
+
+    /**
+     * 添加一行
+     *
+     * @param sql    SQL
+     * @param params 参数
+     * @param row    该行对应的数据
+     */
+    public void addBatch(String sql, MethodParameter[] params, Object row) throws SQLException {
+        this.prepare(sql, params);
+        this.addBatch(sql, row);
+    }
+
+    /**
+     * 获取该 SQL 的预编译语句并绑定参数，之后需调用 {@link #addBatch(String, Object)} 添加该行
+     *
+     * @param sql    SQL
+     * @param params 参数
+     * @return 预编译语句
+     */
+    public PreparedStatement prepare(String sql, MethodParameter[] params) throws SQLException {
+        Batch batch = this.batches.get(sql);
+        if (this.current != null && this.current != batch) {
+            this.flush(this.current);
+        }
+        if (batch == null) {
+            if (this.batches.size() >= MAX_OPEN_STATEMENTS) {
+                this.close();
+            }
+            PreparedStatement preparedStatement = this.batchCallback == null
+                    ? JdbcUtil.preparedStatement(this.connection, sql)
+                    : JdbcUtil.preparedStatement(this.connection, sql, Statement.RETURN_GENERATED_KEYS);
+            this.batches.put(sql, batch = new Batch(sql, preparedStatement));
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n==>     preparing: {}", sql));
+        }
+        this.current = batch;
+        if (!batch.parameterBinder.isCompatible(params)) {
+            batch.parameterBinder = ParameterBinder.compile(params);
+        }
+        batch.parameterBinder.bind(batch.preparedStatement, params);
+        return batch.preparedStatement;
+    }
+
+    /**
+     * 将已绑定参数的行添加到该 SQL 的批次
+     *
+     * @param sql SQL
+     * @param row 该行对应的数据
+     */
+    public void addBatch(String sql, Object row) throws SQLException {
+        Batch batch = this.current;
+        if (batch == null || !batch.sql.equals(sql)) {
+            throw new IllegalStateException("The SQL statement is not prepared: " + sql);
+        }
+        batch.preparedStatement.addBatch();
+        batch.rows.add(row);
+        batch.indexes.add(this.added++);
+        if (batch.rows.size() >= this.batchSize) {
+            this.flush(batch);
+        }
+    }
+
+    /**
+     * 执行当前批次
+     */
+    public void flush() throws SQLException {
+        if (this.current != null) {
+            this.flush(this.current);
+        }
+    }
+
+    /**
+     * 执行剩余批次，并返回每行的影响行数
+     *
+     * @return 影响行数
+     */
+    public int[] finish() throws SQLException {
+        this.flush();
+        return Arrays.copyOf(this.updateCounts, this.added);
+    }
+
+    @Override
+    public void close() {
+        for (Batch batch : this.batches.values()) {
+            IOUtil.close(batch.preparedStatement);
+        }
+        this.batches.clear();
+        this.current = null;
+    }
+
+    private void flush(Batch batch) throws SQLException {
+        if (batch.rows.isEmpty()) {
+            return;
+        }
+        int[] counts = batch.preparedStatement.executeBatch();
+        if (this.added > this.updateCounts.length) {
+            this.updateCounts = Arrays.copyOf(this.updateCounts, Math.max(this.updateCounts.length << 1, this.added));
+        }
+        for (int i = 0; i < counts.length && i < batch.indexes.size(); i++) {
+            this.updateCounts[batch.indexes.get(i)] = counts[i];
+        }
+        if (this.batchCallback != null) {
+            this.batchCallback.accept(batch.preparedStatement, batch.rows);
+        }
+        batch.rows.clear();
+        batch.indexes.clear();
+        LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==  batch executed: {}", counts.length));
+    }
+
+    /**
+     * 相同 SQL 的批次
+     */
+    private static class Batch {
+        /**
+         * SQL
+         */
+        private final String sql;
+
+        /**
+         * 预编译语句
+         */
+        private final PreparedStatement preparedStatement;
+
+        /**
+         * 当前批次的行
+         */
+        private final List<Object> rows;
+
+        /**
+         * 当前批次的行的添加顺序
+         */
+        private final List<Integer> indexes;
+
+        /**
+         * 参数绑定器，参数类型不变时复用
+         */
+        private ParameterBinder parameterBinder;
+
+        private Batch(String sql, PreparedStatement preparedStatement) {
+            this.sql = sql;
+            this.preparedStatement = preparedStatement;
+            this.rows = new ArrayList<>();
+            this.indexes = new ArrayList<>();
+            this.parameterBinder = ParameterBinder.EMPTY;
+        }
+    }
+}
@@ -7,8 +7,12 @@ import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.support.io.PathMatchingResourcePatternResolver;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import com.kfyty.loveqq.framework.data.jdbc.cache.LocalQueryCache;
+import com.kfyty.loveqq.framework.data.jdbc.cache.QueryCache;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.MappedStatement;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.Interceptor;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorPipeline;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.QueryInterceptor;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.DynamicProvider;
 import lombok.Getter;
@@ -18,15 +22,17 @@ import javax.sql.DataSource;
 import java.lang.reflect.Method;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -71,7 +77,8 @@ public class Configuration {
 
     /**
      * 默认的拦截器
-     * 由于更新 sql 执行时，如果没有查询拦截器，后续不会执行，因此当存在拦截器但是没有查询拦截器时，添加一个默认的拦截器
+     * 由于查询 sql 执行时，如果没有查询拦截器，不会处理查询结果，因此当存在拦截器时，始终添加一个默认的拦截器；
+     * 其他查询拦截器可能仅拦截部分语句，因此即使存在查询拦截器也需要添加
      */
     public static final QueryInterceptor DEFAULT_INTERCEPTOR = new QueryInterceptor() {
         @Override
@@ -104,6 +111,24 @@ public class Configuration {
     @Getter
     private DynamicProvider<?> dynamicProvider;
 
+    /**
+     * 批量执行时，每批次的默认大小
+     */
+    @Getter
+    private int batchSize = 1000;
+
+    /**
+     * 查询结果缓存，仅对配置了 {@link com.kfyty.loveqq.framework.data.jdbc.annotation.Query#cache()} 的查询生效
+     */
+    @Getter
+    private QueryCache queryCache = new LocalQueryCache();
+
+    /**
+     * 是否存在配置了缓存的查询，不存在时写入不解析表，也不注册失效回调
+     */
+    @Getter
+    private volatile boolean queryCacheRegistered;
+
     /**
      * 拦截器
      */
@@ -114,11 +139,21 @@ public class Configuration {
      */
     private Map<Method, Interceptor> interceptorMethodChain;
 
+    /**
+     * 编译后的拦截器链
+     */
+    private InterceptorPipeline interceptorPipeline;
+
     /**
      * 解析的动态模板 statement
      */
     private Map<String, TemplateStatement> templateStatements;
 
+    /**
+     * 编译后的 mapper 语句，key: mapper class
+     */
+    private final Map<Class<?>, Map<Method, MappedStatement[]>> mappedStatements = new ConcurrentHashMap<>();
+
     /**
      * 设置数据源
      *
@@ -152,6 +187,41 @@ public class Configuration {
         return this;
     }
 
+    /**
+     * 设置批量执行时，每批次的默认大小
+     *
+     * @param batchSize 批次大小
+     * @return this
+     */
+    public Configuration setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batch size must be greater than 0");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * 设置查询结果缓存
+     *
+     * @param queryCache 查询结果缓存
+     * @return this
+     */
+    public Configuration setQueryCache(QueryCache queryCache) {
+        this.queryCache = Objects.requireNonNull(queryCache);
+        return this;
+    }
+
+    /**
+     * 注册配置了缓存的查询
+     *
+     * @return this
+     */
+    public Configuration registerCachedQuery() {
+        this.queryCacheRegistered = true;
+        return this;
+    }
+
     /**
      * 设置动态 SQL 提供者
      *
@@ -200,6 +270,17 @@ public class Configuration {
         return Collections.unmodifiableMap(ofNullable(this.templateStatements).orElse(Collections.emptyMap()));
     }
 
+    /**
+     * 获取 mapper 编译后的语句
+     * 由于 {@link com.kfyty.loveqq.framework.data.jdbc.BaseMapper} 的方法返回值依赖于 mapper class，因此需按 mapper class 区分
+     *
+     * @param mapperClass mapper class
+     * @return key: mapper 方法，value: 编译后的语句
+     */
+    public Map<Method, MappedStatement[]> getMappedStatements(Class<?> mapperClass) {
+        return this.mappedStatements.computeIfAbsent(mapperClass, k -> new ConcurrentHashMap<>());
+    }
+
     /**
      * 获取拦截器
      *
@@ -221,6 +302,18 @@ public class Configuration {
         return this.interceptorMethodChain;
     }
 
+    /**
+     * 获取编译后的拦截器链
+     *
+     * @return 拦截器链
+     */
+    public InterceptorPipeline getInterceptorPipeline() {
+        if (this.interceptorPipeline == null) {
+            this.processInterceptorMethodChain();
+        }
+        return this.interceptorPipeline;
+    }
+
     /**
      * 添加拦截器
      *
@@ -232,6 +325,8 @@ public class Configuration {
             this.interceptors = new ArrayList<>(4);
         }
         this.interceptors.add(Objects.requireNonNull(interceptor));
+        this.interceptorMethodChain = null;
+        this.interceptorPipeline = null;
         log.info("add interceptor success: {}", interceptor);
         return this;
     }
@@ -266,30 +361,37 @@ public class Configuration {
         if (this.templateStatements.put(Objects.requireNonNull(templateStatement.getId()), templateStatement) != null) {
             throw new IllegalArgumentException("template statement already exists of id: " + templateStatement.getId());
         }
+        this.mappedStatements.values().forEach(Map::clear);
         return this;
     }
 
     /**
-     * 处理拦截器链
+     * 处理拦截器链，按拦截器及拦截方法的 {@link Order} 稳定排序，并编译为 {@link InterceptorPipeline}
      */
     protected void processInterceptorMethodChain() {
         if (CommonUtil.empty(this.interceptors)) {
             this.interceptorMethodChain = Collections.emptyMap();
+            this.interceptorPipeline = InterceptorPipeline.EMPTY;
             return;
         }
-        if (this.interceptors.stream().noneMatch(e -> e instanceof QueryInterceptor)) {
+        if (!this.interceptors.contains(DEFAULT_INTERCEPTOR)) {
             this.addInterceptor(DEFAULT_INTERCEPTOR);
         }
-        this.interceptorMethodChain = new TreeMap<>(
-                Comparator.comparing((Method e) -> ofNullable(findAnnotation(e.getDeclaringClass(), Order.class)).map(Order::value).orElse(Order.LOWEST_PRECEDENCE))
-                        .thenComparing((Method e) -> findAnnotation(e, Order.class).value())
-        );
+        Predicate<Method> interceptorTest = method -> !method.isDefault() && INTERCEPTOR_METHOD_NAME.equals(method.getName()) && hasAnnotation(method, Order.class);
+        List<Map.Entry<Method, Interceptor>> interceptorMethods = new ArrayList<>();
         for (Interceptor interceptor : this.interceptors) {
-            Predicate<Method> interceptorTest = method -> !method.isDefault() && INTERCEPTOR_METHOD_NAME.equals(method.getName()) && hasAnnotation(method, Order.class);
             List<Method> methods = ReflectUtil.getMethods(interceptor.getClass()).stream().filter(interceptorTest).distinct().collect(Collectors.toList());
             for (Method method : methods) {
-                this.interceptorMethodChain.put(method, interceptor);
+                interceptorMethods.add(new AbstractMap.SimpleImmutableEntry<>(method, interceptor));
             }
         }
+        interceptorMethods.sort(Map.Entry.comparingByKey(
+                Comparator.comparing((Method e) -> ofNullable(findAnnotation(e.getDeclaringClass(), Order.class)).map(Order::value).orElse(Order.LOWEST_PRECEDENCE))
+                        .thenComparing((Method e) -> findAnnotation(e, Order.class).value())
+        ));
+        Map<Method, Interceptor> interceptorMethodChain = new LinkedHashMap<>();
+        interceptorMethods.forEach(e -> interceptorMethodChain.putIfAbsent(e.getKey(), e.getValue()));
+        this.interceptorMethodChain = Collections.unmodifiableMap(interceptorMethodChain);
+        this.interceptorPipeline = new InterceptorPipeline(interceptorMethods, DEFAULT_INTERCEPTOR);
     }
 }
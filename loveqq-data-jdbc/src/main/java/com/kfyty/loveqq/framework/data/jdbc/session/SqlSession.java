@@ -4,37 +4,67 @@ import com.kfyty.database.jdbc.exception.ExecuteInterceptorException;
 import com.kfyty.loveqq.framework.core.generic.Generic;
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import com.kfyty.loveqq.framework.core.jdbc.mapping.ResultSetIterator;
 import com.kfyty.loveqq.framework.core.jdbc.transaction.Transaction;
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.JdbcUtil;
+import com.kfyty.loveqq.framework.core.utils.LogUtil;
 import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.data.jdbc.BaseMapper;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.If;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.SubQuery;
+import com.kfyty.loveqq.framework.data.jdbc.cache.QueryCache;
+import com.kfyty.loveqq.framework.data.jdbc.cache.QueryCacheKey;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.BatchInterceptorChain;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.CursorInterceptorChain;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.Interceptor;
 import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorPipeline;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.QueryInterceptor;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.internal.GeneratedKeysInterceptor;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.internal.IfInternalInterceptor;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.BoundSQL;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.CompiledSQL;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.MappedStatement;
 import com.kfyty.loveqq.framework.data.jdbc.sql.Provider;
 import com.kfyty.loveqq.framework.data.jdbc.sql.ProviderAdapter;
 import com.kfyty.loveqq.framework.data.jdbc.util.AnnotationInstantiateUtil;
 import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLTableResolveUtil;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.findAnnotations;
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.flatRepeatableAnnotation;
@@ -62,16 +92,35 @@ public class SqlSession implements InvocationHandler {
      */
     private final ProviderAdapter providerAdapter;
 
+    /**
+     * 批量执行时 {@link If} 注解处理器
+     */
+    private static final IfInternalInterceptor IF_PROCESSOR = new IfInternalInterceptor();
+
+    /**
+     * 编译后的语句
+     */
+    @ToString.Exclude
+    private final Map<Method, MappedStatement[]> mappedStatements;
+
     /**
      * 配置
      */
     @ToString.Exclude
     private final Configuration configuration;
 
+    /**
+     * 查询结果缓存的 mapper 方法 id
+     */
+    @ToString.Exclude
+    private final Map<Method, String> queryCacheIds = new ConcurrentHashMap<>();
+
     public SqlSession(Class<?> mapperClass, Configuration configuration) {
         this.mapperClass = mapperClass;
         this.configuration = configuration;
         this.providerAdapter = new ProviderAdapter(configuration);
+        this.mappedStatements = configuration.getMappedStatements(mapperClass);
+        this.registerCachedQueries();
     }
 
     /**
@@ -101,15 +150,14 @@ public class SqlSession implements InvocationHandler {
         if (Object.class.equals(method.getDeclaringClass())) {
             return method.invoke(this, args);
         }
-        SimpleGeneric returnType = this.processReturnType(method);
-        Annotation[] annotations = this.processAnnotation(method);
-        Map<String, MethodParameter> methodParameter = SQLParametersResolveUtil.processMethodParameters(method, args);
-        if (annotations.length == 1) {
-            return this.requestExecuteSQL(method, new Value<>(annotations[0]), returnType, methodParameter);
+        MappedStatement[] statements = this.obtainMappedStatements(method);
+        Map<String, MethodParameter> methodParameter = statements[0].resolveParameters(args);
+        if (statements.length == 1) {
+            return this.requestExecuteSQL(statements[0], methodParameter);
         }
-        List<Object> os = new ArrayList<>();
-        for (Annotation annotation : annotations) {
-            os.add(this.requestExecuteSQL(method, new Value<>(annotation), returnType, methodParameter));
+        List<Object> os = new ArrayList<>(statements.length);
+        for (MappedStatement statement : statements) {
+            os.add(this.requestExecuteSQL(statement, methodParameter));
         }
         return os;
     }
@@ -126,22 +174,488 @@ public class SqlSession implements InvocationHandler {
         SQLParametersResolveUtil.checkMapKey(annotation.get(), returnType);
         final String sql = this.resolveSQL(mapperMethod, annotation, params);
         final Pair<String, MethodParameter[]> sqlParams = SQLParametersResolveUtil.resolveSQL(sql, params);
+        return this.requestExecuteSQL(mapperMethod, annotation.get(), returnType, sqlParams, params);
+    }
+
+    /**
+     * 执行编译后的语句，静态 SQL 仅绑定参数，动态 SQL 由提供者渲染并解析参数
+     *
+     * @param statement 编译后的语句
+     * @param params    参数
+     * @return 返回值
+     */
+    public Object requestExecuteSQL(MappedStatement statement, Map<String, MethodParameter> params) throws SQLException {
+        if (statement.isBatch()) {
+            return this.requestExecuteBatch(statement, params);
+        }
+        if (!statement.isDynamic()) {
+            Pair<String, MethodParameter[]> sqlParams = statement.bindSQL(params);
+            if (statement.isCursor()) {
+                return this.requestCursorQuery(statement, sqlParams, params);
+            }
+            return this.requestExecuteSQL(statement.getMethod(), statement.getAnnotation(), statement.getReturnType(), sqlParams, params);
+        }
+        Value<Annotation> annotation = new Value<>(statement.getAnnotation());
+        Pair<String, MethodParameter[]> sqlParams = this.providerAdapter.doProvideSQL(statement.getProvider(), this.mapperClass, statement.getMethod(), annotation, params);
+        if (statement.isCursor()) {
+            return this.requestCursorQuery(statement, sqlParams, params);
+        }
+        return this.requestExecuteSQL(statement.getMethod(), annotation.get(), statement.getReturnType(), sqlParams, params);
+    }
+
+    /**
+     * 执行游标查询，逐行映射结果
+     * 返回 {@link Stream}/{@link Iterator}/Flux 时，连接及事务在其关闭时释放，因此调用方必须关闭；
+     * 存在 {@link Consumer} 参数时，处理完毕后即释放
+     * 存在适用的拦截器时经过 {@link CursorInterceptorChain}，查询拦截器获取的返回值为 {@link ResultSetIterator}
+     *
+     * @param statement 编译后的语句
+     * @param sqlParams SQL 及参数
+     * @param params    方法参数
+     * @return 返回值
+     */
+    @SuppressWarnings("unchecked")
+    protected Object requestCursorQuery(MappedStatement statement, Pair<String, MethodParameter[]> sqlParams, Map<String, MethodParameter> params) throws SQLException {
         final Transaction before = TransactionHolder.currentTransaction(false);
+        final Boolean beforeReadOnly = this.prepareReadOnly(before, statement.getAnnotation());
         try {
             Transaction transaction = this.getTransaction();
-            if (notEmpty(this.configuration.getInterceptorMethodChain())) {
-                MethodParameter method = new MethodParameter(mapperMethod, params.values().toArray(MethodParameter[]::new));
-                return this.invokeInterceptorChain(method, annotation.get(), sqlParams, returnType);
+            InterceptorPipeline.Stage[] stages = this.configuration.getInterceptorPipeline().select(statement.getMethod(), statement.getAnnotation());
+            if (statement.getResultHandlerIndex() > -1) {
+                Consumer<Object> consumer = (Consumer<Object>) params.get(statement.getParameterNames()[statement.getResultHandlerIndex()]).getValue();
+                int total = stages.length > 0
+                        ? this.invokeCursorInterceptorChain(transaction, statement, sqlParams, params, stages, consumer)
+                        : JdbcUtil.queryForEach(transaction, (Class<Object>) statement.getElementType(), statement.getFetchSize(), consumer, sqlParams.getKey(), BoundSQL.getBinder(sqlParams), sqlParams.getValue());
+                Class<?> returnType = statement.getMethod().getReturnType();
+                return returnType == int.class || returnType == Integer.class ? (Object) total : null;
+            }
+            Object cursor = stages.length > 0
+                    ? this.invokeCursorInterceptorChain(transaction, statement, sqlParams, params, stages)
+                    : JdbcUtil.queryCursor(transaction, statement.getElementType(), statement.getFetchSize(), sqlParams.getKey(), BoundSQL.getBinder(sqlParams), sqlParams.getValue());
+            Class<?> returnType = statement.getReturnType().getSourceType();
+            if (!(cursor instanceof ResultSetIterator) || Iterator.class.isAssignableFrom(returnType)) {
+                return cursor;
             }
-            if (annotation.get().annotationType() == Query.class || annotation.get().annotationType() == SubQuery.class) {
-                return JdbcUtil.query(transaction, returnType, sqlParams.getKey(), sqlParams.getValue());
+            if (Stream.class.isAssignableFrom(returnType)) {
+                return ((ResultSetIterator<?>) cursor).stream();
             }
-            return JdbcUtil.execute(transaction, sqlParams.getKey(), sqlParams.getValue());
+            return ReactorCursorAdapter.toFlux((ResultSetIterator<?>) cursor);
         } finally {
+            TransactionHolder.setCurrentReadOnly(beforeReadOnly);
             TransactionHolder.resetCurrentTransaction(before);
         }
     }
 
+    /**
+     * 批量执行
+     * 集合/数组参数的每个元素分别作为该参数渲染 SQL，连续的相同 SQL 共用一个预编译语句批量执行
+     * 每行渲染后的 SQL 与单行执行时一样经过拦截器链，链末尾将该行添加到批次中；
+     * 其中 {@link Execute#_if()}/{@link Execute#last()} 在渲染时处理，{@link GeneratedKeysInterceptor} 在每批次执行后回设主键
+     *
+     * @param statement 编译后的语句
+     * @param params    参数
+     * @return 总影响行数，返回值为 int[] 时返回每行的影响行数
+     */
+    protected Object requestExecuteBatch(MappedStatement statement, Map<String, MethodParameter> params) throws SQLException {
+        final String batchParameterName = statement.getParameterNames()[statement.getBatchParameterIndex()];
+        final List<?> rows = CommonUtil.toList(params.get(batchParameterName).getValue());
+        final int batchSize = statement.getBatchSize() > 0 ? statement.getBatchSize() : this.configuration.getBatchSize();
+        final Transaction before = TransactionHolder.currentTransaction(false);
+        final Transaction transaction = this.getTransaction();
+        try {
+            int[] updateCounts;
+            Set<String> sqls = new HashSet<>(4);
+            Map<String, CompiledSQL> compiledSQLs = new HashMap<>(4);
+            Map<String, MethodParameter> rowParams = new LinkedHashMap<>(params);
+            Map<InterceptorPipeline.Stage[], InterceptorPipeline.Stage[]> batchStages = new IdentityHashMap<>(4);
+            try (BatchExecutor executor = new BatchExecutor(transaction.getConnection(), batchSize, this.obtainGeneratedKeysCallback(statement, rows))) {
+                for (Object row : rows) {
+                    rowParams.put(batchParameterName, new MethodParameter(row == null ? Object.class : row.getClass(), row, batchParameterName));
+                    Value<Annotation> annotation = new Value<>(statement.getAnnotation());
+                    Pair<String, MethodParameter[]> sqlParams = this.resolveBatchSQL(statement, annotation, rowParams, compiledSQLs);
+                    InterceptorPipeline.Stage[] stages = this.selectBatchStages(statement.getMethod(), annotation.get(), batchStages);
+                    if (stages.length == 0) {
+                        executor.addBatch(sqlParams.getKey(), sqlParams.getValue(), row);
+                        sqls.add(sqlParams.getKey());
+                        continue;
+                    }
+                    MethodParameter method = new MethodParameter(statement.getMethod(), rowParams.values().toArray(MethodParameter[]::new));
+                    List<MethodParameter> methodParameters = new ArrayList<>(Arrays.asList(sqlParams.getValue()));
+                    try (InterceptorChain chain = new BatchInterceptorChain(this, method, annotation.get(), sqlParams.getKey(), statement.getReturnType(), methodParameters, stages, executor, row)) {
+                        chain.proceed();
+                        sqls.add(chain.getSql().get());
+                    }
+                }
+                updateCounts = executor.finish();
+            }
+            this.invalidateQueryCache(transaction, sqls);
+            return this.processBatchResult(statement, updateCounts);
+        } catch (SQLException | RuntimeException e) {
+            transaction.rollback();
+            log.error("execute batch SQL statement error: {} --> rows: {}", statement.getMethod(), rows.size());
+            throw e;
+        } finally {
+            JdbcUtil.commitTransactionIfNecessary(transaction);
+            TransactionHolder.resetCurrentTransaction(before);
+        }
+    }
+
+    /**
+     * 执行 SQL
+     *
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @param returnType   返回值类型
+     * @param sqlParams    SQL 及参数
+     * @param params       方法参数
+     * @return 返回值
+     */
+    protected Object requestExecuteSQL(Method mapperMethod, Annotation annotation, SimpleGeneric returnType, Pair<String, MethodParameter[]> sqlParams, Map<String, MethodParameter> params) throws SQLException {
+        final Transaction before = TransactionHolder.currentTransaction(false);
+        final Boolean beforeReadOnly = this.prepareReadOnly(before, annotation);
+        try {
+            Transaction transaction = this.getTransaction();
+            if (annotation instanceof Query && ((Query) annotation).cache().length > 0 && !transaction.isActive()) {
+                return this.requestCachedQuery(transaction, mapperMethod, (Query) annotation, returnType, sqlParams, params);
+            }
+            Object retValue = this.doExecuteSQL(transaction, mapperMethod, annotation, returnType, sqlParams, params);
+            if (annotation.annotationType() == Execute.class) {
+                this.invalidateQueryCache(transaction, Collections.singletonList(sqlParams.getKey()));
+            }
+            return retValue;
+        } finally {
+            TransactionHolder.setCurrentReadOnly(beforeReadOnly);
+            TransactionHolder.resetCurrentTransaction(before);
+        }
+    }
+
+    /**
+     * 执行 SQL
+     *
+     * @param transaction  事务
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @param returnType   返回值类型
+     * @param sqlParams    SQL 及参数
+     * @param params       方法参数
+     * @return 返回值
+     */
+    protected Object doExecuteSQL(Transaction transaction, Method mapperMethod, Annotation annotation, SimpleGeneric returnType, Pair<String, MethodParameter[]> sqlParams, Map<String, MethodParameter> params) throws SQLException {
+        InterceptorPipeline.Stage[] stages = this.configuration.getInterceptorPipeline().select(mapperMethod, annotation);
+        if (stages.length > 0) {
+            MethodParameter method = new MethodParameter(mapperMethod, params.values().toArray(MethodParameter[]::new));
+            return this.invokeInterceptorChain(method, annotation, sqlParams, returnType, stages);
+        }
+        if (annotation.annotationType() == Query.class || annotation.annotationType() == SubQuery.class) {
+            return JdbcUtil.query(transaction, returnType, sqlParams.getKey(), BoundSQL.getBinder(sqlParams), sqlParams.getValue());
+        }
+        return JdbcUtil.execute(transaction, sqlParams.getKey(), BoundSQL.getBinder(sqlParams), sqlParams.getValue());
+    }
+
+    /**
+     * 执行带结果缓存的查询，结果包含子查询的结果
+     * 未命中时，先获取依赖表的版本戳再查询，避免查询期间发生的失效被覆盖
+     * 无法解析出依赖的表时，写入无法使其失效，因此不缓存
+     *
+     * @param transaction  事务
+     * @param mapperMethod mapper 方法
+     * @param query        查询注解
+     * @param returnType   返回值类型
+     * @param sqlParams    SQL 及参数
+     * @param params       方法参数
+     * @return 返回值
+     */
+    protected Object requestCachedQuery(Transaction transaction, Method mapperMethod, Query query, SimpleGeneric returnType, Pair<String, MethodParameter[]> sqlParams, Map<String, MethodParameter> params) throws SQLException {
+        QueryCache queryCache = this.configuration.getQueryCache();
+        QueryCacheKey key = this.buildQueryCacheKey(mapperMethod, sqlParams);
+        Object cached = queryCache.get(key);
+        if (cached != null) {
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==     cache hit: {}", key));
+            return cached;
+        }
+        Cache cache = query.cache()[0];
+        Collection<String> tables = this.resolveQueryTables(cache, query, sqlParams.getKey());
+        if (tables.isEmpty()) {
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==  cache skipped: no table resolved of {}", key.getId()));
+            return this.doExecuteSQL(transaction, mapperMethod, query, returnType, sqlParams, params);
+        }
+        long stamp = queryCache.stamp(tables);
+        Object retValue = this.doExecuteSQL(transaction, mapperMethod, query, returnType, sqlParams, params);
+        if (retValue != null) {
+            queryCache.put(key, retValue, tables, stamp, cache);
+        }
+        return retValue;
+    }
+
+    /**
+     * 写入的事务提交后，使依赖写入表的查询结果缓存失效
+     * 不存在配置了缓存的查询时，不解析写入的表
+     *
+     * @param transaction 事务
+     * @param sqls        执行的更新 SQL
+     */
+    protected void invalidateQueryCache(Transaction transaction, Collection<String> sqls) throws SQLException {
+        if (!this.configuration.isQueryCacheRegistered()) {
+            return;
+        }
+        QueryCache queryCache = this.configuration.getQueryCache();
+        Set<String> tables = SQLTableResolveUtil.resolveUpdateTables(sqls);
+        transaction.afterCommit(() -> queryCache.invalidate(tables));
+    }
+
+    /**
+     * 构建查询结果缓存 key，由渲染后的 SQL 及绑定的参数值组成
+     *
+     * @param mapperMethod mapper 方法
+     * @param sqlParams    SQL 及参数
+     * @return 缓存 key
+     */
+    protected QueryCacheKey buildQueryCacheKey(Method mapperMethod, Pair<String, MethodParameter[]> sqlParams) {
+        String id = this.queryCacheIds.computeIfAbsent(mapperMethod, k -> this.mapperClass.getName() + '.' + k.getName() + '#' + k.getParameterCount());
+        MethodParameter[] sqlParameters = sqlParams.getValue();
+        Object[] parameters = new Object[sqlParameters == null ? 0 : sqlParameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            parameters[i] = sqlParameters[i].getValue();
+        }
+        return new QueryCacheKey(id, sqlParams.getKey(), parameters);
+    }
+
+    /**
+     * 解析查询依赖的表，未显式指定时从查询 SQL 及子查询 SQL 中解析
+     *
+     * @param cache 缓存配置
+     * @param query 查询注解
+     * @param sql   查询 SQL
+     * @return 表名
+     */
+    protected Collection<String> resolveQueryTables(Cache cache, Query query, String sql) {
+        if (cache.tables().length > 0) {
+            return Arrays.stream(cache.tables()).map(SQLTableResolveUtil::normalize).collect(Collectors.toSet());
+        }
+        SubQuery[] subQueries = query.subQuery();
+        String[] sqls = new String[subQueries.length + 1];
+        sqls[0] = sql;
+        for (int i = 0; i < subQueries.length; i++) {
+            sqls[i + 1] = subQueries[i].value();
+        }
+        return SQLTableResolveUtil.resolveQueryTables(sqls);
+    }
+
+    /**
+     * 设置只读提示，以便读写分离数据源将查询路由到从库
+     * 仅在当前不存在事务，且未显式指定只读提示时设置；已存在事务时，沿用事务的连接
+     *
+     * @param before     执行前的事务
+     * @param annotation mapper 方法注解
+     * @return 设置前的只读提示
+     */
+    protected Boolean prepareReadOnly(Transaction before, Annotation annotation) {
+        Boolean readOnly = TransactionHolder.currentReadOnly();
+        if (before == null && readOnly == null && (annotation.annotationType() == Query.class || annotation.annotationType() == SubQuery.class)) {
+            TransactionHolder.setCurrentReadOnly(true);
+        }
+        return readOnly;
+    }
+
+    /**
+     * 获取编译后的语句，首次调用时编译并缓存到 {@link Configuration}
+     *
+     * @param method mapper 方法
+     * @return 编译后的语句
+     */
+    protected MappedStatement[] obtainMappedStatements(Method method) {
+        MappedStatement[] statements = this.mappedStatements.get(method);
+        if (statements == null) {
+            statements = this.mappedStatements.computeIfAbsent(method, this::compileMappedStatements);
+        }
+        return statements;
+    }
+
+    /**
+     * mapper 存在配置了缓存的查询时，向配置注册，之后的写入才会解析表并使缓存失效
+     * 在创建代理时注册，以保证首次查询前已注册
+     */
+    protected void registerCachedQueries() {
+        for (Method method : this.mapperClass.getMethods()) {
+            for (Annotation annotation : flatRepeatableAnnotation(findAnnotations(method))) {
+                if (annotation.annotationType() == Query.class && ((Query) annotation).cache().length > 0) {
+                    this.configuration.registerCachedQuery();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 编译 mapper 方法，每个注解对应一个语句
+     *
+     * @param method mapper 方法
+     * @return 编译后的语句
+     */
+    protected MappedStatement[] compileMappedStatements(Method method) {
+        Annotation[] annotations = this.processAnnotation(method);
+        String[] parameterNames = SQLParametersResolveUtil.resolveParameterNames(method);
+        int resultHandlerIndex = this.resolveResultHandlerIndex(method);
+        MappedStatement[] statements = new MappedStatement[annotations.length];
+        for (int i = 0; i < annotations.length; i++) {
+            SimpleGeneric returnType = this.processReturnType(method);
+            SQLParametersResolveUtil.checkMapKey(annotations[i], returnType);
+            if (annotations[i].annotationType() != Query.class) {
+                statements[i] = new MappedStatement(method, parameterNames, annotations[i], returnType);
+                continue;
+            }
+            Class<?> elementType = this.resolveCursorElementType(method, returnType, resultHandlerIndex);
+            statements[i] = new MappedStatement(method, parameterNames, annotations[i], returnType, elementType, elementType == null ? -1 : resultHandlerIndex);
+        }
+        return statements;
+    }
+
+    /**
+     * 解析结果处理器参数索引
+     *
+     * @param method mapper 方法
+     * @return 参数索引，不存在时返回 -1
+     */
+    private int resolveResultHandlerIndex(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (Consumer.class.isAssignableFrom(parameterTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 解析游标查询的元素类型
+     *
+     * @param method             mapper 方法
+     * @param returnType         返回值类型
+     * @param resultHandlerIndex 结果处理器参数索引
+     * @return 元素类型，非游标查询时返回 null
+     */
+    private Class<?> resolveCursorElementType(Method method, SimpleGeneric returnType, int resultHandlerIndex) {
+        SimpleGeneric cursorType = null;
+        if (resultHandlerIndex > -1) {
+            cursorType = SimpleGeneric.from(method.getParameters()[resultHandlerIndex]);
+        } else if (isCursorType(returnType.getSourceType())) {
+            cursorType = returnType;
+        }
+        if (cursorType == null) {
+            return null;
+        }
+        if (method.getDeclaringClass().equals(BaseMapper.class)) {
+            return ReflectUtil.getSuperGeneric(this.mapperClass, 1);
+        }
+        return cursorType.hasGeneric() ? cursorType.getFirst().get() : Object.class;
+    }
+
+    /**
+     * 是否是游标查询返回值类型
+     *
+     * @param returnType 返回值类型
+     * @return true if cursor type
+     */
+    private static boolean isCursorType(Class<?> returnType) {
+        return Stream.class.isAssignableFrom(returnType) || Iterator.class.equals(returnType) || ReactorCursorAdapter.isFlux(returnType);
+    }
+
+    /**
+     * 渲染批量执行时单行的 SQL，相同的 SQL 仅解析一次占位符
+     *
+     * @param statement    编译后的语句
+     * @param annotation   注解，动态 SQL 时为提供者处理后的注解
+     * @param params       该行的参数
+     * @param compiledSQLs 已解析占位符的 SQL
+     * @return SQL 及参数
+     */
+    private Pair<String, MethodParameter[]> resolveBatchSQL(MappedStatement statement, Value<Annotation> annotation, Map<String, MethodParameter> params, Map<String, CompiledSQL> compiledSQLs) {
+        Execute execute = (Execute) annotation.get();
+        String sql = execute.value();
+        if (statement.isDynamic()) {
+            sql = this.providerAdapter.doProvide(statement.getProvider(), this.mapperClass, statement.getMethod(), annotation, params);
+            execute = (Execute) annotation.get();
+        }
+        If[] ifs = execute._if();
+        if (notEmpty(ifs)) {
+            sql = IF_PROCESSOR.processIf(new Value<>(sql), execute.last(), ifs, params);
+        } else if (notEmpty(execute.last())) {
+            sql = sql + ' ' + execute.last();
+        }
+        return compiledSQLs.computeIfAbsent(sql, CompiledSQL::new).bind(params);
+    }
+
+    /**
+     * 选择批量执行时单行的拦截方法，排除批量执行已处理的 {@link IfInternalInterceptor} 及 {@link GeneratedKeysInterceptor}
+     *
+     * @param mapperMethod mapper 方法
+     * @param annotation   注解
+     * @param batchStages  已选择的拦截方法
+     * @return 拦截方法，不存在需要执行的拦截器时返回空数组
+     */
+    private InterceptorPipeline.Stage[] selectBatchStages(Method mapperMethod, Annotation annotation, Map<InterceptorPipeline.Stage[], InterceptorPipeline.Stage[]> batchStages) {
+        InterceptorPipeline.Stage[] stages = this.configuration.getInterceptorPipeline().select(mapperMethod, annotation);
+        if (stages.length == 0) {
+            return stages;
+        }
+        return batchStages.computeIfAbsent(stages, k -> {
+            List<InterceptorPipeline.Stage> selected = new ArrayList<>(k.length);
+            for (InterceptorPipeline.Stage stage : k) {
+                Interceptor interceptor = stage.getInterceptor();
+                if (!(interceptor instanceof IfInternalInterceptor) && !(interceptor instanceof GeneratedKeysInterceptor) && !(interceptor instanceof QueryInterceptor)) {
+                    selected.add(stage);
+                }
+            }
+            return selected.toArray(new InterceptorPipeline.Stage[0]);
+        });
+    }
+
+    /**
+     * 获取批量执行时回设主键的回调
+     *
+     * @param statement 编译后的语句
+     * @param rows      批量数据
+     * @return 回调，不需要回设主键时返回 null
+     */
+    private BiConsumer<Statement, List<Object>> obtainGeneratedKeysCallback(MappedStatement statement, List<?> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        for (Interceptor interceptor : this.configuration.getInterceptors()) {
+            if (interceptor instanceof GeneratedKeysInterceptor && ((GeneratedKeysInterceptor) interceptor).isGeneratedKeysMethod(statement.getMethod())) {
+                GeneratedKeysInterceptor generatedKeysInterceptor = (GeneratedKeysInterceptor) interceptor;
+                Object entity = rows.stream().filter(Objects::nonNull).findFirst().orElse(null);
+                Field primaryKeyField = entity == null ? null : generatedKeysInterceptor.resolvePrimaryKeyField(entity.getClass());
+                return primaryKeyField == null ? null : (ps, entities) -> generatedKeysInterceptor.processGeneratedKeys(ps, primaryKeyField, entities);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 处理批量执行的返回值
+     * 驱动返回 {@link Statement#SUCCESS_NO_INFO} 时影响行数未知，此时总影响行数也返回 {@link Statement#SUCCESS_NO_INFO}
+     *
+     * @param statement    编译后的语句
+     * @param updateCounts 每行的影响行数
+     * @return 返回值
+     */
+    private Object processBatchResult(MappedStatement statement, int[] updateCounts) {
+        Class<?> returnType = statement.getMethod().getReturnType();
+        if (returnType == int[].class) {
+            return updateCounts;
+        }
+        long total = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount == Statement.SUCCESS_NO_INFO) {
+                total = Statement.SUCCESS_NO_INFO;
+                break;
+            }
+            total += Math.max(updateCount, 0);
+        }
+        return returnType == long.class || returnType == Long.class ? (Object) total : (Object) (int) total;
+    }
+
     /**
      * 解析方法返回值类型
      *
@@ -216,12 +730,12 @@ public class SqlSession implements InvocationHandler {
      * @param annotation   mapper 方法注解
      * @param sqlParams    SQL 相关参数
      * @param returnType   返回值泛型
+     * @param stages       适用的拦截方法
      * @return 执行结果
      */
-    private Object invokeInterceptorChain(MethodParameter mapperMethod, Annotation annotation, Pair<String, MethodParameter[]> sqlParams, SimpleGeneric returnType) {
+    private Object invokeInterceptorChain(MethodParameter mapperMethod, Annotation annotation, Pair<String, MethodParameter[]> sqlParams, SimpleGeneric returnType, InterceptorPipeline.Stage[] stages) {
         Transaction transaction = TransactionHolder.currentTransaction();
-        Iterator<Map.Entry<Method, Interceptor>> iterator = this.configuration.getInterceptorMethodChain().entrySet().iterator();
-        try (InterceptorChain chain = new InterceptorChain(this, mapperMethod, annotation, sqlParams.getKey(), returnType, new ArrayList<>(Arrays.asList(sqlParams.getValue())), iterator)) {
+        try (InterceptorChain chain = new InterceptorChain(this, mapperMethod, annotation, sqlParams.getKey(), returnType, new ArrayList<>(Arrays.asList(sqlParams.getValue())), stages)) {
             Object retValue = chain.proceed();
             if (annotation instanceof SubQuery) {
                 return retValue;
@@ -240,4 +754,96 @@ public class SqlSession implements InvocationHandler {
             }
         }
     }
+
+    /**
+     * 执行游标查询的拦截器链
+     * 正常返回时，资源由返回的游标持有；发生异常时回滚并释放
+     *
+     * @param transaction 事务
+     * @param statement   编译后的语句
+     * @param sqlParams   SQL 及参数
+     * @param params      方法参数
+     * @param stages      适用的拦截方法
+     * @return 游标
+     */
+    private Object invokeCursorInterceptorChain(Transaction transaction, MappedStatement statement, Pair<String, MethodParameter[]> sqlParams,
+                                                Map<String, MethodParameter> params, InterceptorPipeline.Stage[] stages) {
+        CursorInterceptorChain chain = this.createCursorInterceptorChain(transaction, statement, sqlParams, params, stages);
+        try {
+            return chain.proceed();
+        } catch (RuntimeException e) {
+            throw this.rollbackCursorInterceptorChain(transaction, chain, e);
+        }
+    }
+
+    /**
+     * 执行游标查询的拦截器链，并逐行交由消费者处理，处理完毕后释放资源
+     *
+     * @param transaction 事务
+     * @param statement   编译后的语句
+     * @param sqlParams   SQL 及参数
+     * @param params      方法参数
+     * @param stages      适用的拦截方法
+     * @param consumer    消费者
+     * @return 处理的行数
+     */
+    private int invokeCursorInterceptorChain(Transaction transaction, MappedStatement statement, Pair<String, MethodParameter[]> sqlParams,
+                                             Map<String, MethodParameter> params, InterceptorPipeline.Stage[] stages, Consumer<Object> consumer) {
+        int total = 0;
+        CursorInterceptorChain chain = this.createCursorInterceptorChain(transaction, statement, sqlParams, params, stages);
+        try {
+            Object cursor = chain.proceed();
+            Iterator<?> iterator = cursor instanceof Iterator<?> ? (Iterator<?>) cursor : CommonUtil.toList(cursor).iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                total++;
+            }
+        } catch (RuntimeException e) {
+            throw this.rollbackCursorInterceptorChain(transaction, chain, e);
+        } finally {
+            chain.close();
+        }
+        final int count = total;
+        return LogUtil.logIfDebugEnabled(log, log -> log.debug("\r\n<==         total: {}", count), total);
+    }
+
+    private CursorInterceptorChain createCursorInterceptorChain(Transaction transaction, MappedStatement statement, Pair<String, MethodParameter[]> sqlParams,
+                                                                Map<String, MethodParameter> params, InterceptorPipeline.Stage[] stages) {
+        MethodParameter method = new MethodParameter(statement.getMethod(), params.values().toArray(MethodParameter[]::new));
+        return new CursorInterceptorChain(this, method, statement.getAnnotation(), sqlParams.getKey(), statement.getReturnType(), new ArrayList<>(Arrays.asList(sqlParams.getValue())),
+                stages, transaction, statement.getElementType(), statement.getFetchSize(), BoundSQL.getBinder(sqlParams));
+    }
+
+    private RuntimeException rollbackCursorInterceptorChain(Transaction transaction, CursorInterceptorChain chain, RuntimeException e) {
+        try {
+            transaction.rollback();
+            return e;
+        } catch (SQLException ex) {
+            return new ExecuteInterceptorException(ex.getMessage() + ", root cause is " + e.getMessage(), e);
+        } finally {
+            chain.close();
+        }
+    }
+
+    /**
+     * reactor 游标适配，仅 reactor 存在时使用
+     */
+    private static class ReactorCursorAdapter {
+        /**
+         * reactor 是否可用
+         */
+        private static final boolean REACTOR_AVAILABLE = ReflectUtil.isPresent("reactor.core.publisher.Flux");
+
+        private static boolean isFlux(Class<?> returnType) {
+            return REACTOR_AVAILABLE && reactor.core.publisher.Flux.class.isAssignableFrom(returnType);
+        }
+
+        private static Object toFlux(ResultSetIterator<?> iterator) {
+            if (!REACTOR_AVAILABLE) {
+                iterator.close();
+                throw new IllegalStateException("reactor is not present !");
+            }
+            return reactor.core.publisher.Flux.fromStream(iterator.stream());
+        }
+    }
 }
@@ -2,11 +2,13 @@ package com.kfyty.loveqq.framework.data.jdbc.sql;
 
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.data.jdbc.session.Configuration;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dialect.DialectProvider;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dialect.MySQLDialectProvider;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.DynamicProvider;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -91,4 +93,22 @@ public class ProviderAdapter {
         }
         return ((Provider) newInstance(providerClass)).doProvide(mapperClass, sourceMethod, annotation, params);
     }
+
+    /**
+     * 提供 SQL 并解析参数
+     *
+     * @param providerClass SQL provider class
+     * @param mapperClass   mapper class
+     * @param sourceMethod  代理方法
+     * @param annotation    注解
+     * @param params        方法参数
+     * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
+     * @see DynamicProvider#doProvideSQL(Class, Method, Map)
+     */
+    public Pair<String, MethodParameter[]> doProvideSQL(Class<?> providerClass, Class<?> mapperClass, Method sourceMethod, Value<Annotation> annotation, Map<String, MethodParameter> params) {
+        if (DynamicProvider.class.isAssignableFrom(providerClass)) {
+            return this.configuration.getDynamicProvider().doProvideSQL(mapperClass, sourceMethod, params);
+        }
+        return SQLParametersResolveUtil.resolveSQL(this.doProvide(providerClass, mapperClass, sourceMethod, annotation, params), params);
+    }
 }
@@ -53,9 +53,21 @@ public abstract class AbstractProvider implements InsertProvider, SelectProvider
 
     private static final Map<Class<?>, Pair<String, Class<?>>> MAPPER_ENTITY_CLASS_CACHE = new WeakConcurrentHashMap<>(4);
 
+    private static final Map<Class<?>, String> MAPPER_INSERT_SQL_CACHE = new WeakConcurrentHashMap<>(4);
+
+    private static final Map<Class<?>, Execute> MAPPER_UPDATE_SQL_CACHE = new WeakConcurrentHashMap<>(4);
+
     @Override
     public String insert(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
-        return this.buildInsertSQL(mapperClass);
+        return MAPPER_INSERT_SQL_CACHE.computeIfAbsent(mapperClass, this::buildInsertSQL);
+    }
+
+    /**
+     * 批量插入，由于 {@link BaseMapper#insertBatch(List)} 为批量执行，因此仅提供单行 SQL
+     */
+    @Override
+    public String insertBatch(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
+        return this.insert(mapperClass, sourceMethod, annotation, params);
     }
 
     @Override
@@ -82,11 +94,19 @@ public abstract class AbstractProvider implements InsertProvider, SelectProvider
 
     @Override
     public String updateByPk(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
-        Execute execute = this.buildUpdateSQL(mapperClass);
+        Execute execute = MAPPER_UPDATE_SQL_CACHE.computeIfAbsent(mapperClass, this::buildUpdateSQL);
         annotation.set(execute);
         return execute.value();
     }
 
+    /**
+     * 批量更新，由于 {@link BaseMapper#updateBatch(List)} 为批量执行，因此仅提供单行 SQL
+     */
+    @Override
+    public String updateBatch(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
+        return this.updateByPk(mapperClass, sourceMethod, annotation, params);
+    }
+
     @Override
     public String deleteByPk(Class<?> mapperClass, Method sourceMethod, Value<Execute> annotation, Map<String, MethodParameter> params) {
         String sql = "delete from %s where %s = #{%s}";
@@ -3,8 +3,10 @@ package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic;
 import com.kfyty.database.jdbc.mapping.TemplateStatement;
 import com.kfyty.loveqq.framework.core.lang.Value;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.data.jdbc.session.Configuration;
 import com.kfyty.loveqq.framework.data.jdbc.sql.Provider;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
@@ -75,4 +77,17 @@ public interface DynamicProvider<TS extends TemplateStatement> extends Provider<
     default String doProvide(Class<?> mapperClass, Method mapperMethod, Value<Annotation> annotation, Map<String, MethodParameter> params) {
         return this.doProvide(mapperClass, mapperMethod, params);
     }
+
+    /**
+     * 提供动态 SQL 并解析参数入口
+     * 默认渲染后解析 #{}/${}，编译模板的实现可直接提供
+     *
+     * @param mapperClass  mapper class
+     * @param mapperMethod 代理方法
+     * @param params       方法参数
+     * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
+     */
+    default Pair<String, MethodParameter[]> doProvideSQL(Class<?> mapperClass, Method mapperMethod, Map<String, MethodParameter> params) {
+        return SQLParametersResolveUtil.resolveSQL(this.doProvide(mapperClass, mapperMethod, params), params);
+    }
 }
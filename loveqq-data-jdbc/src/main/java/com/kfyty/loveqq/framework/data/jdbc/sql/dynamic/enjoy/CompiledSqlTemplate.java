@@ -0,0 +1,75 @@
+package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.BLANK_LINE_PATTERN;
+
+/**
+ * 描述: 编译后的动态 SQL 模板
+ * 执行时计算模板的形状、收集 #{} 参数并记录输出的文本片段，相同形状的 SQL 相同，因此命中缓存时无需拼接 SQL 及去除空行；
+ * 未命中或超过缓存容量时，由同一次执行记录的文本片段拼接 SQL，无需再次执行
+ * 形状数量超过缓存容量时不再缓存，避免 #for 迭代次数等变化过多时占用过多内存
+ *
+ * @author kfyty725
+ * @date 2024/7/23 11:00
+ * @email kfyty725@hotmail.com
+ * @see SqlTemplateCompiler
+ */
+public class CompiledSqlTemplate {
+    /**
+     * 根片段
+     */
+    private final SqlFragment root;
+
+    /**
+     * 缓存容量
+     */
+    private final int cacheSize;
+
+    /**
+     * 渲染的 SQL，key: 形状
+     */
+    private final Map<String, String> shapes;
+
+    public CompiledSqlTemplate(SqlFragment root, int cacheSize) {
+        this.root = root;
+        this.cacheSize = cacheSize;
+        this.shapes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * 渲染 SQL 并绑定参数
+     *
+     * @param params 方法参数
+     * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
+     */
+    public Pair<String, MethodParameter[]> bind(Map<String, MethodParameter> params) {
+        SqlFragment.Context context = this.apply(params);
+        String shape = context.getShape();
+        String sql = this.shapes.get(shape);
+        if (sql == null) {
+            sql = BLANK_LINE_PATTERN.matcher(context.getSql()).replaceAll("").trim();
+            if (this.shapes.size() < this.cacheSize) {
+                this.shapes.putIfAbsent(shape, sql);
+            }
+        }
+        return new Pair<>(sql, context.getArgs().toArray(new MethodParameter[0]));
+    }
+
+    private SqlFragment.Context apply(Map<String, MethodParameter> params) {
+        Map<String, Object> values = new HashMap<>((int) (params.size() / .75F) + 2);
+        for (Map.Entry<String, MethodParameter> entry : params.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().getValue());
+        }
+        SqlFragment.Context context = new SqlFragment.Context(new HashMap<>(params), values, new ArrayList<>());
+        this.root.apply(context);
+        return context;
+    }
+}
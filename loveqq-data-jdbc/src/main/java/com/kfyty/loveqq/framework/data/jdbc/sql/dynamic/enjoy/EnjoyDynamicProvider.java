@@ -2,32 +2,59 @@ package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy;
 
 import com.jfinal.template.Engine;
 import com.kfyty.database.jdbc.mapping.enjoy.EnjoyTemplateStatement;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.AbstractDynamicProvider;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Method;
 import java.util.Map;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.BLANK_LINE_PATTERN;
 
 /**
  * 描述: 基于 enjoy 的动态 SQL 提供者
+ * 开启编译时，模板解析为 {@link SqlFragment} 并按形状缓存渲染的 SQL，模板不支持编译时仍由 enjoy 渲染
  *
  * @author kfyty725
  * @date 2021/9/29 22:43
  * @email kfyty725@hotmail.com
+ * @see SqlTemplateCompiler
  */
 @Data
+@Slf4j
 @Accessors(chain = true)
 @EqualsAndHashCode(callSuper = true)
 public class EnjoyDynamicProvider extends AbstractDynamicProvider<EnjoyTemplateStatement> {
     protected Engine engine;
 
+    /**
+     * 是否编译模板
+     */
+    protected boolean compile;
+
+    /**
+     * 每个编译模板缓存的形状数量
+     */
+    protected int shapeCacheSize = 256;
+
     @Override
     public String processTemplate(EnjoyTemplateStatement template, Map<String, Object> params) {
         String sql = template.getTemplate().renderToString(params);
-        return sql.replaceAll(BLANK_LINE_PATTERN.pattern(), "").trim();
+        return BLANK_LINE_PATTERN.matcher(sql).replaceAll("").trim();
+    }
+
+    @Override
+    public Pair<String, MethodParameter[]> doProvideSQL(Class<?> mapperClass, Method mapperMethod, Map<String, MethodParameter> params) {
+        String id = this.resolveTemplateStatementId(mapperClass, mapperMethod);
+        EnjoyTemplateStatement templateStatement = (EnjoyTemplateStatement) this.configuration.getTemplateStatements().get(id);
+        if (templateStatement.getCompiledTemplate() != null) {
+            return templateStatement.getCompiledTemplate().bind(params);
+        }
+        return super.doProvideSQL(mapperClass, mapperMethod, params);
     }
 
     @Override
@@ -37,6 +64,16 @@ public class EnjoyDynamicProvider extends AbstractDynamicProvider<EnjoyTemplateS
 
     @Override
     protected EnjoyTemplateStatement buildTemplateStatement(String id, String labelType, String content) {
-        return new EnjoyTemplateStatement(id, labelType, this.engine.getTemplateByString(content));
+        EnjoyTemplateStatement templateStatement = new EnjoyTemplateStatement(id, labelType, this.engine.getTemplateByString(content));
+        if (this.compile) {
+            try {
+                templateStatement.setCompiledTemplate(new CompiledSqlTemplate(SqlTemplateCompiler.compile(content), this.shapeCacheSize));
+            } catch (UnsupportedTemplateException e) {
+                log.debug("template statement can't compile, render by enjoy: {}, {}", id, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                log.warn("template statement compile failed, render by enjoy: {}", id, e);
+            }
+        }
+        return templateStatement;
     }
 }
@@ -0,0 +1,399 @@
+package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.OgnlUtil;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 编译后的动态 SQL 模板片段
+ * 每次执行时记录模板的形状，即 #if 选择的分支、#for 的迭代次数、#()/${} 输出的值，并收集 #{} 参数；
+ * 同时按顺序记录输出的文本片段的引用，#{} 输出为 ?，形状未命中缓存时拼接为 SQL，无需再次执行
+ *
+ * @author kfyty725
+ * @date 2024/7/23 10:00
+ * @email kfyty725@hotmail.com
+ * @see SqlTemplateCompiler
+ */
+public abstract class SqlFragment {
+    /**
+     * 执行片段
+     *
+     * @param context 执行上下文
+     */
+    public abstract void apply(Context context);
+
+    /**
+     * 按 enjoy 的规则判断真假，null、false、空字符串、空集合/Map/数组、数值 0 为假
+     *
+     * @param value 值
+     * @return true/false
+     */
+    public static boolean isTrue(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() > 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return !((Map<?, ?>) value).isEmpty();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value) > 0;
+        }
+        if (value instanceof Iterator) {
+            return ((Iterator<?>) value).hasNext();
+        }
+        return true;
+    }
+
+    /**
+     * 执行上下文
+     */
+    public static class Context {
+        /**
+         * #{}/${} 参数，包含 #for 的循环变量
+         */
+        private final Map<String, MethodParameter> params;
+
+        /**
+         * 表达式根对象，包含 #for 的循环变量
+         */
+        private final Map<String, Object> values;
+
+        /**
+         * 模板的形状
+         */
+        private final StringBuilder shape;
+
+        /**
+         * #{} 参数，与 ? 顺序一致
+         */
+        private final List<MethodParameter> args;
+
+        /**
+         * 输出的文本片段
+         */
+        private final List<String> pieces;
+
+        /**
+         * 输出的文本长度
+         */
+        private int length;
+
+        public Context(Map<String, MethodParameter> params, Map<String, Object> values, List<MethodParameter> args) {
+            this.params = params;
+            this.values = values;
+            this.shape = new StringBuilder();
+            this.args = args;
+            this.pieces = new ArrayList<>();
+        }
+
+        public String getShape() {
+            return this.shape.toString();
+        }
+
+        public List<MethodParameter> getArgs() {
+            return this.args;
+        }
+
+        /**
+         * 拼接输出的文本片段
+         *
+         * @return SQL
+         */
+        public String getSql() {
+            StringBuilder sql = new StringBuilder(this.length);
+            for (String piece : this.pieces) {
+                sql.append(piece);
+            }
+            return sql.toString();
+        }
+
+        private void append(String piece) {
+            this.pieces.add(piece);
+            this.length += piece.length();
+        }
+    }
+
+    /**
+     * 文本
+     */
+    public static class Text extends SqlFragment {
+        private final String text;
+
+        public Text(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void apply(Context context) {
+            context.append(this.text);
+        }
+    }
+
+    /**
+     * 片段序列
+     */
+    public static class Block extends SqlFragment {
+        private final SqlFragment[] fragments;
+
+        public Block(List<SqlFragment> fragments) {
+            this.fragments = fragments.toArray(new SqlFragment[0]);
+        }
+
+        @Override
+        public void apply(Context context) {
+            for (SqlFragment fragment : this.fragments) {
+                fragment.apply(context);
+            }
+        }
+    }
+
+    /**
+     * #{} 参数，参数名可包含 #() 输出
+     */
+    public static class Placeholder extends SqlFragment {
+        private final SqlFragment[] name;
+
+        public Placeholder(List<SqlFragment> name) {
+            this.name = name.toArray(new SqlFragment[0]);
+        }
+
+        @Override
+        public void apply(Context context) {
+            context.args.add(SQLParametersResolveUtil.resolveParameter(resolveName(this.name, context), context.params));
+            context.append("?");
+        }
+    }
+
+    /**
+     * ${} 参数，值直接输出到 SQL，因此计入形状
+     */
+    public static class Dollar extends SqlFragment {
+        private final SqlFragment[] name;
+
+        public Dollar(List<SqlFragment> name) {
+            this.name = name.toArray(new SqlFragment[0]);
+        }
+
+        @Override
+        public void apply(Context context) {
+            MethodParameter parameter = SQLParametersResolveUtil.resolveParameter(resolveName(this.name, context), context.params);
+            output(context, String.valueOf(parameter.getValue()));
+        }
+    }
+
+    /**
+     * #() 输出，值直接输出到 SQL，因此计入形状
+     */
+    public static class Output extends SqlFragment {
+        private final Object expression;
+
+        public Output(String expression) {
+            this.expression = OgnlUtil.parseExpression(expression);
+        }
+
+        @Override
+        public void apply(Context context) {
+            Object value = OgnlUtil.compute(this.expression, context.values);
+            output(context, value == null ? "" : value.toString());
+        }
+
+        /**
+         * 仅计算值，用于拼接参数名
+         */
+        private String value(Context context) {
+            Object value = OgnlUtil.compute(this.expression, context.values);
+            return value == null ? "" : value.toString();
+        }
+    }
+
+    /**
+     * #if/#elseif/#else
+     */
+    public static class If extends SqlFragment {
+        /**
+         * 条件表达式
+         */
+        private final Object[] conditions;
+
+        /**
+         * 分支，存在 #else 时比条件多一个
+         */
+        private final SqlFragment[] branches;
+
+        public If(List<String> conditions, List<SqlFragment> branches) {
+            this.conditions = conditions.stream().map(OgnlUtil::parseExpression).toArray();
+            this.branches = branches.toArray(new SqlFragment[0]);
+        }
+
+        @Override
+        public void apply(Context context) {
+            int index = 0;
+            while (index < this.conditions.length && !isTrue(OgnlUtil.compute(this.conditions[index], context.values))) {
+                index++;
+            }
+            context.shape.append(index).append(',');
+            if (index < this.branches.length) {
+                this.branches[index].apply(context);
+            }
+        }
+    }
+
+    /**
+     * #for(x : expr)，支持 #else 及 for.index 等循环状态
+     */
+    public static class For extends SqlFragment {
+        private final String variable;
+        private final Object expression;
+        private final SqlFragment body;
+        private final SqlFragment elseBody;
+
+        public For(String variable, String expression, SqlFragment body, SqlFragment elseBody) {
+            this.variable = variable;
+            this.expression = OgnlUtil.parseExpression(expression);
+            this.body = body;
+            this.elseBody = elseBody;
+        }
+
+        @Override
+        public void apply(Context context) {
+            Collection<?> items = toCollection(OgnlUtil.compute(this.expression, context.values));
+            context.shape.append('[').append(items.size()).append(',');
+            if (items.isEmpty()) {
+                if (this.elseBody != null) {
+                    this.elseBody.apply(context);
+                }
+                return;
+            }
+            Object outer = context.values.get("for");
+            Object outerItem = context.values.get(this.variable);
+            MethodParameter outerParam = context.params.get(this.variable);
+            ForState state = new ForState(items.size(), outer instanceof ForState ? (ForState) outer : null);
+            try {
+                context.values.put("for", state);
+                for (Object item : items) {
+                    context.values.put(this.variable, item);
+                    context.params.put(this.variable, new MethodParameter(item == null ? null : item.getClass(), item, this.variable));
+                    this.body.apply(context);
+                    state.index++;
+                }
+            } finally {
+                restore(context.values, "for", outer);
+                restore(context.values, this.variable, outerItem);
+                restore(context.params, this.variable, outerParam);
+            }
+            context.shape.append(']');
+        }
+
+        private static Collection<?> toCollection(Object value) {
+            if (value == null) {
+                return Collections.emptyList();
+            }
+            if (value instanceof Collection) {
+                return (Collection<?>) value;
+            }
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).entrySet();
+            }
+            if (value.getClass().isArray()) {
+                int length = Array.getLength(value);
+                Object[] items = new Object[length];
+                for (int i = 0; i < length; i++) {
+                    items[i] = Array.get(value, i);
+                }
+                return Arrays.asList(items);
+            }
+            throw new IllegalArgumentException("#for can't iterate: " + value.getClass());
+        }
+
+        private static <V> void restore(Map<String, V> map, String key, V value) {
+            if (value == null) {
+                map.remove(key);
+            } else {
+                map.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * #for 循环状态，与 enjoy 的 for 变量一致
+     */
+    public static class ForState {
+        private final int size;
+        private final ForState outer;
+        private int index;
+
+        public ForState(int size, ForState outer) {
+            this.size = size;
+            this.outer = outer;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+
+        public ForState getOuter() {
+            return this.outer;
+        }
+
+        public int getIndex() {
+            return this.index;
+        }
+
+        public int getCount() {
+            return this.index + 1;
+        }
+
+        public boolean isFirst() {
+            return this.index == 0;
+        }
+
+        public boolean isLast() {
+            return this.index == this.size - 1;
+        }
+
+        public boolean isOdd() {
+            return this.index % 2 == 0;
+        }
+
+        public boolean isEven() {
+            return this.index % 2 != 0;
+        }
+    }
+
+    private static String resolveName(SqlFragment[] name, Context context) {
+        if (name.length == 1 && name[0] instanceof Text) {
+            return ((Text) name[0]).text;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (SqlFragment fragment : name) {
+            builder.append(fragment instanceof Text ? ((Text) fragment).text : ((Output) fragment).value(context));
+        }
+        return builder.toString().trim();
+    }
+
+    private static void output(Context context, String value) {
+        context.shape.append(value.length()).append(':').append(value);
+        context.append(value);
+    }
+}
@@ -0,0 +1,295 @@
+package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述: 将 enjoy 动态 SQL 模板编译为 {@link SqlFragment}
+ * 仅支持常用的指令子集：#if/#elseif/#else/#end、#for(x : expr)/#else/#end、#()、###/#-- --# 注释，以及 #{}/${} 参数；
+ * 表达式使用 ognl 计算，#if 的结果按 enjoy 的规则判断真假
+ * 存在其他指令(如 #define/#set/#include/#switch、?? 运算符)时抛出 {@link UnsupportedTemplateException}，由调用方回退到 enjoy 渲染
+ *
+ * @author kfyty725
+ * @date 2024/7/23 10:30
+ * @email kfyty725@hotmail.com
+ */
+public class SqlTemplateCompiler {
+    /**
+     * 模板内容
+     */
+    private final String content;
+
+    /**
+     * 当前解析位置
+     */
+    private int index;
+
+    private SqlTemplateCompiler(String content) {
+        this.content = content;
+    }
+
+    /**
+     * 编译模板
+     *
+     * @param content 模板内容
+     * @return 根片段
+     * @throws UnsupportedTemplateException 存在不支持的指令时
+     */
+    public static SqlFragment compile(String content) throws UnsupportedTemplateException {
+        SqlTemplateCompiler compiler = new SqlTemplateCompiler(content);
+        List<SqlFragment> fragments = new ArrayList<>();
+        String end = compiler.parseBlock(fragments);
+        if (end != null) {
+            throw new UnsupportedTemplateException("unexpected #" + end + " at index: " + compiler.index);
+        }
+        return new SqlFragment.Block(fragments);
+    }
+
+    /**
+     * 解析片段直到 #elseif/#else/#end 或模板结束
+     *
+     * @param fragments 解析的片段
+     * @return 结束的指令，模板结束时返回 null
+     */
+    private String parseBlock(List<SqlFragment> fragments) throws UnsupportedTemplateException {
+        StringBuilder text = new StringBuilder();
+        while (this.index < this.content.length()) {
+            char c = this.content.charAt(this.index);
+            char next = this.index + 1 < this.content.length() ? this.content.charAt(this.index + 1) : 0;
+            if ((c == '#' || c == '$') && next == '{') {
+                flushText(text, fragments);
+                fragments.add(this.parsePlaceholder(c));
+                continue;
+            }
+            if (c != '#') {
+                text.append(c);
+                this.index++;
+                continue;
+            }
+            if (this.content.startsWith("###", this.index)) {
+                int end = this.content.indexOf('\n', this.index);
+                this.index = end < 0 ? this.content.length() : end;
+                continue;
+            }
+            if (this.content.startsWith("#--", this.index)) {
+                int end = this.content.indexOf("--#", this.index + 3);
+                if (end < 0) {
+                    throw new UnsupportedTemplateException("unclosed comment at index: " + this.index);
+                }
+                this.index = end + 3;
+                continue;
+            }
+            if (next == '(') {
+                flushText(text, fragments);
+                this.index++;
+                fragments.add(new SqlFragment.Output(this.parseExpression()));
+                continue;
+            }
+            if (next == '[' || next == '@') {
+                throw new UnsupportedTemplateException("unsupported directive at index: " + this.index);
+            }
+            String directive = this.readIdentifier(this.index + 1);
+            int afterDirective = this.index + 1 + directive.length();
+            int paren = this.skipBlank(afterDirective);
+            boolean hasParen = paren < this.content.length() && this.content.charAt(paren) == '(';
+            if (!hasParen && (directive.equals("if") || directive.equals("elseif") || directive.equals("for"))) {
+                throw new UnsupportedTemplateException("#" + directive + " require expression at index: " + this.index);
+            }
+            switch (directive) {
+                case "if":
+                    flushText(text, fragments);
+                    this.index = paren;
+                    fragments.add(this.parseIf());
+                    continue;
+                case "for":
+                    flushText(text, fragments);
+                    this.index = paren;
+                    fragments.add(this.parseFor());
+                    continue;
+                case "elseif":
+                    flushText(text, fragments);
+                    this.index = paren;
+                    return directive;
+                case "else":
+                case "end":
+                    flushText(text, fragments);
+                    this.index = afterDirective;
+                    return directive;
+                default:
+                    if (hasParen || directive.equals("break") || directive.equals("continue") || directive.equals("return")) {
+                        throw new UnsupportedTemplateException("unsupported directive #" + directive + " at index: " + this.index);
+                    }
+                    text.append(c);
+                    this.index++;
+            }
+        }
+        flushText(text, fragments);
+        return null;
+    }
+
+    private SqlFragment parseIf() throws UnsupportedTemplateException {
+        List<String> conditions = new ArrayList<>(2);
+        List<SqlFragment> branches = new ArrayList<>(2);
+        conditions.add(this.parseExpression());
+        while (true) {
+            List<SqlFragment> fragments = new ArrayList<>();
+            String end = this.parseBlock(fragments);
+            branches.add(new SqlFragment.Block(fragments));
+            if ("elseif".equals(end)) {
+                conditions.add(this.parseExpression());
+                continue;
+            }
+            if ("else".equals(end)) {
+                List<SqlFragment> elseFragments = new ArrayList<>();
+                if (!"end".equals(this.parseBlock(elseFragments))) {
+                    throw new UnsupportedTemplateException("#else must be closed by #end at index: " + this.index);
+                }
+                branches.add(new SqlFragment.Block(elseFragments));
+                return new SqlFragment.If(conditions, branches);
+            }
+            if ("end".equals(end)) {
+                return new SqlFragment.If(conditions, branches);
+            }
+            throw new UnsupportedTemplateException("#if must be closed by #end");
+        }
+    }
+
+    private SqlFragment parseFor() throws UnsupportedTemplateException {
+        String expression = this.parseExpression();
+        int colon = expression.indexOf(':');
+        if (colon < 0 || expression.indexOf(';') > -1) {
+            throw new UnsupportedTemplateException("only support #for(x : expr) at index: " + this.index);
+        }
+        String variable = expression.substring(0, colon).trim();
+        String iterable = expression.substring(colon + 1).trim();
+        List<SqlFragment> fragments = new ArrayList<>();
+        String end = this.parseBlock(fragments);
+        SqlFragment elseBody = null;
+        if ("else".equals(end)) {
+            List<SqlFragment> elseFragments = new ArrayList<>();
+            end = this.parseBlock(elseFragments);
+            elseBody = new SqlFragment.Block(elseFragments);
+        }
+        if (!"end".equals(end)) {
+            throw new UnsupportedTemplateException("#for must be closed by #end at index: " + this.index);
+        }
+        return new SqlFragment.For(variable, iterable, new SqlFragment.Block(fragments), elseBody);
+    }
+
+    /**
+     * 解析 #{}/${}，参数名可包含 #()
+     *
+     * @param type # 或 $
+     * @return 参数片段
+     */
+    private SqlFragment parsePlaceholder(char type) throws UnsupportedTemplateException {
+        this.index += 2;
+        List<SqlFragment> name = new ArrayList<>(1);
+        StringBuilder text = new StringBuilder();
+        while (this.index < this.content.length() && this.content.charAt(this.index) != '}') {
+            if (this.content.startsWith("#(", this.index)) {
+                flushText(text, name);
+                this.index++;
+                name.add(new SqlFragment.Output(this.parseExpression()));
+                continue;
+            }
+            text.append(this.content.charAt(this.index++));
+        }
+        if (this.index >= this.content.length()) {
+            throw new UnsupportedTemplateException("unclosed placeholder");
+        }
+        this.index++;
+        if (text.length() > 0) {
+            name.add(new SqlFragment.Text(name.isEmpty() ? text.toString().trim() : text.toString()));
+        }
+        return type == '#' ? new SqlFragment.Placeholder(name) : new SqlFragment.Dollar(name);
+    }
+
+    /**
+     * 解析当前位置的括号内的表达式，并转换为 ognl 表达式
+     *
+     * @return 表达式
+     */
+    private String parseExpression() throws UnsupportedTemplateException {
+        int depth = 0;
+        char quote = 0;
+        int begin = this.index + 1;
+        for (; this.index < this.content.length(); this.index++) {
+            char c = this.content.charAt(this.index);
+            if (quote != 0) {
+                if (c == '\\') {
+                    this.index++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return translate(this.content.substring(begin, this.index++).trim());
+            }
+        }
+        throw new UnsupportedTemplateException("unclosed expression at index: " + begin);
+    }
+
+    private String readIdentifier(int from) {
+        int end = from;
+        while (end < this.content.length() && Character.isJavaIdentifierPart(this.content.charAt(end))) {
+            end++;
+        }
+        return this.content.substring(from, end);
+    }
+
+    private int skipBlank(int from) {
+        while (from < this.content.length() && (this.content.charAt(from) == ' ' || this.content.charAt(from) == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static void flushText(StringBuilder text, List<SqlFragment> fragments) {
+        if (text.length() > 0) {
+            fragments.add(new SqlFragment.Text(text.toString()));
+            text.setLength(0);
+        }
+    }
+
+    /**
+     * 将 enjoy 表达式转换为 ognl 表达式，单引号字符串转换为双引号字符串
+     *
+     * @param expression enjoy 表达式
+     * @return ognl 表达式
+     */
+    private static String translate(String expression) throws UnsupportedTemplateException {
+        if (expression.isEmpty()) {
+            throw new UnsupportedTemplateException("empty expression");
+        }
+        StringBuilder builder = new StringBuilder(expression.length());
+        char quote = 0;
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (quote == 0 && c == '?' && i + 1 < expression.length() && expression.charAt(i + 1) == '?') {
+                throw new UnsupportedTemplateException("unsupported operator ?? in expression: " + expression);
+            }
+            if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+                builder.append('"');
+                continue;
+            }
+            if (quote != 0 && c == '\\' && i + 1 < expression.length()) {
+                builder.append(c).append(expression.charAt(++i));
+                continue;
+            }
+            if (quote != 0 && c == quote) {
+                quote = 0;
+                builder.append('"');
+                continue;
+            }
+            builder.append(quote == '\'' && c == '"' ? "\\\"" : String.valueOf(c));
+        }
+        return builder.toString();
+    }
+}
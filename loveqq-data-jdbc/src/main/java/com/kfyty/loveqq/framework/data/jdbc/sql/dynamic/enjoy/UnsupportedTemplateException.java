@@ -0,0 +1,16 @@
+package com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy;
+
+/**
+ * 描述: 模板存在不支持编译的语法时抛出，调用方应回退到 enjoy 渲染
+ *
+ * @author kfyty725
+ * @date 2024/7/23 10:20
+ * @email kfyty725@hotmail.com
+ * @see SqlTemplateCompiler
+ */
+public class UnsupportedTemplateException extends Exception {
+
+    public UnsupportedTemplateException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kfyty.loveqq.framework.data.jdbc.util;
 
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.ForEach;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.If;
@@ -26,6 +27,7 @@ public abstract class AnnotationInstantiateUtil {
     private static final If[] EMPTY_IF_ARRAY = new If[0];
     private static final ForEach[] EMPTY_FOR_EACH_ARRAY = new ForEach[0];
     private static final SubQuery[] EMPTY_SUB_QUERY_ARRAY = new SubQuery[0];
+    private static final Cache[] EMPTY_CACHE_ARRAY = new Cache[0];
 
     public static Annotation createDynamicByLabelType(String labelType) {
         return SELECT_LABEL.equals(labelType) ? createDynamicQuery() : createDynamicExecute();
@@ -59,6 +61,16 @@ public abstract class AnnotationInstantiateUtil {
                 return EMPTY_SUB_QUERY_ARRAY;
             }
 
+            @Override
+            public int fetchSize() {
+                return 0;
+            }
+
+            @Override
+            public Cache[] cache() {
+                return EMPTY_CACHE_ARRAY;
+            }
+
             @Override
             @SuppressWarnings("rawtypes")
             public Class<DynamicProvider> provider() {
@@ -90,6 +102,16 @@ public abstract class AnnotationInstantiateUtil {
                 return EMPTY_STRING;
             }
 
+            @Override
+            public boolean batch() {
+                return false;
+            }
+
+            @Override
+            public int batchSize() {
+                return 0;
+            }
+
             @Override
             @SuppressWarnings("rawtypes")
             public Class<DynamicProvider> provider() {
@@ -121,6 +143,16 @@ public abstract class AnnotationInstantiateUtil {
                 return last;
             }
 
+            @Override
+            public boolean batch() {
+                return false;
+            }
+
+            @Override
+            public int batchSize() {
+                return 0;
+            }
+
             @Override
             @SuppressWarnings("rawtypes")
             public Class<? extends Provider> provider() {
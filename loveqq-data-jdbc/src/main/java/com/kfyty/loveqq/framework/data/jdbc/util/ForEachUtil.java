@@ -4,8 +4,10 @@ import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.ForEach;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING;
 
@@ -17,6 +19,10 @@ import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING;
  * @email kfyty725@hotmail.com
  */
 public abstract class ForEachUtil {
+    /**
+     * 按 #{/${ 分隔的 ForEach SQL 片段，key: ForEach SQL
+     */
+    private static final Map<String, String[]> SEGMENTS_CACHE = new ConcurrentHashMap<>();
 
     public static String processForEach(Map<String, MethodParameter> params, ForEach... forEachList) {
         if (CommonUtil.empty(forEachList)) {
@@ -25,11 +31,15 @@ public abstract class ForEachUtil {
         StringBuilder builder = new StringBuilder();
         for (ForEach each : forEachList) {
             List<?> list = CommonUtil.toList(params.get(each.collection()).getValue());
+            String[] segments = SEGMENTS_CACHE.computeIfAbsent(each.sql(), ForEachUtil::resolveSegments);
             builder.append(each.open());
             for (int i = 0; i < list.size(); i++) {
                 String flag = "param_" + i + "_";
                 Object value = list.get(i);
-                builder.append(each.sql().replace("#{", "#{" + flag).replace("${", "${" + flag));
+                builder.append(segments[0]);
+                for (int j = 1; j < segments.length; j++) {
+                    builder.append(flag).append(segments[j]);
+                }
                 params.put(flag + each.item(), new MethodParameter(value == null ? Object.class : value.getClass(), value, flag + each.item()));
                 if (i == list.size() - 1) {
                     break;
@@ -40,4 +50,25 @@ public abstract class ForEachUtil {
         }
         return builder.toString();
     }
+
+    /**
+     * 在 #{/${ 之后分隔 SQL，拼接时在片段之间插入参数前缀
+     *
+     * @param sql ForEach SQL
+     * @return SQL 片段
+     */
+    private static String[] resolveSegments(String sql) {
+        List<String> segments = new ArrayList<>(4);
+        int offset = 0;
+        for (int i = 0; i < sql.length() - 1; i++) {
+            char c = sql.charAt(i);
+            if ((c == '#' || c == '$') && sql.charAt(i + 1) == '{') {
+                segments.add(sql.substring(offset, i + 2));
+                offset = i + 2;
+                i++;
+            }
+        }
+        segments.add(sql.substring(offset));
+        return segments.toArray(new String[0]);
+    }
 }
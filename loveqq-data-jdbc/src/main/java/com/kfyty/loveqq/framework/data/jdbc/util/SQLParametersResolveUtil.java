@@ -2,6 +2,9 @@ package com.kfyty.loveqq.framework.data.jdbc.util;
 
 import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
 import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.ConcurrentLRUCache;
+import com.kfyty.loveqq.framework.core.lang.util.concurrent.WeakConcurrentHashMap;
+import com.kfyty.loveqq.framework.core.reflect.PropertyPathAccessor;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.core.support.Pair;
 import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
@@ -10,6 +13,7 @@ import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Param;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
 import com.kfyty.loveqq.framework.data.jdbc.annotation.SubQuery;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.CompiledSQL;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
@@ -34,6 +38,20 @@ import static com.kfyty.loveqq.framework.core.utils.ReflectUtil.invokeMethod;
  */
 @Slf4j
 public abstract class SQLParametersResolveUtil {
+    /**
+     * 缓存的已解析占位符的 SQL 的最大数量，避免 ForEach 等生成的 SQL 过多时占用过多内存
+     */
+    private static final int COMPILED_SQL_CACHE_SIZE = 2048;
+
+    /**
+     * 已解析占位符的 SQL，key: SQL，超过数量后淘汰最久未使用的 SQL
+     */
+    private static final ConcurrentLRUCache<String, CompiledSQL> COMPILED_SQL_CACHE = new ConcurrentLRUCache<>(COMPILED_SQL_CACHE_SIZE);
+
+    /**
+     * 方法参数名称缓存
+     */
+    private static final Map<Method, String[]> PARAMETER_NAMES_CACHE = new WeakConcurrentHashMap<>();
 
     /**
      * 检查注解中的 key 属性，并设置到 {@link SimpleGeneric#mapKey}
@@ -58,16 +76,35 @@ public abstract class SQLParametersResolveUtil {
      */
     public static Map<String, MethodParameter> processMethodParameters(Method method, Object[] args) {
         Parameter[] parameters = method.getParameters();
+        String[] parameterNames = resolveParameterNames(method);
         Map<String, MethodParameter> params = new LinkedHashMap<>();
         for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            Param annotation = AnnotationUtil.findAnnotation(parameter, Param.class);
-            String paramName = annotation != null && CommonUtil.notEmpty(annotation.value()) ? annotation.value() : parameter.getName();
-            params.put(paramName, new MethodParameter(method, parameter, args[i], paramName));
+            params.put(parameterNames[i], new MethodParameter(method, parameters[i], args[i], parameterNames[i]));
         }
         return params;
     }
 
+    /**
+     * 解析方法参数名称
+     * 若 {@link Param} 注解不存在，则直接使用 {@link Parameter#getName()}
+     *
+     * @param method 方法
+     * @return 参数名称，已缓存，调用方不应修改
+     */
+    public static String[] resolveParameterNames(Method method) {
+        return PARAMETER_NAMES_CACHE.computeIfAbsent(method, SQLParametersResolveUtil::doResolveParameterNames);
+    }
+
+    private static String[] doResolveParameterNames(Method method) {
+        Parameter[] parameters = method.getParameters();
+        String[] parameterNames = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Param annotation = AnnotationUtil.findAnnotation(parameters[i], Param.class);
+            parameterNames[i] = annotation != null && CommonUtil.notEmpty(annotation.value()) ? annotation.value() : parameters[i].getName();
+        }
+        return parameterNames;
+    }
+
     /**
      * 解析 sql 中的 #{}/${} 中的字符串，并分别保存到 Map
      *
@@ -130,39 +167,62 @@ public abstract class SQLParametersResolveUtil {
      * @param parameters MethodParameter
      * @return Pair<String, MethodParameter [ ]>，包含解析后的 sql 以及对应的参数数组
      * @see SQLParametersResolveUtil#processMethodParameters(Method, Object[])
-     * @see SQLParametersResolveUtil#resolvePlaceholderParameters(Value)
+     * @see SQLParametersResolveUtil#compileSQL(String)
      */
     public static Pair<String, MethodParameter[]> resolveSQL(String sql, Map<String, MethodParameter> parameters) {
-        int index = 0;
-        Value<String> valueSQL = new Value<>(sql);
-        Map<String, List<String>> params = resolvePlaceholderParameters(valueSQL);
-        MethodParameter[] args = new MethodParameter[params.get("#").size()];
-        for (Map.Entry<String, List<String>> next : params.entrySet()) {
-            for (String param : next.getValue()) {
-                Object value = null;
-                Class<?> paramType = null;
-                if (!param.contains(".")) {
-                    MethodParameter methodParam = parameters.get(param);
-                    value = methodParam.getValue();
-                    paramType = methodParam.getParamType();
-                } else {
-                    int rootIndex = param.indexOf(".");
-                    String nested = param.substring(rootIndex + 1);
-                    Object root = parameters.get(param.substring(0, rootIndex)).getValue();
-                    value = ReflectUtil.parseValue(nested, root);
-                    paramType = value == null ? null : value.getClass();
-                }
-                if (value == null && log.isDebugEnabled()) {
-                    log.debug("discovery null parameter: [{}] !", param);
-                }
-                if ("#".equals(next.getKey())) {
-                    args[index++] = new MethodParameter(paramType, value, param);
-                    continue;
-                }
-                valueSQL.set(valueSQL.get().replace("${" + param + "}", String.valueOf(value)));
-            }
+        return compileSQL(sql).bind(parameters);
+    }
+
+    /**
+     * 解析 sql 中的占位符，相同的 sql 仅解析一次
+     *
+     * @param sql sql 语句
+     * @return 已解析占位符的 SQL
+     */
+    public static CompiledSQL compileSQL(String sql) {
+        return COMPILED_SQL_CACHE.computeIfAbsent(sql, CompiledSQL::new);
+    }
+
+    /**
+     * 解析 #{}/${} 中的参数，支持 . 访问嵌套属性
+     *
+     * @param param      参数表达式
+     * @param parameters 方法参数
+     * @return 参数
+     */
+    public static MethodParameter resolveParameter(String param, Map<String, MethodParameter> parameters) {
+        int rootIndex = param.indexOf('.');
+        if (rootIndex < 0) {
+            return resolveParameter(param, param, null, parameters);
+        }
+        return resolveParameter(param, param.substring(0, rootIndex), param.substring(rootIndex + 1), parameters);
+    }
+
+    /**
+     * 解析 #{}/${} 中的参数，嵌套属性使用 {@link PropertyPathAccessor} 读取
+     *
+     * @param param      参数表达式
+     * @param root       参数名称
+     * @param nested     嵌套属性，不存在时为 null
+     * @param parameters 方法参数
+     * @return 参数
+     */
+    public static MethodParameter resolveParameter(String param, String root, String nested, Map<String, MethodParameter> parameters) {
+        Object value = null;
+        Class<?> paramType = null;
+        MethodParameter methodParam = parameters.get(root);
+        if (nested == null) {
+            value = methodParam.getValue();
+            paramType = methodParam.getParamType();
+        } else {
+            Object rootValue = methodParam.getValue();
+            value = rootValue == null ? null : PropertyPathAccessor.getAccessor(rootValue.getClass(), nested).getValue(rootValue);
+            paramType = value == null ? null : value.getClass();
+        }
+        if (value == null && log.isDebugEnabled()) {
+            log.debug("discovery null parameter: [{}] !", param);
         }
-        return new Pair<>(valueSQL.get(), args);
+        return new MethodParameter(paramType, value, param);
     }
 
     /**
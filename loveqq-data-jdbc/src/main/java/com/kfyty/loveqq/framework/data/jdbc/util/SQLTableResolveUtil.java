@@ -0,0 +1,132 @@
+package com.kfyty.loveqq.framework.data.jdbc.util;
+
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 描述: SQL 表名解析工具，用于查询结果缓存按表失效
+ * 仅做轻量的正则解析，表名统一为去除引号、模式名后的小写形式
+ * 查询 SQL 解析不完整时会多解析出表名，仅导致多余的失效；更新 SQL 无法解析时返回 null，由调用方使全部缓存失效
+ *
+ * @author kfyty725
+ * @date 2024/7/22 10:10
+ * @email kfyty725@hotmail.com
+ */
+public abstract class SQLTableResolveUtil {
+    /**
+     * 表名，可能包含模式名及引号
+     */
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("(?:[`\"\\[]?[\\w$]+[`\"\\]]?\\.)*[`\"\\[]?[\\w$]+[`\"\\]]?");
+
+    /**
+     * 表别名
+     */
+    private static final Pattern ALIAS_PATTERN = Pattern.compile("\\s+(?:as\\s+)?\\w+", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 逗号分隔的多个表
+     */
+    private static final Pattern COMMA_PATTERN = Pattern.compile("\\s*,\\s*");
+
+    /**
+     * 查询的表
+     */
+    private static final Pattern QUERY_TABLE_PATTERN = Pattern.compile("\\b(?:from|join)\\s+", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 更新的表
+     */
+    private static final Pattern UPDATE_TABLE_PATTERN = Pattern.compile("^\\s*(?:insert\\s+(?:ignore\\s+)?into|replace\\s+into|merge\\s+into|update(?:\\s+ignore)?|delete\\s+from|truncate\\s+(?:table\\s+)?)\\s+", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 解析查询 SQL 依赖的表
+     *
+     * @param sqls SQL
+     * @return 表名，无法解析时返回空集合
+     */
+    public static Set<String> resolveQueryTables(String... sqls) {
+        Set<String> tables = new HashSet<>(4);
+        for (String sql : sqls) {
+            if (CommonUtil.notEmpty(sql)) {
+                resolveQueryTables(sql, tables);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * 解析更新 SQL 写入的表，同时包含关联的表
+     *
+     * @param sqls SQL
+     * @return 表名，任一 SQL 无法解析时返回 null
+     */
+    public static Set<String> resolveUpdateTables(Collection<String> sqls) {
+        Set<String> tables = new HashSet<>(4);
+        for (String sql : sqls) {
+            Matcher matcher = UPDATE_TABLE_PATTERN.matcher(sql);
+            if (!matcher.lookingAt() || !resolveTables(sql, matcher.end(), tables)) {
+                return null;
+            }
+            resolveQueryTables(sql, tables);
+        }
+        return tables;
+    }
+
+    /**
+     * 规范化表名
+     *
+     * @param table 表名
+     * @return 去除引号、模式名后的小写表名
+     */
+    public static String normalize(String table) {
+        int index = table.lastIndexOf('.');
+        String name = index < 0 ? table : table.substring(index + 1);
+        if (!name.isEmpty() && "`\"[".indexOf(name.charAt(0)) > -1) {
+            name = name.substring(1, name.length() - 1);
+        }
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void resolveQueryTables(String sql, Set<String> tables) {
+        Matcher matcher = QUERY_TABLE_PATTERN.matcher(sql);
+        while (matcher.find()) {
+            resolveTables(sql, matcher.end(), tables);
+        }
+    }
+
+    /**
+     * 从关键字后开始解析表名，支持逗号分隔的多个表及别名
+     *
+     * @param sql    SQL
+     * @param index  关键字后的索引
+     * @param tables 解析的表名
+     * @return 是否解析到表名
+     */
+    private static boolean resolveTables(String sql, int index, Set<String> tables) {
+        boolean resolved = false;
+        while (true) {
+            Matcher identifier = IDENTIFIER_PATTERN.matcher(sql).region(index, sql.length());
+            if (!identifier.lookingAt()) {
+                return resolved;
+            }
+            tables.add(normalize(identifier.group()));
+            resolved = true;
+            index = identifier.end();
+            Matcher alias = ALIAS_PATTERN.matcher(sql).region(index, sql.length());
+            if (alias.lookingAt()) {
+                index = alias.end();
+            }
+            Matcher comma = COMMA_PATTERN.matcher(sql).region(index, sql.length());
+            if (!comma.lookingAt()) {
+                return resolved;
+            }
+            index = comma.end();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.data.jdbc.session.BatchExecutor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 描述: 批量执行器测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 18:30
+ * @email kfyty725@hotmail.com
+ */
+public class BatchExecutorTest {
+    private final List<String> preparedSQL = new ArrayList<>();
+
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    public void orderTest() throws Exception {
+        List<String> rows = Arrays.asList("A", "A", "B", "A", "A");
+        try (BatchExecutor executor = new BatchExecutor(this.createConnection(), 10, null)) {
+            for (String row : rows) {
+                executor.addBatch(row, new MethodParameter[0], row);
+            }
+            Assert.assertArrayEquals(new int[]{1, 1, 1, 1, 1}, executor.finish());
+        }
+        Assert.assertEquals(Arrays.asList("A", "B"), this.preparedSQL);
+        Assert.assertEquals(Arrays.asList("A:2", "B:1", "A:2"), this.executed);
+    }
+
+    @Test
+    public void batchSizeTest() throws Exception {
+        try (BatchExecutor executor = new BatchExecutor(this.createConnection(), 2, null)) {
+            for (int i = 0; i < 5; i++) {
+                executor.addBatch("A", new MethodParameter[0], i);
+            }
+            Assert.assertEquals(5, executor.finish().length);
+        }
+        Assert.assertEquals(Arrays.asList("A:2", "A:2", "A:1"), this.executed);
+    }
+
+    private Connection createConnection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            if (method.getName().equals("prepareStatement")) {
+                this.preparedSQL.add((String) args[0]);
+                return this.createPreparedStatement((String) args[0]);
+            }
+            return method.getReturnType() == boolean.class ? false : null;
+        });
+    }
+
+    private PreparedStatement createPreparedStatement(String sql) {
+        int[] added = {0};
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "addBatch":
+                    added[0]++;
+                    return null;
+                case "executeBatch":
+                    int[] counts = new int[added[0]];
+                    Arrays.fill(counts, 1);
+                    this.executed.add(sql + ':' + added[0]);
+                    added[0] = 0;
+                    return counts;
+                default:
+                    return method.getReturnType() == boolean.class ? false : null;
+            }
+        });
+    }
+}
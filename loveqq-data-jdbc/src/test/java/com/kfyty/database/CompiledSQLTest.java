@@ -0,0 +1,74 @@
+package com.kfyty.database;
+
+import com.kfyty.database.entity.User;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.data.jdbc.mapping.CompiledSQL;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 描述: 已解析占位符的 SQL 绑定测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 19:30
+ * @email kfyty725@hotmail.com
+ */
+public class CompiledSQLTest {
+
+    @Test
+    public void hashesTest() {
+        User user = new User();
+        user.setUsername("kfyty");
+        CompiledSQL compiledSQL = new CompiledSQL("select * from user where id = #{id} and username = #{user.username}");
+        Pair<String, MethodParameter[]> bound = compiledSQL.bind(params("id", 1, "user", user));
+        Assert.assertEquals("select * from user where id = ? and username = ?", bound.getKey());
+        Assert.assertEquals(Arrays.asList(1, "kfyty"), values(bound.getValue()));
+    }
+
+    @Test
+    public void segmentTest() {
+        CompiledSQL compiledSQL = new CompiledSQL("select * from ${table} where id = #{id} order by ${orderBy} desc");
+        Pair<String, MethodParameter[]> bound = compiledSQL.bind(params("table", "user", "id", 2, "orderBy", "create_time"));
+        Assert.assertEquals("select * from user where id = ? order by create_time desc", bound.getKey());
+        Assert.assertEquals(Arrays.asList(2), values(bound.getValue()));
+
+        bound = compiledSQL.bind(params("table", "dept", "id", 3, "orderBy", "id"));
+        Assert.assertEquals("select * from dept where id = ? order by id desc", bound.getKey());
+        Assert.assertEquals(Arrays.asList(3), values(bound.getValue()));
+    }
+
+    @Test
+    public void blankSegmentTest() {
+        CompiledSQL compiledSQL = new CompiledSQL("select * from ${ table } where id = #{ id }");
+        Pair<String, MethodParameter[]> bound = compiledSQL.bind(params("table", "user", "id", 4));
+        Assert.assertEquals("select * from user where id = ?", bound.getKey());
+        Assert.assertEquals(Arrays.asList(4), values(bound.getValue()));
+    }
+
+    @Test
+    public void cacheTest() {
+        String sql = "select * from user where id = #{id}";
+        Assert.assertSame(SQLParametersResolveUtil.compileSQL(sql), SQLParametersResolveUtil.compileSQL(sql));
+    }
+
+    private static List<Object> values(MethodParameter[] parameters) {
+        return Arrays.stream(parameters).map(MethodParameter::getValue).collect(Collectors.toList());
+    }
+
+    private static Map<String, MethodParameter> params(Object... nameValues) {
+        Map<String, MethodParameter> params = new LinkedHashMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            Object value = nameValues[i + 1];
+            params.put((String) nameValues[i], new MethodParameter(value.getClass(), value, (String) nameValues[i]));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,115 @@
+package com.kfyty.database;
+
+import com.jfinal.template.Engine;
+import com.kfyty.database.entity.User;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy.CompiledSqlTemplate;
+import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy.SqlTemplateCompiler;
+import com.kfyty.loveqq.framework.data.jdbc.sql.dynamic.enjoy.UnsupportedTemplateException;
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLParametersResolveUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.kfyty.loveqq.framework.core.utils.CommonUtil.BLANK_LINE_PATTERN;
+
+/**
+ * 描述: 编译的动态 SQL 模板与 enjoy 渲染的一致性测试
+ *
+ * @author kfyty725
+ * @date 2024/7/23 14:30
+ * @email kfyty725@hotmail.com
+ */
+public class CompiledSqlTemplateTest {
+    private static final Engine ENGINE = Engine.create("compiled-sql-template-test");
+
+    private static final String IF_TEMPLATE = "select * from user where 1 = 1\n" +
+            "#if(name)\n" +
+            "    and username = #{name}\n" +
+            "#elseif(id != null && id > 0)\n" +
+            "    and id = #{id}\n" +
+            "#else\n" +
+            "    and id is null\n" +
+            "#end\n" +
+            "#-- 注释 --#\n" +
+            "### 行注释\n" +
+            "order by ${orderBy}";
+
+    private static final String FOR_TEMPLATE = "select * from user where username = #{user.username}\n" +
+            "#for(id : ids)\n" +
+            "    #if(for.first) and id in ( #end#(id)#if(for.last) ) #else, #end\n" +
+            "#else\n" +
+            "    and 1 = 0\n" +
+            "#end";
+
+    @Test
+    public void ifTest() throws Exception {
+        this.assertParity(IF_TEMPLATE, params("name", "kfyty", "id", 1, "orderBy", "id"));
+        this.assertParity(IF_TEMPLATE, params("name", "", "id", 1, "orderBy", "id"));
+        this.assertParity(IF_TEMPLATE, params("name", null, "id", 1, "orderBy", "create_time"));
+        this.assertParity(IF_TEMPLATE, params("name", null, "id", 0, "orderBy", "id"));
+        this.assertParity(IF_TEMPLATE, params("name", null, "id", null, "orderBy", "id"));
+    }
+
+    @Test
+    public void forTest() throws Exception {
+        User user = new User();
+        user.setUsername("kfyty");
+        this.assertParity(FOR_TEMPLATE, params("user", user, "ids", Arrays.asList(1, 2, 3)));
+        this.assertParity(FOR_TEMPLATE, params("user", user, "ids", new int[]{4}));
+        this.assertParity(FOR_TEMPLATE, params("user", user, "ids", Collections.emptyList()));
+        this.assertParity(FOR_TEMPLATE, params("user", user, "ids", null));
+    }
+
+    @Test
+    public void shapeCacheTest() throws Exception {
+        CompiledSqlTemplate template = new CompiledSqlTemplate(SqlTemplateCompiler.compile(IF_TEMPLATE), 1);
+        Pair<String, MethodParameter[]> first = template.bind(params("name", "a", "id", 1, "orderBy", "id"));
+        Pair<String, MethodParameter[]> cached = template.bind(params("name", "b", "id", 2, "orderBy", "id"));
+        Pair<String, MethodParameter[]> uncached = template.bind(params("name", null, "id", 2, "orderBy", "id"));
+        Assert.assertSame(first.getKey(), cached.getKey());
+        Assert.assertEquals("b", cached.getValue()[0].getValue());
+        Assert.assertEquals(render(IF_TEMPLATE, params("name", null, "id", 2, "orderBy", "id")).getKey(), uncached.getKey());
+        Assert.assertEquals(2, uncached.getValue()[0].getValue());
+    }
+
+    @Test(expected = UnsupportedTemplateException.class)
+    public void unsupportedTest() throws Exception {
+        SqlTemplateCompiler.compile("select * from user #set(a = 1) where id = #(a)");
+    }
+
+    private void assertParity(String content, Map<String, MethodParameter> params) throws Exception {
+        Pair<String, MethodParameter[]> expected = render(content, params);
+        Pair<String, MethodParameter[]> actual = new CompiledSqlTemplate(SqlTemplateCompiler.compile(content), 256).bind(params);
+        Assert.assertEquals(expected.getKey(), actual.getKey());
+        Assert.assertEquals(values(expected.getValue()), values(actual.getValue()));
+    }
+
+    private static Pair<String, MethodParameter[]> render(String content, Map<String, MethodParameter> params) {
+        Map<String, Object> values = new HashMap<>();
+        params.forEach((k, v) -> values.put(k, v.getValue()));
+        String sql = ENGINE.getTemplateByString(content).renderToString(values);
+        return SQLParametersResolveUtil.resolveSQL(BLANK_LINE_PATTERN.matcher(sql).replaceAll("").trim(), params);
+    }
+
+    private static List<Object> values(MethodParameter[] parameters) {
+        return Arrays.stream(parameters).map(MethodParameter::getValue).collect(Collectors.toList());
+    }
+
+    private static Map<String, MethodParameter> params(Object... nameValues) {
+        Map<String, MethodParameter> params = new LinkedHashMap<>();
+        for (int i = 0; i < nameValues.length; i += 2) {
+            Object value = nameValues[i + 1];
+            params.put((String) nameValues[i], new MethodParameter(value == null ? Object.class : value.getClass(), value, (String) nameValues[i]));
+        }
+        return params;
+    }
+}
@@ -0,0 +1,238 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.core.generic.SimpleGeneric;
+import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.lang.Value;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.InterceptorChain;
+import com.kfyty.loveqq.framework.data.jdbc.intercept.QueryInterceptor;
+import com.kfyty.loveqq.framework.data.jdbc.session.Configuration;
+import com.kfyty.loveqq.framework.data.jdbc.session.SqlSessionProxyFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 描述: 游标查询测试
+ *
+ * @author kfyty725
+ * @date 2024/7/12 11:20
+ * @email kfyty725@hotmail.com
+ */
+public class CursorQueryTest {
+    private final List<String> rows = Arrays.asList("a", "b", "c");
+
+    private final List<String> preparedSQL = new ArrayList<>();
+
+    private final List<Object> interceptedValues = new ArrayList<>();
+
+    private int openConnections;
+
+    private int openStatements;
+
+    private int openResultSets;
+
+    private CursorMapper cursorMapper;
+
+    @Before
+    public void prepare() {
+        DataSource dataSource = this.createDataSource();
+        Configuration configuration = new Configuration()
+                .setDataSource(dataSource)
+                .setTransactionFactory(() -> new JdbcTransaction(dataSource))
+                .addInterceptor(new RecordInterceptor());
+        this.cursorMapper = new SqlSessionProxyFactory(configuration).createProxy(CursorMapper.class);
+    }
+
+    @Test
+    public void iteratorTest() {
+        Iterator<String> iterator = this.cursorMapper.iterator();
+        Assert.assertEquals(1, this.openConnections);
+        Assert.assertEquals(Arrays.asList("select name from cursor_test limit 10"), this.preparedSQL);
+        Assert.assertEquals(1, this.interceptedValues.size());
+        Assert.assertSame(iterator, this.interceptedValues.get(0));
+
+        List<String> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+        Assert.assertEquals(this.rows, values);
+        this.assertReleased();
+    }
+
+    @Test
+    public void iteratorCloseTest() throws Exception {
+        Iterator<String> iterator = this.cursorMapper.iterator();
+        Assert.assertEquals("a", iterator.next());
+        Assert.assertEquals(1, this.openConnections);
+
+        ((AutoCloseable) iterator).close();
+        Assert.assertFalse(iterator.hasNext());
+        this.assertReleased();
+    }
+
+    @Test
+    public void streamTest() {
+        try (Stream<String> stream = this.cursorMapper.stream()) {
+            Assert.assertEquals("a", stream.findFirst().orElse(null));
+            Assert.assertEquals(1, this.openConnections);
+        }
+        this.assertReleased();
+    }
+
+    @Test
+    public void forEachTest() {
+        List<String> values = new ArrayList<>();
+        Assert.assertEquals(3, this.cursorMapper.forEach(values::add));
+        Assert.assertEquals(this.rows, values);
+        Assert.assertEquals(1, this.interceptedValues.size());
+        this.assertReleased();
+    }
+
+    @Test
+    public void forEachErrorTest() {
+        IllegalStateException error = new IllegalStateException("consume failed");
+        try {
+            this.cursorMapper.forEach(e -> {
+                throw error;
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertSame(error, e);
+        }
+        this.assertReleased();
+    }
+
+    private void assertReleased() {
+        Assert.assertEquals(0, this.openResultSets);
+        Assert.assertEquals(0, this.openStatements);
+        Assert.assertEquals(0, this.openConnections);
+    }
+
+    private DataSource createDataSource() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                this.openConnections++;
+                return this.createConnection();
+            }
+            return null;
+        });
+    }
+
+    private Connection createConnection() {
+        boolean[] state = {true, false}; // autoCommit, closed
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    this.preparedSQL.add((String) args[0]);
+                    this.openStatements++;
+                    return this.createPreparedStatement();
+                case "getAutoCommit":
+                    return state[0];
+                case "setAutoCommit":
+                    state[0] = (Boolean) args[0];
+                    return null;
+                case "isClosed":
+                    return state[1];
+                case "close":
+                    if (!state[1]) {
+                        state[1] = true;
+                        this.openConnections--;
+                    }
+                    return null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private PreparedStatement createPreparedStatement() {
+        boolean[] closed = {false};
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                    this.openResultSets++;
+                    return this.createResultSet();
+                case "close":
+                    if (!closed[0]) {
+                        closed[0] = true;
+                        this.openStatements--;
+                    }
+                    return null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private ResultSet createResultSet() {
+        int[] state = {-1, 0}; // row, closed
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++state[0] < this.rows.size();
+                case "getString":
+                case "getObject":
+                    return this.rows.get(state[0]);
+                case "close":
+                    if (state[1] == 0) {
+                        state[1] = 1;
+                        this.openResultSets--;
+                    }
+                    return null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    public interface CursorMapper {
+        @Query("select name from cursor_test")
+        Iterator<String> iterator();
+
+        @Query("select name from cursor_test")
+        Stream<String> stream();
+
+        @Query("select name from cursor_test")
+        int forEach(Consumer<String> consumer);
+    }
+
+    public class RecordInterceptor implements QueryInterceptor {
+
+        @Override
+        public Object intercept(Value<String> sql, SimpleGeneric returnType, List<MethodParameter> parameters, InterceptorChain chain) {
+            sql.set(sql.get() + " limit 10");
+            return chain.proceed();
+        }
+
+        @Override
+        public Object intercept(Object retValue, List<MethodParameter> parameters, InterceptorChain chain) {
+            interceptedValues.add(retValue);
+            return chain.proceed();
+        }
+    }
+}
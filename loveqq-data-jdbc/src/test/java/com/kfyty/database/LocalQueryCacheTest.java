@@ -0,0 +1,124 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
+import com.kfyty.loveqq.framework.data.jdbc.cache.LocalQueryCache;
+import com.kfyty.loveqq.framework.data.jdbc.cache.QueryCacheKey;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 描述: 本地查询结果缓存测试
+ *
+ * @author kfyty725
+ * @date 2024/7/22 15:10
+ * @email kfyty725@hotmail.com
+ */
+public class LocalQueryCacheTest {
+    private final LocalQueryCache queryCache = new LocalQueryCache();
+
+    private final Collection<String> tables = Collections.singleton("user");
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void copyTest() throws Exception {
+        Cache cache = cache("cacheHolder");
+        QueryCacheKey key = new QueryCacheKey("copyTest", "select * from user", new Object[0]);
+        List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        this.queryCache.put(key, value, this.tables, this.queryCache.stamp(this.tables), cache);
+        value.add("c");
+
+        List<String> cached = (List<String>) this.queryCache.get(key);
+        Assert.assertEquals(Arrays.asList("a", "b"), cached);
+        cached.clear();
+        Assert.assertEquals(Arrays.asList("a", "b"), this.queryCache.get(key));
+
+        QueryCacheKey arrayKey = new QueryCacheKey("copyTest", "select id from user", new Object[0]);
+        this.queryCache.put(arrayKey, new int[]{1, 2}, this.tables, this.queryCache.stamp(this.tables), cache);
+        ((int[]) this.queryCache.get(arrayKey))[0] = 3;
+        Assert.assertArrayEquals(new int[]{1, 2}, (int[]) this.queryCache.get(arrayKey));
+
+        this.queryCache.invalidate(this.tables);
+        Assert.assertNull(this.queryCache.get(key));
+    }
+
+    @Test
+    public void keyTest() {
+        byte[] bytes = {1, 2};
+        Object[] parameters = {1, bytes};
+        QueryCacheKey key = new QueryCacheKey("keyTest", "select * from user where id = ? and data = ?", parameters);
+        QueryCacheKey same = new QueryCacheKey("keyTest", "select * from user where id = ? and data = ?", new Object[]{1, new byte[]{1, 2}});
+        Assert.assertEquals(key, same);
+        Assert.assertEquals(key.hashCode(), same.hashCode());
+
+        bytes[0] = 3;
+        parameters[0] = 2;
+        Assert.assertEquals(key, same);
+        Assert.assertNotEquals(key, new QueryCacheKey("keyTest", "select * from user where id = ? and data = ?", parameters));
+    }
+
+    @Test
+    public void ttlTest() throws Exception {
+        Cache cache = cache("ttlHolder");
+        QueryCacheKey key = new QueryCacheKey("ttlTest", "select * from user", new Object[0]);
+        this.queryCache.put(key, "value", this.tables, this.queryCache.stamp(this.tables), cache);
+        Assert.assertEquals("value", this.queryCache.get(key));
+
+        Thread.sleep(cache.ttl() + 30);
+        Assert.assertNull(this.queryCache.get(key));
+    }
+
+    @Test
+    public void maxSizeTest() throws Exception {
+        Cache cache = cache("sizeHolder");
+        List<QueryCacheKey> keys = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            QueryCacheKey key = new QueryCacheKey("maxSizeTest", "select * from user where id = ?", new Object[]{i});
+            keys.add(key);
+            this.queryCache.put(key, i, this.tables, this.queryCache.stamp(this.tables), cache);
+        }
+        Assert.assertEquals(4, this.queryCache.get(keys.get(4)));
+        Assert.assertEquals(cache.maxSize(), keys.stream().filter(e -> this.queryCache.get(e) != null).count());
+    }
+
+    @Test
+    public void stampTest() throws Exception {
+        Cache cache = cache("cacheHolder");
+        QueryCacheKey key = new QueryCacheKey("stampTest", "select * from user", new Object[0]);
+        long stamp = this.queryCache.stamp(this.tables);
+        this.queryCache.invalidate(Collections.singleton("user"));
+        this.queryCache.put(key, "stale", this.tables, stamp, cache);
+        Assert.assertNull(this.queryCache.get(key));
+
+        this.queryCache.put(key, "value", this.tables, this.queryCache.stamp(this.tables), cache);
+        this.queryCache.invalidate(Collections.singleton("order"));
+        Assert.assertEquals("value", this.queryCache.get(key));
+        this.queryCache.invalidate(null);
+        Assert.assertNull(this.queryCache.get(key));
+    }
+
+    private static Cache cache(String holder) throws Exception {
+        return LocalQueryCacheTest.class.getMethod(holder).getAnnotation(Query.class).cache()[0];
+    }
+
+    @Query(value = "select * from user", cache = @Cache)
+    public Object cacheHolder() {
+        return null;
+    }
+
+    @Query(value = "select * from user", cache = @Cache(ttl = 50))
+    public Object ttlHolder() {
+        return null;
+    }
+
+    @Query(value = "select * from user", cache = @Cache(maxSize = 2))
+    public Object sizeHolder() {
+        return null;
+    }
+}
@@ -0,0 +1,201 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.core.jdbc.JdbcTransaction;
+import com.kfyty.loveqq.framework.core.jdbc.TransactionHolder;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Cache;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Execute;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Param;
+import com.kfyty.loveqq.framework.data.jdbc.annotation.Query;
+import com.kfyty.loveqq.framework.data.jdbc.session.Configuration;
+import com.kfyty.loveqq.framework.data.jdbc.session.SqlSessionProxyFactory;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * 描述: 查询结果缓存失效测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 16:30
+ * @email kfyty725@hotmail.com
+ */
+public class QueryCacheTest {
+    private String name = "a";
+
+    private int queries;
+
+    private DataSource dataSource;
+
+    private Configuration configuration;
+
+    private CacheMapper cacheMapper;
+
+    @Before
+    public void prepare() {
+        this.dataSource = this.createDataSource();
+        this.configuration = new Configuration()
+                .setDataSource(this.dataSource)
+                .setTransactionFactory(() -> new JdbcTransaction(this.dataSource));
+        this.cacheMapper = new SqlSessionProxyFactory(this.configuration).createProxy(CacheMapper.class);
+    }
+
+    @Test
+    public void commitTest() {
+        Assert.assertTrue(this.configuration.isQueryCacheRegistered());
+        Assert.assertEquals("a", this.cacheMapper.findName(1));
+        Assert.assertEquals("a", this.cacheMapper.findName(1));
+        Assert.assertEquals(1, this.queries);
+
+        this.name = "b";
+        this.cacheMapper.updateName(1, "b");
+        Assert.assertEquals("b", this.cacheMapper.findName(1));
+        Assert.assertEquals(2, this.queries);
+
+        this.cacheMapper.updateOther("c");
+        Assert.assertEquals("b", this.cacheMapper.findName(1));
+        Assert.assertEquals(2, this.queries);
+    }
+
+    @Test
+    public void transactionTest() throws Exception {
+        Assert.assertEquals("a", this.cacheMapper.findName(1));
+
+        JdbcTransaction transaction = this.beginTransaction();
+        try {
+            this.cacheMapper.updateName(1, "b");
+            transaction.rollback();
+        } finally {
+            this.endTransaction(transaction);
+        }
+        Assert.assertEquals("a", this.cacheMapper.findName(1));
+        Assert.assertEquals(1, this.queries);
+
+        transaction = this.beginTransaction();
+        try {
+            this.cacheMapper.updateName(1, "b");
+            this.name = "b";
+            transaction.commit();
+        } finally {
+            this.endTransaction(transaction);
+        }
+        Assert.assertEquals("b", this.cacheMapper.findName(1));
+        Assert.assertEquals(2, this.queries);
+    }
+
+    @Test
+    public void notRegisteredTest() {
+        Configuration configuration = new Configuration()
+                .setDataSource(this.dataSource)
+                .setTransactionFactory(() -> new JdbcTransaction(this.dataSource));
+        PlainMapper plainMapper = new SqlSessionProxyFactory(configuration).createProxy(PlainMapper.class);
+        plainMapper.updateName(1, "b");
+        Assert.assertFalse(configuration.isQueryCacheRegistered());
+    }
+
+    private JdbcTransaction beginTransaction() throws Exception {
+        JdbcTransaction transaction = new JdbcTransaction(this.dataSource);
+        transaction.setAutoCommit(false);
+        TransactionHolder.setCurrentTransaction(transaction);
+        return transaction;
+    }
+
+    private void endTransaction(JdbcTransaction transaction) throws Exception {
+        TransactionHolder.resetCurrentTransaction(null);
+        transaction.close();
+    }
+
+    private DataSource createDataSource() {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+            if (method.getName().equals("getConnection")) {
+                return this.createConnection();
+            }
+            return null;
+        });
+    }
+
+    private Connection createConnection() {
+        boolean[] state = {true, false}; // autoCommit, closed
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "prepareStatement":
+                    return this.createPreparedStatement();
+                case "getAutoCommit":
+                    return state[0];
+                case "setAutoCommit":
+                    state[0] = (Boolean) args[0];
+                    return null;
+                case "isClosed":
+                    return state[1];
+                case "close":
+                    state[1] = true;
+                    return null;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private PreparedStatement createPreparedStatement() {
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                    this.queries++;
+                    return this.createResultSet();
+                case "executeUpdate":
+                    return 1;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private ResultSet createResultSet() {
+        int[] row = {-1};
+        return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] < 1;
+                case "getString":
+                case "getObject":
+                    return this.name;
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    public interface CacheMapper {
+        @Query(value = "select name from cache_user where id = #{id}", cache = @Cache)
+        String findName(@Param("id") Integer id);
+
+        @Execute("update cache_user set name = #{name} where id = #{id}")
+        int updateName(@Param("id") Integer id, @Param("name") String name);
+
+        @Execute("update cache_other set name = #{name}")
+        int updateOther(@Param("name") String name);
+    }
+
+    public interface PlainMapper {
+        @Execute("update cache_user set name = #{name} where id = #{id}")
+        int updateName(@Param("id") Integer id, @Param("name") String name);
+    }
+}
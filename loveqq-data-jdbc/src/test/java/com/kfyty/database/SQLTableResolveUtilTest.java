@@ -0,0 +1,50 @@
+package com.kfyty.database;
+
+import com.kfyty.loveqq.framework.data.jdbc.util.SQLTableResolveUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 描述: SQL 表名解析测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 16:10
+ * @email kfyty725@hotmail.com
+ */
+public class SQLTableResolveUtilTest {
+
+    @Test
+    public void updateTest() {
+        Assert.assertEquals(set("user"), update("insert into user (id, username) values (?, ?)"));
+        Assert.assertEquals(set("user"), update("INSERT IGNORE INTO `db`.`User`(id) values (?)"));
+        Assert.assertEquals(set("user"), update("update user set username = ? where id = ?"));
+        Assert.assertEquals(set("user"), update("update user u set u.username = ? where u.id = ?"));
+        Assert.assertEquals(set("user"), update("delete from user where id = ?"));
+        Assert.assertEquals(set("user", "user_role"), update("delete from user where id in (select user_id from user_role where role_id = ?)"));
+        Assert.assertEquals(set("user", "user_log"), update("insert into user_log (user_id) select id from user where id = ?"));
+        Assert.assertNull(SQLTableResolveUtil.resolveUpdateTables(Collections.singletonList("call refresh_user()")));
+    }
+
+    @Test
+    public void queryTest() {
+        Assert.assertEquals(set("user"), SQLTableResolveUtil.resolveQueryTables("select * from user where id = ?"));
+        Assert.assertEquals(set("user"), SQLTableResolveUtil.resolveQueryTables("select u.* from \"public\".\"user\" as u"));
+        Assert.assertEquals(set("user", "role"), SQLTableResolveUtil.resolveQueryTables("select * from user u, role r where u.role_id = r.id"));
+        Assert.assertEquals(set("user", "user_role", "role"), SQLTableResolveUtil.resolveQueryTables("select * from user u left join user_role ur on u.id = ur.user_id inner join role r on ur.role_id = r.id"));
+        Assert.assertEquals(set("user", "role"), SQLTableResolveUtil.resolveQueryTables("select * from user", null, "select * from role"));
+        Assert.assertTrue(SQLTableResolveUtil.resolveQueryTables("select 1").isEmpty());
+    }
+
+    private static Set<String> update(String sql) {
+        return SQLTableResolveUtil.resolveUpdateTables(Collections.singletonList(sql));
+    }
+
+    private static Set<String> set(String... tables) {
+        return new HashSet<>(Arrays.asList(tables));
+    }
+}
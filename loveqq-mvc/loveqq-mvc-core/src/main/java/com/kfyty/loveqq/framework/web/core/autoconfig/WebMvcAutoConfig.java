@@ -8,10 +8,10 @@ import com.kfyty.loveqq.framework.core.autoconfig.annotation.Import;
 import com.kfyty.loveqq.framework.core.autoconfig.condition.annotation.ConditionalOnBean;
 import com.kfyty.loveqq.framework.web.core.WebServer;
 import com.kfyty.loveqq.framework.web.core.annotation.Controller;
-import com.kfyty.loveqq.framework.web.core.handler.DefaultRequestMappingMatcher;
 import com.kfyty.loveqq.framework.web.core.handler.RequestMappingAnnotationHandler;
 import com.kfyty.loveqq.framework.web.core.handler.RequestMappingHandler;
 import com.kfyty.loveqq.framework.web.core.handler.RequestMappingMatcher;
+import com.kfyty.loveqq.framework.web.core.handler.TrieRequestMappingMatcher;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
 import com.kfyty.loveqq.framework.web.core.processor.ControllerAdviceBeanPostProcessor;
 
@@ -42,7 +42,7 @@ public class WebMvcAutoConfig implements ContextAfterRefreshed {
 
     @Bean
     public RequestMappingMatcher requestMappingMatcher() {
-        return new DefaultRequestMappingMatcher();
+        return new TrieRequestMappingMatcher();
     }
 
     @Override
@@ -1,11 +1,14 @@
 package com.kfyty.loveqq.framework.web.core.handler;
 
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteMatch;
 import com.kfyty.loveqq.framework.web.core.mapping.Routes;
 import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
 
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 描述: 请求映射匹配器
@@ -65,4 +68,25 @@ public interface RequestMappingMatcher {
      * @return {@link MethodMapping}
      */
     MethodMapping matchRoute(RequestMethod method, String requestURI);
+
+    /**
+     * 匹配请求，并返回路径变量
+     * 默认实现匹配后从 uri 中提取路径变量，实现可在匹配过程中直接捕获路径变量
+     *
+     * @param method     请求方法
+     * @param requestURI 请求 URI
+     * @return {@link RouteMatch}，无匹配时返回 null
+     */
+    default RouteMatch matchRequest(RequestMethod method, String requestURI) {
+        MethodMapping methodMapping = this.matchRoute(method, requestURI);
+        if (methodMapping == null) {
+            return null;
+        }
+        if (!methodMapping.isRestful()) {
+            return new RouteMatch(methodMapping);
+        }
+        Map<String, String> pathVariables = new HashMap<>();
+        methodMapping.resolvePathVariables(requestURI, pathVariables);
+        return new RouteMatch(methodMapping, pathVariables);
+    }
 }
@@ -0,0 +1,53 @@
+package com.kfyty.loveqq.framework.web.core.handler;
+
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteMatch;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteTrie;
+import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 描述: 基于路由前缀树的请求映射匹配器
+ * 每个请求方法对应一颗 {@link RouteTrie}，匹配复杂度仅与路径深度相关
+ *
+ * @author kfyty725
+ * @date 2024/7/02 10:15
+ * @email kfyty725@hotmail.com
+ */
+public class TrieRequestMappingMatcher extends DefaultRequestMappingMatcher {
+    /**
+     * 请求方法路由树
+     */
+    private final Map<RequestMethod, RouteTrie> routeTries;
+
+    public TrieRequestMappingMatcher() {
+        super();
+        this.routeTries = new EnumMap<>(RequestMethod.class);
+        for (RequestMethod requestMethod : RequestMethod.values()) {
+            this.routeTries.put(requestMethod, new RouteTrie());
+        }
+    }
+
+    @Override
+    public void registryMethodMapping(List<MethodMapping> methodMappings) {
+        super.registryMethodMapping(methodMappings);
+        if (methodMappings != null) {
+            for (MethodMapping methodMapping : methodMappings) {
+                this.routeTries.get(methodMapping.getRequestMethod()).addRoute(methodMapping);
+            }
+        }
+    }
+
+    @Override
+    public MethodMapping matchRoute(RequestMethod method, String requestURI) {
+        return this.routeTries.get(method).match(requestURI);
+    }
+
+    @Override
+    public RouteMatch matchRequest(RequestMethod method, String requestURI) {
+        return this.routeTries.get(method).matchRoute(requestURI);
+    }
+}
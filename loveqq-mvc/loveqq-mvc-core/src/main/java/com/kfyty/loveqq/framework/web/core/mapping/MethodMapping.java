@@ -10,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.kfyty.loveqq.framework.core.utils.CommonUtil.EMPTY_STRING_ARRAY;
@@ -26,6 +27,11 @@ import static com.kfyty.loveqq.framework.web.core.handler.RequestMappingAnnotati
 @Slf4j
 @NoArgsConstructor
 public class MethodMapping {
+    /**
+     * 已解析的路径变量的请求属性 key
+     */
+    public static final String PATH_VARIABLES_ATTRIBUTE = MethodMapping.class.getName() + ".PATH_VARIABLES";
+
     /**
      * URL
      */
@@ -66,6 +72,11 @@ public class MethodMapping {
      */
     private Object controller;
 
+    /**
+     * 调用计划，由具体的 web 实现预先解析并缓存
+     */
+    private volatile Object invocationPlan;
+
     public static MethodMapping create(String url, RequestMethod requestMethod, Object controller, Method mappingMethod) {
         MethodMapping methodMapping = new MethodMapping();
         methodMapping.setController(controller);
@@ -93,6 +104,40 @@ public class MethodMapping {
         throw new IllegalArgumentException("The restful path index does not exists: restful=" + this.url + ", path=" + path);
     }
 
+    /**
+     * 从请求 uri 中提取路径变量
+     * 按路径段索引直接截取，不进行正则切分
+     *
+     * @param requestURI    请求 uri
+     * @param pathVariables 路径变量容器
+     */
+    public void resolvePathVariables(String requestURI, Map<String, String> pathVariables) {
+        if (!this.restful) {
+            return;
+        }
+        int index = 0;
+        int length = requestURI.length();
+        int position = 0;
+        for (Pair<String, Integer> mappingIndex : this.restfulMappingIndex) {
+            while (position < length) {
+                while (position < length && requestURI.charAt(position) == '/') {
+                    position++;
+                }
+                if (position == length) {
+                    break;
+                }
+                int end = requestURI.indexOf('/', position);
+                end = end < 0 ? length : end;
+                if (index++ == mappingIndex.getValue()) {
+                    pathVariables.put(mappingIndex.getKey(), requestURI.substring(position, end));
+                    position = end;
+                    break;
+                }
+                position = end;
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static void resolveRestfulVariableIfNecessary(MethodMapping methodMapping) {
         if (!RESTFUL_URL_PATTERN.matcher(methodMapping.getUrl()).matches()) {
@@ -0,0 +1,36 @@
+package com.kfyty.loveqq.framework.web.core.mapping;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 描述: 路由匹配结果，包含匹配期间捕获的路径变量
+ * 非 restful 路由的匹配结果由路由前缀树预先创建，匹配时无需分配对象
+ *
+ * @author kfyty725
+ * @date 2024/7/24 17:10
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class RouteMatch {
+    /**
+     * 方法映射
+     */
+    private final MethodMapping methodMapping;
+
+    /**
+     * 路径变量，非 restful 路由时为空
+     */
+    private final Map<String, String> pathVariables;
+
+    public RouteMatch(MethodMapping methodMapping) {
+        this(methodMapping, Collections.emptyMap());
+    }
+
+    public RouteMatch(MethodMapping methodMapping, Map<String, String> pathVariables) {
+        this.methodMapping = methodMapping;
+        this.pathVariables = pathVariables;
+    }
+}
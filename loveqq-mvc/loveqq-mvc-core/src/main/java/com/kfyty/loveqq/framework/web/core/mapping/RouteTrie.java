@@ -0,0 +1,321 @@
+package com.kfyty.loveqq.framework.web.core.mapping;
+
+import com.kfyty.loveqq.framework.core.support.AntPathMatcher;
+import com.kfyty.loveqq.framework.core.support.Pair;
+import com.kfyty.loveqq.framework.core.support.PatternMatcher;
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 描述: 路由前缀树
+ * 以路径段为节点，支持静态段、{var} 路径变量、包含 * 或 ? 的模式段以及 ** 多级通配
+ * 匹配时按 uri 索引逐段扫描，不进行正则切分，匹配优先级：静态段 > 路径变量 > 模式段 > **
+ * 匹配路径变量段时记录该段在 uri 中的位置，匹配成功后直接截取路径变量，无需再次扫描 uri
+ *
+ * @author kfyty725
+ * @date 2024/7/02 10:15
+ * @email kfyty725@hotmail.com
+ */
+public class RouteTrie {
+    /**
+     * 多级通配符
+     */
+    public static final String DOUBLE_WILDCARD = "**";
+
+    /**
+     * 路径分隔符
+     */
+    private static final char PATH_SEPARATOR = '/';
+
+    /**
+     * 模式段匹配器
+     */
+    private final PatternMatcher patternMatcher;
+
+    /**
+     * 根节点
+     */
+    private final Node root;
+
+    /**
+     * 最大路由深度
+     */
+    private volatile int maxDepth;
+
+    /**
+     * 是否存在路径变量段
+     */
+    private volatile boolean restful;
+
+    public RouteTrie() {
+        this(new AntPathMatcher());
+    }
+
+    public RouteTrie(PatternMatcher patternMatcher) {
+        this.patternMatcher = patternMatcher;
+        this.root = new Node(CommonUtil.EMPTY_STRING);
+    }
+
+    /**
+     * 添加路由
+     *
+     * @param methodMapping 方法映射
+     */
+    public synchronized void addRoute(MethodMapping methodMapping) {
+        Node node = this.root;
+        for (String path : methodMapping.getPaths()) {
+            node = node.child(path);
+        }
+        if (node.mapping != null) {
+            throw new IllegalArgumentException(CommonUtil.format("Route already exists: [RequestMethod: {}, URL:{}] !", methodMapping.getRequestMethod(), methodMapping.getUrl()));
+        }
+        node.mapping = methodMapping;
+        node.match = methodMapping.isRestful() ? null : new RouteMatch(methodMapping);
+        this.maxDepth = Math.max(this.maxDepth, methodMapping.getPaths().length);
+        this.restful |= methodMapping.isRestful();
+    }
+
+    /**
+     * 匹配路由
+     *
+     * @param requestURI 请求 uri
+     * @return 方法映射，无匹配时返回 null
+     */
+    public MethodMapping match(String requestURI) {
+        Node node = this.match(this.root, requestURI, 0, 0, null);
+        return node == null ? null : node.mapping;
+    }
+
+    /**
+     * 匹配路由，并提取匹配期间捕获的路径变量
+     *
+     * @param requestURI 请求 uri
+     * @return 匹配结果，无匹配时返回 null
+     */
+    public RouteMatch matchRoute(String requestURI) {
+        int[] captures = this.restful ? new int[this.maxDepth << 1] : null;
+        Node node = this.match(this.root, requestURI, 0, 0, captures);
+        if (node == null) {
+            return null;
+        }
+        if (node.match != null) {
+            return node.match;
+        }
+        MethodMapping methodMapping = node.mapping;
+        Pair<String, Integer>[] restfulMappingIndex = methodMapping.getRestfulMappingIndex();
+        Map<String, String> pathVariables = new HashMap<>((int) (restfulMappingIndex.length / .75F) + 1);
+        for (Pair<String, Integer> mappingIndex : restfulMappingIndex) {
+            int depth = mappingIndex.getValue() << 1;
+            pathVariables.put(mappingIndex.getKey(), requestURI.substring(captures[depth], captures[depth + 1]));
+        }
+        return new RouteMatch(methodMapping, pathVariables);
+    }
+
+    /**
+     * 从节点开始匹配
+     *
+     * @param node     节点
+     * @param uri      请求 uri
+     * @param from     开始匹配的 uri 索引
+     * @param depth    节点深度，即下一个路径段在路由中的索引
+     * @param captures 路径变量段在 uri 中的起止索引，按路由中的路径段索引存放，为 null 时不记录
+     * @return 路由所在的节点，无匹配时返回 null
+     */
+    protected Node match(Node node, String uri, int from, int depth, int[] captures) {
+        int length = uri.length();
+        int start = from;
+        while (start < length && uri.charAt(start) == PATH_SEPARATOR) {
+            start++;
+        }
+
+        if (start == length) {
+            if (node.mapping != null) {
+                return node;
+            }
+            return node.doubleWildcard == null || node.doubleWildcard.mapping == null ? null : node.doubleWildcard;
+        }
+
+        int end = uri.indexOf(PATH_SEPARATOR, start);
+        if (end < 0) {
+            end = length;
+        }
+
+        // 静态段
+        int segmentLength = end - start;
+        int hash = hash(uri, start, end);
+        for (Node child : node.statics) {
+            if (child.hash == hash && child.segment.length() == segmentLength && uri.regionMatches(start, child.segment, 0, segmentLength)) {
+                Node matched = this.match(child, uri, end, depth + 1, captures);
+                if (matched != null) {
+                    return matched;
+                }
+                break;
+            }
+        }
+
+        // 路径变量
+        if (node.variable != null) {
+            if (captures != null) {
+                captures[depth << 1] = start;
+                captures[(depth << 1) + 1] = end;
+            }
+            Node matched = this.match(node.variable, uri, end, depth + 1, captures);
+            if (matched != null) {
+                return matched;
+            }
+        }
+
+        // 模式段
+        if (node.patterns.length > 0) {
+            String segment = uri.substring(start, end);
+            for (Node child : node.patterns) {
+                if (this.patternMatcher.matches(child.segment, segment)) {
+                    Node matched = this.match(child, uri, end, depth + 1, captures);
+                    if (matched != null) {
+                        return matched;
+                    }
+                }
+            }
+        }
+
+        // 多级通配，依次尝试消费 0 到 n 个路径段
+        if (node.doubleWildcard != null) {
+            int position = start;
+            while (true) {
+                Node matched = this.match(node.doubleWildcard, uri, position, depth + 1, captures);
+                if (matched != null) {
+                    return matched;
+                }
+                if (position >= length) {
+                    break;
+                }
+                int next = uri.indexOf(PATH_SEPARATOR, position + 1);
+                position = next < 0 ? length : next;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 与 {@link String#hashCode()} 一致的区间 hash
+     */
+    private static int hash(String uri, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + uri.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * 是否是路径变量段，eg: {id}
+     */
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}' && segment.indexOf('{', 1) < 0;
+    }
+
+    /**
+     * 是否是模式段，eg: *.html, user-{id}
+     */
+    private static boolean isPattern(String segment) {
+        return segment.indexOf('*') > -1 || segment.indexOf('?') > -1 || segment.indexOf('{') > -1;
+    }
+
+    protected static class Node {
+        /**
+         * 空节点数组
+         */
+        private static final Node[] EMPTY_NODES = new Node[0];
+
+        /**
+         * 路径段，模式段时为 ant 表达式
+         */
+        private final String segment;
+
+        /**
+         * 路径段 hash
+         */
+        private final int hash;
+
+        /**
+         * 静态子节点
+         */
+        private volatile Node[] statics;
+
+        /**
+         * 模式子节点
+         */
+        private volatile Node[] patterns;
+
+        /**
+         * 路径变量子节点
+         */
+        private volatile Node variable;
+
+        /**
+         * 多级通配子节点
+         */
+        private volatile Node doubleWildcard;
+
+        /**
+         * 终结于该节点的路由
+         */
+        private volatile MethodMapping mapping;
+
+        /**
+         * 非 restful 路由预先创建的匹配结果
+         */
+        private volatile RouteMatch match;
+
+        protected Node(String segment) {
+            this.segment = segment;
+            this.hash = segment.hashCode();
+            this.statics = EMPTY_NODES;
+            this.patterns = EMPTY_NODES;
+        }
+
+        protected Node child(String path) {
+            if (path.equals(DOUBLE_WILDCARD)) {
+                if (this.doubleWildcard == null) {
+                    this.doubleWildcard = new Node(path);
+                }
+                return this.doubleWildcard;
+            }
+            if (isVariable(path)) {
+                if (this.variable == null) {
+                    this.variable = new Node(path);
+                }
+                return this.variable;
+            }
+            if (isPattern(path)) {
+                String pattern = path.replaceAll("\\{[^}]*}", "*");
+                for (Node node : this.patterns) {
+                    if (node.segment.equals(pattern)) {
+                        return node;
+                    }
+                }
+                Node node = new Node(pattern);
+                this.patterns = append(this.patterns, node);
+                return node;
+            }
+            for (Node node : this.statics) {
+                if (node.segment.equals(path)) {
+                    return node;
+                }
+            }
+            Node node = new Node(path);
+            this.statics = append(this.statics, node);
+            return node;
+        }
+
+        private static Node[] append(Node[] nodes, Node node) {
+            Node[] newNodes = Arrays.copyOf(nodes, nodes.length + 1);
+            newNodes[nodes.length] = node;
+            return newNodes;
+        }
+    }
+}
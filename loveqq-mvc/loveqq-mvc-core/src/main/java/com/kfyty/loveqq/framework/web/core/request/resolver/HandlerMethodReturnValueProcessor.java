@@ -11,6 +11,16 @@ import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
  * @email kfyty725@hotmail.com
  */
 public interface HandlerMethodReturnValueProcessor<Request, Response> {
+    /**
+     * 仅根据方法声明预判是否可能支持该返回值，用于注册路由时预先筛选处理器
+     * 返回 true 时，调用时仍会通过 {@link #supportsReturnType(Object, MethodParameter)} 结合返回值进行判断
+     *
+     * @param returnType 返回值描述
+     * @return true if possible
+     */
+    default boolean supportsReturnType(MethodParameter returnType) {
+        return true;
+    }
 
     boolean supportsReturnType(Object returnValue, MethodParameter returnType);
 
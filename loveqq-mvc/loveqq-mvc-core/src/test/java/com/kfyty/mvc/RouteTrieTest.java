@@ -0,0 +1,93 @@
+package com.kfyty.mvc;
+
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteMatch;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteTrie;
+import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 描述: 路由前缀树测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 10:40
+ * @email kfyty725@hotmail.com
+ */
+public class RouteTrieTest {
+    private final RouteTrie routeTrie = new RouteTrie();
+
+    @Before
+    public void prepare() {
+        this.addRoute("/user/list");
+        this.addRoute("/user/{id}");
+        this.addRoute("/user/{id}/detail");
+        this.addRoute("/user/**");
+        this.addRoute("/file/*.html");
+        this.addRoute("/file/**");
+        this.addRoute("/group/**/{gid}/member/{mid}");
+    }
+
+    @Test
+    public void precedenceTest() {
+        Assert.assertEquals("/user/list", this.match("/user/list"));
+        Assert.assertEquals("/user/{id}", this.match("/user/1"));
+        Assert.assertEquals("/user/{id}", this.match("/user/a.html"));
+        Assert.assertEquals("/user/{id}/detail", this.match("/user/1/detail"));
+        Assert.assertEquals("/user/**", this.match("/user/1/other"));
+        Assert.assertEquals("/user/**", this.match("/user/list/detail/more"));
+        Assert.assertEquals("/file/*.html", this.match("/file/index.html"));
+        Assert.assertEquals("/file/**", this.match("/file/index.txt"));
+        Assert.assertEquals("/file/**", this.match("/file"));
+        Assert.assertNull(this.match("/none"));
+        Assert.assertNull(this.match("/"));
+    }
+
+    @Test
+    public void slashTest() {
+        Assert.assertEquals("/user/list", this.match("/user/list/"));
+        Assert.assertEquals("/user/list", this.match("//user//list"));
+        Assert.assertEquals("/user/{id}/detail", this.match("/user/1/detail/"));
+        Assert.assertEquals("/file/*.html", this.match("/file//index.html/"));
+    }
+
+    @Test
+    public void pathVariableTest() {
+        RouteMatch routeMatch = this.routeTrie.matchRoute("//user/7/detail/");
+        Assert.assertEquals("/user/{id}/detail", routeMatch.getMethodMapping().getUrl());
+        Assert.assertEquals(Collections.singletonMap("id", "7"), routeMatch.getPathVariables());
+
+        RouteMatch wildcardMatch = this.routeTrie.matchRoute("/group/a/b//3/member/5");
+        Map<String, String> pathVariables = new HashMap<>();
+        pathVariables.put("gid", "3");
+        pathVariables.put("mid", "5");
+        Assert.assertEquals("/group/**/{gid}/member/{mid}", wildcardMatch.getMethodMapping().getUrl());
+        Assert.assertEquals(pathVariables, wildcardMatch.getPathVariables());
+
+        RouteMatch staticMatch = this.routeTrie.matchRoute("/user/list");
+        Assert.assertFalse(staticMatch.getMethodMapping().isRestful());
+        Assert.assertTrue(staticMatch.getPathVariables().isEmpty());
+        Assert.assertSame(staticMatch, this.routeTrie.matchRoute("/user/list/"));
+
+        Assert.assertNull(this.routeTrie.matchRoute("/none"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateTest() {
+        this.addRoute("/user/list/");
+    }
+
+    private void addRoute(String url) {
+        this.routeTrie.addRoute(MethodMapping.create(url, RequestMethod.GET, null, null));
+    }
+
+    private String match(String requestURI) {
+        MethodMapping methodMapping = this.routeTrie.match(requestURI);
+        return methodMapping == null ? null : methodMapping.getUrl();
+    }
+}
@@ -3,19 +3,31 @@ package com.kfyty.loveqq.framework.web.mvc.servlet;
 import com.kfyty.loveqq.framework.core.autoconfig.aware.BeanFactoryAware;
 import com.kfyty.loveqq.framework.core.autoconfig.beans.BeanFactory;
 import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.thread.NamedThreadFactory;
 import com.kfyty.loveqq.framework.core.utils.BeanUtil;
+import com.kfyty.loveqq.framework.core.utils.CompletableFutureUtil;
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
 import com.kfyty.loveqq.framework.core.utils.LogUtil;
 import com.kfyty.loveqq.framework.core.utils.PackageUtil;
-import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
-import com.kfyty.loveqq.framework.web.core.handler.DefaultRequestMappingMatcher;
 import com.kfyty.loveqq.framework.web.core.handler.RequestMappingMatcher;
+import com.kfyty.loveqq.framework.web.core.handler.TrieRequestMappingMatcher;
 import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.mapping.RouteMatch;
 import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
 import com.kfyty.loveqq.framework.web.core.request.support.Model;
 import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
 import com.kfyty.loveqq.framework.web.mvc.servlet.interceptor.HandlerInterceptor;
 import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.ServletHandlerMethodArgumentResolver;
 import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.ServletHandlerMethodReturnValueProcessor;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.support.AsyncReturnValueAdapter;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.support.HandlerInvocationPlan;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.support.RequestContextHolder;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.support.ResponseContextHolder;
+import com.kfyty.loveqq.framework.web.mvc.servlet.util.ServletUtil;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -26,13 +38,17 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
-import java.lang.reflect.Parameter;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Optional.ofNullable;
 
@@ -61,6 +77,11 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
      */
     private static final String SUFFIX_PARAM_NAME = "suffix";
 
+    /**
+     * 异步结果属性 key，异步返回值完成后保存结果，并通过 {@link AsyncContext#dispatch()} 在容器线程处理
+     */
+    private static final String ASYNC_RESULT_ATTRIBUTE = DispatcherServlet.class.getName() + ".ASYNC_RESULT";
+
     /**
      * BeanFactory
      */
@@ -82,7 +103,37 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
     private List<ServletHandlerMethodReturnValueProcessor> returnValueProcessors = new ArrayList<>(4);
 
     @Setter
-    private RequestMappingMatcher requestMappingMatcher = new DefaultRequestMappingMatcher();
+    private RequestMappingMatcher requestMappingMatcher = new TrieRequestMappingMatcher();
+
+    /**
+     * 是否使用 {@link java.lang.invoke.MethodHandle} 调用控制器方法
+     */
+    @Setter
+    private boolean methodHandleInvoker;
+
+    /**
+     * 是否流式读写请求体/响应体
+     */
+    @Setter
+    private boolean streamingBody;
+
+    /**
+     * 异步请求超时时间，单位毫秒
+     */
+    @Setter
+    private long asyncTimeout = 30_000L;
+
+    /**
+     * 执行 {@link java.util.concurrent.Callable} 返回值的线程池
+     * 未设置时使用专用的线程池，避免阻塞的 {@link java.util.concurrent.Callable} 占用公共线程池
+     */
+    @Setter
+    private Executor asyncExecutor;
+
+    /**
+     * 未设置 {@link #asyncExecutor} 时创建的专用线程池，销毁时关闭
+     */
+    private ExecutorService defaultAsyncExecutor;
 
     public DispatcherServlet() {
         this.prepareDefaultArgumentResolversReturnValueProcessor();
@@ -109,6 +160,10 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
             this.setReturnValueProcessors(bean.getReturnValueProcessors());
             this.setInterceptorChains(bean.getInterceptorChains());
             this.setRequestMappingMatcher(bean.getRequestMappingMatcher());
+            this.setMethodHandleInvoker(bean.isMethodHandleInvoker());
+            this.setStreamingBody(bean.isStreamingBody());
+            this.setAsyncTimeout(bean.getAsyncTimeout());
+            this.setAsyncExecutor(bean.getAsyncExecutor());
         }
     }
 
@@ -127,6 +182,14 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
         this.processRequest(req, resp);
     }
 
+    @Override
+    public void destroy() {
+        if (this.defaultAsyncExecutor != null) {
+            this.defaultAsyncExecutor.shutdown();
+        }
+        super.destroy();
+    }
+
     public DispatcherServlet addInterceptor(HandlerInterceptor interceptor) {
         this.interceptorChains.add(interceptor);
         return this;
@@ -149,8 +212,18 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
     }
 
     protected void processRequest(HttpServletRequest request, HttpServletResponse response) throws ServletException {
+        // 异步返回值完成后重新分派的请求，处理异步结果
+        Object asyncResult = request.getDispatcherType() == DispatcherType.ASYNC ? request.getAttribute(ASYNC_RESULT_ATTRIBUTE) : null;
+        if (asyncResult instanceof AsyncResult) {
+            request.removeAttribute(ASYNC_RESULT_ATTRIBUTE);
+            this.processAsyncResult((AsyncResult) asyncResult, request, response);
+            return;
+        }
+
+        boolean async = false;
         Throwable exception = null;
-        MethodMapping methodMapping = this.requestMappingMatcher.matchRoute(RequestMethod.matchRequestMethod(request.getMethod()), request.getRequestURI());
+        RouteMatch routeMatch = this.requestMappingMatcher.matchRequest(RequestMethod.matchRequestMethod(request.getMethod()), request.getRequestURI());
+        MethodMapping methodMapping = routeMatch == null ? null : routeMatch.getMethodMapping();
         try {
             // 无匹配，转发到 404
             if (methodMapping == null) {
@@ -161,32 +234,194 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
 
             LogUtil.logIfDebugEnabled(log, log -> log.debug("matched URL mapping [{}] to request URI [{}] !", methodMapping.getUrl(), request.getRequestURI()));
 
+            // 保存匹配期间捕获的路径变量，仅 restful 路由需要
+            if (methodMapping.isRestful()) {
+                request.setAttribute(MethodMapping.PATH_VARIABLES_ATTRIBUTE, routeMatch.getPathVariables());
+            }
+
             // 应用前置拦截器
             if (!this.processPreInterceptor(request, response, methodMapping)) {
                 return;
             }
 
             // 解析参数并处理请求
+            HandlerInvocationPlan invocationPlan = this.obtainInvocationPlan(methodMapping);
             this.preparedRequestResponse(methodMapping, request, response);
-            Object[] params = this.preparedMethodParams(request, response, methodMapping);
-            Object retValue = ReflectUtil.invokeMethod(methodMapping.getController(), methodMapping.getMappingMethod(), params);
+            if (this.streamingBody) {
+                ServletUtil.setStreamingResponseBody(request);
+                if (invocationPlan.isStreamingRequestBody()) {
+                    ServletUtil.setStreamingRequestBody(request);
+                }
+            }
+            Object[] params = invocationPlan.resolveArguments(request, response);
+            Object retValue = invocationPlan.invoke(params);
+
+            // 异步返回值，在完成时应用后置处理器并处理返回值
+            if (retValue != null && invocationPlan.isAsyncReturnType()) {
+                async = this.processAsyncReturnValue(retValue, request, response, methodMapping, params);
+                return;
+            }
 
             // 应用后置处理器并处理返回值
             this.processPostInterceptor(request, response, methodMapping, retValue);
             if (retValue != null) {
-                this.processReturnValue(retValue, new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), params), request, response, params);
+                this.processReturnValue(retValue, new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), params), request, response, invocationPlan, params);
             }
         } catch (Throwable e) {
             log.error("process request error: {}", e.getMessage());
             exception = e;
             throw e instanceof ServletException ? (ServletException) e : new ServletException(e);
         } finally {
-            if (methodMapping != null) {
+            if (methodMapping != null && !async) {
                 this.processCompletionInterceptor(request, response, methodMapping, exception);
             }
         }
     }
 
+    /**
+     * 处理异步返回值
+     * 支持异步时，通过 {@link AsyncContext} 释放当前线程，完成时保存结果并通过 {@link AsyncContext#dispatch()} 重新分派，
+     * 由容器线程应用后置拦截器及返回值处理器；否则阻塞等待完成
+     *
+     * @param retValue      异步返回值
+     * @param request       请求
+     * @param response      响应
+     * @param methodMapping 方法映射
+     * @param params        方法参数
+     * @return 是否已开启异步处理，为 true 时由重新分派的请求负责完成拦截器
+     */
+    protected boolean processAsyncReturnValue(Object retValue, HttpServletRequest request, HttpServletResponse response, MethodMapping methodMapping, Object[] params) throws Throwable {
+        Executor executor = this.decorateAsyncExecutor(this.obtainAsyncExecutor(), request, response);
+        if (!request.isAsyncSupported()) {
+            LogUtil.logIfDebugEnabled(log, log -> log.debug("async doesn't supported of request: {}, blocking until completed.", request.getRequestURI()));
+            Object value = CompletableFutureUtil.get(AsyncReturnValueAdapter.adapt(retValue, executor), this.asyncTimeout, TimeUnit.MILLISECONDS);
+            this.processPostInterceptor(request, response, methodMapping, value);
+            if (value != null) {
+                this.processReturnValue(value, this.buildAsyncReturnType(methodMapping, value, params), request, response, params);
+            }
+            return false;
+        }
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(this.asyncTimeout);
+        CompletableFuture<Object> future = AsyncReturnValueAdapter.adapt(retValue, executor);
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                future.completeExceptionally(new TimeoutException("async request timeout: " + request.getRequestURI()));
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                future.completeExceptionally(event.getThrowable());
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        future.whenComplete((value, ex) -> this.completeAsyncRequest(asyncContext, request, methodMapping, params, value, ex));
+        return true;
+    }
+
+    /**
+     * 异步返回值完成时回调，该回调可能在任意线程执行，因此仅保存结果并重新分派到容器线程
+     */
+    protected void completeAsyncRequest(AsyncContext asyncContext, HttpServletRequest request, MethodMapping methodMapping, Object[] params, Object value, Throwable ex) {
+        request.setAttribute(ASYNC_RESULT_ATTRIBUTE, new AsyncResult(methodMapping, params, value, ex));
+        try {
+            asyncContext.dispatch();
+        } catch (IllegalStateException e) {
+            log.error("dispatch async request error, the async request may have been completed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 在容器线程处理异步结果，应用后置拦截器及返回值处理器，异常时响应错误状态码
+     * 重新分派的请求默认不经过过滤器，因此需重新绑定请求上下文
+     */
+    protected void processAsyncResult(AsyncResult asyncResult, HttpServletRequest request, HttpServletResponse response) throws ServletException {
+        Object value = asyncResult.value;
+        MethodMapping methodMapping = asyncResult.methodMapping;
+        Throwable exception = asyncResult.exception == null ? null : ExceptionUtil.unwrap(asyncResult.exception);
+        bindRequestContext(request, response);
+        try {
+            if (exception == null) {
+                this.processPostInterceptor(request, response, methodMapping, value);
+                if (value != null) {
+                    this.processReturnValue(value, this.buildAsyncReturnType(methodMapping, value, asyncResult.params), request, response, asyncResult.params);
+                }
+            }
+        } catch (Throwable e) {
+            exception = e;
+        } finally {
+            try {
+                if (exception != null) {
+                    log.error("process async request error: {}", exception.getMessage(), exception);
+                    if (!response.isCommitted()) {
+                        response.sendError(exception instanceof TimeoutException ? HttpServletResponse.SC_SERVICE_UNAVAILABLE : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("send async request error status failed: {}", e.getMessage(), e);
+            } finally {
+                try {
+                    this.processCompletionInterceptor(request, response, methodMapping, exception);
+                } finally {
+                    unbindRequestContext();
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取执行 {@link java.util.concurrent.Callable} 返回值的线程池，未设置时创建专用的线程池
+     *
+     * @return 线程池
+     */
+    protected Executor obtainAsyncExecutor() {
+        if (this.asyncExecutor == null) {
+            synchronized (this) {
+                if (this.asyncExecutor == null) {
+                    this.asyncExecutor = this.defaultAsyncExecutor = Executors.newCachedThreadPool(new NamedThreadFactory("mvc-async"));
+                }
+            }
+        }
+        return this.asyncExecutor;
+    }
+
+    /**
+     * 装饰线程池，任务执行期间绑定请求上下文，使异步线程可以获取当前请求及响应
+     *
+     * @param executor 线程池
+     * @param request  请求
+     * @param response 响应
+     * @return 装饰后的线程池
+     */
+    protected Executor decorateAsyncExecutor(Executor executor, HttpServletRequest request, HttpServletResponse response) {
+        return task -> executor.execute(() -> {
+            bindRequestContext(request, response);
+            try {
+                task.run();
+            } finally {
+                unbindRequestContext();
+            }
+        });
+    }
+
+    /**
+     * 构建异步返回值描述，返回值类型为异步结果的实际类型
+     */
+    protected MethodParameter buildAsyncReturnType(MethodMapping methodMapping, Object value, Object[] params) {
+        MethodParameter returnType = new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), params);
+        returnType.setReturnType(value.getClass());
+        returnType.setReturnGeneric(value.getClass());
+        return returnType;
+    }
+
     protected boolean processPreInterceptor(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         for (HandlerInterceptor interceptor : this.interceptorChains) {
             if (!interceptor.preHandle(request, response, handler)) {
@@ -212,54 +447,43 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
         }
     }
 
-    protected Object[] preparedMethodParams(HttpServletRequest request, HttpServletResponse response, MethodMapping methodMapping) throws IOException {
-        int index = 0;
-        Parameter[] parameters = methodMapping.getMappingMethod().getParameters();
-        Object[] paramValues = new Object[parameters.length];
-        for (Parameter parameter : parameters) {
-            if (HttpServletRequest.class.isAssignableFrom(parameter.getType())) {
-                paramValues[index++] = request;
-                continue;
-            }
-            if (HttpServletResponse.class.isAssignableFrom(parameter.getType())) {
-                paramValues[index++] = response;
-                continue;
-            }
-            MethodParameter methodParameter = new MethodParameter(methodMapping.getController(), methodMapping.getMappingMethod(), parameter);
-            MethodParameter arguments = this.processMethodArguments(methodParameter, methodMapping, request);
-            if (arguments != null) {
-                paramValues[index++] = arguments.getValue();
-                continue;
-            }
-            throw new IllegalArgumentException("can't parse parameters temporarily, no argument resolver support !");
+    /**
+     * 获取方法映射的调用计划，不存在时创建
+     *
+     * @param methodMapping 方法映射
+     * @return 调用计划
+     */
+    protected HandlerInvocationPlan obtainInvocationPlan(MethodMapping methodMapping) {
+        Object invocationPlan = methodMapping.getInvocationPlan();
+        if (invocationPlan instanceof HandlerInvocationPlan) {
+            return (HandlerInvocationPlan) invocationPlan;
         }
-        return paramValues;
+        HandlerInvocationPlan newInvocationPlan = new HandlerInvocationPlan(methodMapping, this.argumentResolvers, this.returnValueProcessors, this.methodHandleInvoker);
+        methodMapping.setInvocationPlan(newInvocationPlan);
+        return newInvocationPlan;
     }
 
-    protected MethodParameter processMethodArguments(MethodParameter methodParameter, MethodMapping methodMapping, HttpServletRequest request) throws IOException {
-        for (ServletHandlerMethodArgumentResolver argumentResolver : this.argumentResolvers) {
-            if (argumentResolver.supportsParameter(methodParameter)) {
-                methodParameter.setValue(argumentResolver.resolveArgument(methodParameter, methodMapping, request));
-                return methodParameter;
-            }
-        }
-        return null;
+    protected void processReturnValue(Object retValue, MethodParameter methodParameter, HttpServletRequest request, HttpServletResponse response, Object... params) throws Throwable {
+        Model model = (Model) Arrays.stream(params).filter(e -> e != null && Model.class.isAssignableFrom(e.getClass())).findFirst().orElse(null);
+        this.processReturnValue(retValue, methodParameter, request, response, model, this.returnValueProcessors);
     }
 
-    protected void processReturnValue(Object retValue, MethodParameter methodParameter, HttpServletRequest request, HttpServletResponse response, Object... params) throws Throwable {
-        this.processReturnValue(retValue, methodParameter, request, response, params, () -> new IllegalArgumentException("can't parse return value temporarily, no return value processor support !"));
+    protected void processReturnValue(Object retValue, MethodParameter methodParameter, HttpServletRequest request, HttpServletResponse response, HandlerInvocationPlan invocationPlan, Object[] params) throws Throwable {
+        this.processReturnValue(retValue, methodParameter, request, response, invocationPlan.getModel(params), Arrays.asList(invocationPlan.getReturnValueProcessors()));
     }
 
-    protected void processReturnValue(Object retValue, MethodParameter methodParameter, HttpServletRequest request, HttpServletResponse response, Object[] params, Supplier<? extends Throwable> ex) throws Throwable {
+    protected void processReturnValue(Object retValue, MethodParameter methodParameter, HttpServletRequest request, HttpServletResponse response, Model model, Iterable<ServletHandlerMethodReturnValueProcessor> returnValueProcessors) throws Throwable {
         ModelViewContainer<HttpServletRequest, HttpServletResponse> container = new ModelViewContainer<>(this.prefix, this.suffix, request, response);
-        Arrays.stream(params).filter(e -> e != null && Model.class.isAssignableFrom(e.getClass())).findFirst().ifPresent(e -> container.setModel((Model) e));
-        for (ServletHandlerMethodReturnValueProcessor returnValueProcessor : this.returnValueProcessors) {
+        if (model != null) {
+            container.setModel(model);
+        }
+        for (ServletHandlerMethodReturnValueProcessor returnValueProcessor : returnValueProcessors) {
             if (returnValueProcessor.supportsReturnType(retValue, methodParameter)) {
                 returnValueProcessor.handleReturnValue(retValue, methodParameter, container);
                 return;
             }
         }
-        throw ex.get();
+        throw new IllegalArgumentException("can't parse return value temporarily, no return value processor support !");
     }
 
     public void afterPropertiesSet() {
@@ -278,10 +502,56 @@ public class DispatcherServlet extends HttpServlet implements BeanFactoryAware {
                 ((BeanFactoryAware) returnValueProcessor).setBeanFactory(this.getBeanFactory());
             }
         }
+
+        for (MethodMapping methodMapping : this.requestMappingMatcher.getRoutes()) {
+            methodMapping.setInvocationPlan(new HandlerInvocationPlan(methodMapping, this.argumentResolvers, this.returnValueProcessors, this.methodHandleInvoker));
+        }
     }
 
     protected void prepareDefaultArgumentResolversReturnValueProcessor() {
         this.argumentResolvers.addAll(PackageUtil.scanInstance(ServletHandlerMethodArgumentResolver.class));
         this.returnValueProcessors.addAll(PackageUtil.scanInstance(ServletHandlerMethodReturnValueProcessor.class));
     }
+
+    private static void bindRequestContext(HttpServletRequest request, HttpServletResponse response) {
+        RequestContextHolder.setCurrentRequest(request);
+        ResponseContextHolder.setCurrentResponse(response);
+    }
+
+    private static void unbindRequestContext() {
+        RequestContextHolder.removeCurrentRequest();
+        ResponseContextHolder.removeCurrentResponse();
+    }
+
+    /**
+     * 异步结果
+     */
+    protected static class AsyncResult {
+        /**
+         * 方法映射
+         */
+        private final MethodMapping methodMapping;
+
+        /**
+         * 方法参数
+         */
+        private final Object[] params;
+
+        /**
+         * 异步返回值
+         */
+        private final Object value;
+
+        /**
+         * 异步异常
+         */
+        private final Throwable exception;
+
+        protected AsyncResult(MethodMapping methodMapping, Object[] params, Object value, Throwable exception) {
+            this.methodMapping = methodMapping;
+            this.params = params;
+            this.value = value;
+            this.exception = exception;
+        }
+    }
 }
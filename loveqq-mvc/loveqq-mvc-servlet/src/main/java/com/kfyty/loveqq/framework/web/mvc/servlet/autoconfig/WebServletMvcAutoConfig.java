@@ -18,6 +18,7 @@ import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.annotation.WebListener;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * 描述: mvc 自动配置
@@ -39,6 +40,9 @@ public class WebServletMvcAutoConfig {
     @Autowired(required = false)
     private List<ServletHandlerMethodReturnValueProcessor> returnValueProcessors;
 
+    @Autowired(value = "defaultThreadPoolExecutor", required = false)
+    private ExecutorService asyncExecutor;
+
     @Bean
     public MultipartConfigElement multipartConfig(@Value("${k.mvc.multipart.location:}") String location,
                                                   @Value("${k.mvc.multipart.maxFileSize:-1}") int maxFileSize,
@@ -53,8 +57,17 @@ public class WebServletMvcAutoConfig {
     }
 
     @Bean
-    public DispatcherServlet dispatcherServlet(RequestMappingMatcher requestMappingMatcher) {
+    public DispatcherServlet dispatcherServlet(RequestMappingMatcher requestMappingMatcher,
+                                               @Value("${k.mvc.methodHandleInvoker:false}") boolean methodHandleInvoker,
+                                               @Value("${k.mvc.streamingBody:false}") boolean streamingBody,
+                                               @Value("${k.mvc.async.timeout:30000}") long asyncTimeout) {
         DispatcherServlet dispatcherServlet = new DispatcherServlet();
+        dispatcherServlet.setMethodHandleInvoker(methodHandleInvoker);
+        dispatcherServlet.setStreamingBody(streamingBody);
+        dispatcherServlet.setAsyncTimeout(asyncTimeout);
+        if (this.asyncExecutor != null) {
+            dispatcherServlet.setAsyncExecutor(this.asyncExecutor);
+        }
         this.interceptorChain.forEach(dispatcherServlet::addInterceptor);
         this.argumentResolvers.forEach(dispatcherServlet::addArgumentResolver);
         this.returnValueProcessors.forEach(dispatcherServlet::addReturnProcessor);
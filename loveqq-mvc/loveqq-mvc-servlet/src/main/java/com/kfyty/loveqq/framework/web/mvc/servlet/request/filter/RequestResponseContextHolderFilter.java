@@ -22,7 +22,7 @@ import java.io.IOException;
  * @email kfyty725@hotmail.com
  */
 @Order(Integer.MIN_VALUE)
-@WebFilter(urlPatterns = "/*")
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
 public class RequestResponseContextHolderFilter implements Filter {
 
     @Override
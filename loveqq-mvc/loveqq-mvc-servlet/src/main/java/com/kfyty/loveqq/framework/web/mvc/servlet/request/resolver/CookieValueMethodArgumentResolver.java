@@ -28,6 +28,11 @@ public class CookieValueMethodArgumentResolver extends AbstractHandlerMethodArgu
         return AnnotationUtil.hasAnnotation(parameter.getParameter(), CookieValue.class);
     }
 
+    @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
     @Override
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         String parameterName = parameter.getParameterName(findAnnotation(parameter.getParameter(), CookieValue.class), CookieValue::value);
@@ -23,6 +23,11 @@ public class ModelMethodArgumentResolver implements ServletHandlerMethodArgument
         return Model.class.isAssignableFrom(parameter.getParamType());
     }
 
+    @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
     @Override
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         return new Model();
@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import static com.kfyty.loveqq.framework.core.utils.AnnotationUtil.findAnnotation;
 
@@ -27,9 +28,19 @@ public class PathVariableMethodArgumentResolver extends AbstractHandlerMethodArg
     }
 
     @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
-        List<String> paths = CommonUtil.split(request.getRequestURI(), "[/]");
         String paramName = parameter.getParameterName(findAnnotation(parameter.getParameter(), PathVariable.class), PathVariable::value);
+        Map<String, String> pathVariables = (Map<String, String>) request.getAttribute(MethodMapping.PATH_VARIABLES_ATTRIBUTE);
+        if (pathVariables != null && pathVariables.containsKey(paramName)) {
+            return this.createDataBinder(paramName, pathVariables.get(paramName)).getPropertyContext().getProperty(paramName, parameter.getParameterGeneric());
+        }
+        List<String> paths = CommonUtil.split(request.getRequestURI(), "[/]");
         Integer paramIndex = mapping.getRestfulMappingIndex(paramName);
         return this.createDataBinder(paramName, paths.get(paramIndex)).getPropertyContext().getProperty(paramName, parameter.getParameterGeneric());
     }
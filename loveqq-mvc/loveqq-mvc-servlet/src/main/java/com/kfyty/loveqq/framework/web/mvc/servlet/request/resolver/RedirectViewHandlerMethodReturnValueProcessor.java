@@ -18,6 +18,11 @@ import static com.kfyty.loveqq.framework.core.utils.CommonUtil.removePrefix;
 @Order(Integer.MIN_VALUE)
 public class RedirectViewHandlerMethodReturnValueProcessor implements ServletHandlerMethodReturnValueProcessor {
 
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.getReturnType() == String.class;
+    }
+
     @Override
     public boolean supportsReturnType(Object returnValue, MethodParameter returnType) {
         return returnType != null && returnType.getReturnType() == String.class && ((String) returnValue).startsWith("redirect:");
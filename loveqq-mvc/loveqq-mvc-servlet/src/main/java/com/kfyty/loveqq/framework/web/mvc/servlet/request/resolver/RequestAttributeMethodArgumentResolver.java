@@ -24,6 +24,11 @@ public class RequestAttributeMethodArgumentResolver implements ServletHandlerMet
         return AnnotationUtil.hasAnnotation(parameter.getParameter(), RequestAttribute.class);
     }
 
+    @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
     @Override
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         return request.getAttribute(parameter.getParameterName(findAnnotation(parameter.getParameter(), RequestAttribute.class), RequestAttribute::value));
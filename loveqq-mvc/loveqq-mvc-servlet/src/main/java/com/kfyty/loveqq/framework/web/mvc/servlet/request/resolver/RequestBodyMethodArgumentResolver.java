@@ -11,6 +11,8 @@ import com.kfyty.loveqq.framework.web.mvc.servlet.util.ServletUtil;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Map;
 
@@ -29,25 +31,102 @@ public class RequestBodyMethodArgumentResolver implements ServletHandlerMethodAr
     }
 
     @Override
-    @SuppressWarnings({"rawtypes", "unchecked"})
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         if (String.class.isAssignableFrom(parameter.getParamType())) {
             return ServletUtil.getRequestBody(request);
         }
-        String json = ServletUtil.getRequestBody(request);
+        if (ServletUtil.isStreamingRequestBody(request)) {
+            return this.resolveArgument(parameter, new StreamBodyReader(request.getInputStream()));
+        }
+        return this.resolveArgument(parameter, new StringBodyReader(ServletUtil.getRequestBody(request)));
+    }
+
+    /**
+     * 按参数类型读取请求体，请求体来源由 {@link BodyReader} 决定
+     * 流式请求体直接从输入流绑定参数，不缓存请求体字符串
+     *
+     * @param parameter 方法参数
+     * @param reader    请求体读取器
+     * @return 参数值
+     */
+    @SuppressWarnings("unchecked")
+    protected Object resolveArgument(MethodParameter parameter, BodyReader reader) {
         ActualGeneric actualGeneric = ActualGeneric.from(parameter.getSource().getClass(), parameter.getParameter());
         if (actualGeneric.resolveNestedGeneric() == null) {
             if (Collection.class.isAssignableFrom(actualGeneric.getSourceType())) {
-                return JsonUtil.toCollection(json, (Class<? extends Collection>) actualGeneric.getSourceType(), actualGeneric.getSimpleActualType());
+                return reader.readCollection((Class<? extends Collection<?>>) actualGeneric.getSourceType(), actualGeneric.getSimpleActualType());
             }
             if (Map.class.isAssignableFrom(actualGeneric.getSourceType())) {
-                return JsonUtil.toMap(json, actualGeneric.getFirst().get(), actualGeneric.getSecond().get());
+                return reader.readMap(actualGeneric.getFirst().get(), actualGeneric.getSecond().get());
             }
             if (actualGeneric.getSourceType().isArray()) {
-                Collection<?> collection = JsonUtil.toCollection(json, (Class<? extends Collection>) actualGeneric.getSourceType(), actualGeneric.getSimpleActualType());
+                Collection<?> collection = reader.readCollection((Class<? extends Collection<?>>) actualGeneric.getSourceType(), actualGeneric.getSimpleActualType());
                 return CommonUtil.copyToArray(actualGeneric.getSimpleActualType(), collection);
             }
         }
-        return JsonUtil.toObject(json, parameter.getParameterGeneric());
+        return reader.readObject(parameter.getParameterGeneric());
+    }
+
+    /**
+     * 请求体读取器
+     */
+    protected interface BodyReader {
+        Collection<?> readCollection(Class<? extends Collection<?>> collectionType, Class<?> elementType);
+
+        Map<?, ?> readMap(Class<?> keyType, Class<?> valueType);
+
+        Object readObject(Type type);
+    }
+
+    /**
+     * 从已缓存的请求体字符串读取
+     */
+    protected static class StringBodyReader implements BodyReader {
+        private final String json;
+
+        public StringBodyReader(String json) {
+            this.json = json;
+        }
+
+        @Override
+        public Collection<?> readCollection(Class<? extends Collection<?>> collectionType, Class<?> elementType) {
+            return JsonUtil.toCollection(this.json, collectionType, elementType);
+        }
+
+        @Override
+        public Map<?, ?> readMap(Class<?> keyType, Class<?> valueType) {
+            return JsonUtil.toMap(this.json, keyType, valueType);
+        }
+
+        @Override
+        public Object readObject(Type type) {
+            return JsonUtil.toObject(this.json, type);
+        }
+    }
+
+    /**
+     * 直接从请求输入流读取
+     */
+    protected static class StreamBodyReader implements BodyReader {
+        private final InputStream in;
+
+        public StreamBodyReader(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public Collection<?> readCollection(Class<? extends Collection<?>> collectionType, Class<?> elementType) {
+            return JsonUtil.toCollection(this.in, collectionType, elementType);
+        }
+
+        @Override
+        public Map<?, ?> readMap(Class<?> keyType, Class<?> valueType) {
+            return JsonUtil.toMap(this.in, keyType, valueType);
+        }
+
+        @Override
+        public Object readObject(Type type) {
+            return JsonUtil.toObject(this.in, type);
+        }
     }
 }
@@ -24,6 +24,11 @@ public class RequestHeaderMethodArgumentResolver extends AbstractHandlerMethodAr
         return AnnotationUtil.hasAnnotation(parameter.getParameter(), RequestHeader.class);
     }
 
+    @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
     @Override
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         String parameterName = parameter.getParameterName(findAnnotation(parameter.getParameter(), RequestHeader.class), RequestHeader::value);
@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.core.utils.AnnotationUtil;
 import com.kfyty.loveqq.framework.core.utils.JsonUtil;
 import com.kfyty.loveqq.framework.web.core.annotation.bind.ResponseBody;
 import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
+import com.kfyty.loveqq.framework.web.mvc.servlet.util.ServletUtil;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -23,6 +24,11 @@ import static com.kfyty.loveqq.framework.core.autoconfig.annotation.Order.HIGHES
 @Order(HIGHEST_PRECEDENCE >> 1)
 public class ResponseBodyHandlerMethodReturnValueProcessor implements ServletHandlerMethodReturnValueProcessor {
 
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return this.supportsReturnType(null, returnType);
+    }
+
     @Override
     public boolean supportsReturnType(Object returnValue, MethodParameter returnType) {
         if (returnType == null) {
@@ -35,6 +41,10 @@ public class ResponseBodyHandlerMethodReturnValueProcessor implements ServletHan
     @Override
     public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelViewContainer<HttpServletRequest, HttpServletResponse> container) throws Exception {
         container.getResponse().setContentType(this.contentType(returnType));
+        if (!(returnValue instanceof CharSequence) && ServletUtil.isStreamingResponseBody(container.getRequest())) {
+            JsonUtil.writeJson(container.getResponse().getOutputStream(), returnValue);
+            return;
+        }
         try (Writer out = container.getResponse().getWriter()) {
             out.write(returnValue instanceof CharSequence ? returnValue.toString() : JsonUtil.toJson(returnValue));
             out.flush();
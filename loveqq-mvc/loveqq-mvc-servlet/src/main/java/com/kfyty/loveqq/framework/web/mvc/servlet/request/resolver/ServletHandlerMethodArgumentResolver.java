@@ -1,5 +1,6 @@
 package com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver;
 
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
 import com.kfyty.loveqq.framework.web.core.request.resolver.HandlerMethodArgumentResolver;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -11,4 +12,14 @@ import jakarta.servlet.http.HttpServletRequest;
  * @email kfyty725@hotmail.com
  */
 public interface ServletHandlerMethodArgumentResolver extends HandlerMethodArgumentResolver<HttpServletRequest> {
+    /**
+     * 解析该参数时是否可能读取请求体，用于判断请求体是否可以流式读取
+     * 默认为 true，不读取请求体的解析器应覆盖该方法
+     *
+     * @param parameter 方法参数
+     * @return true if possible
+     */
+    default boolean isReadRequestBody(MethodParameter parameter) {
+        return true;
+    }
 }
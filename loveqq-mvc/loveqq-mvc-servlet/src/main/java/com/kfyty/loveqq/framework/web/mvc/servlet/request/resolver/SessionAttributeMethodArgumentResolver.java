@@ -24,6 +24,11 @@ public class SessionAttributeMethodArgumentResolver implements ServletHandlerMet
         return AnnotationUtil.hasAnnotation(parameter.getParameter(), SessionAttribute.class);
     }
 
+    @Override
+    public boolean isReadRequestBody(MethodParameter parameter) {
+        return false;
+    }
+
     @Override
     public Object resolveArgument(MethodParameter parameter, MethodMapping mapping, HttpServletRequest request) throws IOException {
         return request.getSession().getAttribute(parameter.getParameterName(findAnnotation(parameter.getParameter(), SessionAttribute.class), SessionAttribute::value));
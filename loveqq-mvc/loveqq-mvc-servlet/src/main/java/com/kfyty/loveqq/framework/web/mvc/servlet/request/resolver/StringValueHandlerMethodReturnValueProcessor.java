@@ -18,6 +18,11 @@ import static com.kfyty.loveqq.framework.core.utils.CommonUtil.removePrefix;
 @Order(Integer.MAX_VALUE)
 public class StringValueHandlerMethodReturnValueProcessor implements ServletHandlerMethodReturnValueProcessor {
 
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.getReturnType() == String.class;
+    }
+
     @Override
     public boolean supportsReturnType(Object returnValue, MethodParameter returnType) {
         return returnType != null && returnType.getReturnType() == String.class;
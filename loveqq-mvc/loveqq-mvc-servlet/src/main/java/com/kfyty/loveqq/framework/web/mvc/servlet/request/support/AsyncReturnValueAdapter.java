@@ -0,0 +1,86 @@
+package com.kfyty.loveqq.framework.web.mvc.servlet.request.support;
+
+import com.kfyty.loveqq.framework.core.utils.ExceptionUtil;
+import com.kfyty.loveqq.framework.core.utils.ReflectUtil;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * 描述: 异步返回值适配器
+ * 支持 {@link CompletionStage}、{@link Callable}，以及存在 reactor 依赖时的 {@link Mono}、{@link Flux}
+ *
+ * @author kfyty725
+ * @date 2024/7/05 11:10
+ * @email kfyty725@hotmail.com
+ */
+public abstract class AsyncReturnValueAdapter {
+    /**
+     * 是否存在 reactor 依赖
+     */
+    public static final boolean REACTOR_AVAILABLE = ReflectUtil.isPresent("reactor.core.publisher.Mono");
+
+    /**
+     * 是否是异步返回值类型
+     *
+     * @param returnType 方法返回值类型
+     * @return true if async
+     */
+    public static boolean isAsyncReturnType(Class<?> returnType) {
+        if (CompletionStage.class.isAssignableFrom(returnType) || Callable.class.isAssignableFrom(returnType)) {
+            return true;
+        }
+        return REACTOR_AVAILABLE && ReactorAdapter.isReactiveType(returnType);
+    }
+
+    /**
+     * 将异步返回值适配为 {@link CompletableFuture}
+     *
+     * @param returnValue 异步返回值
+     * @param executor    执行 {@link Callable} 的线程池，{@link Callable} 可能阻塞，因此必须指定专用的线程池
+     * @return {@link CompletableFuture}
+     */
+    public static CompletableFuture<Object> adapt(Object returnValue, Executor executor) {
+        if (returnValue instanceof CompletionStage<?>) {
+            return ((CompletionStage<?>) returnValue).toCompletableFuture().thenApply(e -> e);
+        }
+        if (returnValue instanceof Callable<?>) {
+            Callable<?> callable = (Callable<?>) returnValue;
+            Objects.requireNonNull(executor, "The executor of Callable is required");
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return callable.call();
+                } catch (Exception e) {
+                    throw ExceptionUtil.wrap(e);
+                }
+            }, executor);
+        }
+        if (REACTOR_AVAILABLE && ReactorAdapter.isReactiveType(returnValue.getClass())) {
+            return ReactorAdapter.adapt(returnValue);
+        }
+        throw new IllegalArgumentException("Unsupported async return value: " + returnValue.getClass());
+    }
+
+    /**
+     * reactor 适配，独立为内部类以避免不存在 reactor 依赖时加载失败
+     */
+    private static class ReactorAdapter {
+
+        static boolean isReactiveType(Class<?> returnType) {
+            return Mono.class.isAssignableFrom(returnType) || Flux.class.isAssignableFrom(returnType);
+        }
+
+        @SuppressWarnings("unchecked")
+        static CompletableFuture<Object> adapt(Object returnValue) {
+            if (returnValue instanceof Mono<?>) {
+                return ((Mono<Object>) returnValue).toFuture();
+            }
+            return ((Flux<Object>) returnValue).collectList().map(e -> (Object) e).toFuture();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.kfyty.loveqq.framework.web.mvc.servlet.request.support;
+
+import com.kfyty.loveqq.framework.core.method.MethodInvoker;
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.core.utils.MethodHandleUtil;
+import com.kfyty.loveqq.framework.web.core.mapping.MethodMapping;
+import com.kfyty.loveqq.framework.web.core.request.support.Model;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.RequestBodyMethodArgumentResolver;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.ServletHandlerMethodArgumentResolver;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.ServletHandlerMethodReturnValueProcessor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 描述: 控制器方法调用计划
+ * 注册路由时预先解析每个参数对应的参数解析器，以及可能支持的返回值处理器，请求时仅需遍历数组
+ *
+ * @author kfyty725
+ * @date 2024/7/03 14:20
+ * @email kfyty725@hotmail.com
+ */
+@Getter
+public class HandlerInvocationPlan {
+    /**
+     * 方法映射
+     */
+    private final MethodMapping methodMapping;
+
+    /**
+     * 方法参数描述，仅用于读取参数元数据
+     */
+    private final MethodParameter[] parameters;
+
+    /**
+     * 参数解析器，请求及响应参数为 null
+     */
+    private final ServletHandlerMethodArgumentResolver[] argumentResolvers;
+
+    /**
+     * 可能支持的返回值处理器
+     */
+    private final ServletHandlerMethodReturnValueProcessor[] returnValueProcessors;
+
+    /**
+     * {@link Model} 参数索引，不存在时为 -1
+     */
+    private final int modelIndex;
+
+    /**
+     * 请求体是否仅由 {@link RequestBodyMethodArgumentResolver} 读取，此时可流式读取请求体
+     */
+    private final boolean streamingRequestBody;
+
+    /**
+     * 是否是异步返回值类型
+     */
+    private final boolean asyncReturnType;
+
+    /**
+     * 方法调用器
+     */
+    private final MethodInvoker methodInvoker;
+
+    public HandlerInvocationPlan(MethodMapping methodMapping,
+                                 List<ServletHandlerMethodArgumentResolver> argumentResolvers,
+                                 List<ServletHandlerMethodReturnValueProcessor> returnValueProcessors,
+                                 boolean methodHandleInvoker) {
+        Object controller = methodMapping.getController();
+        Method method = methodMapping.getMappingMethod();
+        Parameter[] parameters = method.getParameters();
+        this.methodMapping = methodMapping;
+        this.parameters = new MethodParameter[parameters.length];
+        this.argumentResolvers = new ServletHandlerMethodArgumentResolver[parameters.length];
+
+        int modelIndex = -1;
+        int requestBodyReaders = 0;
+        boolean onlyRequestBodyReader = true;
+        for (int i = 0; i < parameters.length; i++) {
+            Class<?> paramType = parameters[i].getType();
+            this.parameters[i] = new MethodParameter(controller, method, parameters[i]);
+            if (HttpServletRequest.class.isAssignableFrom(paramType) || HttpServletResponse.class.isAssignableFrom(paramType)) {
+                continue;
+            }
+            if (modelIndex < 0 && Model.class.isAssignableFrom(paramType)) {
+                modelIndex = i;
+            }
+            this.argumentResolvers[i] = findArgumentResolver(this.parameters[i], argumentResolvers);
+            if (this.argumentResolvers[i] != null && this.argumentResolvers[i].isReadRequestBody(this.parameters[i])) {
+                requestBodyReaders++;
+                onlyRequestBodyReader &= this.argumentResolvers[i] instanceof RequestBodyMethodArgumentResolver && paramType != String.class;
+            }
+        }
+        this.modelIndex = modelIndex;
+        this.streamingRequestBody = requestBodyReaders == 1 && onlyRequestBodyReader;
+
+        MethodParameter returnType = new MethodParameter(controller, method);
+        List<ServletHandlerMethodReturnValueProcessor> candidates = new ArrayList<>(returnValueProcessors.size());
+        for (ServletHandlerMethodReturnValueProcessor returnValueProcessor : returnValueProcessors) {
+            if (returnValueProcessor.supportsReturnType(returnType)) {
+                candidates.add(returnValueProcessor);
+            }
+        }
+        this.returnValueProcessors = candidates.toArray(new ServletHandlerMethodReturnValueProcessor[0]);
+        this.asyncReturnType = AsyncReturnValueAdapter.isAsyncReturnType(method.getReturnType());
+        this.methodInvoker = methodHandleInvoker ? MethodHandleUtil.getMethodInvoker(method) : MethodHandleUtil.getReflectMethodInvoker(method);
+    }
+
+    /**
+     * 解析方法参数
+     *
+     * @param request  请求
+     * @param response 响应
+     * @return 方法参数
+     */
+    public Object[] resolveArguments(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Object[] paramValues = new Object[this.parameters.length];
+        for (int i = 0; i < this.parameters.length; i++) {
+            ServletHandlerMethodArgumentResolver argumentResolver = this.argumentResolvers[i];
+            if (argumentResolver != null) {
+                paramValues[i] = argumentResolver.resolveArgument(this.parameters[i], this.methodMapping, request);
+                continue;
+            }
+            Class<?> paramType = this.parameters[i].getParamType();
+            if (HttpServletRequest.class.isAssignableFrom(paramType)) {
+                paramValues[i] = request;
+                continue;
+            }
+            if (HttpServletResponse.class.isAssignableFrom(paramType)) {
+                paramValues[i] = response;
+                continue;
+            }
+            throw new IllegalArgumentException("can't parse parameters temporarily, no argument resolver support !");
+        }
+        return paramValues;
+    }
+
+    /**
+     * 调用控制器方法
+     *
+     * @param params 方法参数
+     * @return 返回值
+     */
+    public Object invoke(Object[] params) {
+        return this.methodInvoker.invoke(this.methodMapping.getController(), params);
+    }
+
+    /**
+     * 获取 {@link Model} 参数
+     *
+     * @param params 方法参数
+     * @return model
+     */
+    public Model getModel(Object[] params) {
+        return this.modelIndex < 0 ? null : (Model) params[this.modelIndex];
+    }
+
+    private static ServletHandlerMethodArgumentResolver findArgumentResolver(MethodParameter parameter, List<ServletHandlerMethodArgumentResolver> argumentResolvers) {
+        for (ServletHandlerMethodArgumentResolver argumentResolver : argumentResolvers) {
+            if (argumentResolver.supportsParameter(parameter)) {
+                return argumentResolver;
+            }
+        }
+        return null;
+    }
+}
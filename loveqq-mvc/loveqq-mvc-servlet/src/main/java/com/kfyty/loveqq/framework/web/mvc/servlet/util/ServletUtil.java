@@ -38,6 +38,16 @@ public class ServletUtil {
      */
     private static final String CURRENT_REQUEST_FILES = "__CURRENT__REQUEST__FILES__" + UUID.randomUUID();
 
+    /**
+     * 当前请求是否可流式读取请求体
+     */
+    private static final String STREAMING_REQUEST_BODY = "__STREAMING__REQUEST__BODY__" + UUID.randomUUID();
+
+    /**
+     * 当前请求是否流式写出响应体
+     */
+    private static final String STREAMING_RESPONSE_BODY = "__STREAMING__RESPONSE__BODY__" + UUID.randomUUID();
+
     /**
      * 是否是文件上传请求
      *
@@ -75,6 +85,46 @@ public class ServletUtil {
         return body;
     }
 
+    /**
+     * 标记当前请求可直接从 {@link ServletInputStream} 流式读取请求体
+     * 仅当请求体只会被唯一的解析器读取时才应设置
+     *
+     * @param request {@link HttpServletRequest}
+     */
+    public static void setStreamingRequestBody(HttpServletRequest request) {
+        request.setAttribute(STREAMING_REQUEST_BODY, Boolean.TRUE);
+    }
+
+    /**
+     * 标记当前请求的响应体直接写出到 {@link jakarta.servlet.ServletOutputStream}
+     *
+     * @param request {@link HttpServletRequest}
+     */
+    public static void setStreamingResponseBody(HttpServletRequest request) {
+        request.setAttribute(STREAMING_RESPONSE_BODY, Boolean.TRUE);
+    }
+
+    /**
+     * 是否可流式读取请求体
+     * 如果请求体已经被读取并缓存为字符串，则返回 false
+     *
+     * @param request {@link HttpServletRequest}
+     * @return true if streaming
+     */
+    public static boolean isStreamingRequestBody(HttpServletRequest request) {
+        return request.getAttribute(STREAMING_REQUEST_BODY) == Boolean.TRUE && request.getAttribute(CURRENT_REQUEST_PARAM) == null && !isMultipartRequest(request);
+    }
+
+    /**
+     * 是否流式写出响应体
+     *
+     * @param request {@link HttpServletRequest}
+     * @return true if streaming
+     */
+    public static boolean isStreamingResponseBody(HttpServletRequest request) {
+        return request.getAttribute(STREAMING_RESPONSE_BODY) == Boolean.TRUE;
+    }
+
     /**
      * 从文件上传请求解析 ParameterMap 数据
      *
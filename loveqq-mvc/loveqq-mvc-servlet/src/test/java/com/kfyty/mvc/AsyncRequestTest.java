@@ -0,0 +1,267 @@
+package com.kfyty.mvc;
+
+import com.kfyty.loveqq.framework.core.method.MethodParameter;
+import com.kfyty.loveqq.framework.web.core.request.RequestMethod;
+import com.kfyty.loveqq.framework.web.core.request.support.ModelViewContainer;
+import com.kfyty.loveqq.framework.web.mvc.servlet.DispatcherServlet;
+import com.kfyty.loveqq.framework.web.mvc.servlet.interceptor.HandlerInterceptor;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.resolver.ServletHandlerMethodReturnValueProcessor;
+import com.kfyty.loveqq.framework.web.mvc.servlet.request.support.RequestContextHolder;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 描述: 异步请求测试
+ *
+ * @author kfyty725
+ * @date 2024/7/11 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class AsyncRequestTest {
+    private final AsyncController controller = new AsyncController();
+
+    private DispatcherServlet dispatcherServlet;
+
+    private RecordedRequest request;
+
+    private volatile Object handledValue;
+
+    private volatile Thread handledThread;
+
+    private volatile Object postHandleValue;
+
+    private volatile Throwable completionException;
+
+    private volatile int completions;
+
+    @Before
+    public void setUp() throws Exception {
+        this.dispatcherServlet = new DispatcherServlet() {
+
+            @Override
+            protected void prepareDefaultArgumentResolversReturnValueProcessor() {
+                // 不扫描默认的参数解析器及返回值处理器
+            }
+        };
+        this.dispatcherServlet.setReturnValueProcessors(Collections.singletonList(new ServletHandlerMethodReturnValueProcessor() {
+
+            @Override
+            public boolean supportsReturnType(Object returnValue, MethodParameter returnType) {
+                return true;
+            }
+
+            @Override
+            public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelViewContainer<HttpServletRequest, HttpServletResponse> container) {
+                handledValue = returnValue;
+                handledThread = Thread.currentThread();
+            }
+        }));
+        this.dispatcherServlet.addInterceptor(new HandlerInterceptor() {
+
+            @Override
+            public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, Object retValue) {
+                postHandleValue = retValue;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Throwable ex) {
+                completionException = ex;
+                completions++;
+            }
+        });
+        this.dispatcherServlet.getRequestMappingMatcher().registryMethodMapping("/completion", RequestMethod.GET, this.controller, AsyncController.class.getMethod("completion"));
+        this.dispatcherServlet.getRequestMappingMatcher().registryMethodMapping("/pending", RequestMethod.GET, this.controller, AsyncController.class.getMethod("pending"));
+        this.dispatcherServlet.getRequestMappingMatcher().registryMethodMapping("/callable", RequestMethod.GET, this.controller, AsyncController.class.getMethod("callable"));
+    }
+
+    @Test
+    public void completionTest() throws Exception {
+        this.service("/completion");
+        Assert.assertEquals(0, this.completions);
+
+        this.controller.future.complete("ok");
+        this.awaitDispatchAndService();
+
+        Assert.assertEquals("ok", this.handledValue);
+        Assert.assertEquals("ok", this.postHandleValue);
+        Assert.assertSame(Thread.currentThread(), this.handledThread);
+        Assert.assertNull(this.completionException);
+        Assert.assertEquals(1, this.completions);
+        Assert.assertEquals(0, this.request.status);
+    }
+
+    @Test
+    public void timeoutTest() throws Exception {
+        this.service("/pending");
+        this.request.listeners.forEach(e -> invoke(() -> e.onTimeout(new AsyncEvent(this.request.asyncContext))));
+        this.awaitDispatchAndService();
+
+        Assert.assertNull(this.handledValue);
+        Assert.assertTrue(this.completionException instanceof TimeoutException);
+        Assert.assertEquals(1, this.completions);
+        Assert.assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, this.request.status);
+    }
+
+    @Test
+    public void errorTest() throws Exception {
+        this.service("/pending");
+        IOException error = new IOException("broken pipe");
+        this.request.listeners.forEach(e -> invoke(() -> e.onError(new AsyncEvent(this.request.asyncContext, error))));
+        this.awaitDispatchAndService();
+
+        Assert.assertNull(this.handledValue);
+        Assert.assertSame(error, this.completionException);
+        Assert.assertEquals(1, this.completions);
+        Assert.assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, this.request.status);
+    }
+
+    @Test
+    public void callableTest() throws Exception {
+        this.service("/callable");
+        this.awaitDispatchAndService();
+
+        Assert.assertEquals("/callable", this.handledValue);
+        Assert.assertNull(this.completionException);
+        Assert.assertEquals(1, this.completions);
+    }
+
+    private void service(String uri) throws Exception {
+        this.request = new RecordedRequest(uri);
+        this.dispatcherServlet.service(this.request.request, this.request.response);
+        Assert.assertNotNull(this.request.asyncContext);
+    }
+
+    private void awaitDispatchAndService() throws Exception {
+        Assert.assertTrue(this.request.dispatched.await(5, TimeUnit.SECONDS));
+        this.request.dispatcherType = DispatcherType.ASYNC;
+        this.dispatcherServlet.service(this.request.request, this.request.response);
+    }
+
+    private static void invoke(ThrowingRunnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    public static class AsyncController {
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        public CompletableFuture<String> completion() {
+            return this.future;
+        }
+
+        public CompletableFuture<String> pending() {
+            return new CompletableFuture<>();
+        }
+
+        public Callable<String> callable() {
+            return () -> RequestContextHolder.getCurrentRequest().getRequestURI();
+        }
+    }
+
+    /**
+     * 记录状态的请求及响应
+     */
+    private static class RecordedRequest {
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        private final List<AsyncListener> listeners = new ArrayList<>();
+
+        private final CountDownLatch dispatched = new CountDownLatch(1);
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private volatile DispatcherType dispatcherType = DispatcherType.REQUEST;
+
+        private volatile AsyncContext asyncContext;
+
+        private volatile int status;
+
+        private RecordedRequest(String uri) {
+            this.request = (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{HttpServletRequest.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMethod":
+                        return "GET";
+                    case "getRequestURI":
+                        return uri;
+                    case "getDispatcherType":
+                        return this.dispatcherType;
+                    case "isAsyncSupported":
+                        return true;
+                    case "getAttribute":
+                        return this.attributes.get((String) args[0]);
+                    case "setAttribute":
+                        return this.attributes.put((String) args[0], args[1]);
+                    case "removeAttribute":
+                        return this.attributes.remove((String) args[0]);
+                    case "startAsync":
+                        return this.asyncContext = this.createAsyncContext();
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+            this.response = (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{HttpServletResponse.class}, (proxy, method, args) -> {
+                if (method.getName().equals("sendError")) {
+                    this.status = (Integer) args[0];
+                }
+                return defaultValue(method.getReturnType());
+            });
+        }
+
+        private AsyncContext createAsyncContext() {
+            return (AsyncContext) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{AsyncContext.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "addListener":
+                        this.listeners.add((AsyncListener) args[0]);
+                        return null;
+                    case "dispatch":
+                        this.dispatched.countDown();
+                        return null;
+                    default:
+                        return defaultValue(method.getReturnType());
+                }
+            });
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == boolean.class) {
+                return false;
+            }
+            if (type == int.class) {
+                return 0;
+            }
+            if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
@@ -108,7 +108,12 @@ public abstract class AbstractConfigurableApi<T extends Api<T, R>, R extends Api
     protected R exchangeInternal(HttpResponse response) {
         try {
             Class<R> responseGeneric = this.resolveResponseGeneric();
-            R retValue = (R) this.getConfiguration().getApiSerializer().deserialize(response.body(), responseGeneric);
+            ApiSerializer serializer = this.getConfiguration().getApiSerializer();
+
+            // 返回值需要持有响应时，先读取并缓存响应体，否则流式读取后，之后调用 body() 将失败
+            R retValue = HttpResponseAware.class.isAssignableFrom(responseGeneric)
+                    ? (R) serializer.deserialize(response.body(), responseGeneric)
+                    : (R) serializer.deserialize(response.bodyStream(), responseGeneric);
             return ofNullable(this.exchangeInternal(response, retValue)).orElse(retValue);
         } catch (BaseApiException e) {
             throw e;
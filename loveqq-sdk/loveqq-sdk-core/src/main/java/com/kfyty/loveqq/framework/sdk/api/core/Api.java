@@ -43,6 +43,17 @@ public interface Api<T extends Api<T, R>, R extends ApiResponse> extends HttpReq
         return this.exchange();
     }
 
+    /**
+     * 复制当前 api，用于并发执行同一请求，eg: 对冲请求
+     * 默认返回自身，此时要求 api 不可变，即执行请求(包括前置处理器)时不会修改自身的状态
+     *
+     * @return api 副本
+     */
+    @SuppressWarnings("unchecked")
+    default T copy() {
+        return (T) this;
+    }
+
     /**
      * {@link this#exchange()} 后置处理响应
      * {@link ReactorApi#exchangeAsync()} 后置处理响应
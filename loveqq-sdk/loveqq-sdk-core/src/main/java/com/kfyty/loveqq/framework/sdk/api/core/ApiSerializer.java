@@ -1,5 +1,10 @@
 package com.kfyty.loveqq.framework.sdk.api.core;
 
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * 描述: 对 api 的请求结果进行序列化/反序列化操作
  *
@@ -24,4 +29,20 @@ public interface ApiSerializer {
      * @return 序列化后的结果
      */
     ApiResponse deserialize(byte[] body, Class<? extends ApiResponse> clazz);
+
+    /**
+     * 对请求结果进行流式反序列化
+     * 默认读取全部字节后反序列化，支持流式解析的实现应覆盖该方法
+     *
+     * @param body  api 请求结果输入流
+     * @param clazz 反序列化的类型
+     * @return 序列化后的结果
+     */
+    default ApiResponse deserialize(InputStream body, Class<? extends ApiResponse> clazz) {
+        try {
+            return this.deserialize(body == null ? null : body.readAllBytes(), clazz);
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
 }
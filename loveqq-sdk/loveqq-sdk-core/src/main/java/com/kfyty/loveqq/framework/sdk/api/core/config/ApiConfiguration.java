@@ -78,6 +78,11 @@ public class ApiConfiguration {
      */
     private ParameterProviderRegistry parameterProviderRegistry;
 
+    /**
+     * 重试、对冲、熔断配置
+     */
+    private ResilienceConfiguration resilienceConfiguration;
+
     public ApiConfiguration addApiPreProcessor(ApiPreProcessor apiPreProcessor) {
         if (this.apiPreProcessors == null) {
             this.apiPreProcessors = new ArrayList<>();
@@ -122,6 +127,7 @@ public class ApiConfiguration {
                 .addApiPostProcessor(new ApiResponseValidPostProcessor())
                 .setApiSerializer(new JacksonApiSerializer())
                 .setRequestFailedHandler(new ThrowExceptionRequestFailedHandler())
-                .setParameterProviderRegistry(new ParameterProviderRegistry());
+                .setParameterProviderRegistry(new ParameterProviderRegistry())
+                .setResilienceConfiguration(new ResilienceConfiguration());
     }
 }
@@ -0,0 +1,139 @@
+package com.kfyty.loveqq.framework.sdk.api.core.config;
+
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.EndpointResilience;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 描述: api 重试、对冲、熔断配置
+ * 熔断器、重试预算、延迟统计以请求路径为单位，由 {@link #obtainEndpoint(String)} 获取
+ *
+ * @author kfyty725
+ * @date 2024/7/19 10:05
+ * @email kfyty725@hotmail.com
+ */
+@Data
+@Accessors(chain = true)
+public class ResilienceConfiguration {
+    /**
+     * 最大请求次数，包含首次请求
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 首次重试的退避时间，毫秒
+     */
+    private long initialBackoff = 100;
+
+    /**
+     * 最大退避时间，毫秒
+     */
+    private long maxBackoff = 5000;
+
+    /**
+     * 退避时间的增长倍数
+     */
+    private double backoffMultiplier = 2D;
+
+    /**
+     * 退避时间的随机抖动比例，取值 [0, 1]
+     */
+    private double jitter = 0.5D;
+
+    /**
+     * 重试预算，重试及对冲请求数占正常请求数的最大比例
+     */
+    private double retryBudgetRatio = 0.2D;
+
+    /**
+     * 重试预算之外，每秒允许的最小重试次数，避免低流量时无法重试
+     */
+    private int minRetriesPerSecond = 10;
+
+    /**
+     * 是否启用熔断器
+     */
+    private boolean circuitBreakerEnabled = true;
+
+    /**
+     * 熔断的失败率阈值，取值 (0, 1]
+     */
+    private double failureRateThreshold = 0.5D;
+
+    /**
+     * 统计失败率的滑动窗口大小，即最近的请求数
+     */
+    private int slidingWindowSize = 100;
+
+    /**
+     * 计算失败率所需的最小请求数
+     */
+    private int minimumNumberOfCalls = 20;
+
+    /**
+     * 熔断持续时间，之后进入半开状态，毫秒
+     */
+    private long openStateDuration = 30000;
+
+    /**
+     * 半开状态允许的探测请求数，全部成功后关闭熔断器
+     */
+    private int permittedCallsInHalfOpenState = 5;
+
+    /**
+     * 是否启用对冲请求，仅适用于幂等的 api
+     */
+    private boolean hedgingEnabled;
+
+    /**
+     * 对冲请求的延迟百分位，请求耗时超过该百分位的延迟后发起对冲请求
+     */
+    private double hedgingPercentile = 0.95D;
+
+    /**
+     * 最大对冲请求数
+     */
+    private int maxHedgedAttempts = 1;
+
+    /**
+     * 最小对冲延迟，毫秒
+     */
+    private long minHedgingDelay = 10;
+
+    /**
+     * 同步 api 的执行线程池，为空时使用虚拟线程
+     */
+    private Executor executor;
+
+    /**
+     * 请求路径 -> 熔断器、重试预算、延迟统计
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Map<String, EndpointResilience> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * 获取请求路径的熔断器、重试预算、延迟统计
+     *
+     * @param endpoint 请求路径
+     * @return {@link EndpointResilience}
+     */
+    public EndpointResilience obtainEndpoint(String endpoint) {
+        EndpointResilience resilience = this.endpoints.get(endpoint);
+        if (resilience != null) {
+            return resilience;
+        }
+        return this.endpoints.computeIfAbsent(endpoint, k -> new EndpointResilience(k, this));
+    }
+}
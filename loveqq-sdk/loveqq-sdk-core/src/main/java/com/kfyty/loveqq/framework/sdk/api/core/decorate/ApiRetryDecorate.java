@@ -1,18 +1,34 @@
 package com.kfyty.loveqq.framework.sdk.api.core.decorate;
 
-import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.sdk.api.core.Api;
 import com.kfyty.loveqq.framework.sdk.api.core.ApiResponse;
+import com.kfyty.loveqq.framework.sdk.api.core.config.ResilienceConfiguration;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiCircuitBreakerException;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiRetryException;
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.EndpointResilience;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static java.util.Optional.ofNullable;
 
 /**
  * 描述: api 重试装饰器
+ * 重试以带随机抖动的指数退避在定时器上调度，不会使线程睡眠；重试受重试预算限制，熔断器打开时快速失败
+ * 请求均在线程池执行，同步调用时调用线程等待最终结果，因此请求中无法获取调用线程的 ThreadLocal 上下文(eg: MDC)
+ * 启用对冲时，请求耗时超过历史耗时的百分位后发起对冲请求，取最先成功的结果；
+ * 对冲请求使用 {@link Api#copy()} 复制的 api 执行，若 api 存在未被复制的可变状态，需覆盖该方法
+ * 配置见 {@link ResilienceConfiguration}
  *
  * <pre>{@code
  *      OauthCodeResponse exchange = ApiRetryDecorate.of(new OAuthAccessTokenApi())
@@ -27,19 +43,24 @@ import java.util.function.Supplier;
 @Slf4j
 public class ApiRetryDecorate<T extends Api<T, R>, R extends ApiResponse> {
     /**
-     * 重试次数
-     * 默认 3 次
+     * 默认的执行线程池
+     */
+    private static final ExecutorService DEFAULT_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 最大请求次数，包含首次请求
+     * 默认 {@link ResilienceConfiguration#getMaxAttempts()}
      */
-    private int retry = 3;
+    private int retry;
 
     /**
-     * 每次重试时睡眠的时间
-     * 默认 500
+     * 首次重试的退避时间，之后按指数增长
+     * 默认 {@link ResilienceConfiguration#getInitialBackoff()}
      */
-    private long sleep = 500;
+    private long sleep;
 
     /**
-     * 计算睡眠时间时的单位
+     * 计算退避时间时的单位
      * 默认毫秒
      */
     private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
@@ -49,8 +70,16 @@ public class ApiRetryDecorate<T extends Api<T, R>, R extends ApiResponse> {
      */
     private final Api<T, R> decorate;
 
+    /**
+     * 熔断器、重试预算、延迟统计
+     */
+    private final EndpointResilience resilience;
+
     public ApiRetryDecorate(Api<T, R> api) {
         this.decorate = api;
+        this.resilience = EndpointResilience.of(api);
+        this.retry = this.resilience.getConfiguration().getMaxAttempts();
+        this.sleep = this.resilience.getConfiguration().getInitialBackoff();
     }
 
     public ApiRetryDecorate<T, R> withRetry(int retry) {
@@ -69,29 +98,155 @@ public class ApiRetryDecorate<T extends Api<T, R>, R extends ApiResponse> {
     }
 
     public R exchange() {
-        return this.doRetry(this.decorate::exchange);
+        return this.doRetry(Api::exchange);
     }
 
     public byte[] execute() {
-        return this.doRetry(this.decorate::execute);
+        return this.doRetry(Api::execute);
     }
 
     public Object favorite() {
-        return this.doRetry(this.decorate::favorite);
-    }
-
-    protected <RR> RR doRetry(Supplier<RR> result) {
-        Throwable throwable = null;
-        for (byte i = 0; i < retry; i++) {
-            try {
-                return result.get();
-            } catch (ApiException e) {
-                throwable = e;
-                log.warn("failed to request api: {}, retry the {} times!", e, i + 1);
-                CommonUtil.sleep(this.timeUnit.toMillis(this.sleep));
+        return this.doRetry(Api::favorite);
+    }
+
+    public CompletableFuture<R> exchangeFuture() {
+        return this.doRetryAsync(Api::exchange);
+    }
+
+    public CompletableFuture<byte[]> executeFuture() {
+        return this.doRetryAsync(Api::execute);
+    }
+
+    public CompletableFuture<Object> favoriteFuture() {
+        return this.doRetryAsync(Api::favorite);
+    }
+
+    /**
+     * 同步重试，等待异步重试的结果
+     *
+     * @param request 请求
+     * @return 结果
+     */
+    protected <RR> RR doRetry(Function<Api<T, R>, RR> request) {
+        try {
+            return this.doRetryAsync(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApiException(cause);
+        }
+    }
+
+    protected <RR> CompletableFuture<RR> doRetryAsync(Function<Api<T, R>, RR> request) {
+        CompletableFuture<RR> future = new CompletableFuture<>();
+        this.doRetryAsync(0, request, future);
+        return future;
+    }
+
+    protected <RR> void doRetryAsync(int currentRetry, Function<Api<T, R>, RR> request, CompletableFuture<RR> future) {
+        this.hedgeAsync(request, currentRetry == 0).whenComplete((value, ex) -> {
+            if (ex == null) {
+                future.complete(value);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (!(cause instanceof ApiException)) {
+                future.completeExceptionally(cause);
+                return;
+            }
+            if (currentRetry + 1 >= this.retry || !this.resilience.tryRetry()) {
+                future.completeExceptionally(new ApiRetryException("retried request api failed: " + cause.getMessage(), cause));
+                return;
+            }
+            long backoff = this.resilience.backoff(this.timeUnit.toMillis(this.sleep), currentRetry);
+            log.warn("failed to request api: {}, retry the {} times after {} ms!", cause, currentRetry + 1, backoff);
+            CompletableFuture.delayedExecutor(backoff, TimeUnit.MILLISECONDS, this.obtainExecutor()).execute(() -> this.doRetryAsync(currentRetry + 1, request, future));
+        });
+    }
+
+    /**
+     * 异步执行请求，启用对冲时，超过对冲延迟仍未返回则发起对冲请求
+     * 任一请求成功即完成，全部失败时以最后一个异常完成
+     *
+     * @param request      请求
+     * @param firstAttempt 是否是首次请求，仅首次请求存入重试预算
+     * @return 结果
+     */
+    protected <RR> CompletableFuture<RR> hedgeAsync(Function<Api<T, R>, RR> request, boolean firstAttempt) {
+        CompletableFuture<RR> primary = CompletableFuture.supplyAsync(() -> this.attempt(this.decorate, request, firstAttempt), this.obtainExecutor());
+        long delay = this.resilience.hedgingDelay();
+        if (delay < 0) {
+            return primary;
+        }
+        CompletableFuture<RR> future = new CompletableFuture<>();
+        primary.whenComplete(this.scheduleHedgedAttempts(request, delay, future));
+        return future;
+    }
+
+    /**
+     * 在线程池调度对冲请求，对冲请求使用 {@link Api#copy()} 复制的 api 执行，避免并发修改同一个 api
+     *
+     * @param request 请求
+     * @param delay   对冲延迟
+     * @param future  结果
+     * @return 首次请求完成时的回调
+     */
+    protected <RR> BiConsumer<RR, Throwable> scheduleHedgedAttempts(Function<Api<T, R>, RR> request, long delay, CompletableFuture<RR> future) {
+        AtomicInteger pending = new AtomicInteger(1);
+        BiConsumer<RR, Throwable> completer = (value, ex) -> {
+            if (ex == null) {
+                future.complete(value);
+            } else if (pending.decrementAndGet() == 0) {
+                future.completeExceptionally(ex);
             }
+        };
+        for (int i = 1; i <= this.resilience.getConfiguration().getMaxHedgedAttempts(); i++) {
+            CompletableFuture.delayedExecutor(delay * i, TimeUnit.MILLISECONDS, this.obtainExecutor()).execute(() -> {
+                if (future.isDone() || !this.resilience.tryRetry()) {
+                    return;
+                }
+                pending.incrementAndGet();
+                log.debug("request api exceeds {} ms, send hedged request: {}", delay, this.resilience.getEndpoint());
+                try {
+                    completer.accept(this.attempt(this.decorate.copy(), request, false), null);
+                } catch (RuntimeException | Error e) {
+                    completer.accept(null, e);
+                }
+            });
         }
-        throw new ApiRetryException("retried request api failed: " + throwable.getMessage(), throwable);
+        return completer;
+    }
+
+    /**
+     * 在当前线程执行一次请求，并记录结果
+     *
+     * @param api          api
+     * @param request      请求
+     * @param firstAttempt 是否是首次请求
+     * @return 结果
+     */
+    protected <RR> RR attempt(Api<T, R> api, Function<Api<T, R>, RR> request, boolean firstAttempt) {
+        if (!this.resilience.tryAcquire(firstAttempt)) {
+            throw new ApiCircuitBreakerException("circuit breaker is open: " + this.resilience.getEndpoint());
+        }
+        long start = System.currentTimeMillis();
+        try {
+            RR value = request.apply(api);
+            this.resilience.onSuccess(System.currentTimeMillis() - start);
+            return value;
+        } catch (RuntimeException | Error e) {
+            this.resilience.onFailure(e);
+            throw e;
+        }
+    }
+
+    protected Executor obtainExecutor() {
+        return ofNullable(this.resilience.getConfiguration().getExecutor()).orElse(DEFAULT_EXECUTOR);
     }
 
     public static <T extends Api<T, R>, R extends ApiResponse> ApiRetryDecorate<T, R> of(Api<T, R> api) {
@@ -2,18 +2,30 @@ package com.kfyty.loveqq.framework.sdk.api.core.decorate;
 
 import com.kfyty.loveqq.framework.sdk.api.core.ApiResponse;
 import com.kfyty.loveqq.framework.sdk.api.core.ReactorApi;
+import com.kfyty.loveqq.framework.sdk.api.core.config.ResilienceConfiguration;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiCircuitBreakerException;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiRetryException;
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.EndpointResilience;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * 描述: api 重试装饰器
+ * 重试以带随机抖动的指数退避在 reactor 定时器上调度；重试受重试预算限制，熔断器打开时快速失败
+ * 启用对冲时，请求耗时超过历史耗时的百分位后发起对冲请求，取最先成功的结果
+ * 配置见 {@link ResilienceConfiguration}
  *
  * <pre>{@code
  *      OauthCodeResponse exchange = ReactiveApiRetryDecorate.of(new OAuthAccessTokenApi())
@@ -28,19 +40,19 @@ import java.util.function.Supplier;
 @Slf4j
 public class ReactiveApiRetryDecorate<T extends ReactorApi<T, R>, R extends ApiResponse> {
     /**
-     * 重试次数
-     * 默认 3 次
+     * 最大请求次数，包含首次请求
+     * 默认 {@link ResilienceConfiguration#getMaxAttempts()}
      */
-    private int retry = 3;
+    private int retry;
 
     /**
-     * 每次重试时睡眠的时间
-     * 默认 500
+     * 首次重试的退避时间，之后按指数增长
+     * 默认 {@link ResilienceConfiguration#getInitialBackoff()}
      */
-    private long sleep = 500;
+    private long sleep;
 
     /**
-     * 计算睡眠时间时的单位
+     * 计算退避时间时的单位
      * 默认毫秒
      */
     private TimeUnit timeUnit = TimeUnit.MILLISECONDS;
@@ -50,8 +62,16 @@ public class ReactiveApiRetryDecorate<T extends ReactorApi<T, R>, R extends ApiR
      */
     private final ReactorApi<T, R> decorate;
 
+    /**
+     * 熔断器、重试预算、延迟统计
+     */
+    private final EndpointResilience resilience;
+
     public ReactiveApiRetryDecorate(ReactorApi<T, R> api) {
         this.decorate = api;
+        this.resilience = EndpointResilience.of(api);
+        this.retry = this.resilience.getConfiguration().getMaxAttempts();
+        this.sleep = this.resilience.getConfiguration().getInitialBackoff();
     }
 
     public ReactiveApiRetryDecorate<T, R> withRetry(int retry) {
@@ -70,27 +90,92 @@ public class ReactiveApiRetryDecorate<T extends ReactorApi<T, R>, R extends ApiR
     }
 
     public Mono<R> exchangeAsync() {
-        return this.doRetry(0, this.decorate::exchangeAsync);
+        return this.doRetry(ReactorApi::exchangeAsync);
     }
 
     public Mono<byte[]> executeAsync() {
-        return this.doRetry(0, this.decorate::executeAsync);
+        return this.doRetry(ReactorApi::executeAsync);
     }
 
     public Mono<Object> favoriteAsync() {
-        return this.doRetry(0, this.decorate::favoriteAsync);
+        return this.doRetry(ReactorApi::favoriteAsync);
+    }
+
+    protected <RR> Mono<RR> doRetry(Function<ReactorApi<T, R>, Mono<RR>> request) {
+        return Mono.defer(() -> this.doRetry(request, new AtomicBoolean(true)));
+    }
+
+    /**
+     * 执行请求，失败时重试
+     *
+     * @param request      请求
+     * @param firstAttempt 是否是首次请求，每次订阅时读取并置为 false，仅首次请求存入重试预算
+     * @return 结果
+     */
+    protected <RR> Mono<RR> doRetry(Function<ReactorApi<T, R>, Mono<RR>> request, AtomicBoolean firstAttempt) {
+        return this.hedge(request, firstAttempt).retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable ex = signal.failure();
+            if (!(ex instanceof ApiException)) {
+                return Mono.error(ex);
+            }
+            int currentRetry = (int) signal.totalRetries();
+            if (currentRetry + 1 >= this.retry || !this.resilience.tryRetry()) {
+                return Mono.error(new ApiRetryException("retried request api failed: " + ex.getMessage(), ex));
+            }
+            long backoff = this.resilience.backoff(this.timeUnit.toMillis(this.sleep), currentRetry);
+            log.warn("failed to request api: {}, retry the {} times after {} ms!", ex, currentRetry + 1, backoff);
+            return Mono.delay(Duration.ofMillis(backoff));
+        })));
     }
 
-    protected <RR> Mono<RR> doRetry(int currentRetry, Supplier<Mono<RR>> result) {
-        return result.get()
-                .onErrorResume(ApiException.class, ex -> {
-                    if (currentRetry > this.retry) {
-                        throw new ApiRetryException("retried request api failed: " + ex.getMessage(), ex);
-                    }
-                    log.warn("failed to request api: {}, retry the {} times!", ex, currentRetry + 1);
-                    return Mono.delay(Duration.ofMillis(this.timeUnit.toMillis(this.sleep)))
-                            .flatMap(e -> this.doRetry(currentRetry + 1, result));
-                });
+    /**
+     * 执行请求，启用对冲时，超过对冲延迟仍未返回则发起对冲请求
+     * 任一请求成功即完成，其余请求将被取消；对冲请求使用 {@link ReactorApi#copy()} 复制的 api 执行，避免并发修改同一个 api
+     *
+     * @param request      请求
+     * @param firstAttempt 是否是首次请求
+     * @return 结果
+     */
+    protected <RR> Mono<RR> hedge(Function<ReactorApi<T, R>, Mono<RR>> request, AtomicBoolean firstAttempt) {
+        return Mono.defer(() -> {
+            boolean first = firstAttempt.getAndSet(false);
+            long delay = this.resilience.hedgingDelay();
+            if (delay < 0) {
+                return this.attempt(this.decorate, request, first);
+            }
+            List<Mono<RR>> attempts = new ArrayList<>();
+            attempts.add(this.attempt(this.decorate, request, first));
+            for (int i = 1; i <= this.resilience.getConfiguration().getMaxHedgedAttempts(); i++) {
+                attempts.add(Mono.delay(Duration.ofMillis(delay * i)).filter(e -> this.resilience.tryRetry()).flatMap(e -> {
+                    log.debug("request api exceeds {} ms, send hedged request: {}", delay, this.resilience.getEndpoint());
+                    return this.attempt(this.decorate.copy(), request, false);
+                }));
+            }
+            return Mono.firstWithValue(attempts).onErrorMap(NoSuchElementException.class, ReactiveApiRetryDecorate::unwrapHedgeException);
+        });
+    }
+
+    protected <RR> Mono<RR> attempt(ReactorApi<T, R> api, Function<ReactorApi<T, R>, Mono<RR>> request, boolean firstAttempt) {
+        return Mono.defer(() -> {
+            if (!this.resilience.tryAcquire(firstAttempt)) {
+                return Mono.error(new ApiCircuitBreakerException("circuit breaker is open: " + this.resilience.getEndpoint()));
+            }
+            long start = System.currentTimeMillis();
+            return request.apply(api)
+                    .doOnSuccess(e -> this.resilience.onSuccess(System.currentTimeMillis() - start))
+                    .doOnError(this.resilience::onFailure);
+        });
+    }
+
+    /**
+     * 对冲请求全部失败时，返回首个请求的异常
+     */
+    protected static Throwable unwrapHedgeException(NoSuchElementException ex) {
+        if (ex.getCause() == null) {
+            return ex;
+        }
+        List<Throwable> exceptions = Exceptions.unwrapMultiple(ex.getCause());
+        return exceptions.isEmpty() ? ex : exceptions.get(0);
     }
 
     public static <T extends ReactorApi<T, R>, R extends ApiResponse> ReactiveApiRetryDecorate<T, R> of(ReactorApi<T, R> api) {
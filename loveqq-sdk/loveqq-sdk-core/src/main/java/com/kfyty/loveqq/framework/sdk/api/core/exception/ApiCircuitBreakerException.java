@@ -0,0 +1,15 @@
+package com.kfyty.loveqq.framework.sdk.api.core.exception;
+
+/**
+ * 描述: api 熔断异常，熔断器打开时抛出，不会进行重试
+ *
+ * @author kfyty725
+ * @date 2024/7/19 11:05
+ * @email kfyty725@hotmail.com
+ */
+public class ApiCircuitBreakerException extends BaseApiException {
+
+    public ApiCircuitBreakerException(String message) {
+        super(message);
+    }
+}
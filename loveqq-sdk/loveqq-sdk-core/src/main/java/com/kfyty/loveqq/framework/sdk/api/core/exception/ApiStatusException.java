@@ -0,0 +1,33 @@
+package com.kfyty.loveqq.framework.sdk.api.core.exception;
+
+/**
+ * 描述: api 响应状态码异常，响应状态码非 2xx 时抛出
+ *
+ * @author kfyty725
+ * @date 2024/7/24 14:10
+ * @email kfyty725@hotmail.com
+ */
+public class ApiStatusException extends ApiException {
+    /**
+     * 响应状态码
+     */
+    private final int status;
+
+    public ApiStatusException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * 是否是服务端错误，即 5xx 状态码
+     *
+     * @return true if server error
+     */
+    public boolean isServerError() {
+        return this.status >= 500 && this.status < 600;
+    }
+}
@@ -25,7 +25,7 @@ import static java.util.Optional.ofNullable;
  * @date 2021/11/15 9:01
  * @email kfyty725@hotmail.com
  */
-public abstract class AbstractHttpRequest<T extends HttpRequest<T>> implements HttpRequest<T> {
+public abstract class AbstractHttpRequest<T extends HttpRequest<T>> implements HttpRequest<T>, Cloneable {
     /**
      * 连接超时时间，毫秒
      */
@@ -209,6 +209,27 @@ public abstract class AbstractHttpRequest<T extends HttpRequest<T>> implements H
         return hasParameter ? url + '&' + parameters : url + '?' + parameters;
     }
 
+    /**
+     * 复制当前请求，请求头、参数、cookie 等容器为副本，之后对副本的修改不会影响当前请求
+     * 子类的属性为浅复制，存在其他可变状态时，子类应覆盖该方法
+     *
+     * @return 请求副本
+     */
+    @SuppressWarnings("unchecked")
+    public T copy() {
+        try {
+            AbstractHttpRequest<T> copy = (AbstractHttpRequest<T>) super.clone();
+            copy.headers = this.headers == null ? null : new HashMap<>(this.headers);
+            copy.formData = this.formData == null ? null : new HashMap<>(this.formData);
+            copy.query = this.query == null ? null : new LinkedHashMap<>(this.query);
+            copy.path = this.path == null ? null : new LinkedHashMap<>(this.path);
+            copy.cookies = this.cookies == null ? null : new ArrayList<>(this.cookies);
+            return (T) copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected <V> T addParameter(String key, Object value, Map<String, V> container, Supplier<Map<String, V>> initProvider) {
         if (container == null) {
@@ -1,5 +1,7 @@
 package com.kfyty.loveqq.framework.sdk.api.core.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.net.HttpCookie;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +28,17 @@ public interface HttpResponse extends AutoCloseable {
      */
     byte[] body();
 
+    /**
+     * 获取响应体输入流，用于流式反序列化
+     * 默认基于 {@link #body()} 实现，支持流式读取的实现应覆盖该方法，此时响应体只能读取一次
+     *
+     * @return 响应体输入流
+     */
+    default InputStream bodyStream() {
+        byte[] body = this.body();
+        return body == null ? null : new ByteArrayInputStream(body);
+    }
+
     /**
      * 获取响应头
      *
@@ -0,0 +1,186 @@
+package com.kfyty.loveqq.framework.sdk.api.core.resilience;
+
+import lombok.Getter;
+
+/**
+ * 描述: 基于请求数滑动窗口的熔断器
+ * 关闭: 最近 slidingWindowSize 次请求的失败率达到阈值时打开
+ * 打开: 拒绝所有请求，持续 openStateDuration 后进入半开
+ * 半开: 允许 permittedCalls 次探测请求，全部成功后关闭，任一失败则重新打开
+ *
+ * @author kfyty725
+ * @date 2024/7/19 10:35
+ * @email kfyty725@hotmail.com
+ */
+public class CircuitBreaker {
+    /**
+     * 失败率阈值
+     */
+    private final double failureRateThreshold;
+
+    /**
+     * 计算失败率所需的最小请求数
+     */
+    private final int minimumNumberOfCalls;
+
+    /**
+     * 打开状态持续时间，毫秒
+     */
+    private final long openStateDuration;
+
+    /**
+     * 半开状态允许的请求数
+     */
+    private final int permittedCalls;
+
+    /**
+     * 滑动窗口，true 表示失败
+     */
+    private final boolean[] window;
+
+    /**
+     * 当前状态
+     */
+    @Getter
+    private volatile State state;
+
+    /**
+     * 滑动窗口的写入位置
+     */
+    private int index;
+
+    /**
+     * 滑动窗口的请求数
+     */
+    private int calls;
+
+    /**
+     * 滑动窗口的失败数
+     */
+    private int failures;
+
+    /**
+     * 打开状态的截止时间，或半开状态的探测截止时间
+     */
+    private long deadline;
+
+    /**
+     * 半开状态已放行的请求数
+     */
+    private int halfOpenCalls;
+
+    /**
+     * 半开状态成功的请求数
+     */
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(double failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls, long openStateDuration, int permittedCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumNumberOfCalls = Math.max(1, Math.min(minimumNumberOfCalls, slidingWindowSize));
+        this.openStateDuration = openStateDuration;
+        this.permittedCalls = Math.max(1, permittedCalls);
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * 是否允许请求
+     *
+     * @return true if permitted
+     */
+    public boolean tryAcquire() {
+        if (this.state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (this.state == State.OPEN) {
+                if (now < this.deadline) {
+                    return false;
+                }
+                this.transitionToHalfOpen(now);
+            }
+            if (this.state == State.HALF_OPEN) {
+                if (this.halfOpenCalls >= this.permittedCalls) {
+                    if (now < this.deadline) {
+                        return false;
+                    }
+                    // 探测请求未返回结果(eg: 被取消)，重新探测
+                    this.transitionToHalfOpen(now);
+                }
+                this.halfOpenCalls++;
+            }
+            return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        this.record(false);
+    }
+
+    public synchronized void onFailure() {
+        this.record(true);
+    }
+
+    /**
+     * 请求结束，但结果不计入失败率(eg: 调用方错误)
+     * 半开状态时归还探测名额，以便发起新的探测请求
+     */
+    public synchronized void onIgnored() {
+        if (this.state == State.HALF_OPEN && this.halfOpenCalls > 0) {
+            this.halfOpenCalls--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (this.state == State.OPEN) {
+            return;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (failure) {
+                this.transitionToOpen();
+            } else if (++this.halfOpenSuccesses >= this.permittedCalls) {
+                this.transitionToClosed();
+            }
+            return;
+        }
+        if (this.calls == this.window.length) {
+            if (this.window[this.index]) {
+                this.failures--;
+            }
+        } else {
+            this.calls++;
+        }
+        this.window[this.index] = failure;
+        if (failure) {
+            this.failures++;
+        }
+        this.index = (this.index + 1) % this.window.length;
+        if (this.calls >= this.minimumNumberOfCalls && this.failures >= this.failureRateThreshold * this.calls) {
+            this.transitionToOpen();
+        }
+    }
+
+    private void transitionToOpen() {
+        this.state = State.OPEN;
+        this.deadline = System.currentTimeMillis() + this.openStateDuration;
+    }
+
+    private void transitionToHalfOpen(long now) {
+        this.state = State.HALF_OPEN;
+        this.deadline = now + this.openStateDuration;
+        this.halfOpenCalls = 0;
+        this.halfOpenSuccesses = 0;
+    }
+
+    private void transitionToClosed() {
+        this.index = 0;
+        this.calls = 0;
+        this.failures = 0;
+        this.state = State.CLOSED;
+    }
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
@@ -0,0 +1,188 @@
+package com.kfyty.loveqq.framework.sdk.api.core.resilience;
+
+import com.kfyty.loveqq.framework.sdk.api.core.AbstractConfigurableApi;
+import com.kfyty.loveqq.framework.sdk.api.core.Api;
+import com.kfyty.loveqq.framework.sdk.api.core.config.ApiConfiguration;
+import com.kfyty.loveqq.framework.sdk.api.core.config.ResilienceConfiguration;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiStatusException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 描述: 单个请求路径的熔断器、重试预算及延迟统计
+ *
+ * @author kfyty725
+ * @date 2024/7/19 11:00
+ * @email kfyty725@hotmail.com
+ * @see ResilienceConfiguration#obtainEndpoint(String)
+ */
+@Getter
+public class EndpointResilience {
+    /**
+     * 未配置时使用的默认配置
+     */
+    private static final ResilienceConfiguration DEFAULT_CONFIGURATION = new ResilienceConfiguration();
+
+    /**
+     * 判断失败时查找的最大异常链深度
+     */
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    /**
+     * 请求路径
+     */
+    private final String endpoint;
+
+    /**
+     * 配置
+     */
+    private final ResilienceConfiguration configuration;
+
+    /**
+     * 重试预算
+     */
+    private final RetryBudget retryBudget;
+
+    /**
+     * 熔断器
+     */
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * 请求耗时统计
+     */
+    private final LatencyRecorder latencyRecorder;
+
+    public EndpointResilience(String endpoint, ResilienceConfiguration configuration) {
+        this.endpoint = endpoint;
+        this.configuration = configuration;
+        this.retryBudget = new RetryBudget(configuration.getRetryBudgetRatio(), configuration.getMinRetriesPerSecond());
+        this.circuitBreaker = new CircuitBreaker(
+                configuration.getFailureRateThreshold(),
+                configuration.getSlidingWindowSize(),
+                configuration.getMinimumNumberOfCalls(),
+                configuration.getOpenStateDuration(),
+                configuration.getPermittedCallsInHalfOpenState()
+        );
+        this.latencyRecorder = new LatencyRecorder(configuration.getHedgingPercentile());
+    }
+
+    /**
+     * 请求前调用，熔断器打开时返回 false
+     * 仅首次请求存入重试预算，重试及对冲请求不会为自身补充预算
+     *
+     * @param firstAttempt 是否是首次请求
+     * @return 是否允许请求
+     */
+    public boolean tryAcquire(boolean firstAttempt) {
+        if (this.configuration.isCircuitBreakerEnabled() && !this.circuitBreaker.tryAcquire()) {
+            return false;
+        }
+        if (firstAttempt) {
+            this.retryBudget.deposit();
+        }
+        return true;
+    }
+
+    /**
+     * 重试或对冲前调用，超出重试预算时返回 false
+     *
+     * @return 是否允许重试
+     */
+    public boolean tryRetry() {
+        return this.retryBudget.tryWithdraw();
+    }
+
+    /**
+     * 请求成功
+     *
+     * @param latency 耗时，毫秒
+     */
+    public void onSuccess(long latency) {
+        this.latencyRecorder.record(latency);
+        if (this.configuration.isCircuitBreakerEnabled()) {
+            this.circuitBreaker.onSuccess();
+        }
+    }
+
+    /**
+     * 请求失败
+     * 仅 io 异常及 5xx 状态码计入熔断器的失败，调用方错误(eg: 4xx、参数校验失败)不影响熔断器
+     *
+     * @param ex 异常
+     */
+    public void onFailure(Throwable ex) {
+        if (this.configuration.isCircuitBreakerEnabled()) {
+            if (isFailure(ex)) {
+                this.circuitBreaker.onFailure();
+            } else {
+                this.circuitBreaker.onIgnored();
+            }
+        }
+    }
+
+    /**
+     * 计算带随机抖动的指数退避时间
+     *
+     * @param initialBackoff 首次重试的退避时间，毫秒
+     * @param retried        已重试次数，从 0 开始
+     * @return 退避时间，毫秒
+     */
+    public long backoff(long initialBackoff, int retried) {
+        double backoff = Math.min(this.configuration.getMaxBackoff(), initialBackoff * Math.pow(this.configuration.getBackoffMultiplier(), retried));
+        double jitter = Math.min(Math.max(this.configuration.getJitter(), 0D), 1D);
+        return (long) (backoff * (1D - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * 获取对冲请求的延迟
+     *
+     * @return 延迟，毫秒，未启用对冲或样本不足时返回 -1
+     */
+    public long hedgingDelay() {
+        if (!this.configuration.isHedgingEnabled() || this.configuration.getMaxHedgedAttempts() < 1) {
+            return -1L;
+        }
+        long percentile = this.latencyRecorder.percentile();
+        return percentile < 0 ? -1L : Math.max(percentile, this.configuration.getMinHedgingDelay());
+    }
+
+    /**
+     * 是否是需要计入熔断器的失败，即异常链中存在 io 异常、超时异常或 5xx 状态码异常
+     *
+     * @param ex 异常
+     * @return true if failure
+     */
+    public static boolean isFailure(Throwable ex) {
+        for (int depth = 0; ex != null && depth < MAX_CAUSE_DEPTH; ex = ex.getCause(), depth++) {
+            if (ex instanceof IOException || ex instanceof UncheckedIOException || ex instanceof TimeoutException) {
+                return true;
+            }
+            if (ex instanceof ApiStatusException) {
+                return ((ApiStatusException) ex).isServerError();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取 api 请求路径的熔断器、重试预算及延迟统计
+     *
+     * @param api api
+     * @return {@link EndpointResilience}
+     */
+    public static EndpointResilience of(Api<?, ?> api) {
+        ApiConfiguration configuration = api instanceof AbstractConfigurableApi<?, ?> configurableApi ? configurableApi.getConfiguration() : ApiConfiguration.getGlobalConfiguration();
+        ResilienceConfiguration resilienceConfiguration = configuration.getResilienceConfiguration();
+        if (resilienceConfiguration == null) {
+            resilienceConfiguration = DEFAULT_CONFIGURATION;
+        }
+        String endpoint = api.requestPath();
+        int index = endpoint.indexOf('?');
+        return resilienceConfiguration.obtainEndpoint(index < 0 ? endpoint : endpoint.substring(0, index));
+    }
+}
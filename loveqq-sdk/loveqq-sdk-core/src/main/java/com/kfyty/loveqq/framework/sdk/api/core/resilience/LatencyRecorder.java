@@ -0,0 +1,73 @@
+package com.kfyty.loveqq.framework.sdk.api.core.resilience;
+
+import java.util.Arrays;
+
+/**
+ * 描述: 请求耗时统计，保留最近的耗时样本，用于计算对冲请求的延迟
+ * 百分位每记录 {@link #REFRESH_INTERVAL} 个样本重新计算一次，读取时无需排序
+ *
+ * @author kfyty725
+ * @date 2024/7/19 10:50
+ * @email kfyty725@hotmail.com
+ */
+public class LatencyRecorder {
+    /**
+     * 样本数量
+     */
+    private static final int SAMPLE_SIZE = 128;
+
+    /**
+     * 百分位刷新间隔
+     */
+    private static final int REFRESH_INTERVAL = 16;
+
+    /**
+     * 百分位，取值 (0, 1)
+     */
+    private final double percentile;
+
+    /**
+     * 耗时样本，毫秒
+     */
+    private final long[] samples;
+
+    /**
+     * 样本的写入次数
+     */
+    private long count;
+
+    /**
+     * 百分位耗时，样本不足时为 -1
+     */
+    private volatile long value;
+
+    public LatencyRecorder(double percentile) {
+        this.percentile = Math.min(Math.max(percentile, 0D), 1D);
+        this.samples = new long[SAMPLE_SIZE];
+        this.value = -1L;
+    }
+
+    /**
+     * 记录耗时
+     *
+     * @param latency 耗时，毫秒
+     */
+    public synchronized void record(long latency) {
+        this.samples[(int) (this.count++ % SAMPLE_SIZE)] = latency;
+        if (this.count % REFRESH_INTERVAL == 0) {
+            int size = (int) Math.min(this.count, SAMPLE_SIZE);
+            long[] sorted = Arrays.copyOf(this.samples, size);
+            Arrays.sort(sorted);
+            this.value = sorted[Math.min(size - 1, (int) (size * this.percentile))];
+        }
+    }
+
+    /**
+     * 获取百分位耗时
+     *
+     * @return 耗时，样本不足时返回 -1
+     */
+    public long percentile() {
+        return this.value;
+    }
+}
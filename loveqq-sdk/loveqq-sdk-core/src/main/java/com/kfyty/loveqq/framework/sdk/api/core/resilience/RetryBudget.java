@@ -0,0 +1,97 @@
+package com.kfyty.loveqq.framework.sdk.api.core.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 描述: 重试预算
+ * 每个首次请求存入 ratio 个令牌，重试及对冲请求不存入，每次重试取出 1 个令牌，从而限制重试占正常请求的比例，下游故障时不会因重试而放大流量
+ * 此外每秒允许 minPerSecond 次重试，避免低流量时无法重试
+ *
+ * @author kfyty725
+ * @date 2024/7/19 10:20
+ * @email kfyty725@hotmail.com
+ */
+public class RetryBudget {
+    /**
+     * 1 个令牌的刻度，避免浮点运算
+     */
+    private static final long UNIT = 1000L;
+
+    /**
+     * 令牌余额的上限对应的请求数
+     */
+    private static final long MAX_BALANCE_REQUESTS = 1000L;
+
+    /**
+     * 每次请求存入的刻度
+     */
+    private final long deposit;
+
+    /**
+     * 令牌余额上限
+     */
+    private final long maxBalance;
+
+    /**
+     * 每秒允许的最小重试次数
+     */
+    private final int minPerSecond;
+
+    /**
+     * 令牌余额
+     */
+    private final AtomicLong balance;
+
+    /**
+     * 当前秒内已使用的最小重试次数
+     */
+    private final AtomicInteger reserved;
+
+    /**
+     * 当前秒
+     */
+    private volatile long currentSecond;
+
+    public RetryBudget(double ratio, int minPerSecond) {
+        this.deposit = (long) (Math.max(0D, ratio) * UNIT);
+        this.maxBalance = this.deposit * MAX_BALANCE_REQUESTS;
+        this.minPerSecond = minPerSecond;
+        this.balance = new AtomicLong();
+        this.reserved = new AtomicInteger();
+    }
+
+    /**
+     * 首次请求时存入令牌
+     */
+    public void deposit() {
+        if (this.deposit > 0 && this.balance.get() < this.maxBalance) {
+            this.balance.updateAndGet(b -> Math.min(this.maxBalance, b + this.deposit));
+        }
+    }
+
+    /**
+     * 重试时取出令牌
+     *
+     * @return 是否允许重试
+     */
+    public boolean tryWithdraw() {
+        long second = System.currentTimeMillis() / 1000L;
+        if (second != this.currentSecond) {
+            this.currentSecond = second;
+            this.reserved.set(0);
+        }
+        if (this.reserved.get() < this.minPerSecond && this.reserved.incrementAndGet() <= this.minPerSecond) {
+            return true;
+        }
+        while (true) {
+            long balance = this.balance.get();
+            if (balance < UNIT) {
+                return false;
+            }
+            if (this.balance.compareAndSet(balance, balance - UNIT)) {
+                return true;
+            }
+        }
+    }
+}
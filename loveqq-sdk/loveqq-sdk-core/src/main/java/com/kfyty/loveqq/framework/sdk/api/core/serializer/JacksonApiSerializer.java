@@ -6,6 +6,7 @@ import com.kfyty.loveqq.framework.sdk.api.core.ApiSerializer;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
@@ -31,4 +32,10 @@ public class JacksonApiSerializer implements ApiSerializer {
         Objects.requireNonNull(body, "response body is empty !");
         return JsonUtil.toObject(new String(body), clazz);
     }
+
+    @Override
+    public ApiResponse deserialize(InputStream body, Class<? extends ApiResponse> clazz) {
+        Objects.requireNonNull(body, "response body is empty !");
+        return JsonUtil.toObject(body, clazz);
+    }
 }
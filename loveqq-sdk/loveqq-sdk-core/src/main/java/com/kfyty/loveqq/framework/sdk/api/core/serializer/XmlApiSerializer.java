@@ -6,6 +6,8 @@ import com.kfyty.loveqq.framework.sdk.api.core.ApiSerializer;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
 import lombok.AllArgsConstructor;
 
+import java.io.InputStream;
+
 /**
  * 描述:
  *
@@ -38,4 +40,13 @@ public class XmlApiSerializer implements ApiSerializer {
             throw new ApiException(e);
         }
     }
+
+    @Override
+    public ApiResponse deserialize(InputStream body, Class<? extends ApiResponse> clazz) {
+        try {
+            return this.xmlMapper.readValue(body, clazz);
+        } catch (Exception e) {
+            throw new ApiException(e);
+        }
+    }
 }
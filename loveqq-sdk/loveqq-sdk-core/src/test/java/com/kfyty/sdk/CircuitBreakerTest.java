@@ -0,0 +1,103 @@
+package com.kfyty.sdk;
+
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.CircuitBreaker;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 描述: 熔断器测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 14:30
+ * @email kfyty725@hotmail.com
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void openTest() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5D, 4, 4, 60000, 1);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5D, 4, 4, 60000, 1);
+        circuitBreaker.onFailure();
+        for (int i = 0; i < 8; i++) {
+            circuitBreaker.onSuccess();
+        }
+        circuitBreaker.onFailure();
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onFailure();
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void halfOpenCloseTest() throws Exception {
+        CircuitBreaker circuitBreaker = this.openedCircuitBreaker(2);
+        Thread.sleep(30);
+
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+        Assert.assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void halfOpenReopenTest() throws Exception {
+        CircuitBreaker circuitBreaker = this.openedCircuitBreaker(2);
+        Thread.sleep(30);
+
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void halfOpenIgnoredTest() throws Exception {
+        CircuitBreaker circuitBreaker = this.openedCircuitBreaker(1);
+        Thread.sleep(30);
+
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+        Assert.assertFalse(circuitBreaker.tryAcquire());
+
+        circuitBreaker.onIgnored();
+        Assert.assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        Assert.assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess();
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void ignoredTest() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5D, 2, 2, 60000, 1);
+        circuitBreaker.onIgnored();
+        circuitBreaker.onIgnored();
+        circuitBreaker.onFailure();
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    private CircuitBreaker openedCircuitBreaker(int permittedCalls) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(0.5D, 2, 2, 20, permittedCalls);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        Assert.assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        Assert.assertFalse(circuitBreaker.tryAcquire());
+        return circuitBreaker;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kfyty.sdk;
+
+import com.kfyty.loveqq.framework.sdk.api.core.config.ResilienceConfiguration;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiStatusException;
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.CircuitBreaker;
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.EndpointResilience;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 描述: 请求路径的熔断器、重试预算及退避测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 14:50
+ * @email kfyty725@hotmail.com
+ */
+public class EndpointResilienceTest {
+
+    @Test
+    public void backoffTest() {
+        ResilienceConfiguration configuration = new ResilienceConfiguration().setJitter(0D).setBackoffMultiplier(2D).setMaxBackoff(500);
+        EndpointResilience resilience = configuration.obtainEndpoint("/backoff");
+        Assert.assertEquals(100L, resilience.backoff(100, 0));
+        Assert.assertEquals(200L, resilience.backoff(100, 1));
+        Assert.assertEquals(400L, resilience.backoff(100, 2));
+        Assert.assertEquals(500L, resilience.backoff(100, 3));
+        Assert.assertEquals(500L, resilience.backoff(100, 30));
+    }
+
+    @Test
+    public void backoffJitterTest() {
+        ResilienceConfiguration configuration = new ResilienceConfiguration().setJitter(0.5D).setBackoffMultiplier(2D).setMaxBackoff(5000);
+        EndpointResilience resilience = configuration.obtainEndpoint("/jitter");
+        for (int i = 0; i < 100; i++) {
+            long backoff = resilience.backoff(100, 2);
+            Assert.assertTrue(String.valueOf(backoff), backoff >= 200L && backoff <= 400L);
+        }
+    }
+
+    @Test
+    public void depositOnFirstAttemptTest() {
+        ResilienceConfiguration configuration = new ResilienceConfiguration().setRetryBudgetRatio(0.5D).setMinRetriesPerSecond(0);
+        EndpointResilience resilience = configuration.obtainEndpoint("/deposit");
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(resilience.tryAcquire(false));
+        }
+        Assert.assertFalse(resilience.tryRetry());
+
+        Assert.assertTrue(resilience.tryAcquire(true));
+        Assert.assertTrue(resilience.tryAcquire(true));
+        Assert.assertTrue(resilience.tryRetry());
+        Assert.assertFalse(resilience.tryRetry());
+    }
+
+    @Test
+    public void failureTest() {
+        Assert.assertTrue(EndpointResilience.isFailure(new ApiStatusException(503, "unavailable")));
+        Assert.assertTrue(EndpointResilience.isFailure(new ApiException("request failed", new IOException("connection reset"))));
+        Assert.assertTrue(EndpointResilience.isFailure(new CompletionException(new HttpTimeoutException("timeout"))));
+        Assert.assertFalse(EndpointResilience.isFailure(new ApiStatusException(404, "not found")));
+        Assert.assertFalse(EndpointResilience.isFailure(new ApiException("the field 'id' cannot be empty !")));
+        Assert.assertFalse(EndpointResilience.isFailure(new IllegalArgumentException()));
+    }
+
+    @Test
+    public void callerErrorTest() {
+        ResilienceConfiguration configuration = new ResilienceConfiguration().setSlidingWindowSize(2).setMinimumNumberOfCalls(2);
+        EndpointResilience resilience = configuration.obtainEndpoint("/caller");
+        for (int i = 0; i < 4; i++) {
+            resilience.onFailure(new ApiStatusException(400, "bad request"));
+        }
+        Assert.assertEquals(CircuitBreaker.State.CLOSED, resilience.getCircuitBreaker().getState());
+
+        resilience.onFailure(new ApiStatusException(500, "server error"));
+        resilience.onFailure(new ApiStatusException(502, "bad gateway"));
+        Assert.assertEquals(CircuitBreaker.State.OPEN, resilience.getCircuitBreaker().getState());
+    }
+}
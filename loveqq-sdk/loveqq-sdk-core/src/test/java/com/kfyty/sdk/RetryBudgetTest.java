@@ -0,0 +1,50 @@
+package com.kfyty.sdk;
+
+import com.kfyty.loveqq.framework.sdk.api.core.resilience.RetryBudget;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 描述: 重试预算测试
+ *
+ * @author kfyty725
+ * @date 2024/7/24 14:40
+ * @email kfyty725@hotmail.com
+ */
+public class RetryBudgetTest {
+
+    @Test
+    public void exhaustTest() {
+        RetryBudget retryBudget = new RetryBudget(0.2D, 0);
+        Assert.assertFalse(retryBudget.tryWithdraw());
+
+        for (int i = 0; i < 10; i++) {
+            retryBudget.deposit();
+        }
+        Assert.assertTrue(retryBudget.tryWithdraw());
+        Assert.assertTrue(retryBudget.tryWithdraw());
+        Assert.assertFalse(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    public void minPerSecondTest() {
+        RetryBudget retryBudget = new RetryBudget(0D, 2);
+        retryBudget.deposit();
+        Assert.assertTrue(retryBudget.tryWithdraw());
+        Assert.assertTrue(retryBudget.tryWithdraw());
+        Assert.assertFalse(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    public void maxBalanceTest() {
+        RetryBudget retryBudget = new RetryBudget(1D, 0);
+        for (int i = 0; i < 1500; i++) {
+            retryBudget.deposit();
+        }
+        int withdrawn = 0;
+        while (retryBudget.tryWithdraw()) {
+            withdrawn++;
+        }
+        Assert.assertEquals(1000, withdrawn);
+    }
+}
@@ -0,0 +1,348 @@
+package com.kfyty.loveqq.framework.sdk.api.core.http.executor;
+
+import com.kfyty.loveqq.framework.core.utils.CommonUtil;
+import com.kfyty.loveqq.framework.core.utils.JsonUtil;
+import com.kfyty.loveqq.framework.sdk.api.core.constant.ApiConstants;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiStatusException;
+import com.kfyty.loveqq.framework.sdk.api.core.http.HttpRequest;
+import com.kfyty.loveqq.framework.sdk.api.core.http.HttpRequestExecutor;
+import com.kfyty.loveqq.framework.sdk.api.core.http.HttpResponse;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpCookie;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 描述: 基于 {@link java.net.http.HttpClient} 连接池的执行器
+ * 相同连接超时时间及代理的请求复用同一个 {@link HttpClient}，由其维护连接池，空闲连接保持存活以便复用，HTTP/2 时同一主机的请求在同一连接上多路复用
+ * 每个主机的并发请求数受 {@link #maxRequestsPerHost} 限制，许可在响应关闭或响应体读取完毕后释放，因此响应必须关闭
+ * 响应体以输入流的形式返回，可通过 {@link HttpResponse#bodyStream()} 流式反序列化
+ * <p>
+ * 连接池参数由 jdk 系统属性配置，需在首次请求前设置，eg:
+ * -Djdk.httpclient.keepalive.timeout=60 空闲连接存活时间，秒
+ * -Djdk.httpclient.connectionPoolSize=0 连接池大小，0 表示不限制
+ *
+ * @author kfyty725
+ * @date 2024/7/18 10:20
+ * @email kfyty725@hotmail.com
+ */
+@Slf4j
+@Getter
+public class PooledHttpClientHttpRequestExecutor implements HttpRequestExecutor {
+    /**
+     * 默认每个主机的最大并发请求数
+     */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 256;
+
+    /**
+     * 每个主机的最大并发请求数，小于等于 0 时不限制
+     */
+    private final int maxRequestsPerHost;
+
+    /**
+     * 获取请求许可的超时时间，毫秒
+     */
+    private final long acquireTimeout;
+
+    /**
+     * http 协议版本，服务端不支持 HTTP/2 时自动降级为 HTTP/1.1
+     */
+    private final HttpClient.Version version;
+
+    /**
+     * {@link HttpClient} 的执行线程池，为空时使用默认线程池
+     */
+    private final Executor executor;
+
+    /**
+     * {@link HttpClient}
+     */
+    protected final Map<ClientKey, HttpClient> httpClients;
+
+    /**
+     * 主机 -> 请求许可
+     */
+    protected final Map<String, Semaphore> hostPermits;
+
+    public PooledHttpClientHttpRequestExecutor() {
+        this(DEFAULT_MAX_REQUESTS_PER_HOST);
+    }
+
+    public PooledHttpClientHttpRequestExecutor(int maxRequestsPerHost) {
+        this(maxRequestsPerHost, ApiConstants.DEFAULT_CONNECT_REQUEST_TIME_OUT, HttpClient.Version.HTTP_2, null);
+    }
+
+    public PooledHttpClientHttpRequestExecutor(int maxRequestsPerHost, long acquireTimeout, HttpClient.Version version, Executor executor) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.acquireTimeout = acquireTimeout;
+        this.version = Objects.requireNonNull(version);
+        this.executor = executor;
+        this.httpClients = new ConcurrentHashMap<>();
+        this.hostPermits = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PooledHttpResponse wrapResponse(Object response) {
+        return new PooledHttpResponse((java.net.http.HttpResponse<InputStream>) response, null);
+    }
+
+    @Override
+    public HttpResponse exchange(HttpRequest<?> api, boolean validStatusCode) {
+        long start = System.currentTimeMillis();
+        java.net.http.HttpRequest request = this.buildHttpRequest(api);
+        Semaphore permit = this.acquirePermit(request.uri());
+        PooledHttpResponse response = this.send(api, request, permit);
+        if (!validStatusCode || response.isSuccess()) {
+            if (log.isDebugEnabled()) {
+                log.debug("request api: {}, waste time: {} ms, parameters: {}, status: {}", api.requestURL(), System.currentTimeMillis() - start, api.formData(), response.code());
+            }
+            return response;
+        }
+        try (response) {
+            throw new ApiStatusException(response.code(), format("request failed with api: %s, status: %s, body: %s", api.requestURL(), response.code(), new String(response.body())));
+        }
+    }
+
+    protected PooledHttpResponse send(HttpRequest<?> api, java.net.http.HttpRequest request, Semaphore permit) {
+        try {
+            return new PooledHttpResponse(this.obtainHttpClient(api).send(request, java.net.http.HttpResponse.BodyHandlers.ofInputStream()), permit);
+        } catch (IOException | RuntimeException e) {
+            releasePermit(permit);
+            throw new ApiException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            releasePermit(permit);
+            Thread.currentThread().interrupt();
+            throw new ApiException(e.getMessage(), e);
+        }
+    }
+
+    protected Semaphore acquirePermit(URI uri) {
+        if (this.maxRequestsPerHost <= 0) {
+            return null;
+        }
+        Semaphore permit = this.hostPermits.computeIfAbsent(uri.getScheme() + "://" + uri.getAuthority(), k -> new Semaphore(this.maxRequestsPerHost));
+        try {
+            if (permit.tryAcquire(this.acquireTimeout, TimeUnit.MILLISECONDS)) {
+                return permit;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(e.getMessage(), e);
+        }
+        throw new ApiException(format("acquire request permit timeout with host: %s, max requests per host: %s", uri.getAuthority(), this.maxRequestsPerHost));
+    }
+
+    protected HttpClient obtainHttpClient(HttpRequest<?> api) {
+        return this.httpClients.computeIfAbsent(new ClientKey(api.connectTimeout(), api.proxySelector()), k -> {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(this.version)
+                    .connectTimeout(Duration.ofMillis(k.connectTimeout()));
+            if (k.proxySelector() != null) {
+                builder.proxy(k.proxySelector());
+            }
+            if (this.executor != null) {
+                builder.executor(this.executor);
+            }
+            this.postProcessClient(builder);
+            return builder.build();
+        });
+    }
+
+    protected java.net.http.HttpRequest buildHttpRequest(HttpRequest<?> api) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder()
+                .uri(URI.create(api.requestURL()))
+                .timeout(Duration.ofMillis(api.readTimeout()));
+
+        for (Map.Entry<String, String> entry : api.headers().entrySet()) {
+            builder.header(entry.getKey(), entry.getValue());
+        }
+
+        if (CommonUtil.notEmpty(api.cookies())) {
+            String cookie = api.cookies().stream().map(HttpCookie::toString).collect(Collectors.joining("; "));
+            builder.header("Cookie", cookie);
+        }
+
+        builder.header("Content-Type", api.contentType());
+
+        switch (api.method().toUpperCase()) {
+            case "GET" -> builder.GET();
+            case "DELETE" -> builder.DELETE();
+            case "POST", "PUT", "PATCH" -> {
+                if (api.payload() != null && api.payload().length > 0) {
+                    builder.method(api.method(), java.net.http.HttpRequest.BodyPublishers.ofByteArray(api.payload()));
+                } else if (Objects.equals(api.contentType(), ApiConstants.CONTENT_TYPE_JSON)) {
+                    builder.method(api.method(), java.net.http.HttpRequest.BodyPublishers.ofString(JsonUtil.toJson(api.formData())));
+                } else {
+                    String formData = api.formData().entrySet().stream().map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue().toString(), UTF_8)).collect(Collectors.joining("&"));
+                    builder.method(api.method(), java.net.http.HttpRequest.BodyPublishers.ofString(formData));
+                }
+            }
+            default -> builder.method(api.method(), java.net.http.HttpRequest.BodyPublishers.noBody());
+        }
+
+        this.postProcessRequest(builder);
+
+        return builder.build();
+    }
+
+    protected void postProcessClient(HttpClient.Builder builder) {
+
+    }
+
+    protected void postProcessRequest(java.net.http.HttpRequest.Builder builder) {
+
+    }
+
+    protected static void releasePermit(Semaphore permit) {
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    /**
+     * {@link HttpClient} 缓存 key
+     */
+    protected record ClientKey(int connectTimeout, ProxySelector proxySelector) {
+    }
+
+    /**
+     * 基于输入流的响应，响应体只能以 {@link #body()} 或 {@link #bodyStream()} 的方式读取一次
+     * {@link #body()} 会缓存读取的字节，之后调用 {@link #bodyStream()} 不受影响
+     */
+    public static class PooledHttpResponse implements HttpResponse {
+        private final java.net.http.HttpResponse<InputStream> response;
+
+        private final AtomicReference<Semaphore> permit;
+
+        private byte[] body;
+
+        private boolean consumed;
+
+        public PooledHttpResponse(java.net.http.HttpResponse<InputStream> response, Semaphore permit) {
+            this.response = Objects.requireNonNull(response);
+            this.permit = new AtomicReference<>(permit);
+        }
+
+        @Override
+        public int code() {
+            return this.response.statusCode();
+        }
+
+        @Override
+        public byte[] body() {
+            if (this.body == null) {
+                this.checkConsumed();
+                try (InputStream stream = this.response.body()) {
+                    this.body = stream.readAllBytes();
+                } catch (IOException e) {
+                    throw new ApiException(e.getMessage(), e);
+                } finally {
+                    this.consumed = true;
+                    this.release();
+                }
+            }
+            return this.body;
+        }
+
+        @Override
+        public InputStream bodyStream() {
+            if (this.body != null) {
+                return new ByteArrayInputStream(this.body);
+            }
+            this.checkConsumed();
+            this.consumed = true;
+            return new FilterInputStream(this.response.body()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public String header(String name) {
+            return this.response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public String cookie(String name) {
+            return this.cookies().stream().filter(e -> Objects.equals(e.getName(), name)).findAny().map(HttpCookie::getValue).orElse(null);
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return this.response.headers().map();
+        }
+
+        @Override
+        public List<HttpCookie> cookies() {
+            List<HttpCookie> cookies = new ArrayList<>();
+            for (String cookie : this.response.headers().allValues("Set-Cookie")) {
+                cookies.addAll(HttpCookie.parse(cookie));
+            }
+            return cookies;
+        }
+
+        @Override
+        public void clearCookies() {
+            // nothing
+        }
+
+        @Override
+        public Object source() {
+            return this.response;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (this.body == null) {
+                    this.response.body().close();
+                }
+            } catch (IOException e) {
+                log.error("close response body failed: {}", e.getMessage(), e);
+            } finally {
+                this.consumed = true;
+                this.release();
+            }
+        }
+
+        protected void checkConsumed() {
+            if (this.consumed) {
+                throw new ApiException("response body has been consumed !");
+            }
+        }
+
+        protected void release() {
+            releasePermit(this.permit.getAndSet(null));
+        }
+    }
+}
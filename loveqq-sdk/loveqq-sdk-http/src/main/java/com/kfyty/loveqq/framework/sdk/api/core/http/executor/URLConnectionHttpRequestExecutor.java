@@ -10,10 +10,12 @@ import com.kfyty.loveqq.framework.core.support.io.FilePart;
 import com.kfyty.loveqq.framework.core.utils.JsonUtil;
 import com.kfyty.loveqq.framework.sdk.api.core.constant.ApiConstants;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiStatusException;
 import com.kfyty.loveqq.framework.sdk.api.core.http.HttpRequest;
 import com.kfyty.loveqq.framework.sdk.api.core.http.HttpRequestExecutor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.InputStream;
 import java.net.HttpCookie;
 import java.util.List;
 import java.util.Map;
@@ -41,11 +43,13 @@ public class URLConnectionHttpRequestExecutor implements HttpRequestExecutor {
         long start = System.currentTimeMillis();
         URLConnectionHttpResponse response = this.wrapResponse(this.buildRequest(api).execute());
         if (!validStatusCode || response.isSuccess()) {
-            log.debug("request api: {}, waste time: {} ms, parameters: {}, exchange body: {}", api.requestURL(), System.currentTimeMillis() - start, api.formData(), new String(response.body()));
+            if (log.isDebugEnabled()) {
+                log.debug("request api: {}, waste time: {} ms, parameters: {}, exchange body: {}", api.requestURL(), System.currentTimeMillis() - start, api.formData(), new String(response.body()));
+            }
             return response;
         }
         IoUtil.close(response);
-        throw new ApiException(format("request failed with api: %s, status: %s, body: %s", api.requestURL(), response.code(), new String(response.body())));
+        throw new ApiStatusException(response.code(), format("request failed with api: %s, status: %s, body: %s", api.requestURL(), response.code(), new String(response.body())));
     }
 
     public cn.hutool.http.HttpRequest buildRequest(HttpRequest<?> api) {
@@ -106,6 +110,11 @@ public class URLConnectionHttpRequestExecutor implements HttpRequestExecutor {
             return this.response.bodyBytes();
         }
 
+        @Override
+        public InputStream bodyStream() {
+            return this.response.bodyStream();
+        }
+
         @Override
         public String header(String name) {
             return this.response.header(name);
@@ -4,6 +4,7 @@ import com.kfyty.loveqq.framework.core.utils.CommonUtil;
 import com.kfyty.loveqq.framework.core.utils.JsonUtil;
 import com.kfyty.loveqq.framework.sdk.api.core.constant.ApiConstants;
 import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiException;
+import com.kfyty.loveqq.framework.sdk.api.core.exception.ApiStatusException;
 import com.kfyty.loveqq.framework.sdk.api.core.http.HttpRequest;
 import com.kfyty.loveqq.framework.sdk.api.core.http.HttpResponse;
 import com.kfyty.loveqq.framework.sdk.api.core.http.ReactiveHttpRequestExecutor;
@@ -62,9 +63,11 @@ public class ReactiveHttpClientHttpRequestExecutor implements ReactiveHttpReques
                             throw new ApiException(ex.getMessage(), ex);
                         }
                         if (validStatusCode && !response.isSuccess()) {
-                            throw new ApiException(format("request failed with api: %s, status: %s, body: %s", api.requestURL(), response.code(), new String(response.body())));
+                            throw new ApiStatusException(response.code(), format("request failed with api: %s, status: %s, body: %s", api.requestURL(), response.code(), new String(response.body())));
+                        }
+                        if (log.isDebugEnabled()) {
+                            log.debug("request api: {}, waste time: {} ms, parameters: {}, exchange body: {}", api.requestURL(), System.currentTimeMillis() - start, api.formData(), new String(response.body()));
                         }
-                        log.debug("request api: {}, waste time: {} ms, parameters: {}, exchange body: {}", api.requestURL(), System.currentTimeMillis() - start, api.formData(), new String(response.body()));
                     });
         });
     }